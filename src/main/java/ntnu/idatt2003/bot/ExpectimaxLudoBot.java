@@ -0,0 +1,271 @@
+package ntnu.idatt2003.bot;
+
+import ntnu.idatt2003.model.ludo.LudoBoard;
+import ntnu.idatt2003.model.ludo.LudoRules;
+import ntnu.idatt2003.model.ludo.LudoState;
+import ntnu.idatt2003.model.ludo.TokenColor;
+
+/**
+ * A Ludo bot that searches the game tree with expectimax.
+ *
+ * <p>Die rolls are chance nodes averaged over the six faces, and token choices are decision
+ * nodes. The bot maximizes its own score and, for simplicity with up to four players, assumes
+ * every opponent plays to minimize it. Positions before a roll are cached in a Zobrist-hashed
+ * {@link TranspositionTable}. The search deepens one level at a time until the time budget runs
+ * out, and returns the best move of the deepest level it completed.
+ * </p>
+ */
+public class ExpectimaxLudoBot implements LudoBot {
+
+  public static final long DEFAULT_BUDGET_MILLIS = 50;
+  public static final int DEFAULT_MAX_DEPTH = 32;
+
+  private static final double WIN = 10_000;
+  private static final int CLOCK_CHECK_INTERVAL = 256;
+  private static final int MIN_GROWTH = 4;
+
+  private final long budgetNanos;
+  private final int maxDepth;
+  private final TranspositionTable table = new TranspositionTable(18);
+  private final int[][] moveBuffers;
+
+  private int rootSeat;
+  private long perspective;
+  private long deadline;
+  private long nodes;
+  private int completedDepth;
+
+  /**
+   * Creates a bot with a 50 ms budget per move.
+   */
+  public ExpectimaxLudoBot() {
+    this(DEFAULT_BUDGET_MILLIS, DEFAULT_MAX_DEPTH);
+  }
+
+  /**
+   * Creates a bot with the given budget per move and depth limit. With a large budget the search
+   * always stops at {@code maxDepth}, which makes it deterministic.
+   *
+   * @param budgetMillis the time allowed per move, in milliseconds
+   * @param maxDepth     the deepest search level to try (1 looks only at the bot's own move)
+   * @throws IllegalArgumentException if the budget or depth is not positive
+   */
+  public ExpectimaxLudoBot(long budgetMillis, int maxDepth) {
+    if (budgetMillis < 1) {
+      throw new IllegalArgumentException("Budget must be at least 1 ms");
+    }
+    if (maxDepth < 1) {
+      throw new IllegalArgumentException("Depth must be at least 1");
+    }
+    this.budgetNanos = budgetMillis * 1_000_000;
+    this.maxDepth = maxDepth;
+    this.moveBuffers = new int[maxDepth + 1][LudoState.TOKENS_PER_PLAYER];
+  }
+
+  @Override
+  public int chooseMove(LudoState state, int roll) {
+    int[] moves = new int[LudoState.TOKENS_PER_PLAYER];
+    int count = distinctMoves(state, LudoRules.generateMoves(state, roll, moves), moves);
+    completedDepth = 0;
+    nodes = 0;
+    if (count <= 1) {
+      return count == 0 ? -1 : moves[0];
+    }
+    rootSeat = state.currentPlayer();
+    perspective = ZobristHash.perspectiveKey(rootSeat);
+    // Keep a tenth of the budget for unwinding the search and for the caller
+    deadline = System.nanoTime() + budgetNanos - budgetNanos / 10;
+
+    int best = moves[0];
+    try {
+      for (int depth = 1; depth <= maxDepth; depth++) {
+        long iterationStart = System.nanoTime();
+        double bestValue = Double.NEGATIVE_INFINITY;
+        int bestMove = best;
+        // Try the previous best first so a cut-off iteration still tends to agree with it
+        for (int i = -1; i < count; i++) {
+          int move = i < 0 ? best : moves[i];
+          if (i >= 0 && move == best) {
+            continue;
+          }
+          LudoState child = LudoRules.apply(state, move, roll);
+          double value = chance(child, ZobristHash.hash(child), depth - 1);
+          if (value > bestValue) {
+            bestValue = value;
+            bestMove = move;
+          }
+        }
+        best = bestMove;
+        completedDepth = depth;
+        // A deeper level costs several times the last one; skip it if it cannot finish in time
+        long now = System.nanoTime();
+        if (Math.abs(bestValue) >= WIN || now + MIN_GROWTH * (now - iterationStart) > deadline) {
+          break;
+        }
+      }
+    } catch (SearchTimeout timeout) {
+      // Keep the move from the last completed depth
+    }
+    return best;
+  }
+
+  /**
+   * Returns the deepest search level completed by the last {@link #chooseMove} call.
+   *
+   * @return the depth, or 0 if the move was forced
+   */
+  public int getCompletedDepth() {
+    return completedDepth;
+  }
+
+  /**
+   * Returns how many positions the last {@link #chooseMove} call visited.
+   *
+   * @return the node count
+   */
+  public long getNodeCount() {
+    return nodes;
+  }
+
+  private double chance(LudoState state, long hash, int depth) {
+    if (++nodes % CLOCK_CHECK_INTERVAL == 0 && System.nanoTime() > deadline) {
+      throw SearchTimeout.INSTANCE;
+    }
+    int winner = LudoRules.winner(state);
+    if (winner >= 0) {
+      return winner == rootSeat ? WIN + depth : -WIN - depth;
+    }
+    if (depth == 0) {
+      return evaluate(state);
+    }
+    long key = hash ^ perspective;
+    double cached = table.probe(key, depth);
+    if (!Double.isNaN(cached)) {
+      return cached;
+    }
+
+    boolean maximizing = state.currentPlayer() == rootSeat;
+    int[] moves = moveBuffers[depth];
+    double total = 0;
+    for (int roll = 1; roll <= 6; roll++) {
+      int count = distinctMoves(state, LudoRules.generateMoves(state, roll, moves), moves);
+      if (count == 0) {
+        LudoState child = LudoRules.pass(state, roll);
+        total += chance(child, ZobristHash.update(hash, state, child), depth - 1);
+        continue;
+      }
+      double best = maximizing ? Double.NEGATIVE_INFINITY : Double.POSITIVE_INFINITY;
+      for (int i = 0; i < count; i++) {
+        LudoState child = LudoRules.apply(state, moves[i], roll);
+        double value = chance(child, ZobristHash.update(hash, state, child), depth - 1);
+        best = maximizing ? Math.max(best, value) : Math.min(best, value);
+      }
+      total += best;
+    }
+    double value = total / 6;
+    table.store(key, depth, value);
+    return value;
+  }
+
+  /**
+   * Turns the packed moves from {@link LudoRules#generateMoves} into token indices, dropping
+   * tokens that stand on the same offset as an earlier one, since they lead to the same position.
+   */
+  private static int distinctMoves(LudoState state, int count, int[] moves) {
+    int base = state.currentPlayer() * LudoState.TOKENS_PER_PLAYER;
+    int kept = 0;
+    for (int i = 0; i < count; i++) {
+      int token = LudoRules.moveToken(moves[i]);
+      boolean duplicate = false;
+      for (int j = 0; j < kept; j++) {
+        if (state.offset(base + moves[j]) == state.offset(base + token)) {
+          duplicate = true;
+          break;
+        }
+      }
+      if (!duplicate) {
+        moves[kept++] = token;
+      }
+    }
+    return kept;
+  }
+
+  /**
+   * Scores a position as the bot's progress minus the best opponent's progress.
+   */
+  private double evaluate(LudoState state) {
+    double own = 0;
+    double bestOther = Double.NEGATIVE_INFINITY;
+    for (int seat = 0; seat < state.playerCount(); seat++) {
+      double score = progress(state, seat);
+      if (seat == rootSeat) {
+        own = score;
+      } else {
+        bestOther = Math.max(bestOther, score);
+      }
+    }
+    return own - bestOther;
+  }
+
+  /**
+   * Scores one seat: distance travelled, a bonus for finished and uncatchable tokens, and a
+   * penalty for tokens an opponent could hit with a single roll.
+   */
+  private static double progress(LudoState state, int seat) {
+    TokenColor color = state.color(seat);
+    double score = 0;
+    for (int t = 0; t < LudoState.TOKENS_PER_PLAYER; t++) {
+      int offset = state.offset(seat, t);
+      if (offset == LudoState.HOME) {
+        continue;
+      }
+      score += 10 + offset;
+      if (offset == LudoState.FINISH) {
+        score += 20;
+      } else if (offset >= LudoBoard.MAIN_PATH_SIZE) {
+        score += 8;
+      } else {
+        int square = LudoRules.mainIndex(color, offset);
+        if (LudoBoard.isSafeIndex(square)) {
+          score += 4;
+        } else if (threatened(state, seat, square)) {
+          score -= 0.3 * (10 + offset);
+        }
+      }
+    }
+    return score;
+  }
+
+  private static boolean threatened(LudoState state, int seat, int square) {
+    for (int other = 0; other < state.playerCount(); other++) {
+      if (other == seat) {
+        continue;
+      }
+      TokenColor color = state.color(other);
+      for (int t = 0; t < LudoState.TOKENS_PER_PLAYER; t++) {
+        int offset = state.offset(other, t);
+        if (offset < 0 || offset >= LudoBoard.MAIN_PATH_SIZE) {
+          continue;
+        }
+        int gap = Math.floorMod(square - LudoRules.mainIndex(color, offset),
+            LudoBoard.MAIN_PATH_SIZE);
+        if (gap >= 1 && gap <= 6 && offset + gap < LudoBoard.MAIN_PATH_SIZE) {
+          return true;
+        }
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Thrown to unwind the search when the time budget is spent.
+   */
+  private static final class SearchTimeout extends RuntimeException {
+    private static final long serialVersionUID = 1L;
+    private static final SearchTimeout INSTANCE = new SearchTimeout();
+
+    private SearchTimeout() {
+      super(null, null, false, false);
+    }
+  }
+}
@@ -0,0 +1,34 @@
+package ntnu.idatt2003.bot;
+
+import java.util.List;
+import ntnu.idatt2003.model.ludo.LudoGame;
+import ntnu.idatt2003.model.ludo.LudoState;
+import ntnu.idatt2003.model.ludo.Token;
+
+/**
+ * A computer player for Ludo. Given a position and a roll, the bot picks which token to move.
+ */
+public interface LudoBot {
+
+  /**
+   * Chooses a move for the player whose turn it is in the given state.
+   *
+   * @param state the position, with the current player to move
+   * @param roll  the die roll (1-6)
+   * @return the index (0-3) of the token to move, or -1 if no token can move
+   */
+  int chooseMove(LudoState state, int roll);
+
+  /**
+   * Chooses a token for the current player of a running game.
+   *
+   * @param game the game
+   * @param roll the die roll (1-6)
+   * @return the token to move, or {@code null} if no token can move
+   */
+  default Token chooseToken(LudoGame game, int roll) {
+    int choice = chooseMove(game.getState(), roll);
+    List<Token> tokens = game.getCurrentPlayer().getTokens();
+    return choice < 0 ? null : tokens.get(choice);
+  }
+}
@@ -0,0 +1,276 @@
+package ntnu.idatt2003.bot;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import ntnu.idatt2003.model.ludo.LudoRules;
+import ntnu.idatt2003.model.ludo.LudoState;
+
+/**
+ * A Ludo bot that picks moves with Monte Carlo tree search.
+ *
+ * <p>The tree alternates between decision nodes (a position and a roll, where the player to move
+ * picks a token) and chance nodes (a position before the next roll, whose children are reached by
+ * sampling a roll). Each iteration walks down the tree choosing tokens by UCB1 on the moving
+ * player's win rate, adds one node, finishes the game with random moves on a {@link LudoState},
+ * and credits the result to every decision on the way. The most visited move at the root is
+ * played.
+ * </p>
+ *
+ * <p>Several workers search the same tree at once. Nodes are added with compare-and-set and
+ * statistics are atomic counters, so no locks are taken. A visit is counted before its playout
+ * finishes (a "virtual loss"), which steers concurrent workers onto different lines.
+ * </p>
+ */
+public class MonteCarloLudoBot implements LudoBot {
+
+  public static final int DEFAULT_PLAYOUTS = 10_000;
+
+  private static final double EXPLORATION = 1.0;
+  private static final int MAX_PLAYOUT_PLIES = 5_000;
+
+  private final int playouts;
+  private final ForkJoinPool pool;
+  private final SplittableRandom random;
+
+  private long lastPlayouts;
+  private long lastNanos;
+
+  /**
+   * Creates a bot with the default playout budget, running on the common pool.
+   */
+  public MonteCarloLudoBot() {
+    this(DEFAULT_PLAYOUTS, ForkJoinPool.commonPool(), System.nanoTime());
+  }
+
+  /**
+   * Creates a bot.
+   *
+   * @param playouts the number of playouts per move; more is stronger and slower
+   * @param pool     the pool whose parallelism decides how many workers search at once
+   * @param seed     the seed for the random rolls and moves; with a single worker the bot's
+   *                 choices are reproducible for a given seed
+   * @throws IllegalArgumentException if playouts is below 1 or the pool is null
+   */
+  public MonteCarloLudoBot(int playouts, ForkJoinPool pool, long seed) {
+    if (playouts < 1) {
+      throw new IllegalArgumentException("Need at least one playout");
+    }
+    if (pool == null) {
+      throw new IllegalArgumentException("Pool can not be null");
+    }
+    this.playouts = playouts;
+    this.pool = pool;
+    this.random = new SplittableRandom(seed);
+  }
+
+  @Override
+  public synchronized int chooseMove(LudoState state, int roll) {
+    DecisionNode root = new DecisionNode(state, roll);
+    lastPlayouts = 0;
+    lastNanos = 0;
+    if (root.moves.length <= 1) {
+      return root.moves.length == 0 ? -1 : root.moves[0];
+    }
+
+    long start = System.nanoTime();
+    AtomicInteger remaining = new AtomicInteger(playouts);
+    int workers = Math.min(pool.getParallelism(), playouts);
+    List<ForkJoinTask<?>> tasks = new ArrayList<>(workers);
+    for (int w = 0; w < workers; w++) {
+      SplittableRandom workerRandom = random.split();
+      tasks.add(pool.submit(() -> {
+        while (remaining.getAndDecrement() > 0) {
+          iterate(root, workerRandom);
+        }
+      }));
+    }
+    tasks.forEach(ForkJoinTask::join);
+    lastNanos = System.nanoTime() - start;
+    lastPlayouts = playouts;
+
+    int best = 0;
+    for (int i = 1; i < root.moves.length; i++) {
+      if (root.visits.get(i) > root.visits.get(best)) {
+        best = i;
+      }
+    }
+    return root.moves[best];
+  }
+
+  /**
+   * Returns the number of playouts run by the last {@link #chooseMove} call.
+   *
+   * @return the playout count, or 0 if the move was forced
+   */
+  public long getLastPlayouts() {
+    return lastPlayouts;
+  }
+
+  /**
+   * Returns the playout rate of the last {@link #chooseMove} call.
+   *
+   * @return playouts per second, or 0 if no playouts were run
+   */
+  public double getLastPlayoutsPerSecond() {
+    return lastNanos == 0 ? 0 : lastPlayouts * 1e9 / lastNanos;
+  }
+
+  /**
+   * Runs one selection, expansion, playout and backup from the root.
+   */
+  private static void iterate(DecisionNode root, SplittableRandom random) {
+    List<DecisionNode> path = new ArrayList<>();
+    List<Integer> choices = new ArrayList<>();
+    DecisionNode node = root;
+    int winner;
+    while (true) {
+      ChanceNode next;
+      boolean expanded = false;
+      if (node.moves.length == 0) {
+        next = node.passChild;
+      } else {
+        int choice = node.select();
+        node.visits.incrementAndGet(choice);
+        path.add(node);
+        choices.add(choice);
+        next = node.children.get(choice);
+        if (next == null) {
+          ChanceNode created = new ChanceNode(LudoRules.apply(node.state, node.moves[choice],
+              node.roll));
+          expanded = node.children.compareAndSet(choice, null, created);
+          next = node.children.get(choice);
+        }
+      }
+
+      winner = LudoRules.winner(next.state);
+      if (winner >= 0) {
+        break;
+      }
+      int roll = random.nextInt(6) + 1;
+      DecisionNode child = next.rolls.get(roll - 1);
+      if (child == null) {
+        expanded |= next.rolls.compareAndSet(roll - 1, null, new DecisionNode(next.state, roll));
+        child = next.rolls.get(roll - 1);
+      }
+      if (expanded) {
+        winner = playout(child.state, roll, random);
+        break;
+      }
+      node = child;
+    }
+
+    for (int i = 0; i < path.size(); i++) {
+      DecisionNode decided = path.get(i);
+      if (decided.seat == winner) {
+        decided.wins.incrementAndGet(choices.get(i));
+      }
+    }
+  }
+
+  /**
+   * Plays random legal moves from a position whose player has just rolled, until someone wins.
+   *
+   * @return the winning seat, or -1 if the game ran too long
+   */
+  private static int playout(LudoState state, int roll, SplittableRandom random) {
+    int[] moves = new int[LudoState.TOKENS_PER_PLAYER];
+    LudoState current = state;
+    for (int ply = 0; ply < MAX_PLAYOUT_PLIES; ply++) {
+      int count = LudoRules.generateMoves(current, roll, moves);
+      current = count == 0
+          ? LudoRules.pass(current, roll)
+          : LudoRules.apply(current, LudoRules.moveToken(moves[random.nextInt(count)]), roll);
+      int winner = LudoRules.winner(current);
+      if (winner >= 0) {
+        return winner;
+      }
+      roll = random.nextInt(6) + 1;
+    }
+    return -1;
+  }
+
+  /**
+   * A position where the player to move has rolled and must pick a token.
+   */
+  private static final class DecisionNode {
+    private final LudoState state;
+    private final int roll;
+    private final int seat;
+    private final int[] moves;
+    private final AtomicIntegerArray visits;
+    private final AtomicIntegerArray wins;
+    private final AtomicReferenceArray<ChanceNode> children;
+    private final ChanceNode passChild;
+
+    private DecisionNode(LudoState state, int roll) {
+      this.state = state;
+      this.roll = roll;
+      this.seat = state.currentPlayer();
+      int[] buffer = new int[LudoState.TOKENS_PER_PLAYER];
+      int count = LudoRules.generateMoves(state, roll, buffer);
+      // Tokens on the same offset lead to the same position, so keep one of each
+      int kept = 0;
+      int base = seat * LudoState.TOKENS_PER_PLAYER;
+      for (int i = 0; i < count; i++) {
+        int token = LudoRules.moveToken(buffer[i]);
+        boolean duplicate = false;
+        for (int j = 0; j < kept && !duplicate; j++) {
+          duplicate = state.offset(base + buffer[j]) == state.offset(base + token);
+        }
+        if (!duplicate) {
+          buffer[kept++] = token;
+        }
+      }
+      this.moves = Arrays.copyOf(buffer, kept);
+      this.visits = new AtomicIntegerArray(kept);
+      this.wins = new AtomicIntegerArray(kept);
+      this.children = new AtomicReferenceArray<>(kept);
+      this.passChild = kept == 0 ? new ChanceNode(LudoRules.pass(state, roll)) : null;
+    }
+
+    /**
+     * Picks the move with the highest UCB1 score, trying unvisited moves first.
+     */
+    private int select() {
+      int total = 0;
+      for (int i = 0; i < moves.length; i++) {
+        int v = visits.get(i);
+        if (v == 0) {
+          return i;
+        }
+        total += v;
+      }
+      double logTotal = Math.log(total);
+      int best = 0;
+      double bestScore = Double.NEGATIVE_INFINITY;
+      for (int i = 0; i < moves.length; i++) {
+        int v = visits.get(i);
+        double score = (double) wins.get(i) / v + EXPLORATION * Math.sqrt(logTotal / v);
+        if (score > bestScore) {
+          bestScore = score;
+          best = i;
+        }
+      }
+      return best;
+    }
+  }
+
+  /**
+   * A position before the next roll.
+   */
+  private static final class ChanceNode {
+    private final LudoState state;
+    private final AtomicReferenceArray<DecisionNode> rolls = new AtomicReferenceArray<>(6);
+
+    private ChanceNode(LudoState state) {
+      this.state = state;
+    }
+  }
+}
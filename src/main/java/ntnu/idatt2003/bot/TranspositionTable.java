@@ -0,0 +1,72 @@
+package ntnu.idatt2003.bot;
+
+import java.util.Arrays;
+
+/**
+ * A fixed-size table of search results keyed by Zobrist hash.
+ *
+ * <p>Entries live in flat primitive arrays indexed by the low bits of the hash. When two positions
+ * share a slot, the entry searched to the greater depth is kept.
+ * </p>
+ */
+public final class TranspositionTable {
+
+  private final long[] keys;
+  private final double[] values;
+  private final byte[] depths;
+  private final int mask;
+
+  /**
+   * Creates a table with the given number of slots.
+   *
+   * @param log2Size the base-2 logarithm of the slot count (4-26)
+   * @throws IllegalArgumentException if the size is out of range
+   */
+  public TranspositionTable(int log2Size) {
+    if (log2Size < 4 || log2Size > 26) {
+      throw new IllegalArgumentException("Table size must be between 2^4 and 2^26 slots");
+    }
+    int size = 1 << log2Size;
+    this.keys = new long[size];
+    this.values = new double[size];
+    this.depths = new byte[size];
+    this.mask = size - 1;
+  }
+
+  /**
+   * Looks up a position searched to at least the given depth.
+   *
+   * @param key   the position hash
+   * @param depth the depth needed
+   * @return the stored value, or {@link Double#NaN} if there is none deep enough
+   */
+  public double probe(long key, int depth) {
+    int slot = (int) key & mask;
+    // Depth 0 marks an empty slot, so stored depths are shifted up by one
+    return keys[slot] == key && depths[slot] > depth ? values[slot] : Double.NaN;
+  }
+
+  /**
+   * Stores the value of a position.
+   *
+   * @param key   the position hash
+   * @param depth the depth the position was searched to
+   * @param value the value found
+   */
+  public void store(long key, int depth, double value) {
+    int slot = (int) key & mask;
+    if (keys[slot] != key && depths[slot] > depth + 1) {
+      return;
+    }
+    keys[slot] = key;
+    values[slot] = value;
+    depths[slot] = (byte) Math.min(depth + 1, Byte.MAX_VALUE);
+  }
+
+  /**
+   * Empties the table.
+   */
+  public void clear() {
+    Arrays.fill(depths, (byte) 0);
+  }
+}
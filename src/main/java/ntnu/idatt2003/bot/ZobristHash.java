@@ -0,0 +1,93 @@
+package ntnu.idatt2003.bot;
+
+import java.util.SplittableRandom;
+import ntnu.idatt2003.model.ludo.LudoState;
+
+/**
+ * Zobrist hashing of {@link LudoState} positions, for transposition tables.
+ *
+ * <p>Every (token, offset) pair and every seat to move has a fixed random 64-bit key, and a
+ * position hashes to the XOR of the keys that apply to it. After a move only the keys of the
+ * tokens that changed need to be swapped, see {@link #update}. The last roll is not part of the
+ * hash, since search tables store positions before the roll.
+ * </p>
+ */
+public final class ZobristHash {
+
+  private static final int TOKENS = LudoState.MAX_PLAYERS * LudoState.TOKENS_PER_PLAYER;
+  private static final int OFFSETS = LudoState.FINISH + 2;
+  private static final int TOKEN_BITS = 6;
+  private static final int TOKENS_IN_LOW = Long.SIZE / TOKEN_BITS;
+  private static final long HIGH_TOKEN_MASK = (1L << (TOKEN_BITS * (TOKENS - TOKENS_IN_LOW))) - 1;
+
+  private static final long[] TOKEN_KEYS = new long[TOKENS * OFFSETS];
+  private static final long[] TURN_KEYS = new long[LudoState.MAX_PLAYERS];
+
+  static {
+    SplittableRandom random = new SplittableRandom(0x5EED_1D0L);
+    for (int i = 0; i < TOKEN_KEYS.length; i++) {
+      TOKEN_KEYS[i] = random.nextLong();
+    }
+    for (int i = 0; i < TURN_KEYS.length; i++) {
+      TURN_KEYS[i] = random.nextLong();
+    }
+  }
+
+  private ZobristHash() {
+  }
+
+  /**
+   * Hashes a position from scratch.
+   *
+   * @param state the position
+   * @return the Zobrist hash
+   */
+  public static long hash(LudoState state) {
+    long hash = TURN_KEYS[state.currentPlayer()];
+    for (int i = 0; i < TOKENS; i++) {
+      hash ^= TOKEN_KEYS[i * OFFSETS + state.offset(i) + 1];
+    }
+    return hash;
+  }
+
+  /**
+   * Turns the hash of one position into the hash of another by swapping only the keys of the
+   * tokens and turn that differ between them.
+   *
+   * @param hash   the hash of {@code before}
+   * @param before the old position
+   * @param after  the new position
+   * @return the hash of {@code after}
+   */
+  public static long update(long hash, LudoState before, LudoState after) {
+    long changed = before.low() ^ after.low();
+    while (changed != 0) {
+      int i = Long.numberOfTrailingZeros(changed) / TOKEN_BITS;
+      hash ^= TOKEN_KEYS[i * OFFSETS + before.offset(i) + 1]
+          ^ TOKEN_KEYS[i * OFFSETS + after.offset(i) + 1];
+      changed &= ~(((1L << TOKEN_BITS) - 1) << (i * TOKEN_BITS));
+    }
+    changed = (before.high() ^ after.high()) & HIGH_TOKEN_MASK;
+    while (changed != 0) {
+      int field = Long.numberOfTrailingZeros(changed) / TOKEN_BITS;
+      int i = TOKENS_IN_LOW + field;
+      hash ^= TOKEN_KEYS[i * OFFSETS + before.offset(i) + 1]
+          ^ TOKEN_KEYS[i * OFFSETS + after.offset(i) + 1];
+      changed &= ~(((1L << TOKEN_BITS) - 1) << (field * TOKEN_BITS));
+    }
+    if (before.currentPlayer() != after.currentPlayer()) {
+      hash ^= TURN_KEYS[before.currentPlayer()] ^ TURN_KEYS[after.currentPlayer()];
+    }
+    return hash;
+  }
+
+  /**
+   * Returns a key that tells apart searches done from different seats' points of view.
+   *
+   * @param seat the seat index
+   * @return the key to mix into position hashes
+   */
+  public static long perspectiveKey(int seat) {
+    return Long.rotateLeft(TURN_KEYS[seat], 29);
+  }
+}
@@ -3,36 +3,53 @@ package ntnu.idatt2003.controller;
 import java.util.List;
 import javafx.scene.Scene;
 import javafx.stage.Stage;
-import ntnu.idatt2003.model.BoardGame;
-import ntnu.idatt2003.model.snakeandladder.SnakeLadderBoard;
+import javafx.stage.WindowEvent;
+import ntnu.idatt2003.file.AutosaveWorker;
+import ntnu.idatt2003.file.SnakeLadderAutosave;
+import ntnu.idatt2003.model.snakeandladder.SnakeAndLadderGame;
 import ntnu.idatt2003.model.snakeandladder.SnakeLadderPlayer;
 import ntnu.idatt2003.view.Animator;
 import ntnu.idatt2003.view.BoardView;
 
 /**
  * Controller for managing the gameplay flow for Snakes and Ladders. Responsible for connecting the
- * game model (BoardGame) with the GUI (BoardView), handling player moves, dice rolls, updating the
- * view, and ending the game.
+ * game model (SnakeAndLadderGame) with the GUI (BoardView), handling player moves, dice rolls,
+ * updating the view, and ending the game.
+ *
+ * <p>After every turn the game is saved in the background to the user's home directory. The board
+ * is stored once in a board directory next to it, on the autosave thread, and the save only refers
+ * to it by hash. The home page offers to resume a saved game that was not finished.
+ * </p>
  */
 public class GameController {
 
   private final Stage stage;
   private final BoardView boardView;
-  private final BoardGame<SnakeLadderPlayer, SnakeLadderBoard> game;
+  private final SnakeAndLadderGame game;
+  private final AutosaveWorker<byte[]> autosave;
 
   /**
    * Constructs the controller and initializes the main game view.
    *
    * @param stage the JavaFX stage where the game will be displayed
-   * @param game  the board game model (Snakes and Ladders game logic)
+   * @param game  the Snakes and Ladders game logic
    */
-  public GameController(Stage stage, BoardGame<SnakeLadderPlayer, SnakeLadderBoard> game) {
+  public GameController(Stage stage, SnakeAndLadderGame game) {
     this.stage = stage;
     this.game = game;
-    this.boardView = new BoardView(game.getBoard(), game.getPlayers(), new Animator());
+    this.boardView = new BoardView(game.getBoard(), game.getPlayers(), game::tileOf,
+        new Animator());
+    this.autosave = SnakeLadderAutosave.inHome().start(game);
     initView();
   }
 
+  /**
+   * Hands the finished turn to the autosave worker; encoding takes a few hundred bytes.
+   */
+  private void autoSave() {
+    autosave.submit(game.toSaveData());
+  }
+
   private void initView() {
     boardView.drawActions();
     game.addObserver(boardView);
@@ -48,11 +65,13 @@ public class GameController {
     stage.show();
     game.getPlayers().forEach(boardView::startPlayerDrift);
     boardView.updateCurrentPlayer(game.getCurrentPlayer().getName());
+    // Write the last pending save before the window goes away
+    stage.addEventHandler(WindowEvent.WINDOW_HIDDEN, e -> autosave.close());
   }
 
   private void handleRoll() {
     SnakeLadderPlayer current = game.getCurrentPlayer();
-    int fromId = current.getCurrentTile().getTileId();
+    int fromId = game.tileOf(current);
 
     List<Integer> lastRoll = game.rollIndividual();
     boardView.updateDiceResult(lastRoll);
@@ -73,6 +92,7 @@ public class GameController {
         }
         boardView.updateCurrentPlayer(game.getCurrentPlayer().getName());
       }
+      autoSave();
     });
   }
 }
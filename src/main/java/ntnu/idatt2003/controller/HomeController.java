@@ -1,7 +1,15 @@
 package ntnu.idatt2003.controller;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import javafx.application.Platform;
 import javafx.scene.Scene;
+import javafx.scene.control.Alert;
+import javafx.scene.control.ButtonType;
 import javafx.stage.Stage;
+import ntnu.idatt2003.file.SnakeLadderAutosave;
 import ntnu.idatt2003.model.GameType;
 import ntnu.idatt2003.model.ludo.LudoBoard;
 import ntnu.idatt2003.model.ludo.LudoGame;
@@ -14,7 +22,8 @@ import ntnu.idatt2003.view.LudoSetupPage;
  * page based on user input.
  *
  * <p>Attaches event handlers to the home page labels for Snakes and Ladders and Ludo,
- * and manages scene changes on the primary stage.
+ * and manages scene changes on the primary stage. If an unfinished Snakes and Ladders game was
+ * autosaved, choosing Snakes and Ladders first offers to resume it.
  * </p>
  */
 public class HomeController {
@@ -31,7 +40,7 @@ public class HomeController {
   public HomeController(Stage stage, HomePage view) {
     this.stage = stage;
     this.view = view;
-    view.getSnakesLabel().setOnMouseClicked(e -> goToLevelSelection(GameType.SNAKE_AND_LADDERS));
+    view.getSnakesLabel().setOnMouseClicked(e -> offerResume());
     view.getLudoLabel().setOnMouseClicked(e -> goToLevelSelection(GameType.LUDO));
   }
 
@@ -44,6 +53,40 @@ public class HomeController {
     stage.show();
   }
 
+  /**
+   * Reads the autosave on a background thread and, if it holds an unfinished game, asks whether to
+   * resume it. Otherwise, or if the player declines, shows the level selection.
+   */
+  private void offerResume() {
+    CompletableFuture.supplyAsync(() -> {
+      try {
+        return SnakeLadderAutosave.inHome().resume();
+      } catch (IOException e) {
+        throw new UncheckedIOException(e);
+      }
+    }).whenComplete((game, error) -> Platform.runLater(() -> {
+      if (error != null) {
+        Throwable cause = error instanceof CompletionException && error.getCause() != null
+            ? error.getCause() : error;
+        System.err.println("Could not read the autosave: " + cause.getMessage());
+      }
+      if (game != null && confirmResume()) {
+        new GameController(stage, game).start();
+      } else {
+        goToLevelSelection(GameType.SNAKE_AND_LADDERS);
+      }
+    }));
+  }
+
+  private boolean confirmResume() {
+    Alert a = new Alert(Alert.AlertType.CONFIRMATION,
+        "You have an unfinished game of Snakes and Ladders. Do you want to resume it?",
+        ButtonType.YES, ButtonType.NO);
+    a.setTitle("Resume game");
+    a.setHeaderText(null);
+    return a.showAndWait().orElse(ButtonType.NO) == ButtonType.YES;
+  }
+
   /**
    * Navigates to the appropriate setup or level selection page for the selected game type. For
    * Snakes and Ladders, shows the level selection; for Ludo, shows the setup page.
@@ -1,11 +1,21 @@
 package ntnu.idatt2003.controller;
 
 import java.io.File;
+import java.nio.file.Path;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import javafx.application.Platform;
 import javafx.scene.Scene;
+import javafx.scene.control.Alert;
+import javafx.scene.control.ButtonType;
 import javafx.stage.FileChooser;
 import javafx.stage.Stage;
+import ntnu.idatt2003.factory.BoardGameFactory;
 import ntnu.idatt2003.model.GameLevel;
 import ntnu.idatt2003.model.GameType;
+import ntnu.idatt2003.model.snakeandladder.SnakeLadderBoard;
+import ntnu.idatt2003.simulation.SnakeLadderMarkovChain;
 import ntnu.idatt2003.view.LevelSelectionPage;
 import ntnu.idatt2003.view.PlayerSetupPage;
 
@@ -63,10 +73,56 @@ public class LevelSelectionController {
    * Displays the game level selection page.
    */
   public void show() {
+    if (gameType == GameType.SNAKE_AND_LADDERS) {
+      showDifficulty();
+    }
     Scene scene = new Scene(view, 800, 600);
     stage.setScene(scene);
     stage.setTitle("Select Game Level");
     stage.show();
   }
 
+  /**
+   * Annotates the levels with their expected game length. The boards are loaded and analysed on a
+   * background thread, once for each number of dice the player setup page offers, and the labels
+   * are filled in on the FX thread when the numbers are ready.
+   */
+  private void showDifficulty() {
+    BoardGameFactory factory = new BoardGameFactory();
+    analyse(GameLevel.EASY, factory::createEasyBoard);
+    analyse(GameLevel.ADVANCED,
+        () -> factory.createAdvancedBoard(Path.of("snakes_and_ladders_90.json")));
+  }
+
+  private void analyse(GameLevel level, Callable<SnakeLadderBoard> loader) {
+    CompletableFuture.supplyAsync(() -> {
+      SnakeLadderBoard board;
+      try {
+        board = loader.call();
+      } catch (Exception e) {
+        throw new CompletionException(e);
+      }
+      return new double[] {
+          SnakeLadderMarkovChain.of(board, 1).expectedTurns(),
+          SnakeLadderMarkovChain.of(board, 2).expectedTurns()
+      };
+    }).whenComplete((turns, error) -> Platform.runLater(() -> {
+      if (error == null) {
+        view.setExpectedTurns(level, turns[0], turns[1]);
+      } else {
+        Throwable cause = error instanceof CompletionException && error.getCause() != null
+            ? error.getCause() : error;
+        showError("Could not analyse the " + level.name().toLowerCase() + " board",
+            cause.getMessage());
+      }
+    }));
+  }
+
+  private void showError(String title, String content) {
+    Alert a = new Alert(Alert.AlertType.ERROR, content, ButtonType.OK);
+    a.setTitle(title);
+    a.setHeaderText(null);
+    a.showAndWait();
+  }
+
 }
@@ -2,15 +2,25 @@ package ntnu.idatt2003.controller;
 
 import java.io.File;
 import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import javafx.application.Platform;
 import javafx.scene.Scene;
 import javafx.scene.control.Alert;
 import javafx.scene.control.ButtonType;
 import javafx.scene.control.Label;
 import javafx.stage.Stage;
+import javafx.stage.WindowEvent;
+import ntnu.idatt2003.file.LudoJournal;
 import ntnu.idatt2003.model.ludo.LudoGame;
-import ntnu.idatt2003.model.ludo.LudoTile;
+import ntnu.idatt2003.model.ludo.LudoPlayer;
+import ntnu.idatt2003.model.ludo.LudoRules;
+import ntnu.idatt2003.model.ludo.LudoState;
 import ntnu.idatt2003.model.ludo.Token;
 import ntnu.idatt2003.view.DieDiceView;
 import ntnu.idatt2003.view.LudoBoardView;
@@ -21,6 +31,12 @@ import ntnu.idatt2003.view.LudoBoardView;
  * <p>Connects the Ludo model (game state) to the graphical interface (LudoBoardView), manages
  * turns, dice rolls, legal token selection, auto-saving, and winning logic.
  * </p>
+ *
+ * <p>Every finished turn is appended to a {@link LudoJournal} in the user's home directory. The
+ * journal is only ever touched on one background thread, so appends, snapshots and the forces to
+ * disk that come with them never hold up the FX thread. An existing journal is only replaced
+ * after the player has been offered to resume it.
+ * </p>
  */
 public class LudoGameController {
 
@@ -28,9 +44,17 @@ public class LudoGameController {
   private final LudoGame game;
   private final LudoBoardView view;
   private int lastRoll;
-
-  private final File autosaveFile =
-      new File(System.getProperty("user.home"), "ludo_autosave.ludosav");
+  private final int[] moveBuffer = new int[4];
+  private final List<Token> legal = new ArrayList<>(4);
+
+  private final Path autosaveFile =
+      new File(System.getProperty("user.home"), "ludo_autosave.ludojournal").toPath();
+  // Runs every journal operation in order; the journal itself is only used on this thread, which
+  // is not a daemon so that the turns queued before the window closed still reach the file
+  private final ExecutorService journalWriter =
+      Executors.newSingleThreadExecutor(runnable -> new Thread(runnable, "ludo-journal"));
+  private LudoJournal journal;
+  private boolean autosaving;
 
   /**
    * Constructs a LudoGameController for the given stage and Ludo game.
@@ -55,13 +79,144 @@ public class LudoGameController {
     init();
   }
 
-  private void autoSave() {
-    try {
-      game.saveToFile(autosaveFile);
-    } catch (IOException e) {
-      // log it, but don’t interrupt the player
-      System.err.println("Autosave failed: " + e.getMessage());
+  /**
+   * Reads any earlier journal in the background, then offers to resume it on the FX thread.
+   */
+  private void initAutosave() {
+    view.getRollButton().setDisable(true);
+    journalWriter.execute(() -> {
+      boolean exists = Files.exists(autosaveFile);
+      LudoState saved = null;
+      if (exists) {
+        try {
+          saved = LudoJournal.load(autosaveFile);
+        } catch (IOException e) {
+          System.err.println("Could not read the Ludo autosave: " + e.getMessage());
+        }
+      }
+      LudoState found = saved;
+      Platform.runLater(() -> resumeOrReplace(exists, found));
+    });
+  }
+
+  /**
+   * Decides what to do with an earlier journal: resume it if it fits this game and the player
+   * wants to, replace it once the player agrees, or leave it alone and play without autosave.
+   *
+   * @param exists whether a journal file was found
+   * @param saved  the position it holds, or null if it could not be read
+   */
+  private void resumeOrReplace(boolean exists, LudoState saved) {
+    if (journalWriter.isShutdown()) {
+      // the window was closed before the old journal was read
+      return;
+    }
+    if (!exists || saved != null && LudoRules.winner(saved) >= 0) {
+      startJournal(false);
+    } else if (saved != null && fits(saved)) {
+      if (confirm("Resume the autosaved Ludo game?")) {
+        game.setState(saved);
+        view.placeAllPlayers();
+        view.setCurrentPlayer(game.getCurrentPlayer().getName());
+        view.setNextPlayer(nextName());
+        startJournal(true);
+      } else {
+        startJournal(false);
+      }
+    } else if (confirm("The Ludo autosave can not be resumed in this game. Replace it?")) {
+      startJournal(false);
+    }
+    view.getRollButton().setDisable(game.gameDone());
+  }
+
+  private boolean fits(LudoState state) {
+    List<LudoPlayer> players = game.getPlayers();
+    if (state.playerCount() != players.size()) {
+      return false;
+    }
+    for (int seat = 0; seat < players.size(); seat++) {
+      if (state.color(seat) != players.get(seat).getTokenColor()) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private static boolean confirm(String question) {
+    Optional<ButtonType> answer = new Alert(Alert.AlertType.CONFIRMATION, question,
+        ButtonType.YES, ButtonType.NO).showAndWait();
+    return answer.isPresent() && answer.get() == ButtonType.YES;
+  }
+
+  /**
+   * Opens the journal on the writer thread, continuing the existing file or starting a new one
+   * from the current position.
+   */
+  private void startJournal(boolean resume) {
+    autosaving = true;
+    LudoState start = game.getState();
+    journalWriter.execute(() -> {
+      try {
+        journal = resume
+            ? LudoJournal.open(autosaveFile, LudoJournal.DEFAULT_SNAPSHOT_INTERVAL)
+            : LudoJournal.create(autosaveFile, start, LudoJournal.DEFAULT_SNAPSHOT_INTERVAL);
+      } catch (IOException e) {
+        System.err.println("Autosave disabled: " + e.getMessage());
+      }
+    });
+  }
+
+  /**
+   * Hands the finished turn to the journal writer, a few bytes per move. Only the packed position
+   * is taken on the FX thread.
+   *
+   * @param seat  the seat that rolled
+   * @param token the index of the token moved, or -1 if no token could move
+   */
+  private void autoSave(int seat, int token) {
+    if (!autosaving) {
+      return;
     }
+    int roll = lastRoll;
+    LudoState after = token < 0 ? null : game.getState();
+    journalWriter.execute(() -> {
+      if (journal == null) {
+        return;
+      }
+      try {
+        if (token < 0) {
+          journal.recordPass(seat, roll);
+        } else {
+          journal.recordMove(seat, token, roll, after);
+        }
+      } catch (IOException e) {
+        // log it, but don’t interrupt the player
+        System.err.println("Autosave failed: " + e.getMessage());
+      }
+    });
+  }
+
+  /**
+   * Queues the journal to be forced and closed after the turns already handed over, and lets the
+   * writer thread end once it is done.
+   */
+  private void closeJournal() {
+    if (journalWriter.isShutdown()) {
+      return;
+    }
+    autosaving = false;
+    journalWriter.execute(() -> {
+      if (journal == null) {
+        return;
+      }
+      try {
+        journal.close();
+      } catch (IOException e) {
+        System.err.println("Autosave failed: " + e.getMessage());
+      }
+      journal = null;
+    });
+    journalWriter.shutdown();
   }
 
 
@@ -78,21 +233,18 @@ public class LudoGameController {
       view.onDiceRolled(List.of(lastRoll));
       view.setCurrentPlayer(game.getCurrentPlayer().getName());
 
-      List<Token> legal = game.getCurrentPlayer().getTokens().stream()
-          .filter(tk -> {
-
-            if (tk.isAtHome()) {
-              return lastRoll == 6;
-            }
-
-            LudoTile dest = game.getBoard().getNextTile(tk, lastRoll);
-            return dest.getIndex() != tk.getPosition().getIndex();
-          })
-          .collect(Collectors.toList());
+      int count = game.generateMoves(lastRoll, moveBuffer);
+      List<Token> tokens = game.getCurrentPlayer().getTokens();
+      legal.clear();
+      for (int i = 0; i < count; i++) {
+        legal.add(tokens.get(LudoRules.moveToken(moveBuffer[i])));
+      }
 
       if (legal.isEmpty()) {
 
+        int seat = game.getPlayers().indexOf(game.getCurrentPlayer());
         game.nextPlayer();
+        autoSave(seat, -1);
         view.setCurrentPlayer(game.getCurrentPlayer().getName());
         view.setNextPlayer(nextName());
       } else {
@@ -111,11 +263,14 @@ public class LudoGameController {
 
       try {
         game.selectToken(tk);
+        LudoPlayer mover = game.getCurrentPlayer();
+        int seat = game.getPlayers().indexOf(mover);
+        int token = mover.getTokens().indexOf(tk);
         game.moveCurrentPlayer(lastRoll);
-        autoSave();
         view.placeAllPlayers();
 
         if (game.gameDone()) {
+          autoSave(seat, token);
           new Alert(Alert.AlertType.INFORMATION,
               game.getWinner().getName() + " wins!",
               ButtonType.OK).showAndWait();
@@ -127,6 +282,7 @@ public class LudoGameController {
           view.setCurrentPlayer(game.getCurrentPlayer().getName());
           view.setNextPlayer(nextName());
         }
+        autoSave(seat, token);
 
         view.clearHighlighting();
         view.getRollButton().setDisable(false);
@@ -151,7 +307,10 @@ public class LudoGameController {
     Scene scene = new Scene(view, view.getPrefWidth(), view.getPrefHeight());
     stage.setScene(scene);
     stage.setTitle("Ludo: Game in Progress");
+    // Force the journal to disk before the window goes away
+    stage.addEventHandler(WindowEvent.WINDOW_HIDDEN, e -> closeJournal());
     stage.show();
+    initAutosave();
   }
 
 
@@ -2,14 +2,22 @@ package ntnu.idatt2003.core;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.random.RandomGenerator;
 
 /**
  * Represents a set of dice. This class allows rolling multiple dice at once and keeping track of
  * the last results.
+ *
+ * <p>{@link #rollAll()}, {@link #rollInto(int[])} and {@link #rollSum()} work on primitive ints
+ * and do not allocate, so they are the ones to use in tight loops. The list methods box their
+ * values.
+ * </p>
  */
 public class Dice {
 
-  private final List<Die> dice;
+  private final Die[] dice;
+  private final int[] lastValues;
+  private boolean rolled;
   private List<Integer> lastRolls;
 
   /**
@@ -19,13 +27,36 @@ public class Dice {
    * @throws IllegalArgumentException if numberOfDice is less than 1
    */
   public Dice(int numberOfDice) {
+    this(numberOfDice, DiceRandom.create());
+  }
+
+  /**
+   * Constructs a set of dice with a seeded generator, so the rolls can be repeated.
+   *
+   * @param numberOfDice the number of dice in the set; must be at least 1
+   * @param seed         the seed for the default {@link DiceRandom} algorithm
+   * @throws IllegalArgumentException if numberOfDice is less than 1
+   */
+  public Dice(int numberOfDice, long seed) {
+    this(numberOfDice, DiceRandom.create(seed));
+  }
+
+  /**
+   * Constructs a set of dice that all roll from the same random generator.
+   *
+   * @param numberOfDice the number of dice in the set; must be at least 1
+   * @param random       the generator shared by all dice (must not be null)
+   * @throws IllegalArgumentException if numberOfDice is less than 1 or random is null
+   */
+  public Dice(int numberOfDice, RandomGenerator random) {
     if (numberOfDice < 1) {
       throw new IllegalArgumentException("At least one die is required.");
     }
-    this.dice = new ArrayList<>();
+    this.dice = new Die[numberOfDice];
     for (int i = 0; i < numberOfDice; i++) {
-      this.dice.add(new Die());
+      this.dice[i] = new Die(random);
     }
+    this.lastValues = new int[numberOfDice];
   }
 
   /**
@@ -34,22 +65,25 @@ public class Dice {
    * @return the sum of all dice rolls.
    */
   public int rollAll() {
-    lastRolls = new ArrayList<>();
-    int total = 0;
-    for (Die die : dice) {
-      int result = die.roll();
-      lastRolls.add(result);
-      total += result;
-    }
+    int total = rollInto(lastValues);
+    rolled = true;
+    lastRolls = null;
     return total;
   }
 
   /**
    * Returns the results of the most recent roll for all dice.
    *
-   * @return a list of integers representing the last rolled values for each die
+   * @return a list of integers representing the last rolled values for each die, or null if
+   *         {@link #rollAll()} has not been called
    */
   public List<Integer> getLastRolls() {
+    if (rolled && lastRolls == null) {
+      lastRolls = new ArrayList<>(lastValues.length);
+      for (int value : lastValues) {
+        lastRolls.add(value);
+      }
+    }
     return lastRolls;
   }
 
@@ -59,20 +93,53 @@ public class Dice {
    * @return a list of integers representing the result of each die roll
    */
   public List<Integer> rollEach() {
-    List<Integer> results = new ArrayList<>();
+    List<Integer> results = new ArrayList<>(dice.length);
     for (Die die : dice) {
       results.add(die.roll());
     }
     return results;
   }
 
+  /**
+   * Rolls each die into an array without changing {@link #getLastRolls()}.
+   *
+   * @param results the array to fill; entry {@code i} gets die {@code i}'s value
+   * @return the sum of the rolls
+   * @throws IllegalArgumentException if the array is null or shorter than the number of dice
+   */
+  public int rollInto(int[] results) {
+    if (results == null || results.length < dice.length) {
+      throw new IllegalArgumentException("Result array must hold " + dice.length + " values");
+    }
+    int total = 0;
+    for (int i = 0; i < dice.length; i++) {
+      int value = dice[i].roll();
+      results[i] = value;
+      total += value;
+    }
+    return total;
+  }
+
+  /**
+   * Rolls all dice and returns the sum without changing {@link #getLastRolls()}.
+   *
+   * @return the sum of the rolls
+   */
+  public int rollSum() {
+    int total = 0;
+    for (Die die : dice) {
+      total += die.roll();
+    }
+    return total;
+  }
+
   /**
    * Returns the number of dice in the set.
    *
    * @return the number of dice
    */
   public int numberOfDice() {
-    return dice.size();
+    return dice.length;
   }
 
 }
@@ -0,0 +1,112 @@
+package ntnu.idatt2003.core;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.random.RandomGenerator;
+import java.util.random.RandomGenerator.SplittableGenerator;
+import java.util.random.RandomGeneratorFactory;
+
+/**
+ * Creates the random generators behind {@link Die} and {@link Dice}.
+ *
+ * <p>Generators are picked by their {@link RandomGeneratorFactory} name, for example
+ * {@code "L64X128MixRandom"} (the default), {@code "Xoshiro256PlusPlus"} or
+ * {@code "SplittableRandom"}. A seeded generator always produces the same rolls, and
+ * {@link #streams} hands out one independent generator per worker so parallel code never shares a
+ * generator.
+ * </p>
+ */
+public final class DiceRandom {
+
+  /** The algorithm used when none is named. */
+  public static final String DEFAULT_ALGORITHM = "L64X128MixRandom";
+
+  private DiceRandom() {
+  }
+
+  /**
+   * Creates an unseeded generator with the default algorithm.
+   *
+   * @return a new generator
+   */
+  public static RandomGenerator create() {
+    return factory(DEFAULT_ALGORITHM).create();
+  }
+
+  /**
+   * Creates a seeded generator with the default algorithm.
+   *
+   * @param seed the seed
+   * @return a new generator
+   */
+  public static RandomGenerator create(long seed) {
+    return create(DEFAULT_ALGORITHM, seed);
+  }
+
+  /**
+   * Creates a seeded generator with the named algorithm.
+   *
+   * @param algorithm the algorithm name
+   * @param seed      the seed
+   * @return a new generator
+   * @throws IllegalArgumentException if the algorithm is unknown
+   */
+  public static RandomGenerator create(String algorithm, long seed) {
+    return factory(algorithm).create(seed);
+  }
+
+  /**
+   * Creates a seeded generator that can be split into independent generators.
+   *
+   * @param algorithm the algorithm name
+   * @param seed      the seed
+   * @return a new splittable generator
+   * @throws IllegalArgumentException if the algorithm is unknown or can not be split
+   */
+  public static SplittableGenerator splittable(String algorithm, long seed) {
+    RandomGeneratorFactory<RandomGenerator> factory = factory(algorithm);
+    if (!factory.isSplittable()) {
+      throw new IllegalArgumentException(algorithm + " can not be split");
+    }
+    return (SplittableGenerator) factory.create(seed);
+  }
+
+  /**
+   * Creates a number of independent generators from one seed, one for each worker thread. The
+   * same seed and count always give the same generators in the same order.
+   *
+   * @param algorithm the algorithm name
+   * @param seed      the seed
+   * @param count     the number of generators
+   * @return the generators
+   * @throws IllegalArgumentException if the algorithm is unknown or count is negative
+   */
+  public static List<RandomGenerator> streams(String algorithm, long seed, int count) {
+    if (count < 0) {
+      throw new IllegalArgumentException("Number of streams can not be negative");
+    }
+    RandomGeneratorFactory<RandomGenerator> factory = factory(algorithm);
+    List<RandomGenerator> streams = new ArrayList<>(count);
+    if (factory.isSplittable()) {
+      SplittableGenerator root = (SplittableGenerator) factory.create(seed);
+      for (int i = 0; i < count; i++) {
+        streams.add(root.split());
+      }
+    } else {
+      // Spread the seeds with a mixing generator so neighbouring streams are unrelated
+      SplittableRandom seeds = new SplittableRandom(seed);
+      for (int i = 0; i < count; i++) {
+        streams.add(factory.create(seeds.nextLong()));
+      }
+    }
+    return streams;
+  }
+
+  private static RandomGeneratorFactory<RandomGenerator> factory(String algorithm) {
+    if (algorithm == null || algorithm.isBlank()) {
+      throw new IllegalArgumentException("Algorithm name can not be empty");
+    }
+    return RandomGeneratorFactory.of(algorithm);
+  }
+}
@@ -1,20 +1,33 @@
 package ntnu.idatt2003.core;
 
-import java.util.Random;
+import java.util.random.RandomGenerator;
 
 /**
  * Represents a single six-sided die.
  */
 public class Die {
 
-  private final Random random;
+  private final RandomGenerator random;
   private int lastRolledValue;
 
   /**
    * Constructs a new die.
    */
   public Die() {
-    this.random = new Random();
+    this(DiceRandom.create());
+  }
+
+  /**
+   * Constructs a new die backed by the given random generator.
+   *
+   * @param random the generator used for rolling (must not be null)
+   * @throws IllegalArgumentException if random is null
+   */
+  public Die(RandomGenerator random) {
+    if (random == null) {
+      throw new IllegalArgumentException("Random generator can not be null");
+    }
+    this.random = random;
   }
 
   /**
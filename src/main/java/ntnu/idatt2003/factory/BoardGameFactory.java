@@ -4,8 +4,9 @@ import java.nio.file.Path;
 import java.util.List;
 import ntnu.idatt2003.actions.LadderAction;
 import ntnu.idatt2003.actions.SnakeAction;
-import ntnu.idatt2003.file.BoardFileReaderGson;
+import ntnu.idatt2003.file.BoardCache;
 import ntnu.idatt2003.model.BoardGame;
+import ntnu.idatt2003.model.GameLevel;
 import ntnu.idatt2003.model.ludo.LudoBoard;
 import ntnu.idatt2003.model.ludo.LudoGame;
 import ntnu.idatt2003.model.ludo.LudoPlayer;
@@ -19,20 +20,67 @@ import ntnu.idatt2003.model.snakeandladder.Tile;
  * instances of different board games, such as Snakes and Ladders and Ludo.
  *
  * <p>It provides methods for creating boards and game objects, including easy and advanced boards,
- * by reading from a JSON file or using default setups.
+ * by reading from a JSON file, using default setups, or generating a board for a level.
+ * </p>
+ *
+ * <p>Boards read from files go through a {@link BoardCache}, shared by all factories unless one is
+ * given, so starting another game on the same board does not parse the file again.
+ * </p>
  */
 public class BoardGameFactory {
 
+  private static final BoardCache SHARED_BOARDS = new BoardCache();
+
+  private final BoardCache boards;
+
+  /**
+   * Creates a factory that reads boards through the shared board cache.
+   */
+  public BoardGameFactory() {
+    this(SHARED_BOARDS);
+  }
+
+  /**
+   * Creates a factory that reads boards through the given cache.
+   *
+   * @param boards the cache of parsed boards
+   * @throws IllegalArgumentException if boards is null
+   */
+  public BoardGameFactory(BoardCache boards) {
+    if (boards == null) {
+      throw new IllegalArgumentException("Board cache can not be null");
+    }
+    this.boards = boards;
+  }
+
   /**
    * Creates an advanced Snakes and Ladders board by reading the board configuration from a JSON
-   * file.
+   * or binary board file. Each call returns a new board, but a file whose contents have been read
+   * before is not parsed or checked again. Boards that can not be played, such as ones with links
+   * to missing tiles or an unreachable finish, are rejected, see {@link SnakeLadderBoard#report()}.
    *
-   * @param jsonPath the path to the JSON file containing board configuration
+   * @param jsonPath the path to the file containing board configuration
    * @return a {@link SnakeLadderBoard} instance based on the file
    * @throws Exception if there is a problem reading or parsing the file
    */
   public SnakeLadderBoard createAdvancedBoard(Path jsonPath) throws Exception {
-    return new BoardFileReaderGson().readBoard(jsonPath);
+    return boards.load(jsonPath).toBoard();
+  }
+
+  /**
+   * Creates a new Snakes and Ladders board with snakes, ladders and bonus tiles placed so that a
+   * game takes about as long, and varies about as much in length, as the level calls for. The
+   * same level and seed always give the same board.
+   *
+   * @param level the level to generate a board for, {@link GameLevel#EASY} or
+   *              {@link GameLevel#ADVANCED}
+   * @param seed  the seed of the generator
+   * @return a new board
+   * @throws IllegalArgumentException if the level is {@link GameLevel#CUSTOM}
+   * @see BoardGenerator
+   */
+  public SnakeLadderBoard createGeneratedBoard(GameLevel level, long seed) {
+    return BoardGenerator.forLevel(level).generate(seed);
   }
 
   /**
@@ -43,7 +91,7 @@ public class BoardGameFactory {
    * @param diceCount  the number of dice used in the game
    * @return a {@link SnakeAndLadderGame} instance
    */
-  public BoardGame<SnakeLadderPlayer, SnakeLadderBoard> createGame(SnakeLadderBoard board,
+  public SnakeAndLadderGame createGame(SnakeLadderBoard board,
       List<SnakeLadderPlayer> players, int diceCount) {
     return new SnakeAndLadderGame(board, players, diceCount);
   }
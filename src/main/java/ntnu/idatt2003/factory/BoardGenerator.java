@@ -0,0 +1,436 @@
+package ntnu.idatt2003.factory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.random.RandomGenerator;
+import java.util.random.RandomGenerator.SplittableGenerator;
+import java.util.stream.IntStream;
+import ntnu.idatt2003.actions.BonusTileAction;
+import ntnu.idatt2003.actions.LadderAction;
+import ntnu.idatt2003.actions.SnakeAction;
+import ntnu.idatt2003.core.DiceRandom;
+import ntnu.idatt2003.model.GameLevel;
+import ntnu.idatt2003.model.snakeandladder.SnakeLadderBoard;
+import ntnu.idatt2003.model.snakeandladder.Tile;
+import ntnu.idatt2003.simulation.SnakeLadderMarkovChain;
+
+/**
+ * Generates Snakes and Ladders boards whose games take a chosen number of turns on average, with a
+ * chosen spread.
+ *
+ * <p>Boards have {@value #TILES} tiles in a line, like the built-in boards. A board is found by
+ * hill climbing: a random layout of the given number of ladders, snakes and bonus tiles is changed
+ * one feature at a time, moving an end of a snake or ladder a few tiles or moving a bonus tile, and
+ * a change is kept when it brings the board closer to the target. A layout is scored by the
+ * relative error of the expected turns of a lone player with one die and of the standard deviation
+ * of those turns, the same numbers as {@link SnakeLadderMarkovChain#expectedTurns()} and
+ * {@link SnakeLadderMarkovChain#turnVariance()}, but solved directly for a board in a line, which
+ * takes a few microseconds per layout. A search that stops improving starts over from a new random
+ * layout.
+ * </p>
+ *
+ * <p>No two features share a tile and none is placed on the first or last tile, so snakes and
+ * ladders never chain and every generated board passes {@link SnakeLadderBoard#report()}. Several
+ * boards are searched in parallel on a fork/join pool, each with its own random generator split
+ * from one seed in a fixed order, so a seed always gives the same boards.
+ * </p>
+ */
+public final class BoardGenerator {
+
+  /** The number of tiles on a generated board. */
+  public static final int TILES = 90;
+
+  /** The largest relative error in mean and deviation a generated board may have. */
+  public static final double TOLERANCE = 0.03;
+
+  private static final int NUMBER_OF_DICE = 1;
+  // Changes without improvement before a search starts over, and layouts tried per board
+  private static final int PATIENCE = 400;
+  private static final int MAX_EVALUATIONS = 200_000;
+  private static final int MAX_SHIFT = 8;
+
+  private final double meanTurns;
+  private final double turnDeviation;
+  private final int ladders;
+  private final int snakes;
+  private final int bonusTiles;
+
+  /**
+   * Creates a generator.
+   *
+   * @param meanTurns     the expected number of turns a lone player should need with one die
+   * @param turnDeviation the standard deviation of that number of turns
+   * @param ladders       the number of ladders on a board
+   * @param snakes        the number of snakes on a board
+   * @param bonusTiles    the number of bonus tiles on a board
+   * @throws IllegalArgumentException if a target is not positive, a count is negative, or the
+   *                                  features do not fit on the board
+   */
+  public BoardGenerator(double meanTurns, double turnDeviation, int ladders, int snakes,
+      int bonusTiles) {
+    if (!(meanTurns > 0) || !(turnDeviation > 0)) {
+      throw new IllegalArgumentException("Target turns and deviation must be positive");
+    }
+    if (ladders < 0 || snakes < 0 || bonusTiles < 0) {
+      throw new IllegalArgumentException("Feature counts can not be negative");
+    }
+    if (2L * (ladders + snakes) + bonusTiles > (TILES - 2) / 2) {
+      throw new IllegalArgumentException("Too many features for " + TILES + " tiles");
+    }
+    this.meanTurns = meanTurns;
+    this.turnDeviation = turnDeviation;
+    this.ladders = ladders;
+    this.snakes = snakes;
+    this.bonusTiles = bonusTiles;
+  }
+
+  /**
+   * Creates a generator for boards that play like the boards of a level: a short game with little
+   * variation for {@link GameLevel#EASY}, and a longer game where snakes make the length harder to
+   * predict for {@link GameLevel#ADVANCED}.
+   *
+   * @param level the level
+   * @return the generator
+   * @throws IllegalArgumentException if the level is {@link GameLevel#CUSTOM}, which has no target
+   */
+  public static BoardGenerator forLevel(GameLevel level) {
+    return switch (level) {
+      case EASY -> new BoardGenerator(18, 8, 4, 4, 1);
+      case ADVANCED -> new BoardGenerator(30, 16, 5, 8, 2);
+      case CUSTOM -> throw new IllegalArgumentException("Custom boards are not generated");
+    };
+  }
+
+  /**
+   * Generates one board.
+   *
+   * @param seed the seed of the search
+   * @return a board within {@link #TOLERANCE} of the target
+   * @throws IllegalStateException if no such board was found, which means the target can not be
+   *                               reached with these features
+   */
+  public SnakeLadderBoard generate(long seed) {
+    return search(DiceRandom.create(seed));
+  }
+
+  /**
+   * Generates boards in parallel on the common fork/join pool.
+   *
+   * @param count the number of boards
+   * @param seed  the seed all searches are derived from
+   * @return the boards, in an order that only depends on the seed
+   * @throws IllegalArgumentException if count is negative
+   * @throws IllegalStateException    if the target can not be reached
+   */
+  public List<SnakeLadderBoard> generate(int count, long seed) {
+    return generate(count, seed, ForkJoinPool.commonPool());
+  }
+
+  /**
+   * Generates boards in parallel on the given pool.
+   *
+   * @param count the number of boards
+   * @param seed  the seed all searches are derived from
+   * @param pool  the pool running the searches
+   * @return the boards, in an order that only depends on the seed
+   * @throws IllegalArgumentException if count is negative
+   * @throws IllegalStateException    if the target can not be reached
+   */
+  public List<SnakeLadderBoard> generate(int count, long seed, ForkJoinPool pool) {
+    if (count < 0) {
+      throw new IllegalArgumentException("Number of boards can not be negative");
+    }
+    SplittableGenerator root = DiceRandom.splittable(DiceRandom.DEFAULT_ALGORITHM, seed);
+    List<RandomGenerator> randoms = new ArrayList<>(count);
+    for (int i = 0; i < count; i++) {
+      randoms.add(root.split());
+    }
+    return pool.submit(() -> IntStream.range(0, count).parallel()
+        .mapToObj(i -> search(randoms.get(i)))
+        .toList()).join();
+  }
+
+  /**
+   * Returns how far a board is from the target: the sum of the squared relative errors of its
+   * expected turns and its turn deviation.
+   *
+   * @param board the board to score
+   * @return the score, 0 for a board exactly on target
+   */
+  public double score(SnakeLadderBoard board) {
+    SnakeLadderMarkovChain chain = SnakeLadderMarkovChain.of(board, NUMBER_OF_DICE);
+    if (!chain.isFinishAlwaysReached()) {
+      return Double.POSITIVE_INFINITY;
+    }
+    return score(chain.expectedTurns(), chain.turnVariance());
+  }
+
+  private double score(double turns, double variance) {
+    double mean = (turns - meanTurns) / meanTurns;
+    double deviation = (Math.sqrt(variance) - turnDeviation) / turnDeviation;
+    return mean * mean + deviation * deviation;
+  }
+
+  private double score(Layout layout) {
+    double[] moments = layout.turnMoments();
+    return score(moments[0], moments[1]);
+  }
+
+  private SnakeLadderBoard search(RandomGenerator random) {
+    double goal = TOLERANCE * TOLERANCE;
+    Layout best = null;
+    double bestScore = Double.POSITIVE_INFINITY;
+    int evaluations = 0;
+    while (evaluations < MAX_EVALUATIONS) {
+      Layout layout = Layout.random(ladders, snakes, bonusTiles, random);
+      double current = score(layout);
+      evaluations++;
+      int stale = 0;
+      while (stale < PATIENCE && current > goal && evaluations < MAX_EVALUATIONS) {
+        Layout candidate = layout.mutate(random);
+        double candidateScore = score(candidate);
+        evaluations++;
+        if (candidateScore < current) {
+          stale = 0;
+        } else {
+          stale++;
+        }
+        if (candidateScore <= current) {
+          layout = candidate;
+          current = candidateScore;
+        }
+      }
+      if (current < bestScore) {
+        best = layout;
+        bestScore = current;
+      }
+      if (bestScore <= goal) {
+        return best.toBoard();
+      }
+      if (ladders + snakes + bonusTiles == 0) {
+        // With nothing to place, every layout is the same board
+        break;
+      }
+    }
+    throw new IllegalStateException("No board within " + TOLERANCE + " of " + meanTurns
+        + " turns (deviation " + turnDeviation + ") after " + evaluations + " layouts");
+  }
+
+  /**
+   * The features of a board: ladders and snakes as start and end tiles, then bonus tiles. A
+   * layout is never changed; {@link #mutate} returns a new one.
+   */
+  private static final class Layout {
+
+    private final int ladders;
+    // Tiles 2 to TILES - 1 that hold a start, end or bonus tile
+    private final boolean[] used;
+    private final int[] from;
+    private final int[] to;
+    private final int[] bonus;
+
+    private Layout(int ladders, int[] from, int[] to, int[] bonus, boolean[] used) {
+      this.ladders = ladders;
+      this.from = from;
+      this.to = to;
+      this.bonus = bonus;
+      this.used = used;
+    }
+
+    static Layout random(int ladders, int snakes, int bonusTiles, RandomGenerator random) {
+      int jumps = ladders + snakes;
+      Layout layout = new Layout(ladders, new int[jumps], new int[jumps],
+          new int[bonusTiles], new boolean[TILES + 1]);
+      for (int j = 0; j < jumps; j++) {
+        int a;
+        int b;
+        do {
+          a = free(layout.used, random);
+          b = free(layout.used, random);
+        } while (a == b);
+        boolean ladder = j < ladders;
+        layout.from[j] = ladder ? Math.min(a, b) : Math.max(a, b);
+        layout.to[j] = ladder ? Math.max(a, b) : Math.min(a, b);
+        layout.used[a] = true;
+        layout.used[b] = true;
+      }
+      for (int k = 0; k < bonusTiles; k++) {
+        layout.bonus[k] = free(layout.used, random);
+        layout.used[layout.bonus[k]] = true;
+      }
+      return layout;
+    }
+
+    /**
+     * Returns a copy with one feature moved: an end of a snake or ladder shifted a few tiles, or
+     * a bonus tile moved anywhere. A shift that would break the feature leaves the copy unchanged.
+     */
+    Layout mutate(RandomGenerator random) {
+      if (from.length + bonus.length == 0) {
+        return this;
+      }
+      Layout next = new Layout(ladders, from.clone(), to.clone(), bonus.clone(), used.clone());
+      int feature = random.nextInt(from.length + bonus.length);
+      if (feature >= from.length) {
+        int k = feature - from.length;
+        int tile = free(next.used, random);
+        next.used[next.bonus[k]] = false;
+        next.used[tile] = true;
+        next.bonus[k] = tile;
+        return next;
+      }
+      boolean ladder = feature < ladders;
+      int shift = random.nextInt(1, MAX_SHIFT + 1) * (random.nextBoolean() ? 1 : -1);
+      int[] ends = random.nextBoolean() ? next.from : next.to;
+      int moved = ends[feature] + shift;
+      int a = ends == next.from ? moved : next.from[feature];
+      int b = ends == next.to ? moved : next.to[feature];
+      if (moved < 2 || moved > TILES - 1 || next.used[moved] || (ladder ? a >= b : a <= b)) {
+        return next;
+      }
+      next.used[ends[feature]] = false;
+      next.used[moved] = true;
+      ends[feature] = moved;
+      return next;
+    }
+
+    /**
+     * Returns the expected turns of a lone player with one die and their variance. Every tile's
+     * value depends only on tiles further on, except where a snake leads back, so a pass from the
+     * finish towards the start writes each value as a constant plus a multiple of the values at
+     * the snake ends. The few snake-end values are then solved for exactly.
+     */
+    double[] turnMoments() {
+      int[] jump = new int[TILES + 1];
+      boolean[] bonusAt = new boolean[TILES + 1];
+      int[] unknown = new int[TILES + 1];
+      for (int i = 1; i <= TILES; i++) {
+        jump[i] = i;
+        unknown[i] = -1;
+      }
+      int[] ends = new int[from.length - ladders];
+      for (int j = 0; j < from.length; j++) {
+        jump[from[j]] = to[j];
+        if (j >= ladders) {
+          unknown[to[j]] = j - ladders;
+          ends[j - ladders] = to[j];
+        }
+      }
+      for (int tile : bonus) {
+        bonusAt[tile] = true;
+      }
+      double[] mean = solve(jump, bonusAt, unknown, ends, null);
+      double[] square = solve(jump, bonusAt, unknown, ends, mean);
+      return new double[] {mean[1], Math.max(0.0, square[1] - mean[1] * mean[1])};
+    }
+
+    /**
+     * Returns the expected turns left from every tile, or their second moment given the means:
+     * E[(c + T)^2] = c + 2c E[T] + E[T^2] for a turn count c of 0 or 1.
+     */
+    private static double[] solve(int[] jump, boolean[] bonusAt, int[] unknown, int[] ends,
+        double[] mean) {
+      int k = ends.length;
+      // form[i][0] is the constant part of the value of tile i, form[i][1 + u] the multiple of
+      // the value at snake end u
+      double[][] form = new double[TILES + 1][k + 1];
+      double p = 1.0 / 6;
+      for (int i = TILES - 1; i >= 1; i--) {
+        double[] row = form[i];
+        for (int face = 1; face <= 6; face++) {
+          int landed = Math.min(i + face, TILES);
+          int target = jump[landed];
+          double turn = target == TILES || !(face == 1 || bonusAt[landed]) ? 1.0 : 0.0;
+          row[0] += p * (mean == null ? turn : turn + 2 * turn * mean[target]);
+          if (target <= i) {
+            // only a snake leads back, and every snake end is an unknown
+            row[1 + unknown[target]] += p;
+          } else {
+            double[] later = form[target];
+            for (int c = 0; c <= k; c++) {
+              row[c] += p * later[c];
+            }
+          }
+        }
+      }
+      double[] y = solveEnds(form, ends);
+      double[] values = new double[TILES + 1];
+      for (int i = 1; i < TILES; i++) {
+        double value = form[i][0];
+        for (int u = 0; u < k; u++) {
+          value += form[i][1 + u] * y[u];
+        }
+        values[i] = value;
+      }
+      return values;
+    }
+
+    /**
+     * Solves y = a + B y for the values at the snake ends by Gaussian elimination.
+     */
+    private static double[] solveEnds(double[][] form, int[] ends) {
+      int k = ends.length;
+      double[][] system = new double[k][k + 1];
+      for (int u = 0; u < k; u++) {
+        for (int v = 0; v < k; v++) {
+          system[u][v] = (u == v ? 1.0 : 0.0) - form[ends[u]][1 + v];
+        }
+        system[u][k] = form[ends[u]][0];
+      }
+      for (int col = 0; col < k; col++) {
+        int pivot = col;
+        for (int row = col + 1; row < k; row++) {
+          if (Math.abs(system[row][col]) > Math.abs(system[pivot][col])) {
+            pivot = row;
+          }
+        }
+        double[] swap = system[col];
+        system[col] = system[pivot];
+        system[pivot] = swap;
+        for (int row = col + 1; row < k; row++) {
+          double factor = system[row][col] / system[col][col];
+          for (int c = col; c <= k; c++) {
+            system[row][c] -= factor * system[col][c];
+          }
+        }
+      }
+      double[] y = new double[k];
+      for (int row = k - 1; row >= 0; row--) {
+        double sum = system[row][k];
+        for (int c = row + 1; c < k; c++) {
+          sum -= system[row][c] * y[c];
+        }
+        y[row] = sum / system[row][row];
+      }
+      return y;
+    }
+
+    SnakeLadderBoard toBoard() {
+      SnakeLadderBoard board = new SnakeLadderBoard();
+      for (int i = 1; i <= TILES; i++) {
+        Tile tile = new Tile(i);
+        if (i < TILES) {
+          tile.setNextTileId(i + 1);
+        }
+        board.addTile(tile);
+      }
+      for (int j = 0; j < from.length; j++) {
+        board.getTile(from[j]).setAction(j < ladders
+            ? new LadderAction(to[j]) : new SnakeAction(to[j]));
+      }
+      for (int tile : bonus) {
+        board.getTile(tile).setAction(new BonusTileAction());
+      }
+      return board;
+    }
+
+    private static int free(boolean[] used, RandomGenerator random) {
+      int tile;
+      do {
+        tile = random.nextInt(2, TILES);
+      } while (used[tile]);
+      return tile;
+    }
+  }
+}
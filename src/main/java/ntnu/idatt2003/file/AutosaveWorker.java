@@ -0,0 +1,241 @@
+package ntnu.idatt2003.file;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+
+/**
+ * Writes snapshots of a game to a file on a background thread.
+ *
+ * <p>The caller takes a cheap, immutable snapshot on its own thread and hands it to
+ * {@link #submit}, which returns at once. Snapshots submitted within the debounce delay of each
+ * other are collapsed, and only the newest is written. Every save goes to a temporary file next to
+ * the target, is forced to disk, and is then renamed over the target in one step, so a crash leaves
+ * either the old save or the new one, never half of one. The time each save took is passed to an
+ * optional listener.
+ * </p>
+ *
+ * @param <T> the snapshot type
+ */
+public final class AutosaveWorker<T> implements AutoCloseable {
+
+  /** The delay used when none is given. */
+  public static final Duration DEFAULT_DEBOUNCE = Duration.ofMillis(250);
+
+  private static final long IDLE_SECONDS = 5;
+
+  /**
+   * Encodes a snapshot.
+   *
+   * @param <T> the snapshot type
+   */
+  @FunctionalInterface
+  public interface SnapshotWriter<T> {
+
+    /**
+     * Writes a snapshot to a stream. The stream is buffered and closed by the worker.
+     *
+     * @param snapshot the snapshot
+     * @param out      the stream to write to
+     * @throws IOException if writing fails
+     */
+    void write(T snapshot, OutputStream out) throws IOException;
+  }
+
+  /**
+   * The outcome of one save.
+   *
+   * @param latency the time from starting to encode the snapshot until it was in place
+   * @param bytes   the size of the saved file, or 0 if the save failed
+   * @param error   the failure, or null if the save succeeded
+   */
+  public record SaveReport(Duration latency, long bytes, IOException error) {
+
+    /**
+     * Returns whether the save succeeded.
+     *
+     * @return true if the file was replaced
+     */
+    public boolean succeeded() {
+      return error == null;
+    }
+  }
+
+  private final Path target;
+  private final Path temp;
+  private final SnapshotWriter<T> writer;
+  private final long debounceNanos;
+  private final Consumer<SaveReport> listener;
+  private final ScheduledThreadPoolExecutor executor;
+  private final AtomicReference<T> pending = new AtomicReference<>();
+  private final AtomicBoolean scheduled = new AtomicBoolean();
+  private volatile SaveReport lastReport;
+
+  /**
+   * Creates a worker with the default debounce delay and no listener.
+   *
+   * @param target the file to save to
+   * @param writer encodes the snapshots
+   * @throws IllegalArgumentException if target or writer is null
+   */
+  public AutosaveWorker(Path target, SnapshotWriter<T> writer) {
+    this(target, writer, DEFAULT_DEBOUNCE, report -> {
+    });
+  }
+
+  /**
+   * Creates a worker.
+   *
+   * @param target   the file to save to
+   * @param writer   encodes the snapshots
+   * @param debounce how long to wait for newer snapshots before writing
+   * @param listener receives a report after every save, on the worker thread
+   * @throws IllegalArgumentException if an argument is null or the delay is negative
+   */
+  public AutosaveWorker(Path target, SnapshotWriter<T> writer, Duration debounce,
+      Consumer<SaveReport> listener) {
+    if (target == null || writer == null || debounce == null || listener == null) {
+      throw new IllegalArgumentException("Target, writer, debounce and listener can not be null");
+    }
+    if (debounce.isNegative()) {
+      throw new IllegalArgumentException("Debounce delay can not be negative");
+    }
+    this.target = target.toAbsolutePath();
+    this.temp = this.target.resolveSibling(this.target.getFileName() + ".tmp");
+    this.writer = writer;
+    this.debounceNanos = debounce.toNanos();
+    this.listener = listener;
+    this.executor = new ScheduledThreadPoolExecutor(1, runnable -> {
+      Thread thread = new Thread(runnable, "autosave");
+      thread.setDaemon(true);
+      return thread;
+    });
+    // Let the thread die while the game is idle instead of keeping one per finished game
+    executor.setKeepAliveTime(IDLE_SECONDS, TimeUnit.SECONDS);
+    executor.allowCoreThreadTimeOut(true);
+    // close() writes the pending snapshot itself, so a debounced save still waiting must not keep
+    // the executor, and whoever closes it, waiting for its delay
+    executor.setExecuteExistingDelayedTasksAfterShutdownPolicy(false);
+  }
+
+  /**
+   * Queues a snapshot for saving and returns immediately.
+   *
+   * @param snapshot the snapshot; it must not change after being submitted
+   * @throws IllegalArgumentException if snapshot is null
+   * @throws IllegalStateException    if the worker has been closed
+   */
+  public void submit(T snapshot) {
+    if (snapshot == null) {
+      throw new IllegalArgumentException("Snapshot can not be null");
+    }
+    if (executor.isShutdown()) {
+      throw new IllegalStateException("Autosave worker is closed");
+    }
+    pending.set(snapshot);
+    if (scheduled.compareAndSet(false, true)) {
+      executor.schedule(this::savePending, debounceNanos, TimeUnit.NANOSECONDS);
+    }
+  }
+
+  /**
+   * Writes the newest submitted snapshot now, if there is one, and waits for it.
+   *
+   * @throws InterruptedException if interrupted while waiting
+   */
+  public void flush() throws InterruptedException {
+    try {
+      executor.submit(this::savePending).get();
+    } catch (ExecutionException e) {
+      throw new IllegalStateException("Autosave failed unexpectedly", e.getCause());
+    }
+  }
+
+  /**
+   * Returns the report of the most recent save.
+   *
+   * @return the report, or null if nothing has been saved yet
+   */
+  public SaveReport getLastReport() {
+    return lastReport;
+  }
+
+  /**
+   * Writes any pending snapshot and stops the worker thread. A debounced save that has not run yet
+   * is cancelled rather than waited for, so this only waits for the write itself.
+   */
+  @Override
+  public void close() {
+    if (executor.isShutdown()) {
+      return;
+    }
+    executor.execute(this::savePending);
+    executor.shutdown();
+    try {
+      executor.awaitTermination(10, TimeUnit.SECONDS);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  private void savePending() {
+    scheduled.set(false);
+    T snapshot = pending.getAndSet(null);
+    if (snapshot == null) {
+      return;
+    }
+    long start = System.nanoTime();
+    SaveReport report;
+    try {
+      long bytes = write(snapshot);
+      report = new SaveReport(Duration.ofNanos(System.nanoTime() - start), bytes, null);
+    } catch (IOException e) {
+      report = new SaveReport(Duration.ofNanos(System.nanoTime() - start), 0, e);
+    }
+    lastReport = report;
+    listener.accept(report);
+  }
+
+  private long write(T snapshot) throws IOException {
+    Path parent = target.getParent();
+    if (parent != null) {
+      Files.createDirectories(parent);
+    }
+    try {
+      try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE,
+          StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+        OutputStream out = new BufferedOutputStream(Channels.newOutputStream(channel));
+        writer.write(snapshot, out);
+        out.flush();
+        channel.force(true);
+      }
+      try {
+        Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE,
+            StandardCopyOption.REPLACE_EXISTING);
+      } catch (AtomicMoveNotSupportedException e) {
+        Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING);
+      }
+      return Files.size(target);
+    } catch (IOException e) {
+      Files.deleteIfExists(temp);
+      throw e;
+    } catch (RuntimeException e) {
+      Files.deleteIfExists(temp);
+      throw new IOException("Could not encode the snapshot", e);
+    }
+  }
+}
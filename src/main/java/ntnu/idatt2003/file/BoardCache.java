@@ -0,0 +1,207 @@
+package ntnu.idatt2003.file;
+
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import ntnu.idatt2003.model.snakeandladder.BoardRegistry;
+import ntnu.idatt2003.model.snakeandladder.BoardTemplate;
+import ntnu.idatt2003.model.snakeandladder.SnakeLadderBoard;
+
+/**
+ * Board files read once and kept as templates in a {@link BoardRegistry}.
+ *
+ * <p>{@link #load} streams the file through SHA-256 without keeping its bytes, and remembers which
+ * board content hash each file hash was parsed into. If a file with the same bytes has been parsed
+ * before and the registry still holds its board, the file is not parsed again; otherwise the file
+ * is streamed a second time into the parser and hashed again on the way, and the board is
+ * registered and remembered under the hash of the bytes it was parsed from, so a file changed
+ * between the two reads is never remembered under its old contents. Either way the caller gets
+ * the registry's {@link BoardTemplate}, shared by every caller, from which
+ * {@link BoardTemplate#toBoard()} builds a board with no players. Renaming or copying a file keeps
+ * it cached, editing it gives it a new key, and two files describing the same board share one
+ * template. JSON files and binary files from {@link BoardFileWriterBinary} are both accepted and
+ * told apart by their first bytes. The readers check a newly parsed board with
+ * {@link SnakeLadderBoard#report()} and reject it if it can not be played, so only playable boards
+ * are cached and the check runs once per file contents.
+ * </p>
+ *
+ * <p>The registry limits the number of tiles held in memory: when a new board does not fit, the
+ * boards used least recently are dropped first, and a board larger than the whole limit is parsed
+ * every time. A cache can share its registry with saved games, so a board loaded from a file and
+ * the same board loaded from a save are one template. The cache is safe to use from several
+ * threads, such as simulation batches running in parallel.
+ * </p>
+ */
+public final class BoardCache {
+
+  /** The number of tiles a cache holds when no limit is given. */
+  public static final int DEFAULT_MAX_TILES = 1_000_000;
+
+  // The number of file hashes remembered; each entry holds two hashes
+  private static final int MAX_FILES = 4096;
+  private static final HexFormat HEX = HexFormat.of();
+
+  private final BoardRegistry boards;
+  // File hash to content hash, access-ordered so the least recently loaded file is forgotten first
+  private final Map<String, String> files = new LinkedHashMap<>(16, 0.75f, true) {
+    @Override
+    protected boolean removeEldestEntry(Map.Entry<String, String> eldest) {
+      return size() > MAX_FILES;
+    }
+  };
+  private long hits;
+  private long misses;
+
+  /**
+   * Creates a cache holding up to {@link #DEFAULT_MAX_TILES} tiles.
+   */
+  public BoardCache() {
+    this(DEFAULT_MAX_TILES);
+  }
+
+  /**
+   * Creates a cache with a registry of its own.
+   *
+   * @param maxTiles the largest number of tiles to keep across all cached boards
+   * @throws IllegalArgumentException if maxTiles is negative
+   */
+  public BoardCache(long maxTiles) {
+    this(new BoardRegistry(maxTiles));
+  }
+
+  /**
+   * Creates a cache that keeps its boards in the given registry.
+   *
+   * @param boards the registry holding the parsed boards
+   * @throws IllegalArgumentException if boards is null
+   */
+  public BoardCache(BoardRegistry boards) {
+    if (boards == null) {
+      throw new IllegalArgumentException("Board registry can not be null");
+    }
+    this.boards = boards;
+  }
+
+  /**
+   * Returns the template of a board read from a file, parsing the file only if its contents are
+   * not cached. Like the board readers, the path is looked up on the classpath first and then on
+   * the file system.
+   *
+   * @param path the board file, JSON or binary
+   * @return the shared template of the board
+   * @throws IOException              if the file can not be read or is not a valid board file, or
+   *                                  the registry can not store the board
+   * @throws IllegalArgumentException if a JSON file does not describe a valid board, or the board
+   *                                  can not be played
+   */
+  public BoardTemplate load(Path path) throws IOException {
+    MessageDigest sha = BoardRegistry.sha256();
+    try (InputStream in = new DigestInputStream(open(path), sha)) {
+      in.transferTo(OutputStream.nullOutputStream());
+    }
+    BoardTemplate template = lookup(HEX.formatHex(sha.digest()));
+    if (template == null) {
+      SnakeLadderBoard board;
+      try (BufferedInputStream in = new BufferedInputStream(
+          new DigestInputStream(open(path), sha))) {
+        board = parse(in);
+        in.transferTo(OutputStream.nullOutputStream());
+      }
+      template = boards.intern(board);
+      synchronized (this) {
+        files.put(HEX.formatHex(sha.digest()), template.contentHash());
+      }
+    }
+    return template;
+  }
+
+  /**
+   * Returns the number of boards held by the registry.
+   *
+   * @return the board count
+   */
+  public int size() {
+    return boards.size();
+  }
+
+  /**
+   * Returns the number of tiles across the boards held by the registry.
+   *
+   * @return the tile count
+   */
+  public long tileCount() {
+    return boards.tileCount();
+  }
+
+  /**
+   * Returns how many loads were served without parsing.
+   *
+   * @return the hit count
+   */
+  public synchronized long hitCount() {
+    return hits;
+  }
+
+  /**
+   * Returns how many loads had to parse the file.
+   *
+   * @return the miss count
+   */
+  public synchronized long missCount() {
+    return misses;
+  }
+
+  /**
+   * Forgets every file read and drops the boards the registry holds in memory.
+   */
+  public void clear() {
+    synchronized (this) {
+      files.clear();
+    }
+    boards.clear();
+  }
+
+  private BoardTemplate lookup(String key) throws IOException {
+    String id;
+    synchronized (this) {
+      id = files.get(key);
+    }
+    BoardTemplate template = id == null ? null : boards.get(id);
+    synchronized (this) {
+      if (template != null) {
+        hits++;
+      } else {
+        misses++;
+      }
+    }
+    return template;
+  }
+
+  /**
+   * Parses a board, telling the formats apart by the first bytes of the stream.
+   */
+  private static SnakeLadderBoard parse(BufferedInputStream in) throws IOException {
+    in.mark(Integer.BYTES);
+    byte[] head = in.readNBytes(Integer.BYTES);
+    in.reset();
+    if (head.length == Integer.BYTES
+        && ByteBuffer.wrap(head).getInt() == BoardFileWriterBinary.MAGIC) {
+      return new BoardFileReaderBinary().readBoard(in);
+    }
+    return new BoardFileReaderStreaming().readBoard(in);
+  }
+
+  private InputStream open(Path path) throws IOException {
+    InputStream resource = getClass().getClassLoader().getResourceAsStream(path.toString());
+    return resource != null ? resource : Files.newInputStream(path);
+  }
+}
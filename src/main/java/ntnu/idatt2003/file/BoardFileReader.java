@@ -7,6 +7,11 @@ import ntnu.idatt2003.model.snakeandladder.SnakeLadderBoard;
  * An interface for reading Snakes and Ladders board data from a file. Implementations of this
  * interface should handle parsing board configuration files and constructing a
  * {@link SnakeLadderBoard} object.
+ *
+ * <p>Every implementation checks the board it read with {@link SnakeLadderBoard#report()} and
+ * rejects one that can not be played with an {@link IllegalArgumentException}, so which reader
+ * loads a board never decides whether it is accepted.
+ * </p>
  */
 public interface BoardFileReader {
 
@@ -15,7 +20,8 @@ public interface BoardFileReader {
    *
    * @param path the path to the board configuration file
    * @return a {@link SnakeLadderBoard} instance created from the file data
-   * @throws Exception if there is an error reading or parsing the file
+   * @throws IllegalArgumentException if the board in the file can not be played
+   * @throws Exception                if there is an error reading or parsing the file
    */
   SnakeLadderBoard readBoard(Path path) throws Exception;
 
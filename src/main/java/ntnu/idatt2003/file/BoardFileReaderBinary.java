@@ -0,0 +1,132 @@
+package ntnu.idatt2003.file;
+
+import static ntnu.idatt2003.file.BoardFileWriterBinary.ACTION_MASK;
+import static ntnu.idatt2003.file.BoardFileWriterBinary.BONUS;
+import static ntnu.idatt2003.file.BoardFileWriterBinary.HAS_NEXT;
+import static ntnu.idatt2003.file.BoardFileWriterBinary.LADDER;
+import static ntnu.idatt2003.file.BoardFileWriterBinary.MAGIC;
+import static ntnu.idatt2003.file.BoardFileWriterBinary.NEXT_IS_FOLLOWING;
+import static ntnu.idatt2003.file.BoardFileWriterBinary.SNAKE;
+import static ntnu.idatt2003.file.BoardFileWriterBinary.VERSION;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.zip.CRC32C;
+import java.util.zip.CheckedInputStream;
+import ntnu.idatt2003.actions.BonusTileAction;
+import ntnu.idatt2003.actions.LadderAction;
+import ntnu.idatt2003.actions.SnakeAction;
+import ntnu.idatt2003.model.snakeandladder.SnakeLadderBoard;
+import ntnu.idatt2003.model.snakeandladder.Tile;
+
+/**
+ * A {@link BoardFileReader} for the compact binary board format written by
+ * {@link BoardFileWriterBinary}.
+ *
+ * <p>The file is read as a stream, so a board takes no more memory than its tiles. The checksum
+ * is verified as the trailer is reached, before the board is returned, so a damaged file fails
+ * with an {@link IOException} instead of producing a different board. Like the JSON readers, the
+ * path is looked up on the classpath first and then on the file system, and a board that can not
+ * be played is rejected with an {@link IllegalArgumentException}.
+ * </p>
+ */
+public class BoardFileReaderBinary implements BoardFileReader {
+
+  @Override
+  public SnakeLadderBoard readBoard(Path path) throws IOException {
+    InputStream inputStream = getClass().getClassLoader().getResourceAsStream(path.toString());
+    if (inputStream == null) {
+      inputStream = Files.newInputStream(path);
+    }
+    try (InputStream in = inputStream) {
+      return readBoard(in);
+    }
+  }
+
+  /**
+   * Package-private: reads a board from a stream holding a binary board file, leaving the stream
+   * open. The stream must end with the board.
+   */
+  SnakeLadderBoard readBoard(InputStream inputStream) throws IOException {
+    CRC32C crc = new CRC32C();
+    DataInputStream in = new DataInputStream(
+        new CheckedInputStream(new BufferedInputStream(inputStream), crc));
+    try {
+      if (in.readInt() != MAGIC) {
+        throw new IOException("Not a binary board file");
+      }
+      byte version = in.readByte();
+      if (version != VERSION) {
+        throw new IOException("Unsupported board file version " + version);
+      }
+      long count = getVarLong(in);
+      if (count < 0 || count > Integer.MAX_VALUE) {
+        throw new IOException("Board file has an invalid tile count");
+      }
+      SnakeLadderBoard board = new SnakeLadderBoard();
+      long id = 0;
+      for (long i = 0; i < count; i++) {
+        long gap = unzigzag(getVarLong(in));
+        if (i > 0 && gap <= 0) {
+          throw new IOException("Board file tiles are not in order");
+        }
+        id = checkId(id + gap);
+        int opcode = in.readByte();
+        Tile tile = new Tile((int) id);
+        if ((opcode & HAS_NEXT) != 0) {
+          tile.setNextTileId(checkId((opcode & NEXT_IS_FOLLOWING) != 0
+              ? id + 1 : id + unzigzag(getVarLong(in))));
+        }
+        switch (opcode & ACTION_MASK) {
+          case LADDER -> tile.setAction(new LadderAction(checkId(id + unzigzag(getVarLong(in)))));
+          case SNAKE -> tile.setAction(new SnakeAction(checkId(id + unzigzag(getVarLong(in)))));
+          case BONUS -> tile.setAction(new BonusTileAction());
+          default -> {
+          }
+        }
+        board.addTile(tile);
+      }
+      // The trailer is not part of the checksum, so take the value before reading it
+      int expected = (int) crc.getValue();
+      if (in.readInt() != expected) {
+        throw new IOException("Board file checksum does not match");
+      }
+      if (in.read() >= 0) {
+        throw new IOException("Board file has trailing data");
+      }
+      board.report().requireValid();
+      board.compile();
+      return board;
+    } catch (EOFException e) {
+      throw new IOException("Board file is truncated", e);
+    }
+  }
+
+  private static int checkId(long id) throws IOException {
+    if (id != (int) id) {
+      throw new IOException("Board file has a tile id out of range");
+    }
+    return (int) id;
+  }
+
+  private static long getVarLong(DataInputStream in) throws IOException {
+    long value = 0;
+    for (int shift = 0; shift < Long.SIZE; shift += 7) {
+      byte b = in.readByte();
+      value |= (long) (b & 0x7F) << shift;
+      if (b >= 0) {
+        return value;
+      }
+    }
+    throw new IOException("Board file has an invalid number");
+  }
+
+  private static long unzigzag(long value) {
+    return value >>> 1 ^ -(value & 1);
+  }
+}
@@ -19,7 +19,9 @@ import ntnu.idatt2003.model.snakeandladder.Tile;
  * a JSON file using Gson. Supports loading from both the classpath and the file system.
  *
  * <p>The JSON file must contain a "tiles" array, where each tile can have an "id", "nextTile",
- * and optionally an "action" object (with "type" and other action-specific fields).
+ * and optionally an "action" object (with "type" and other action-specific fields). The board is
+ * checked before it is returned, and one that can not be played is rejected with an
+ * {@link IllegalArgumentException} describing the problems (see {@link SnakeLadderBoard#report()}).
  */
 public class BoardFileReaderGson implements BoardFileReader {
 
@@ -68,6 +70,7 @@ public class BoardFileReaderGson implements BoardFileReader {
       board.addTile(tile);
     }
 
+    board.report().requireValid();
     return board;
   }
 }
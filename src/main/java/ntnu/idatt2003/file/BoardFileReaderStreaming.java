@@ -0,0 +1,134 @@
+package ntnu.idatt2003.file;
+
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import ntnu.idatt2003.actions.BonusTileAction;
+import ntnu.idatt2003.actions.LadderAction;
+import ntnu.idatt2003.actions.SnakeAction;
+import ntnu.idatt2003.actions.TileAction;
+import ntnu.idatt2003.model.snakeandladder.SnakeLadderBoard;
+import ntnu.idatt2003.model.snakeandladder.Tile;
+
+/**
+ * A {@link BoardFileReader} that reads the same JSON schema as {@link BoardFileReaderGson}, but
+ * token by token with Gson's {@link JsonReader} instead of building a tree of the whole file first.
+ *
+ * <p>Each tile is created as soon as its object has been read, so memory use is the finished board
+ * plus one read buffer, however large the file. Input is read as UTF-8 through a buffer, and the
+ * fields of a tile may come in any order. Fields this reader does not know are skipped. Like
+ * {@link BoardFileReaderGson}, the path is looked up on the classpath first and then on the file
+ * system, and a board that can not be played is rejected.
+ * </p>
+ */
+public class BoardFileReaderStreaming implements BoardFileReader {
+
+  private static final int BUFFER_CHARS = 64 * 1024;
+
+  @Override
+  public SnakeLadderBoard readBoard(Path path) throws IOException {
+    InputStream inputStream = getClass().getClassLoader().getResourceAsStream(path.toString());
+    if (inputStream == null) {
+      // Fallback to file system
+      inputStream = Files.newInputStream(path);
+    }
+    try (InputStream in = inputStream) {
+      return readBoard(in);
+    }
+  }
+
+  /**
+   * Package-private: reads a board from a stream of JSON, leaving the stream open.
+   */
+  SnakeLadderBoard readBoard(InputStream inputStream) throws IOException {
+    return readBoard(new JsonReader(new BufferedReader(
+        new InputStreamReader(inputStream, StandardCharsets.UTF_8), BUFFER_CHARS)));
+  }
+
+  private SnakeLadderBoard readBoard(JsonReader json) throws IOException {
+    SnakeLadderBoard board = null;
+    json.beginObject();
+    while (json.hasNext()) {
+      if (json.nextName().equals("tiles")) {
+        board = new SnakeLadderBoard();
+        json.beginArray();
+        while (json.hasNext()) {
+          board.addTile(readTile(json));
+        }
+        json.endArray();
+      } else {
+        json.skipValue();
+      }
+    }
+    json.endObject();
+    if (board == null) {
+      throw new IllegalArgumentException("Board file has no tiles array");
+    }
+    board.report().requireValid();
+    board.compile();
+    return board;
+  }
+
+  private Tile readTile(JsonReader json) throws IOException {
+    Integer id = null;
+    int nextTile = 0;
+    TileAction action = null;
+    json.beginObject();
+    while (json.hasNext()) {
+      switch (json.nextName()) {
+        case "id" -> id = json.nextInt();
+        case "nextTile" -> nextTile = json.nextInt();
+        case "action" -> action = readAction(json);
+        default -> json.skipValue();
+      }
+    }
+    json.endObject();
+    if (id == null) {
+      throw new IllegalArgumentException("Tile without id at " + json.getPath());
+    }
+    Tile tile = new Tile(id);
+    tile.setNextTileId(nextTile);
+    tile.setAction(action);
+    return tile;
+  }
+
+  private TileAction readAction(JsonReader json) throws IOException {
+    if (json.peek() == JsonToken.NULL) {
+      json.nextNull();
+      return null;
+    }
+    String type = null;
+    Integer destination = null;
+    json.beginObject();
+    while (json.hasNext()) {
+      switch (json.nextName()) {
+        case "type" -> type = json.nextString();
+        case "destination" -> destination = json.nextInt();
+        default -> json.skipValue();
+      }
+    }
+    json.endObject();
+    if (type == null) {
+      throw new IllegalArgumentException("Action without type at " + json.getPath());
+    }
+    return switch (type.toUpperCase()) {
+      case "LADDER" -> new LadderAction(requireDestination(destination, json));
+      case "SNAKE" -> new SnakeAction(requireDestination(destination, json));
+      case "BONUS" -> new BonusTileAction();
+      default -> throw new IllegalArgumentException("Unknown action type: " + type);
+    };
+  }
+
+  private static int requireDestination(Integer destination, JsonReader json) {
+    if (destination == null) {
+      throw new IllegalArgumentException("Action without destination at " + json.getPath());
+    }
+    return destination;
+  }
+}
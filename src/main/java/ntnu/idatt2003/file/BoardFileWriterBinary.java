@@ -0,0 +1,176 @@
+package ntnu.idatt2003.file;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.zip.CRC32C;
+import ntnu.idatt2003.actions.BonusTileAction;
+import ntnu.idatt2003.actions.LadderAction;
+import ntnu.idatt2003.actions.SnakeAction;
+import ntnu.idatt2003.actions.TileAction;
+import ntnu.idatt2003.model.snakeandladder.SnakeLadderBoard;
+import ntnu.idatt2003.model.snakeandladder.Tile;
+
+/**
+ * A {@link BoardFileWriter} for the compact binary board format read by
+ * {@link BoardFileReaderBinary}.
+ *
+ * <p>The format is built around the usual board, where tile IDs are consecutive and every tile
+ * leads to the next one. Such a tile takes two bytes:
+ * </p>
+ * <pre>
+ *   int magic "SLBV" | byte version | varint tile count
+ *   per tile, by ID: varint ID gap          (zigzag, from the previous ID or from 0)
+ *                    | byte opcode          (bits 0-1 action: 0 none, 1 ladder, 2 snake, 3 bonus;
+ *                                            bit 2 has next tile; bit 3 next tile is ID + 1)
+ *                    | varint next offset   (zigzag next - ID, only if bit 2 but not bit 3)
+ *                    | varint jump offset   (zigzag destination - ID, ladders and snakes only)
+ *   int CRC-32C of everything before it
+ * </pre>
+ *
+ * <p>Varints store 7 bits per byte, least significant group first, with the high bit set on every
+ * byte but the last.
+ * </p>
+ */
+public class BoardFileWriterBinary implements BoardFileWriter {
+
+  static final int MAGIC = 0x534C4256; // "SLBV"
+  static final byte VERSION = 1;
+  static final int NO_ACTION = 0;
+  static final int LADDER = 1;
+  static final int SNAKE = 2;
+  static final int BONUS = 3;
+  static final int ACTION_MASK = 3;
+  static final int HAS_NEXT = 1 << 2;
+  static final int NEXT_IS_FOLLOWING = 1 << 3;
+
+  private static final int BUFFER_BYTES = 64 * 1024;
+  // Room for the longest tile: ID gap, opcode and two offsets
+  private static final int MAX_TILE_BYTES = 10 + 1 + 10 + 10;
+
+  @Override
+  public void writeBoard(Path path, SnakeLadderBoard board) throws IOException {
+    try (OutputStream stream = Files.newOutputStream(path)) {
+      writeBoard(stream, board);
+    }
+  }
+
+  /**
+   * Writes a board to a stream in the same format as a board file. The stream is not closed.
+   * Boards with the same tiles are always written as the same bytes, which is what
+   * {@link SnakeLadderBoard#contentHash()} hashes.
+   *
+   * @param stream the stream to write to
+   * @param board  the board to write
+   * @throws IOException              if writing fails
+   * @throws IllegalArgumentException if a tile has an action other than a ladder, snake or bonus
+   */
+  public void writeBoard(OutputStream stream, SnakeLadderBoard board) throws IOException {
+    int[] ids = BoardFileWriterJson.sortedIds(board);
+    Sink out = new Sink(stream);
+    out.putInt(MAGIC);
+    out.put(VERSION);
+    out.putVarLong(ids.length);
+    long previous = 0;
+    for (int id : ids) {
+      out.reserve(MAX_TILE_BYTES);
+      writeTile(out, board.getTile(id), previous);
+      previous = id;
+    }
+    out.finish();
+  }
+
+  private static void writeTile(Sink out, Tile tile, long previous) {
+    int id = tile.getTileId();
+    out.putVarLong(zigzag(id - previous));
+    TileAction action = tile.getAction();
+    int opcode;
+    long jump = 0;
+    if (action == null) {
+      opcode = NO_ACTION;
+    } else if (action instanceof LadderAction ladder) {
+      opcode = LADDER;
+      jump = (long) ladder.getDestinationTileId() - id;
+    } else if (action instanceof SnakeAction snake) {
+      opcode = SNAKE;
+      jump = (long) snake.getDestinationTileId() - id;
+    } else if (action instanceof BonusTileAction) {
+      opcode = BONUS;
+    } else {
+      throw new IllegalArgumentException("Tile " + id + " has an action that can not be written: "
+          + action.getClass().getSimpleName());
+    }
+    long next = tile.getNextTileId();
+    if (next != 0) {
+      opcode |= next == id + 1L ? HAS_NEXT | NEXT_IS_FOLLOWING : HAS_NEXT;
+    }
+    out.put(opcode);
+    if ((opcode & (HAS_NEXT | NEXT_IS_FOLLOWING)) == HAS_NEXT) {
+      out.putVarLong(zigzag(next - id));
+    }
+    int kind = opcode & ACTION_MASK;
+    if (kind == LADDER || kind == SNAKE) {
+      out.putVarLong(zigzag(jump));
+    }
+  }
+
+  private static long zigzag(long value) {
+    return value << 1 ^ value >> 63;
+  }
+
+  /**
+   * A write buffer that is handed to the stream in large blocks and checksummed on the way.
+   */
+  private static final class Sink {
+    private final OutputStream stream;
+    private final byte[] buffer = new byte[BUFFER_BYTES];
+    private final CRC32C crc = new CRC32C();
+    private int position;
+
+    private Sink(OutputStream stream) {
+      this.stream = stream;
+    }
+
+    private void reserve(int bytes) throws IOException {
+      if (position > buffer.length - bytes) {
+        flush();
+      }
+    }
+
+    private void put(int value) {
+      buffer[position++] = (byte) value;
+    }
+
+    private void putInt(int value) {
+      put(value >>> 24);
+      put(value >>> 16);
+      put(value >>> 8);
+      put(value);
+    }
+
+    private void putVarLong(long value) {
+      while ((value & ~0x7FL) != 0) {
+        put((int) (value & 0x7F | 0x80));
+        value >>>= 7;
+      }
+      put((int) value);
+    }
+
+    /**
+     * Writes the buffered bytes followed by their checksum.
+     */
+    private void finish() throws IOException {
+      flush();
+      putInt((int) crc.getValue());
+      stream.write(buffer, 0, position);
+      position = 0;
+    }
+
+    private void flush() throws IOException {
+      crc.update(buffer, 0, position);
+      stream.write(buffer, 0, position);
+      position = 0;
+    }
+  }
+}
@@ -0,0 +1,79 @@
+package ntnu.idatt2003.file;
+
+import com.google.gson.stream.JsonWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import ntnu.idatt2003.actions.BonusTileAction;
+import ntnu.idatt2003.actions.LadderAction;
+import ntnu.idatt2003.actions.SnakeAction;
+import ntnu.idatt2003.actions.TileAction;
+import ntnu.idatt2003.model.snakeandladder.SnakeLadderBoard;
+import ntnu.idatt2003.model.snakeandladder.Tile;
+
+/**
+ * A {@link BoardFileWriter} that writes the JSON schema read by {@link BoardFileReaderGson} and
+ * {@link BoardFileReaderStreaming}.
+ *
+ * <p>The file is written token by token with Gson's {@link JsonWriter} as buffered UTF-8, with the
+ * tiles in ID order. A tile without a next tile has no {@code nextTile} field, and only tiles with
+ * an action have an {@code action} object.
+ * </p>
+ */
+public class BoardFileWriterJson implements BoardFileWriter {
+
+  @Override
+  public void writeBoard(Path path, SnakeLadderBoard board) throws IOException {
+    int[] ids = sortedIds(board);
+    try (JsonWriter json = new JsonWriter(Files.newBufferedWriter(path, StandardCharsets.UTF_8))) {
+      json.beginObject();
+      json.name("tiles").beginArray();
+      for (int id : ids) {
+        Tile tile = board.getTile(id);
+        json.beginObject();
+        json.name("id").value(id);
+        if (tile.getNextTileId() != 0) {
+          json.name("nextTile").value(tile.getNextTileId());
+        }
+        if (tile.getAction() != null) {
+          writeAction(json, id, tile.getAction());
+        }
+        json.endObject();
+      }
+      json.endArray();
+      json.endObject();
+    }
+  }
+
+  private void writeAction(JsonWriter json, int id, TileAction action) throws IOException {
+    json.name("action").beginObject();
+    if (action instanceof LadderAction ladder) {
+      json.name("type").value("LADDER");
+      json.name("destination").value(ladder.getDestinationTileId());
+    } else if (action instanceof SnakeAction snake) {
+      json.name("type").value("SNAKE");
+      json.name("destination").value(snake.getDestinationTileId());
+    } else if (action instanceof BonusTileAction) {
+      json.name("type").value("BONUS");
+    } else {
+      throw new IllegalArgumentException("Tile " + id + " has an action that can not be written: "
+          + action.getClass().getSimpleName());
+    }
+    json.endObject();
+  }
+
+  /**
+   * Package-private: returns the tile IDs of a board in ascending order.
+   */
+  static int[] sortedIds(SnakeLadderBoard board) {
+    int[] ids = new int[board.size()];
+    int count = 0;
+    for (Tile tile : board.getTiles()) {
+      ids[count++] = tile.getTileId();
+    }
+    Arrays.sort(ids);
+    return ids;
+  }
+}
@@ -0,0 +1,271 @@
+package ntnu.idatt2003.file;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import ntnu.idatt2003.model.ludo.LudoRules;
+import ntnu.idatt2003.model.ludo.LudoState;
+
+/**
+ * An append-only journal of a Ludo game, used as its save file.
+ *
+ * <p>The file starts with a short header and a snapshot of the starting {@link LudoState}. After
+ * that every turn appends one record: a move (seat, token, roll and the offset the token reached)
+ * takes 3 bytes and a turn without a legal move takes 2. Every {@code snapshotInterval} moves a
+ * 17-byte snapshot of the whole position is appended as well. {@link #load} starts from the last
+ * snapshot and replays the records after it with {@link LudoRules}, so saving costs a few bytes
+ * per move and loading never replays more than one interval, however long the game.
+ * </p>
+ *
+ * <p>Appends are not forced to disk one by one; the file is forced at every snapshot and on
+ * {@link #close()}. A record cut short by a crash is ignored when loading and overwritten when the
+ * journal is reopened. A journal is not thread-safe; callers that must not wait for the disk hand
+ * every call to one background thread.
+ * </p>
+ */
+public final class LudoJournal implements Closeable {
+
+  /** The number of moves between snapshots when none is given. */
+  public static final int DEFAULT_SNAPSHOT_INTERVAL = 64;
+
+  private static final int MAGIC = 0x4C444A4E; // "LDJN"
+  private static final byte VERSION = 1;
+  private static final int HEADER_BYTES = 5;
+  private static final byte SNAPSHOT = 'S';
+  private static final byte MOVE = 'M';
+  private static final byte PASS = 'P';
+  private static final int SNAPSHOT_BYTES = 1 + 2 * Long.BYTES;
+  private static final int MOVE_BYTES = 3;
+  private static final int PASS_BYTES = 2;
+
+  private final FileChannel channel;
+  private final int snapshotInterval;
+  private final ByteBuffer buffer = ByteBuffer.allocate(SNAPSHOT_BYTES);
+  private int movesSinceSnapshot;
+
+  private LudoJournal(FileChannel channel, int snapshotInterval, int movesSinceSnapshot) {
+    this.channel = channel;
+    this.snapshotInterval = snapshotInterval;
+    this.movesSinceSnapshot = movesSinceSnapshot;
+  }
+
+  /**
+   * Starts a new journal, replacing any file at the path.
+   *
+   * @param file             the journal file
+   * @param start            the position the game starts from
+   * @param snapshotInterval the number of moves between snapshots
+   * @return the open journal
+   * @throws IOException              if the file can not be written
+   * @throws IllegalArgumentException if start is null or the interval is below 1
+   */
+  public static LudoJournal create(Path file, LudoState start, int snapshotInterval)
+      throws IOException {
+    checkInterval(snapshotInterval);
+    if (start == null) {
+      throw new IllegalArgumentException("Start state can not be null");
+    }
+    FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE,
+        StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE);
+    LudoJournal journal = new LudoJournal(channel, snapshotInterval, 0);
+    try {
+      ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES).putInt(MAGIC).put(VERSION).flip();
+      journal.write(header);
+      journal.writeSnapshot(start);
+    } catch (IOException e) {
+      channel.close();
+      throw e;
+    }
+    return journal;
+  }
+
+  /**
+   * Opens an existing journal to continue it. A record cut short at the end is dropped.
+   *
+   * @param file             the journal file
+   * @param snapshotInterval the number of moves between snapshots
+   * @return the open journal, positioned after its last complete record
+   * @throws IOException              if the file can not be read or is not a valid journal
+   * @throws IllegalArgumentException if the interval is below 1
+   */
+  public static LudoJournal open(Path file, int snapshotInterval) throws IOException {
+    checkInterval(snapshotInterval);
+    Replay replay = replay(file);
+    FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE);
+    channel.truncate(replay.end);
+    channel.position(replay.end);
+    return new LudoJournal(channel, snapshotInterval, replay.movesSinceSnapshot);
+  }
+
+  /**
+   * Restores the position at the end of a journal.
+   *
+   * @param file the journal file
+   * @return the position after the last complete record
+   * @throws IOException if the file can not be read or is not a valid journal
+   */
+  public static LudoState load(Path file) throws IOException {
+    return replay(file).state;
+  }
+
+  /**
+   * Appends a move, and a snapshot if one is due.
+   *
+   * @param seat  the seat that moved
+   * @param token the token index within the seat (0-3)
+   * @param roll  the die roll (1-6)
+   * @param after the position after the move and any change of turn
+   * @throws IOException              if writing fails
+   * @throws IllegalArgumentException if the arguments are out of range
+   */
+  public void recordMove(int seat, int token, int roll, LudoState after) throws IOException {
+    checkTurn(seat, roll);
+    if (token < 0 || token >= LudoState.TOKENS_PER_PLAYER) {
+      throw new IllegalArgumentException("Token must be between 0 and 3");
+    }
+    int packed = seat | token << 2 | (roll - 1) << 4 | (after.offset(seat, token) + 1) << 7;
+    buffer.clear().put(MOVE).putShort((short) packed).flip();
+    write(buffer);
+    if (++movesSinceSnapshot >= snapshotInterval) {
+      writeSnapshot(after);
+    }
+  }
+
+  /**
+   * Appends a turn where the roll allowed no move.
+   *
+   * @param seat the seat that rolled
+   * @param roll the die roll (1-6)
+   * @throws IOException              if writing fails
+   * @throws IllegalArgumentException if the arguments are out of range
+   */
+  public void recordPass(int seat, int roll) throws IOException {
+    checkTurn(seat, roll);
+    buffer.clear().put(PASS).put((byte) (seat | (roll - 1) << 2)).flip();
+    write(buffer);
+  }
+
+  /**
+   * Forces the journal to disk and closes it.
+   *
+   * @throws IOException if the file can not be forced or closed
+   */
+  @Override
+  public void close() throws IOException {
+    try {
+      channel.force(false);
+    } finally {
+      channel.close();
+    }
+  }
+
+  private void writeSnapshot(LudoState state) throws IOException {
+    buffer.clear().put(SNAPSHOT).putLong(state.low()).putLong(state.high()).flip();
+    write(buffer);
+    channel.force(false);
+    movesSinceSnapshot = 0;
+  }
+
+  private void write(ByteBuffer bytes) throws IOException {
+    while (bytes.hasRemaining()) {
+      channel.write(bytes);
+    }
+  }
+
+  /**
+   * Finds the last snapshot and replays the records after it.
+   */
+  private static Replay replay(Path file) throws IOException {
+    ByteBuffer data = ByteBuffer.wrap(Files.readAllBytes(file));
+    if (data.remaining() < HEADER_BYTES || data.getInt() != MAGIC) {
+      throw new IOException("Not a Ludo journal: " + file);
+    }
+    byte version = data.get();
+    if (version != VERSION) {
+      throw new IOException("Unsupported journal version " + version);
+    }
+
+    int lastSnapshot = -1;
+    int end = data.position();
+    while (data.hasRemaining()) {
+      int start = data.position();
+      int size = switch (data.get(start)) {
+        case SNAPSHOT -> SNAPSHOT_BYTES;
+        case MOVE -> MOVE_BYTES;
+        case PASS -> PASS_BYTES;
+        default -> throw new IOException("Corrupt journal record at byte " + start);
+      };
+      if (data.remaining() < size) {
+        break;
+      }
+      if (data.get(start) == SNAPSHOT) {
+        lastSnapshot = start;
+      }
+      data.position(start + size);
+      end = start + size;
+    }
+    if (lastSnapshot < 0) {
+      throw new IOException("Journal has no snapshot: " + file);
+    }
+
+    data.position(lastSnapshot + 1);
+    LudoState state = LudoState.fromBits(data.getLong(), data.getLong());
+    int moves = 0;
+    while (data.position() < end) {
+      int at = data.position();
+      byte tag = data.get();
+      if (tag == MOVE) {
+        int packed = data.getShort() & 0xFFFF;
+        int seat = packed & 3;
+        int token = packed >>> 2 & 3;
+        int roll = (packed >>> 4 & 7) + 1;
+        int offset = (packed >>> 7 & 0x3F) - 1;
+        checkReplayed(state, seat, roll, at);
+        if (LudoRules.destination(state, seat, token, roll) == state.offset(seat, token)) {
+          throw new IOException("Journal move at byte " + at + " is not legal");
+        }
+        state = LudoRules.apply(state, token, roll);
+        if (state.offset(seat, token) != offset) {
+          throw new IOException("Journal move at byte " + at + " does not match the rules");
+        }
+        moves++;
+      } else {
+        int packed = data.get();
+        int seat = packed & 3;
+        int roll = (packed >>> 2 & 7) + 1;
+        checkReplayed(state, seat, roll, at);
+        state = LudoRules.pass(state, roll);
+      }
+    }
+    return new Replay(state, end, moves);
+  }
+
+  private static void checkReplayed(LudoState state, int seat, int roll, int at)
+      throws IOException {
+    if (seat != state.currentPlayer() || roll > 6) {
+      throw new IOException("Journal record at byte " + at + " is out of turn");
+    }
+  }
+
+  private static void checkTurn(int seat, int roll) {
+    if (seat < 0 || seat >= LudoState.MAX_PLAYERS) {
+      throw new IllegalArgumentException("Seat must be between 0 and 3");
+    }
+    if (roll < 1 || roll > 6) {
+      throw new IllegalArgumentException("Roll must be between 1 and 6");
+    }
+  }
+
+  private static void checkInterval(int snapshotInterval) {
+    if (snapshotInterval < 1) {
+      throw new IllegalArgumentException("Snapshot interval must be at least 1");
+    }
+  }
+
+  private record Replay(LudoState state, int end, int movesSinceSnapshot) {
+  }
+}
@@ -0,0 +1,175 @@
+package ntnu.idatt2003.file;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.CRC32C;
+
+/**
+ * The checksummed container around the payload of a binary save file, shared by the save formats
+ * of the games.
+ *
+ * <p>A container is a 16-byte header followed by the payload, all big-endian:
+ * </p>
+ * <pre>
+ *   header:  int magic | short version | short reserved | int payload length
+ *            | int CRC-32C of the payload
+ * </pre>
+ *
+ * <p>Each save format has its own magic and version. Reading checks the magic, version, length and
+ * checksum before the payload is handed to the format, so a damaged or foreign file fails with an
+ * {@link IOException} before anything is decoded.
+ * </p>
+ */
+public final class SaveContainer {
+
+  /** The size of the header in bytes. */
+  public static final int HEADER_BYTES = 16;
+
+  private static final int MAX_PAYLOAD_BYTES = 1 << 24;
+
+  private final int magic;
+  private final short version;
+  private final String kind;
+
+  /**
+   * Creates a container for one save format.
+   *
+   * @param magic   the first four bytes of every save of the format
+   * @param version the version of the payload layout
+   * @param kind    what the format saves, used in error messages (e.g. "Ludo")
+   * @throws IllegalArgumentException if kind is null or blank
+   */
+  public SaveContainer(int magic, short version, String kind) {
+    if (kind == null || kind.isBlank()) {
+      throw new IllegalArgumentException("Kind can not be null or blank");
+    }
+    this.magic = magic;
+    this.version = version;
+    this.kind = kind;
+  }
+
+  /**
+   * Writes a payload to a file, replacing its contents.
+   *
+   * @param file    the file to write
+   * @param payload the payload, from its position to its limit
+   * @throws IOException if writing fails
+   */
+  public void write(Path file, ByteBuffer payload) throws IOException {
+    ByteBuffer body = payload.duplicate();
+    ByteBuffer header = header(body);
+    try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE,
+        StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+      ByteBuffer[] buffers = {header, body};
+      while (body.hasRemaining()) {
+        channel.write(buffers);
+      }
+    }
+  }
+
+  /**
+   * Reads the payload of a file written by {@link #write}.
+   *
+   * @param file the file to read
+   * @return the checked payload, ready to read
+   * @throws IOException if reading fails or the file is not a valid save of this format
+   */
+  public ByteBuffer read(Path file) throws IOException {
+    try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+      ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES);
+      readFully(channel, header);
+      int length = checkHeader(header.flip());
+      ByteBuffer payload = ByteBuffer.allocate(length);
+      readFully(channel, payload);
+      if (channel.position() != channel.size()) {
+        throw new IOException("Save file has trailing data");
+      }
+      return checkPayload(header, payload.flip());
+    }
+  }
+
+  /**
+   * Puts a header in front of a payload, for callers that write the bytes themselves.
+   *
+   * @param payload the payload, from its position to its limit
+   * @return a new buffer with header and payload, ready to read and backed by an array of exactly
+   *         that size
+   */
+  public ByteBuffer wrap(ByteBuffer payload) {
+    ByteBuffer body = payload.duplicate();
+    return ByteBuffer.allocate(HEADER_BYTES + body.remaining())
+        .put(header(body)).put(body).flip();
+  }
+
+  /**
+   * Checks a buffer holding a header and payload, as made by {@link #wrap}, and returns the
+   * payload.
+   *
+   * @param data the header and payload, from its position to its limit
+   * @return the checked payload, ready to read
+   * @throws IOException if the data is not a valid save of this format
+   */
+  public ByteBuffer unwrap(ByteBuffer data) throws IOException {
+    if (data.remaining() < HEADER_BYTES) {
+      throw new IOException("Save file is too short");
+    }
+    ByteBuffer header = data.slice(data.position(), HEADER_BYTES);
+    int length = checkHeader(header);
+    if (data.remaining() != HEADER_BYTES + length) {
+      throw new IOException("Save file length does not match its header");
+    }
+    return checkPayload(header, data.slice(data.position() + HEADER_BYTES, length));
+  }
+
+  private ByteBuffer header(ByteBuffer payload) {
+    CRC32C crc = new CRC32C();
+    crc.update(payload.duplicate());
+    return ByteBuffer.allocate(HEADER_BYTES)
+        .putInt(magic)
+        .putShort(version)
+        .putShort((short) 0)
+        .putInt(payload.remaining())
+        .putInt((int) crc.getValue())
+        .flip();
+  }
+
+  /**
+   * Validates a header and returns the payload length it announces.
+   */
+  private int checkHeader(ByteBuffer header) throws IOException {
+    if (header.getInt() != magic) {
+      throw new IOException("Not a " + kind + " save file");
+    }
+    short found = header.getShort();
+    if (found != version) {
+      throw new IOException("Unsupported save version " + found);
+    }
+    header.getShort();
+    int length = header.getInt();
+    if (length < 0 || length > MAX_PAYLOAD_BYTES) {
+      throw new IOException("Save file has an invalid length");
+    }
+    return length;
+  }
+
+  private static ByteBuffer checkPayload(ByteBuffer header, ByteBuffer payload)
+      throws IOException {
+    CRC32C crc = new CRC32C();
+    crc.update(payload.duplicate());
+    if ((int) crc.getValue() != header.getInt(HEADER_BYTES - Integer.BYTES)) {
+      throw new IOException("Save file checksum does not match");
+    }
+    return payload;
+  }
+
+  private static void readFully(FileChannel channel, ByteBuffer buffer) throws IOException {
+    while (buffer.hasRemaining()) {
+      if (channel.read(buffer) < 0) {
+        throw new IOException("Save file is truncated");
+      }
+    }
+  }
+}
@@ -0,0 +1,86 @@
+package ntnu.idatt2003.file;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import ntnu.idatt2003.model.snakeandladder.BoardRegistry;
+import ntnu.idatt2003.model.snakeandladder.SnakeAndLadderGame;
+import ntnu.idatt2003.model.snakeandladder.SnakeLadderBoard;
+
+/**
+ * The autosave of a Snakes and Ladders game: one save file and the board directory it refers to.
+ *
+ * <p>{@link #start} gives a game an {@link AutosaveWorker} that writes the save on its own thread.
+ * The worker also registers the board with the board directory before each save, so the caller's
+ * thread never touches the disk; once the board is stored, registering it again only looks it up
+ * in memory. {@link #resume} reads the save back, so a game that was closed before it was won can
+ * be played on.
+ * </p>
+ */
+public final class SnakeLadderAutosave {
+
+  /** The name of the save file. */
+  public static final String SAVE_FILE = "snakes_autosave.snlsave";
+
+  /** The name of the directory holding the boards of saved games. */
+  public static final String BOARD_DIRECTORY = "snakes_boards";
+
+  private final Path saveFile;
+  private final BoardRegistry boards;
+
+  /**
+   * Creates an autosave kept in the given directory.
+   *
+   * @param directory the directory holding the save file and the board directory
+   * @throws IllegalArgumentException if directory is null
+   */
+  public SnakeLadderAutosave(Path directory) {
+    if (directory == null) {
+      throw new IllegalArgumentException("Directory can not be null");
+    }
+    this.saveFile = directory.resolve(SAVE_FILE);
+    this.boards = new BoardRegistry(directory.resolve(BOARD_DIRECTORY));
+  }
+
+  /**
+   * Returns the autosave kept in the user's home directory.
+   *
+   * @return the autosave
+   */
+  public static SnakeLadderAutosave inHome() {
+    return new SnakeLadderAutosave(Path.of(System.getProperty("user.home")));
+  }
+
+  /**
+   * Creates a worker that saves snapshots of a game, made by {@link SnakeAndLadderGame#toSaveData},
+   * to this autosave. Nothing is written until the first snapshot is submitted.
+   *
+   * @param game the game to save
+   * @return the worker; the caller closes it when the game ends
+   * @throws IllegalArgumentException if game is null
+   */
+  public AutosaveWorker<byte[]> start(SnakeAndLadderGame game) {
+    if (game == null) {
+      throw new IllegalArgumentException("Game can not be null");
+    }
+    SnakeLadderBoard board = game.getBoard();
+    return new AutosaveWorker<>(saveFile, (bytes, out) -> {
+      boards.register(board);
+      out.write(bytes);
+    });
+  }
+
+  /**
+   * Loads the saved game, unless there is none or it was already won.
+   *
+   * @return the saved game, or null if there is no game to resume
+   * @throws IOException if the save or its board can not be read
+   */
+  public SnakeAndLadderGame resume() throws IOException {
+    if (!Files.isRegularFile(saveFile)) {
+      return null;
+    }
+    SnakeAndLadderGame game = SnakeAndLadderGame.loadFromFile(saveFile.toFile(), boards);
+    return game.gameDone() ? null : game;
+  }
+}
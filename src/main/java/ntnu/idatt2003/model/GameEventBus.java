@@ -0,0 +1,293 @@
+package ntnu.idatt2003.model;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import ntnu.idatt2003.view.Observer;
+
+/**
+ * Queues game events and delivers them to observers in batches.
+ *
+ * <p>Posting an event only claims a ticket, writes the event into a ring buffer and then publishes
+ * the ticket in the slot's sequence, so games never wait for the UI and several threads may post at
+ * once without locks. The poster that publishes the first event after a delivery hands one drain
+ * task to the dispatcher (for example {@code Platform::runLater}); the task takes every event
+ * published in ticket order and delivers them as one batch. A ticket that is claimed but not yet
+ * published ends the batch, and its poster schedules the next drain once it publishes, so the drain
+ * never waits or spins for it. Batches never overlap. In a batch only
+ * the last dice roll and the last turn change are delivered, and moves that continue the previous
+ * move of the same piece are merged into one move. A piece is the player unless the move names
+ * another one, such as a Ludo token. If the ring is full, events wait in an ordered overflow map
+ * instead, so nothing is dropped or reordered. Events posted while no observer is registered are
+ * ignored.
+ * </p>
+ *
+ * <p>With {@code Runnable::run} as the dispatcher every event is delivered on the posting thread
+ * before the posting method returns, and only events posted by an observer during a delivery are
+ * batched.
+ * </p>
+ *
+ * @param <P> the player type
+ */
+public final class GameEventBus<P> {
+
+  /** The number of events the ring holds before spilling into the overflow map. */
+  public static final int DEFAULT_CAPACITY = 1024;
+
+  private final Executor dispatcher;
+  private final List<Observer<P>> observers = new CopyOnWriteArrayList<>();
+  private final AtomicReferenceArray<Event<P>> ring;
+  // The ticket last published in each slot; the event is only read once its ticket is seen here
+  private final AtomicLongArray published;
+  private final int mask;
+  private final ConcurrentSkipListMap<Long, Event<P>> overflow = new ConcurrentSkipListMap<>();
+  private final AtomicLong tail = new AtomicLong();
+  private final AtomicBoolean scheduled = new AtomicBoolean();
+  // Written only by the single running drain; read by posters to find free slots
+  private volatile long head;
+
+  /**
+   * Creates a bus with the default capacity.
+   *
+   * @param dispatcher runs the drain task, e.g. on the JavaFX application thread
+   * @throws IllegalArgumentException if dispatcher is null
+   */
+  public GameEventBus(Executor dispatcher) {
+    this(dispatcher, DEFAULT_CAPACITY);
+  }
+
+  /**
+   * Creates a bus.
+   *
+   * @param dispatcher runs the drain task, e.g. on the JavaFX application thread
+   * @param capacity   the ring size, rounded up to a power of two
+   * @throws IllegalArgumentException if dispatcher is null or capacity is below 1
+   */
+  public GameEventBus(Executor dispatcher, int capacity) {
+    if (dispatcher == null) {
+      throw new IllegalArgumentException("Dispatcher can not be null");
+    }
+    if (capacity < 1 || capacity > 1 << 30) {
+      throw new IllegalArgumentException("Capacity must be between 1 and 2^30");
+    }
+    int size = Integer.highestOneBit(capacity);
+    if (size < capacity) {
+      size <<= 1;
+    }
+    this.dispatcher = dispatcher;
+    this.ring = new AtomicReferenceArray<>(size);
+    this.published = new AtomicLongArray(size);
+    for (int i = 0; i < size; i++) {
+      published.set(i, -1);
+    }
+    this.mask = size - 1;
+  }
+
+  /**
+   * Registers an observer for all later batches.
+   *
+   * @param observer the observer to add
+   */
+  public void addObserver(Observer<P> observer) {
+    observers.add(observer);
+  }
+
+  /**
+   * Returns whether any observer is registered.
+   *
+   * @return true if events are being delivered
+   */
+  public boolean hasObservers() {
+    return !observers.isEmpty();
+  }
+
+  /**
+   * Posts a move from one tile to another.
+   *
+   * @param player the player who moved
+   * @param from   the tile id or index moved from
+   * @param to     the tile id or index moved to
+   */
+  public void playerMoved(P player, int from, int to) {
+    playerMoved(player, player, from, to);
+  }
+
+  /**
+   * Posts a move of one of a player's pieces. Only moves of the same piece are merged, so two
+   * pieces that pass through the same tile are never taken for one piece.
+   *
+   * @param player the player who moved
+   * @param piece  the piece that moved, compared by identity
+   * @param from   the tile id or index moved from
+   * @param to     the tile id or index moved to
+   */
+  public void playerMoved(P player, Object piece, int from, int to) {
+    post(new Event<>(Event.MOVED, player, piece, from, to, null));
+  }
+
+  /**
+   * Posts a dice roll.
+   *
+   * @param values the faces rolled
+   */
+  public void diceRolled(List<Integer> values) {
+    post(new Event<>(Event.DICE, null, null, 0, 0, values));
+  }
+
+  /**
+   * Posts a change of turn.
+   *
+   * @param next the player whose turn it is
+   */
+  public void nextPlayer(P next) {
+    post(new Event<>(Event.NEXT, next, null, 0, 0, null));
+  }
+
+  /**
+   * Posts the end of the game.
+   *
+   * @param winner the winner
+   */
+  public void gameOver(P winner) {
+    post(new Event<>(Event.OVER, winner, null, 0, 0, null));
+  }
+
+  private void post(Event<P> event) {
+    if (observers.isEmpty()) {
+      return;
+    }
+    long ticket = tail.getAndIncrement();
+    if (ticket - head < ring.length()) {
+      int slot = (int) ticket & mask;
+      ring.setPlain(slot, event);
+      published.set(slot, ticket);
+    } else {
+      overflow.put(ticket, event);
+    }
+    if (scheduled.compareAndSet(false, true)) {
+      dispatcher.execute(this::drain);
+    }
+  }
+
+  /**
+   * Delivers every event published so far as one coalesced batch, and repeats while events were
+   * published by posters that found this drain still running.
+   */
+  private void drain() {
+    do {
+      List<Event<P>> batch = new ArrayList<>();
+      long next = head;
+      Event<P> event;
+      while ((event = take(next)) != null) {
+        batch.add(event);
+        head = ++next;
+      }
+      // Deliver before clearing the flag, so two batches are never delivered at the same time
+      deliver(coalesce(batch));
+      scheduled.set(false);
+      // A poster that published after the flag was cleared schedules its own drain; one that
+      // published before it found the flag set, so its event is picked up here
+    } while (isPublished(head) && scheduled.compareAndSet(false, true));
+  }
+
+  private Event<P> take(long ticket) {
+    int slot = (int) ticket & mask;
+    if (published.get(slot) == ticket) {
+      Event<P> event = ring.getPlain(slot);
+      ring.setPlain(slot, null);
+      return event;
+    }
+    return overflow.remove(ticket);
+  }
+
+  private boolean isPublished(long ticket) {
+    return published.get((int) ticket & mask) == ticket || overflow.containsKey(ticket);
+  }
+
+  /**
+   * Drops superseded dice rolls and turn changes, and merges moves of one piece that continue one
+   * another.
+   */
+  private static <P> List<Event<P>> coalesce(List<Event<P>> batch) {
+    boolean seenDice = false;
+    boolean seenNext = false;
+    Map<Object, Event<P>> laterMove = new IdentityHashMap<>();
+    List<Event<P>> kept = new ArrayList<>(batch.size());
+    for (int i = batch.size() - 1; i >= 0; i--) {
+      Event<P> event = batch.get(i);
+      switch (event.type) {
+        case Event.DICE -> {
+          if (seenDice) {
+            continue;
+          }
+          seenDice = true;
+        }
+        case Event.NEXT -> {
+          if (seenNext) {
+            continue;
+          }
+          seenNext = true;
+        }
+        case Event.MOVED -> {
+          Event<P> later = laterMove.get(event.piece);
+          if (later != null && later.from == event.to) {
+            later.from = event.from;
+            continue;
+          }
+          laterMove.put(event.piece, event);
+        }
+        default -> {
+        }
+      }
+      kept.add(event);
+    }
+    return kept.reversed();
+  }
+
+  private void deliver(List<Event<P>> batch) {
+    for (Event<P> event : batch) {
+      for (Observer<P> observer : observers) {
+        switch (event.type) {
+          case Event.MOVED -> observer.onPlayerMoved(event.player, event.from, event.to);
+          case Event.DICE -> observer.onDiceRolled(event.values);
+          case Event.NEXT -> observer.onNextPlayer(event.player);
+          default -> observer.onGameOver(event.player);
+        }
+      }
+    }
+  }
+
+  /**
+   * One queued notification. Only the drain changes {@code from}, when it merges moves.
+   */
+  private static final class Event<P> {
+    private static final int MOVED = 0;
+    private static final int DICE = 1;
+    private static final int NEXT = 2;
+    private static final int OVER = 3;
+
+    private final int type;
+    private final P player;
+    private final Object piece;
+    private final int to;
+    private final List<Integer> values;
+    private int from;
+
+    private Event(int type, P player, Object piece, int from, int to, List<Integer> values) {
+      this.type = type;
+      this.player = player;
+      this.piece = piece;
+      this.from = from;
+      this.to = to;
+      this.values = values;
+    }
+  }
+}
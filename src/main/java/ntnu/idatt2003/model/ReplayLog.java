@@ -0,0 +1,128 @@
+package ntnu.idatt2003.model;
+
+import java.util.Arrays;
+
+/**
+ * A compact record of the inputs that drove a game: the dice faces and, for Ludo, the token
+ * chosen each turn.
+ *
+ * <p>Every input is one unsigned byte, so a long game takes a few kilobytes. The games decide what
+ * an input means: {@link ntnu.idatt2003.model.snakeandladder.SnakeAndLadderGame} writes one face
+ * per die, and {@link ntnu.idatt2003.model.ludo.LudoGame} packs the roll and the token choice into
+ * one input per turn. Feeding a log back to a fresh game with the same board and players puts it
+ * in exactly the same position, whatever random generator produced the rolls the first time.
+ * </p>
+ */
+public final class ReplayLog {
+
+  private static final int INITIAL_CAPACITY = 64;
+
+  private byte[] inputs;
+  private int size;
+
+  /**
+   * Creates an empty log.
+   */
+  public ReplayLog() {
+    this.inputs = new byte[INITIAL_CAPACITY];
+  }
+
+  private ReplayLog(byte[] inputs, int size) {
+    this.inputs = inputs;
+    this.size = size;
+  }
+
+  /**
+   * Creates a log holding the given inputs, for example ones read back from
+   * {@link #toByteArray()}.
+   *
+   * @param inputs the inputs, one unsigned byte each
+   * @return a new log
+   * @throws IllegalArgumentException if inputs is null
+   */
+  public static ReplayLog of(byte[] inputs) {
+    if (inputs == null) {
+      throw new IllegalArgumentException("Inputs can not be null");
+    }
+    return new ReplayLog(Arrays.copyOf(inputs, Math.max(inputs.length, INITIAL_CAPACITY)),
+        inputs.length);
+  }
+
+  /**
+   * Appends an input.
+   *
+   * @param input the input (0-255)
+   * @throws IllegalArgumentException if the input does not fit in a byte
+   */
+  public void add(int input) {
+    checkInput(input);
+    if (size == inputs.length) {
+      inputs = Arrays.copyOf(inputs, size * 2);
+    }
+    inputs[size++] = (byte) input;
+  }
+
+  /**
+   * Replaces an input that has already been added.
+   *
+   * @param index the position of the input
+   * @param input the new input (0-255)
+   * @throws IllegalArgumentException if the index or input is out of range
+   */
+  public void set(int index, int input) {
+    checkIndex(index);
+    checkInput(input);
+    inputs[index] = (byte) input;
+  }
+
+  /**
+   * Returns an input.
+   *
+   * @param index the position of the input
+   * @return the input (0-255)
+   * @throws IllegalArgumentException if the index is out of range
+   */
+  public int get(int index) {
+    checkIndex(index);
+    return inputs[index] & 0xFF;
+  }
+
+  /**
+   * Returns the number of inputs.
+   *
+   * @return the input count
+   */
+  public int size() {
+    return size;
+  }
+
+  /**
+   * Returns a copy of the inputs, one byte each.
+   *
+   * @return the inputs
+   */
+  public byte[] toByteArray() {
+    return Arrays.copyOf(inputs, size);
+  }
+
+  /**
+   * Returns an independent copy of this log.
+   *
+   * @return the copy
+   */
+  public ReplayLog copy() {
+    return new ReplayLog(Arrays.copyOf(inputs, Math.max(size, INITIAL_CAPACITY)), size);
+  }
+
+  private void checkIndex(int index) {
+    if (index < 0 || index >= size) {
+      throw new IllegalArgumentException("No input at " + index + ", log has " + size);
+    }
+  }
+
+  private static void checkInput(int input) {
+    if (input < 0 || input > 0xFF) {
+      throw new IllegalArgumentException("Input must be between 0 and 255");
+    }
+  }
+}
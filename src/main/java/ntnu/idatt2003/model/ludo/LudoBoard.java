@@ -16,10 +16,13 @@ public class LudoBoard implements Serializable {
 
 
   public static final int MAIN_PATH_SIZE = 44;
+  public static final int FINISH_LANE_SIZE = 5;
 
   private final List<LudoTile> mainPath;
   private final Map<TokenColor, List<LudoTile>> home;
   private final Map<TokenColor, List<LudoTile>> finishLanes;
+  // Built from mainPath and finishLanes, so it is not serialized but rebuilt on first use
+  private transient Map<TokenColor, List<LudoTile>> fullPaths;
 
 
 
@@ -132,6 +135,7 @@ public class LudoBoard implements Serializable {
     this.mainPath    = buildMainPath();
     this.home        = buildHome();
     this.finishLanes = buildFinishLanes();
+    this.fullPaths   = buildFullPaths();
     // Let each TokenColor know its finish‐lane tiles
     finishLanes.forEach((c, tiles) -> c.setFinishLaneTiles(tiles));
   }
@@ -188,11 +192,11 @@ private static final Set<Integer> SAFE_INDICES = Set.of(6, 18, 29, 40);
 
     for (var color : TokenColor.values()) {
       int base = color.getFinishStartIndex();
-      var lane = new ArrayList<LudoTile>(5);
+      var lane = new ArrayList<LudoTile>(FINISH_LANE_SIZE);
 
 
-      for (int i = 0; i < 5; i++) {
-        LudoTileType type = (i == 4)
+      for (int i = 0; i < FINISH_LANE_SIZE; i++) {
+        LudoTileType type = (i == FINISH_LANE_SIZE - 1)
             ? LudoTileType.FINISH
             : LudoTileType.NORMAL;
         lane.add(new LudoTile(base + i, type));
@@ -204,6 +208,28 @@ private static final Set<Integer> SAFE_INDICES = Set.of(6, 18, 29, 40);
   }
 
 
+  /**
+   * Builds each color's full path once: the main loop starting at the color's start square,
+   * followed by its finish lane.
+   *
+   * @return a map from each TokenColor to its immutable full path.
+   */
+  private Map<TokenColor, List<LudoTile>> buildFullPaths() {
+    var map = new EnumMap<TokenColor, List<LudoTile>>(TokenColor.class);
+    for (var color : TokenColor.values()) {
+      var path = new LudoTile[MAIN_PATH_SIZE + FINISH_LANE_SIZE];
+      for (int i = 0; i < MAIN_PATH_SIZE; i++) {
+        path[i] = mainPath.get((color.getStartIndex() + i) % MAIN_PATH_SIZE);
+      }
+      for (int i = 0; i < FINISH_LANE_SIZE; i++) {
+        path[MAIN_PATH_SIZE + i] = finishLanes.get(color).get(i);
+      }
+      map.put(color, List.of(path));
+    }
+    return Collections.unmodifiableMap(map);
+  }
+
+
   /** @return the circular main path. */
   public List<LudoTile> getMainPath() {
     return mainPath;
@@ -218,35 +244,72 @@ private static final Set<Integer> SAFE_INDICES = Set.of(6, 18, 29, 40);
     return finishLanes.get(c);
   }
 
+  /**
+   * Returns whether the main-path square with the given index is a SAFE star.
+   *
+   * @param mainIndex the index on the main path (0 to {@link #MAIN_PATH_SIZE} - 1)
+   * @return true for a safe square
+   */
+  public static boolean isSafeIndex(int mainIndex) {
+    return SAFE_INDICES.contains(mainIndex);
+  }
+
   public static Map<Integer, Point2D> getTileCoordinates() {
     return tileCoordinates;
   }
 
 
+  /**
+   * Returns the path a token of the given color walks: the main loop from its start square,
+   * followed by its finish lane. The list is built once per board and cannot be modified.
+   *
+   * @param c the token color
+   * @return the full path for the color
+   */
   public List<LudoTile> getFullPath(TokenColor c) {
-    List<LudoTile> loop = mainPath;
-    var path = new ArrayList<LudoTile>(loop.size() + finishLanes.get(c).size());
-    path.addAll(loop.subList(c.getStartIndex(), loop.size()));
-    path.addAll(loop.subList(0, c.getStartIndex()));
-    path.addAll(finishLanes.get(c));
-    return Collections.unmodifiableList(path);
+    return fullPaths().get(c);
+  }
+
+  private Map<TokenColor, List<LudoTile>> fullPaths() {
+    if (fullPaths == null) {
+      fullPaths = buildFullPaths();
+    }
+    return fullPaths;
+  }
+
+  /**
+   * Returns how far along its color's full path a tile is, as used by {@link Token#getPathOffset}.
+   * Works from the tile index alone, so it needs no board instance.
+   *
+   * @param c    the token color
+   * @param tile the tile
+   * @return -1 for a HOME tile, otherwise the offset into {@link #getFullPath}; tiles outside the
+   *         color's path count as the start of the path
+   */
+  public static int pathOffset(TokenColor c, LudoTile tile) {
+    if (tile.getType() == LudoTileType.HOME) {
+      return -1;
+    }
+    int index = tile.getIndex();
+    if (index >= 0 && index < MAIN_PATH_SIZE) {
+      return Math.floorMod(index - c.getStartIndex(), MAIN_PATH_SIZE);
+    }
+    int lane = index - c.getFinishStartIndex();
+    return lane >= 0 && lane < FINISH_LANE_SIZE ? MAIN_PATH_SIZE + lane : 0;
   }
 
 
   public LudoTile getNextTile(Token token, int steps) {
     LudoTile cur = token.getPosition();
-    TokenColor c = token.getColor();
-    List<LudoTile> full = getFullPath(c);
+    List<LudoTile> full = fullPaths().get(token.getColor());
+    int offset = token.getPathOffset();
     LudoTile dest;
 
-    if (cur.getType() == LudoTileType.HOME) {
+    if (offset < 0) {
       // only a 6 can leave HOME
       dest = (steps == 6) ? full.get(0) : cur;
     } else {
-      int idx = full.indexOf(cur);
-      if (idx < 0) idx = 0;                       // safety fallback
-      int next = Math.min(idx + steps, full.size() - 1);
-      dest = full.get(next);
+      dest = full.get(Math.min(offset + steps, full.size() - 1));
     }
 
     // block landing on occupied SAFE star
@@ -1,50 +1,107 @@
 package ntnu.idatt2003.model.ludo;
 
 import java.io.File;
-import java.io.FileInputStream;
-import java.io.FileOutputStream;
 import java.io.IOException;
-import java.io.ObjectInputStream;
-import java.io.ObjectOutputStream;
-import java.io.Serial;
-import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.Executor;
+import ntnu.idatt2003.core.DiceRandom;
 import ntnu.idatt2003.core.Die;
 import ntnu.idatt2003.model.BoardGame;
+import ntnu.idatt2003.model.GameEventBus;
+import ntnu.idatt2003.model.ReplayLog;
 import ntnu.idatt2003.view.Observer;
 
 /**
  * Implements the core game logic for a Ludo game.
  *
  * <p>Manages the list of players, the game board, die rolls, token selection, and
- * player turns. Integrates with the Observer interface for UI updates.
+ * player turns. Integrates with the Observer interface for UI updates: notifications go through a
+ * {@link GameEventBus} and are by default delivered on the calling thread before the game method
+ * returns. Another dispatcher, such as {@code Platform::runLater}, can be given to the constructor
+ * to deliver them in batches instead, where moves are merged per token and never across tokens.
+ * </p>
+ *
+ * <p>Each turn is written to a {@link ReplayLog} as one input holding the roll and the index of the
+ * token moved, and {@link #replay} plays such a log back without notifying observers.
  * </p>
  */
-public class LudoGame implements BoardGame<LudoPlayer, LudoBoard>, Serializable {
-  @Serial
-  private static final long serialVersionUID = 1L;
+public class LudoGame implements BoardGame<LudoPlayer, LudoBoard> {
+
+  private static final int ROLL_BITS = 3;
+  private static final int ROLL_MASK = (1 << ROLL_BITS) - 1;
 
   private final List<LudoPlayer> players;
   private final LudoBoard board;
-  private final Die die = new Die();
+  private final Die die;
+  private final GameEventBus<LudoPlayer> events;
+  private ReplayLog replayLog = new ReplayLog();
   private int currentIndex = 0;
-  private transient List<Observer<LudoPlayer>> observers = new ArrayList<>();
+  private int lastRoll = 0;
+  private boolean replaying;
   private Token selectedToken;
 
   /**
-   * Constructs a new Ludo game with the given players and board.
+   * Constructs a new Ludo game with the given players and board. Observers are notified on the
+   * calling thread.
    *
    * @param players the list of players (2–4 required)
    * @param board   the Ludo board instance
    * @throws IllegalArgumentException if player count is not 2–4
    */
   public LudoGame(List<LudoPlayer> players, LudoBoard board) {
+    this(players, board, new Die(), Runnable::run);
+  }
+
+  /**
+   * Constructs a new Ludo game whose notifications run through the given dispatcher.
+   *
+   * @param players    the list of players (2–4 required)
+   * @param board      the Ludo board instance
+   * @param dispatcher runs batches of observer notifications, e.g. {@code Platform::runLater} to
+   *                   deliver them on the JavaFX application thread
+   * @throws IllegalArgumentException if player count is not 2–4 or dispatcher is null
+   */
+  public LudoGame(List<LudoPlayer> players, LudoBoard board, Executor dispatcher) {
+    this(players, board, new Die(), dispatcher);
+  }
+
+  /**
+   * Constructs a new Ludo game whose die is seeded, so the same seed and the same token choices
+   * always play out the same game. Observers are notified on the calling thread.
+   *
+   * @param players the list of players (2–4 required)
+   * @param board   the Ludo board instance
+   * @param seed    the seed for the die
+   * @throws IllegalArgumentException if player count is not 2–4
+   */
+  public LudoGame(List<LudoPlayer> players, LudoBoard board, long seed) {
+    this(players, board, seed, Runnable::run);
+  }
+
+  /**
+   * Constructs a new Ludo game with a seeded die whose notifications run through the given
+   * dispatcher.
+   *
+   * @param players    the list of players (2–4 required)
+   * @param board      the Ludo board instance
+   * @param seed       the seed for the die
+   * @param dispatcher runs batches of observer notifications, e.g. {@code Platform::runLater} to
+   *                   deliver them on the JavaFX application thread
+   * @throws IllegalArgumentException if player count is not 2–4 or dispatcher is null
+   */
+  public LudoGame(List<LudoPlayer> players, LudoBoard board, long seed, Executor dispatcher) {
+    this(players, board, new Die(DiceRandom.create(seed)), dispatcher);
+  }
+
+  private LudoGame(List<LudoPlayer> players, LudoBoard board, Die die, Executor dispatcher) {
     if (players.size() < 2 || players.size() > 4) {
       throw new IllegalArgumentException("Need 2-4 players");
     }
     this.players = new ArrayList<>(players);
     this.board = board;
+    this.die = die;
+    this.events = new GameEventBus<>(dispatcher);
   }
 
   @Override
@@ -80,7 +137,8 @@ public class LudoGame implements BoardGame<LudoPlayer, LudoBoard>, Serializable
     int from = selectedToken.getPosition().getIndex();
     LudoTile dest = board.getNextTile(selectedToken, steps);
     selectedToken.moveTo(dest);
-    notifyPlayerMoved(getCurrentPlayer(), from, dest.getIndex());
+    recordMove(steps, getCurrentPlayer().getTokens().indexOf(selectedToken));
+    notifyPlayerMoved(getCurrentPlayer(), selectedToken, from, dest.getIndex());
 
     if (gameDone()) {
       notifyGameOver(getWinner());
@@ -96,6 +154,8 @@ public class LudoGame implements BoardGame<LudoPlayer, LudoBoard>, Serializable
   @Override
   public List<Integer> rollIndividual() {
     int face = die.roll();
+    lastRoll = face;
+    replayLog.add(face);
     List<Integer> result = List.of(face);
     notifyDiceRolled(result);
     return result;
@@ -120,17 +180,23 @@ public class LudoGame implements BoardGame<LudoPlayer, LudoBoard>, Serializable
 
   @Override
   public boolean gameDone() {
-    return players.stream().anyMatch(LudoPlayer::hasFinishedAll);
+    return getWinner() != null;
   }
 
   @Override
   public LudoPlayer getWinner() {
-    return players.stream().filter(LudoPlayer::hasFinishedAll).findFirst().orElse(null);
+    // Each check is O(1): players keep count of their finished tokens as they move
+    for (LudoPlayer player : players) {
+      if (player.hasFinishedAll()) {
+        return player;
+      }
+    }
+    return null;
   }
 
   @Override
   public void addObserver(Observer<LudoPlayer> observer) {
-    observers.add(observer);
+    events.addObserver(observer);
   }
 
   /**
@@ -147,15 +213,200 @@ public class LudoGame implements BoardGame<LudoPlayer, LudoBoard>, Serializable
   }
 
   /**
-   * Serialize this game’s full state to the given file.
+   * Writes the current player's legal moves for a roll into a buffer, using the same rules as
+   * {@link LudoBoard#getNextTile}: safe stars held by an opponent block, and moves that leave a
+   * token where it is are left out. Each entry is a packed move; read it with
+   * {@link LudoRules#moveToken}, {@link LudoRules#moveDestination} and {@link LudoRules#isCapture}.
+   *
+   * <p>The moves come straight from the tokens' path offsets, so this allocates nothing and gives
+   * the same moves as {@link LudoRules#generateMoves} on {@link #getState()}.
+   * </p>
+   *
+   * @param roll  the die roll (1-6)
+   * @param moves a buffer of at least 4 entries
+   * @return the number of legal moves written
+   */
+  public int generateMoves(int roll, int[] moves) {
+    LudoPlayer player = getCurrentPlayer();
+    TokenColor color = player.getTokenColor();
+    List<Token> tokens = player.getTokens();
+    int count = 0;
+    for (int t = 0; t < tokens.size(); t++) {
+      int offset = tokens.get(t).getPathOffset();
+      int dest;
+      if (offset == LudoState.HOME) {
+        dest = roll == 6 ? 0 : LudoState.HOME;
+      } else {
+        dest = Math.min(offset + roll, LudoState.FINISH);
+      }
+      if (dest == offset) {
+        continue;
+      }
+      boolean capture = false;
+      if (dest >= 0 && dest < LudoBoard.MAIN_PATH_SIZE) {
+        int square = LudoRules.mainIndex(color, dest);
+        boolean held = opponentOn(square);
+        if (held && LudoBoard.isSafeIndex(square)) {
+          continue;
+        }
+        capture = held;
+      }
+      moves[count++] = LudoRules.packMove(t, dest, capture);
+    }
+    return count;
+  }
+
+  private boolean opponentOn(int square) {
+    for (int seat = 0; seat < players.size(); seat++) {
+      if (seat == currentIndex) {
+        continue;
+      }
+      LudoPlayer other = players.get(seat);
+      List<Token> tokens = other.getTokens();
+      for (int t = 0; t < tokens.size(); t++) {
+        int offset = tokens.get(t).getPathOffset();
+        if (offset >= 0 && offset < LudoBoard.MAIN_PATH_SIZE
+            && LudoRules.mainIndex(other.getTokenColor(), offset) == square) {
+          return true;
+        }
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Packs the current position (token offsets, current player and last roll) into a
+   * {@link LudoState}.
+   *
+   * @return the current state
+   */
+  public LudoState getState() {
+    LudoState state = LudoState.start(players.stream().map(LudoPlayer::getTokenColor).toList());
+    for (int seat = 0; seat < players.size(); seat++) {
+      List<Token> tokens = players.get(seat).getTokens();
+      for (int t = 0; t < tokens.size(); t++) {
+        state = state.withOffset(seat, t, tokens.get(t).getPathOffset());
+      }
+    }
+    return state.withCurrentPlayer(currentIndex).withLastRoll(lastRoll);
+  }
+
+  /**
+   * Moves every token, the turn and the last roll to match the given state. Any token selection
+   * is cleared. Observers are not notified.
+   *
+   * @param state a state taken from a game with the same seat colors
+   * @throws IllegalArgumentException if the state has other seats than this game
+   */
+  public void setState(LudoState state) {
+    if (state.playerCount() != players.size()) {
+      throw new IllegalArgumentException("State has " + state.playerCount() + " players, game has "
+          + players.size());
+    }
+    for (int seat = 0; seat < players.size(); seat++) {
+      if (state.color(seat) != players.get(seat).getTokenColor()) {
+        throw new IllegalArgumentException("State seat " + seat + " has another color");
+      }
+    }
+    // Clear the board first, so that placing a token never captures one that is about to move
+    players.forEach(p -> p.getTokens().forEach(Token::sendHome));
+    for (int seat = 0; seat < players.size(); seat++) {
+      LudoPlayer player = players.get(seat);
+      List<LudoTile> path = board.getFullPath(player.getTokenColor());
+      List<Token> tokens = player.getTokens();
+      for (int t = 0; t < tokens.size(); t++) {
+        int offset = state.offset(seat, t);
+        if (offset != LudoState.HOME) {
+          tokens.get(t).moveTo(path.get(offset));
+        }
+      }
+    }
+    currentIndex = state.currentPlayer();
+    lastRoll = state.lastRoll();
+    selectedToken = null;
+  }
+
+  /**
+   * Plays the first turns of a log on this game, which should be fresh and have the same board
+   * and players as the game that wrote the log. Each turn follows the controller: roll, move the
+   * logged token if there was one, and pass the turn on unless a token moved on a 6. Observers are
+   * not notified. The replayed turns are added to this game's own log.
+   *
+   * @param log   the log to replay, see {@link #getReplayLog()}
+   * @param turns the number of turns to replay
+   * @return the number of turns replayed, fewer than asked if the log ends or the game is won
+   * @throws IllegalArgumentException if the log holds an invalid roll or a move that is not legal
+   */
+  public int replay(ReplayLog log, int turns) {
+    int played = 0;
+    replaying = true;
+    try {
+      while (played < turns && played < log.size() && !gameDone()) {
+        int input = log.get(played);
+        int roll = input & ROLL_MASK;
+        int token = (input >>> ROLL_BITS) - 1;
+        if (roll < 1 || roll > 6 || token >= LudoState.TOKENS_PER_PLAYER) {
+          throw new IllegalArgumentException("Log holds an invalid turn: " + input);
+        }
+        lastRoll = roll;
+        replayLog.add(roll);
+        if (token < 0) {
+          nextPlayer();
+        } else {
+          selectToken(getCurrentPlayer().getTokens().get(token));
+          moveCurrentPlayer(roll);
+          if (!gameDone() && roll != 6) {
+            nextPlayer();
+          }
+        }
+        played++;
+      }
+    } finally {
+      replaying = false;
+    }
+    return played;
+  }
+
+  /**
+   * Returns a copy of the turns played so far, oldest first. Each input holds the roll in its low
+   * three bits and the moved token's index plus one above them, or zero if no token moved.
+   *
+   * @return the replay log
+   */
+  public ReplayLog getReplayLog() {
+    return replayLog.copy();
+  }
+
+  /**
+   * Adds the moved token to the turn opened by the last roll, or logs a turn of its own if the
+   * move was not made with that roll.
+   */
+  private void recordMove(int steps, int token) {
+    int last = replayLog.size() - 1;
+    int input = steps | (token + 1) << ROLL_BITS;
+    if (last >= 0 && replayLog.get(last) == steps && steps == lastRoll) {
+      replayLog.set(last, input);
+    } else if (steps >= 1 && steps <= 6) {
+      replayLog.add(input);
+    }
+  }
+
+  /**
+   * Puts a log back in place of this game's own, when restoring a saved game.
+   */
+  void restoreReplayLog(ReplayLog log) {
+    this.replayLog = log;
+  }
+
+  /**
+   * Saves this game's players, position and replay log to the given file in the compact binary
+   * format described in {@link LudoSaveFormat}.
    *
    * @param file the file to write to
    * @throws IOException if writing fails
    */
   public void saveToFile(File file) throws IOException {
-    try (ObjectOutputStream out = new ObjectOutputStream(new FileOutputStream(file))) {
-      out.writeObject(this);
-    }
+    LudoSaveFormat.write(this, file.toPath());
   }
 
   /**
@@ -163,39 +414,33 @@ public class LudoGame implements BoardGame<LudoPlayer, LudoBoard>, Serializable
    *
    * @param file the file to read from
    * @return the loaded LudoGame instance
-   * @throws IOException if reading fails
-   * @throws ClassNotFoundException if the file does not contain a LudoGame
+   * @throws IOException if reading fails, or the file is not a valid save of a supported version
    */
-  public static LudoGame loadFromFile(File file)
-      throws IOException, ClassNotFoundException {
-    try (ObjectInputStream in = new ObjectInputStream(new FileInputStream(file))) {
-      LudoGame game = (LudoGame) in.readObject();
-      game.observers = new ArrayList<>(); // re-init the transient list
-      return game;
-    }
+  public static LudoGame loadFromFile(File file) throws IOException {
+    return LudoSaveFormat.read(file.toPath());
   }
 
-  private void notifyPlayerMoved(LudoPlayer player, int from, int to) {
-    for (var obs : observers) {
-      obs.onPlayerMoved(player, from, to);
+  private void notifyPlayerMoved(LudoPlayer player, Token token, int from, int to) {
+    if (!replaying) {
+      events.playerMoved(player, token, from, to);
     }
   }
 
   private void notifyNextPlayer(LudoPlayer next) {
-    for (var obs : observers) {
-      obs.onNextPlayer(next);
+    if (!replaying) {
+      events.nextPlayer(next);
     }
   }
 
   private void notifyGameOver(LudoPlayer winner) {
-    for (var obs : observers) {
-      obs.onGameOver(winner);
+    if (!replaying) {
+      events.gameOver(winner);
     }
   }
 
   private void notifyDiceRolled(List<Integer> rolls) {
-    for (var obs : observers) {
-      obs.onDiceRolled(rolls);
+    if (!replaying) {
+      events.diceRolled(rolls);
     }
   }
 }
@@ -22,6 +22,9 @@ public class LudoPlayer extends Player implements Serializable {
 
   private final TokenColor color;
   private final List<Token> tokens;
+  private int homeCount;
+  private int onTrackCount;
+  private int finishedCount;
 
   /**
    * Constructs a Ludo player.
@@ -57,6 +60,15 @@ public class LudoPlayer extends Player implements Serializable {
     return color.toFXColor();
   }
 
+  /**
+   * Returns the color of this player's tokens.
+   *
+   * @return the token color
+   */
+  public TokenColor getTokenColor() {
+    return color;
+  }
+
   /**
    * @return unmodifiable list of this player's tokens.
    */
@@ -70,7 +82,56 @@ public class LudoPlayer extends Player implements Serializable {
    * @return true if all four tokens are finished; false otherwise
    */
   public boolean hasFinishedAll() {
-    return tokens.stream().allMatch(Token::isFinished);
+    return finishedCount == tokens.size();
+  }
+
+  /**
+   * Returns how many of this player's tokens are on a HOME tile.
+   *
+   * @return the number of tokens at home
+   */
+  public int getHomeCount() {
+    return homeCount;
+  }
+
+  /**
+   * Returns how many of this player's tokens are on the board, neither at home nor finished.
+   *
+   * @return the number of tokens in play
+   */
+  public int getOnTrackCount() {
+    return onTrackCount;
+  }
+
+  /**
+   * Returns how many of this player's tokens have reached their FINISH tile.
+   *
+   * @return the number of finished tokens
+   */
+  public int getFinishedCount() {
+    return finishedCount;
+  }
+
+  /**
+   * Package-private: updates the token counters when one of this player's tokens moves. Called by
+   * {@link Token} whenever its tile changes.
+   *
+   * @param from the type of the tile left, or {@code null} for a newly placed token
+   * @param to   the type of the tile entered
+   */
+  void tokenMoved(LudoTileType from, LudoTileType to) {
+    if (from != null) {
+      count(from, -1);
+    }
+    count(to, 1);
+  }
+
+  private void count(LudoTileType type, int delta) {
+    switch (type) {
+      case HOME -> homeCount += delta;
+      case FINISH -> finishedCount += delta;
+      default -> onTrackCount += delta;
+    }
   }
 
   /**
@@ -0,0 +1,222 @@
+package ntnu.idatt2003.model.ludo;
+
+/**
+ * The Ludo movement rules, applied to a packed {@link LudoState} instead of the tile and token
+ * objects.
+ *
+ * <p>The rules match {@link LudoBoard#getNextTile} and {@link LudoTile#enter}: a token needs a 6
+ * to leave home and then enters its color's path at offset 0; moves stop at the finish; a token may
+ * not land on a SAFE star held by an opponent; landing on any other main-path square sends all
+ * opponent tokens there home. A 6 gives the same player another roll. A move is legal when it
+ * actually changes the token's position, and a player without legal moves passes.
+ * </p>
+ */
+public final class LudoRules {
+
+  private static final int TOKEN_BITS = 2;
+  private static final int TOKEN_MASK = (1 << TOKEN_BITS) - 1;
+  private static final int DEST_MASK = 0x3F;
+  private static final int CAPTURE = 1 << 8;
+  private static final boolean[] SAFE = new boolean[LudoBoard.MAIN_PATH_SIZE];
+
+  static {
+    for (int i = 0; i < SAFE.length; i++) {
+      SAFE[i] = LudoBoard.isSafeIndex(i);
+    }
+  }
+
+  private LudoRules() {
+  }
+
+  /**
+   * Returns where a token would end up after a roll, applying the same rules as
+   * {@link LudoBoard#getNextTile}.
+   *
+   * @param state the position
+   * @param seat  the token's seat
+   * @param token the token index within the seat (0-3)
+   * @param roll  the die roll (1-6)
+   * @return the destination offset, or the current offset if the token cannot move
+   */
+  public static int destination(LudoState state, int seat, int token, int roll) {
+    int offset = state.offset(seat * LudoState.TOKENS_PER_PLAYER + token);
+    int dest;
+    if (offset == LudoState.HOME) {
+      dest = roll == 6 ? 0 : LudoState.HOME;
+    } else {
+      dest = Math.min(offset + roll, LudoState.FINISH);
+    }
+    if (dest >= 0 && dest < LudoBoard.MAIN_PATH_SIZE) {
+      int square = mainIndex(state.color(seat), dest);
+      if (SAFE[square] && opponentOn(state, seat, square)) {
+        return offset;
+      }
+    }
+    return dest;
+  }
+
+  /**
+   * Writes the legal moves of the current player into a buffer, one packed int per move in
+   * ascending token order. Read the parts back with {@link #moveToken}, {@link #moveDestination}
+   * and {@link #isCapture}.
+   *
+   * @param state the position
+   * @param roll  the die roll (1-6)
+   * @param moves a buffer of at least 4 entries
+   * @return the number of legal moves written
+   */
+  public static int generateMoves(LudoState state, int roll, int[] moves) {
+    int seat = state.currentPlayer();
+    int count = 0;
+    for (int t = 0; t < LudoState.TOKENS_PER_PLAYER; t++) {
+      int offset = state.offset(seat * LudoState.TOKENS_PER_PLAYER + t);
+      int dest = destination(state, seat, t, roll);
+      if (dest != offset) {
+        boolean capture = false;
+        if (dest < LudoBoard.MAIN_PATH_SIZE) {
+          int square = mainIndex(state.color(seat), dest);
+          capture = !SAFE[square] && opponentOn(state, seat, square);
+        }
+        moves[count++] = packMove(t, dest, capture);
+      }
+    }
+    return count;
+  }
+
+  /**
+   * Packs a move the way {@link #generateMoves} writes it, for move generators that work on the
+   * token objects instead of a {@link LudoState}.
+   */
+  static int packMove(int token, int destination, boolean capture) {
+    return token | (destination + 1) << TOKEN_BITS | (capture ? CAPTURE : 0);
+  }
+
+  /**
+   * Returns the token index (0-3) of a move written by {@link #generateMoves}.
+   *
+   * @param move the packed move
+   * @return the token index within the current seat
+   */
+  public static int moveToken(int move) {
+    return move & TOKEN_MASK;
+  }
+
+  /**
+   * Returns the path offset a move written by {@link #generateMoves} lands on.
+   *
+   * @param move the packed move
+   * @return the destination offset (0 up to {@link LudoState#FINISH})
+   */
+  public static int moveDestination(int move) {
+    return (move >>> TOKEN_BITS & DEST_MASK) - 1;
+  }
+
+  /**
+   * Returns whether a move written by {@link #generateMoves} sends opponent tokens home.
+   *
+   * @param move the packed move
+   * @return true if the move captures
+   */
+  public static boolean isCapture(int move) {
+    return (move & CAPTURE) != 0;
+  }
+
+  /**
+   * Moves one of the current player's tokens, captures opponents on the landing square and hands
+   * the turn on unless the roll was a 6 or the game is over.
+   *
+   * @param state the position
+   * @param token the token index within the current seat (0-3), which must be legal to move; see
+   *              {@link #moveToken}
+   * @param roll  the die roll (1-6)
+   * @return the position after the move
+   */
+  public static LudoState apply(LudoState state, int token, int roll) {
+    int seat = state.currentPlayer();
+    int dest = destination(state, seat, token, roll);
+    LudoState next = state.withOffset(seat, token, dest).withLastRoll(roll);
+    if (dest >= 0 && dest < LudoBoard.MAIN_PATH_SIZE) {
+      int square = mainIndex(state.color(seat), dest);
+      if (!SAFE[square]) {
+        next = captureOn(next, seat, square);
+      }
+    }
+    if (roll == 6 || next.finishedCount(seat) == LudoState.TOKENS_PER_PLAYER) {
+      return next;
+    }
+    return next.withCurrentPlayer((seat + 1) % state.playerCount());
+  }
+
+  /**
+   * Hands the turn to the next player after a roll with no legal move.
+   *
+   * @param state the position
+   * @param roll  the die roll (1-6)
+   * @return the position with the next player to move
+   */
+  public static LudoState pass(LudoState state, int roll) {
+    return state.withLastRoll(roll)
+        .withCurrentPlayer((state.currentPlayer() + 1) % state.playerCount());
+  }
+
+  /**
+   * Returns the seat that has brought all four tokens to the finish.
+   *
+   * @param state the position
+   * @return the winning seat, or -1 if the game is still going
+   */
+  public static int winner(LudoState state) {
+    for (int seat = 0; seat < state.playerCount(); seat++) {
+      if (state.finishedCount(seat) == LudoState.TOKENS_PER_PLAYER) {
+        return seat;
+      }
+    }
+    return -1;
+  }
+
+  /**
+   * Converts a path offset on the main loop to the shared main-path square index.
+   *
+   * @param color  the token color
+   * @param offset an offset below {@link LudoBoard#MAIN_PATH_SIZE}
+   * @return the main-path index
+   */
+  public static int mainIndex(TokenColor color, int offset) {
+    return (color.getStartIndex() + offset) % LudoBoard.MAIN_PATH_SIZE;
+  }
+
+  private static boolean opponentOn(LudoState state, int seat, int square) {
+    for (int other = 0; other < state.playerCount(); other++) {
+      if (other == seat) {
+        continue;
+      }
+      TokenColor color = state.color(other);
+      for (int t = 0; t < LudoState.TOKENS_PER_PLAYER; t++) {
+        int offset = state.offset(other * LudoState.TOKENS_PER_PLAYER + t);
+        if (offset >= 0 && offset < LudoBoard.MAIN_PATH_SIZE
+            && mainIndex(color, offset) == square) {
+          return true;
+        }
+      }
+    }
+    return false;
+  }
+
+  private static LudoState captureOn(LudoState state, int seat, int square) {
+    LudoState result = state;
+    for (int other = 0; other < state.playerCount(); other++) {
+      if (other == seat) {
+        continue;
+      }
+      TokenColor color = state.color(other);
+      for (int t = 0; t < LudoState.TOKENS_PER_PLAYER; t++) {
+        int offset = state.offset(other * LudoState.TOKENS_PER_PLAYER + t);
+        if (offset >= 0 && offset < LudoBoard.MAIN_PATH_SIZE
+            && mainIndex(color, offset) == square) {
+          result = result.withOffset(other, t, LudoState.HOME);
+        }
+      }
+    }
+    return result;
+  }
+}
@@ -0,0 +1,149 @@
+package ntnu.idatt2003.model.ludo;
+
+import java.io.IOException;
+import java.nio.BufferOverflowException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import ntnu.idatt2003.core.PlayerIcon;
+import ntnu.idatt2003.file.SaveContainer;
+import ntnu.idatt2003.model.ReplayLog;
+
+/**
+ * The binary save format of {@link LudoGame}.
+ *
+ * <p>A save is a {@link SaveContainer} with the magic "LUDO" around the payload, all big-endian:
+ * </p>
+ * <pre>
+ *   payload: byte player count
+ *            per player: byte color | byte icon (255 = none) | int age
+ *                        | short name length | UTF-8 name
+ *            long state low | long state high     (see {@link LudoState})
+ *            int replay length | replay inputs    (see {@link ReplayLog})
+ * </pre>
+ *
+ * <p>The board is not stored, since every Ludo board is the same. A two-player game without
+ * history takes about 50 bytes. Reading checks the magic, version, length and checksum before
+ * anything is decoded, and only ever builds players and a state from the bytes, so a damaged or
+ * hostile file fails with an {@link IOException} instead of creating arbitrary objects.
+ * </p>
+ */
+final class LudoSaveFormat {
+
+  static final int MAGIC = 0x4C55444F; // "LUDO"
+  static final short VERSION = 1;
+  static final int HEADER_BYTES = SaveContainer.HEADER_BYTES;
+
+  private static final SaveContainer CONTAINER = new SaveContainer(MAGIC, VERSION, "Ludo");
+
+  private static final int MAX_NAME_BYTES = 1024;
+  private static final int NO_ICON = 0xFF;
+
+  private LudoSaveFormat() {
+  }
+
+  /**
+   * Writes a game to a file, replacing its contents.
+   */
+  static void write(LudoGame game, Path file) throws IOException {
+    CONTAINER.write(file, encodePayload(game));
+  }
+
+  /**
+   * Reads a game written by {@link #write}.
+   */
+  static LudoGame read(Path file) throws IOException {
+    return decodePayload(CONTAINER.read(file));
+  }
+
+  /**
+   * Encodes a game as header and payload in one buffer, ready to read.
+   */
+  static ByteBuffer encode(LudoGame game) {
+    return CONTAINER.wrap(encodePayload(game));
+  }
+
+  /**
+   * Decodes a game from a buffer holding a header and payload.
+   */
+  static LudoGame decode(ByteBuffer data) throws IOException {
+    return decodePayload(CONTAINER.unwrap(data));
+  }
+
+  private static ByteBuffer encodePayload(LudoGame game) {
+    List<LudoPlayer> players = game.getPlayers();
+    List<byte[]> names = new ArrayList<>(players.size());
+    byte[] replay = game.getReplayLog().toByteArray();
+    int size = 1 + 2 * Long.BYTES + Integer.BYTES + replay.length;
+    for (LudoPlayer player : players) {
+      byte[] name = player.getName().getBytes(StandardCharsets.UTF_8);
+      if (name.length > MAX_NAME_BYTES) {
+        throw new IllegalArgumentException("Player name is too long to save");
+      }
+      names.add(name);
+      size += 2 + Integer.BYTES + Short.BYTES + name.length;
+    }
+
+    ByteBuffer payload = ByteBuffer.allocate(size);
+    payload.put((byte) players.size());
+    for (int i = 0; i < players.size(); i++) {
+      LudoPlayer player = players.get(i);
+      PlayerIcon icon = player.getIcon();
+      payload.put((byte) player.getTokenColor().ordinal())
+          .put((byte) (icon == null ? NO_ICON : icon.ordinal()))
+          .putInt(player.getAge())
+          .putShort((short) names.get(i).length)
+          .put(names.get(i));
+    }
+    LudoState state = game.getState();
+    payload.putLong(state.low()).putLong(state.high());
+    payload.putInt(replay.length).put(replay);
+    return payload.flip();
+  }
+
+  private static LudoGame decodePayload(ByteBuffer payload) throws IOException {
+    try {
+      int count = payload.get();
+      if (count < 2 || count > LudoState.MAX_PLAYERS) {
+        throw new IOException("Save file has " + count + " players");
+      }
+      LudoBoard board = new LudoBoard();
+      TokenColor[] colors = TokenColor.values();
+      PlayerIcon[] icons = PlayerIcon.values();
+      List<LudoPlayer> players = new ArrayList<>(count);
+      for (int i = 0; i < count; i++) {
+        int color = payload.get() & 0xFF;
+        int icon = payload.get() & 0xFF;
+        int age = payload.getInt();
+        int nameLength = payload.getShort() & 0xFFFF;
+        if (color >= colors.length || (icon != NO_ICON && icon >= icons.length)
+            || nameLength > MAX_NAME_BYTES) {
+          throw new IOException("Save file has an invalid player");
+        }
+        byte[] name = new byte[nameLength];
+        payload.get(name);
+        players.add(new LudoPlayer(new String(name, StandardCharsets.UTF_8), age,
+            icon == NO_ICON ? null : icons[icon], colors[color], board.getHome(colors[color])));
+      }
+      LudoState state = LudoState.fromBits(payload.getLong(), payload.getLong());
+      int replayLength = payload.getInt();
+      if (replayLength < 0 || replayLength != payload.remaining()) {
+        throw new IOException("Save file has an invalid replay log");
+      }
+      byte[] replay = new byte[replayLength];
+      payload.get(replay);
+
+      LudoGame game = new LudoGame(players, board);
+      game.setState(state);
+      game.restoreReplayLog(ReplayLog.of(replay));
+      return game;
+    } catch (BufferUnderflowException | BufferOverflowException e) {
+      throw new IOException("Save file is truncated", e);
+    } catch (IllegalArgumentException e) {
+      throw new IOException("Save file is inconsistent: " + e.getMessage(), e);
+    }
+  }
+}
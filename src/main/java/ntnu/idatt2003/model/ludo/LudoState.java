@@ -0,0 +1,275 @@
+package ntnu.idatt2003.model.ludo;
+
+import java.util.List;
+
+/**
+ * An immutable snapshot of a Ludo position, packed into two longs.
+ *
+ * <p>A state holds the path offset of all 16 tokens (see {@link Token#getPathOffset}), the seat
+ * colors, the player count, whose turn it is and the last roll. Copying, comparing and hashing a
+ * state is therefore a couple of primitive operations, which makes it suitable for bots, search
+ * tables and analysis tools. Use {@link LudoGame#getState()} and {@link LudoGame#setState} to move
+ * between a state and the full game object graph.
+ * </p>
+ *
+ * <p>Layout: each token takes 6 bits holding its offset plus one (0 means home). Tokens 0-9 fill
+ * the low word; tokens 10-15 fill bits 0-35 of the high word, followed by the current seat
+ * (2 bits), the last roll (3 bits, 0 for none), the player count minus one (2 bits) and the color
+ * ordinal of each seat (2 bits each). Token {@code t} of seat {@code s} is token number
+ * {@code s * 4 + t}.
+ * </p>
+ */
+public final class LudoState {
+
+  public static final int MAX_PLAYERS = 4;
+  public static final int TOKENS_PER_PLAYER = 4;
+  public static final int HOME = -1;
+  public static final int FINISH = LudoBoard.MAIN_PATH_SIZE + LudoBoard.FINISH_LANE_SIZE - 1;
+
+  private static final int TOKEN_BITS = 6;
+  private static final long TOKEN_MASK = (1L << TOKEN_BITS) - 1;
+  private static final int TOKENS_IN_LOW = Long.SIZE / TOKEN_BITS;
+  private static final int CURRENT_SHIFT = 36;
+  private static final int ROLL_SHIFT = 38;
+  private static final int COUNT_SHIFT = 41;
+  private static final int COLOR_SHIFT = 43;
+  private static final TokenColor[] COLORS = TokenColor.values();
+
+  private final long low;
+  private final long high;
+
+  private LudoState(long low, long high) {
+    this.low = low;
+    this.high = high;
+  }
+
+  /**
+   * Creates a state with every token at home, seat 0 to move and no roll yet.
+   *
+   * @param colors the color of each seat, in turn order (2-4 distinct colors)
+   * @return the starting state
+   * @throws IllegalArgumentException if the colors are missing, too few, too many or repeated
+   */
+  public static LudoState start(List<TokenColor> colors) {
+    if (colors == null || colors.size() < 2 || colors.size() > MAX_PLAYERS) {
+      throw new IllegalArgumentException("Need 2-4 seat colors");
+    }
+    long high = (long) (colors.size() - 1) << COUNT_SHIFT;
+    int seen = 0;
+    for (int seat = 0; seat < colors.size(); seat++) {
+      TokenColor color = colors.get(seat);
+      if (color == null || (seen & 1 << color.ordinal()) != 0) {
+        throw new IllegalArgumentException("Seat colors must be distinct and not null");
+      }
+      seen |= 1 << color.ordinal();
+      high |= (long) color.ordinal() << (COLOR_SHIFT + 2 * seat);
+    }
+    return new LudoState(0, high);
+  }
+
+  /**
+   * Recreates a state from the words returned by {@link #low()} and {@link #high()}.
+   *
+   * @param low  the low word
+   * @param high the high word
+   * @return the state
+   * @throws IllegalArgumentException if the words do not describe a valid state
+   */
+  public static LudoState fromBits(long low, long high) {
+    LudoState state = new LudoState(low, high);
+    if ((high >>> (COLOR_SHIFT + 2 * MAX_PLAYERS)) != 0
+        || state.currentPlayer() >= state.playerCount() || state.lastRoll() > 6) {
+      throw new IllegalArgumentException("Not a valid Ludo state");
+    }
+    for (int i = 0; i < MAX_PLAYERS * TOKENS_PER_PLAYER; i++) {
+      int offset = state.offset(i);
+      if (offset > FINISH || (i >= state.playerCount() * TOKENS_PER_PLAYER && offset != HOME)) {
+        throw new IllegalArgumentException("Not a valid Ludo state");
+      }
+    }
+    return state;
+  }
+
+  /**
+   * Returns the low word of the packed state.
+   *
+   * @return bits for tokens 0-9
+   */
+  public long low() {
+    return low;
+  }
+
+  /**
+   * Returns the high word of the packed state.
+   *
+   * @return bits for tokens 10-15, turn, roll, player count and seat colors
+   */
+  public long high() {
+    return high;
+  }
+
+  /**
+   * Returns the number of players in the game.
+   *
+   * @return 2-4
+   */
+  public int playerCount() {
+    return (int) (high >>> COUNT_SHIFT & 3) + 1;
+  }
+
+  /**
+   * Returns the color of a seat.
+   *
+   * @param seat the seat index
+   * @return the seat's token color
+   */
+  public TokenColor color(int seat) {
+    checkSeat(seat);
+    return COLORS[(int) (high >>> (COLOR_SHIFT + 2 * seat) & 3)];
+  }
+
+  /**
+   * Returns the seat whose turn it is.
+   *
+   * @return the current seat index
+   */
+  public int currentPlayer() {
+    return (int) (high >>> CURRENT_SHIFT & 3);
+  }
+
+  /**
+   * Returns the last die roll.
+   *
+   * @return 1-6, or 0 if nothing has been rolled
+   */
+  public int lastRoll() {
+    return (int) (high >>> ROLL_SHIFT & 7);
+  }
+
+  /**
+   * Returns the path offset of a token.
+   *
+   * @param seat  the seat index
+   * @param token the token index within the seat (0-3)
+   * @return {@link #HOME} or an offset from 0 up to {@link #FINISH}
+   */
+  public int offset(int seat, int token) {
+    checkSeat(seat);
+    if (token < 0 || token >= TOKENS_PER_PLAYER) {
+      throw new IllegalArgumentException("Token index must be 0-3");
+    }
+    return offset(seat * TOKENS_PER_PLAYER + token);
+  }
+
+  /**
+   * Returns the path offset of a token by its number across all seats.
+   *
+   * @param index the token number, {@code seat * 4 + token}
+   * @return {@link #HOME} or an offset from 0 up to {@link #FINISH}
+   */
+  public int offset(int index) {
+    if (index < TOKENS_IN_LOW) {
+      return (int) (low >>> (index * TOKEN_BITS) & TOKEN_MASK) - 1;
+    }
+    return (int) (high >>> ((index - TOKENS_IN_LOW) * TOKEN_BITS) & TOKEN_MASK) - 1;
+  }
+
+  /**
+   * Returns how many of a seat's tokens have reached the finish.
+   *
+   * @param seat the seat index
+   * @return 0-4
+   */
+  public int finishedCount(int seat) {
+    checkSeat(seat);
+    int finished = 0;
+    for (int t = 0; t < TOKENS_PER_PLAYER; t++) {
+      if (offset(seat * TOKENS_PER_PLAYER + t) == FINISH) {
+        finished++;
+      }
+    }
+    return finished;
+  }
+
+  /**
+   * Returns a copy of this state with one token moved.
+   *
+   * @param seat   the seat index
+   * @param token  the token index within the seat (0-3)
+   * @param offset the new offset, {@link #HOME} or 0 up to {@link #FINISH}
+   * @return the new state
+   */
+  public LudoState withOffset(int seat, int token, int offset) {
+    checkSeat(seat);
+    if (token < 0 || token >= TOKENS_PER_PLAYER) {
+      throw new IllegalArgumentException("Token index must be 0-3");
+    }
+    if (offset < HOME || offset > FINISH) {
+      throw new IllegalArgumentException("Offset must be between -1 and " + FINISH);
+    }
+    int index = seat * TOKENS_PER_PLAYER + token;
+    long value = offset + 1;
+    if (index < TOKENS_IN_LOW) {
+      int shift = index * TOKEN_BITS;
+      return new LudoState(low & ~(TOKEN_MASK << shift) | value << shift, high);
+    }
+    int shift = (index - TOKENS_IN_LOW) * TOKEN_BITS;
+    return new LudoState(low, high & ~(TOKEN_MASK << shift) | value << shift);
+  }
+
+  /**
+   * Returns a copy of this state with another seat to move.
+   *
+   * @param seat the seat index
+   * @return the new state
+   */
+  public LudoState withCurrentPlayer(int seat) {
+    checkSeat(seat);
+    return new LudoState(low, high & ~(3L << CURRENT_SHIFT) | (long) seat << CURRENT_SHIFT);
+  }
+
+  /**
+   * Returns a copy of this state with another last roll.
+   *
+   * @param roll 1-6, or 0 for none
+   * @return the new state
+   */
+  public LudoState withLastRoll(int roll) {
+    if (roll < 0 || roll > 6) {
+      throw new IllegalArgumentException("Roll must be between 0 and 6");
+    }
+    return new LudoState(low, high & ~(7L << ROLL_SHIFT) | (long) roll << ROLL_SHIFT);
+  }
+
+  private void checkSeat(int seat) {
+    if (seat < 0 || seat >= playerCount()) {
+      throw new IllegalArgumentException("Seat must be between 0 and " + (playerCount() - 1));
+    }
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    if (this == o) return true;
+    if (!(o instanceof LudoState that)) return false;
+
+    return low == that.low && high == that.high;
+  }
+
+  @Override
+  public int hashCode() {
+    return Long.hashCode(low * 0x9E3779B97F4A7C15L ^ high);
+  }
+
+  @Override
+  public String toString() {
+    StringBuilder sb = new StringBuilder("LudoState[turn=").append(currentPlayer())
+        .append(", roll=").append(lastRoll());
+    for (int seat = 0; seat < playerCount(); seat++) {
+      sb.append(", ").append(color(seat)).append('=');
+      for (int t = 0; t < TOKENS_PER_PLAYER; t++) {
+        sb.append(t == 0 ? "" : "/").append(offset(seat, t));
+      }
+    }
+    return sb.append(']').toString();
+  }
+}
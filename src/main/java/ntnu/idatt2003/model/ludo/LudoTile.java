@@ -89,8 +89,12 @@ public class LudoTile {
 
     if (!isSafeStar()) {
 
-      tokens.stream().filter(other -> !other.getOwner().equals(token.getOwner()))
-          .forEach(Token::sendHome);
+      // Iterate over a copy: sending a token home makes it leave this tile
+      for (Token other : List.copyOf(tokens)) {
+        if (!other.getOwner().equals(token.getOwner())) {
+          other.sendHome();
+        }
+      }
 
       tokens.removeIf(other -> !other.getOwner().equals(token.getOwner()));
     }
@@ -17,6 +17,7 @@ public class Token {
   private final TokenColor color;
   private final LudoTile homeTile;
   private LudoTile position;
+  private int pathOffset;
 
   /**
    * Constructs a Token for Ludo.
@@ -41,7 +42,9 @@ public class Token {
     this.color = color;
     this.homeTile = homeTile;
     this.position = homeTile;
+    this.pathOffset = LudoBoard.pathOffset(color, homeTile);
     homeTile.enter(this);
+    owner.tokenMoved(null, homeTile.getType());
   }
 
   public int getId() {
@@ -60,6 +63,15 @@ public class Token {
     return position;
   }
 
+  /**
+   * Returns how far this token has come along its color's full path.
+   *
+   * @return -1 while at home, otherwise the index into {@link LudoBoard#getFullPath}
+   */
+  public int getPathOffset() {
+    return pathOffset;
+  }
+
   /**
    * Moves this token onto the given tile, handling removal from the previous tile and placement to
    * the new tile.
@@ -70,9 +82,12 @@ public class Token {
     if (newTile == null) {
       throw new IllegalArgumentException("New tile can not be null");
     }
-    position.leave(this);
+    LudoTile previous = position;
+    previous.leave(this);
     newTile.enter(this);
     this.position = newTile;
+    owner.tokenMoved(previous.getType(), newTile.getType());
+    this.pathOffset = LudoBoard.pathOffset(color, newTile);
   }
 
   /**
@@ -0,0 +1,284 @@
+package ntnu.idatt2003.model.snakeandladder;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.DigestOutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import ntnu.idatt2003.file.BoardFileReaderBinary;
+import ntnu.idatt2003.file.BoardFileWriterBinary;
+
+/**
+ * Board templates stored by the hash of their content, so that saved games can refer to a board
+ * by a 64-character ID instead of holding every tile.
+ *
+ * <p>The ID of a board is the SHA-256 hash of the board written by {@link BoardFileWriterBinary},
+ * which lists the tiles in ID order with their next tile and action. Two boards with the same
+ * tiles get the same ID, however they were built or loaded, and a board that is changed gets a
+ * new one. Registered boards are kept in memory as {@link BoardTemplate templates}, one per ID,
+ * which {@link #get} hands out as they are; {@link BoardTemplate#toBoard()} builds a board with
+ * no players from one. A registry created with a directory also writes every board there once,
+ * as a binary board file named {@code <id>.board}, so it can be found again after a restart; the
+ * hash of such a file is its ID.
+ * </p>
+ *
+ * <p>A registry can be limited to a number of tiles across the templates it holds in memory. When
+ * a new template does not fit, the templates used least recently are dropped first; a registry
+ * with a directory reads them from there again when they are asked for. The registry is safe to
+ * use from several threads.
+ * </p>
+ */
+public final class BoardRegistry {
+
+  private static final String SUFFIX = ".board";
+  private static final BoardFileWriterBinary WRITER = new BoardFileWriterBinary();
+  private static final HexFormat HEX = HexFormat.of();
+
+  private final Path directory;
+  private final long maxTiles;
+  // Access-ordered, so iteration starts at the least recently used template
+  private final Map<String, BoardTemplate> templates = new LinkedHashMap<>(16, 0.75f, true);
+  private long tiles;
+
+  /**
+   * Creates a registry that only keeps boards in memory, without a limit.
+   */
+  public BoardRegistry() {
+    this.directory = null;
+    this.maxTiles = Long.MAX_VALUE;
+  }
+
+  /**
+   * Creates a registry that only keeps boards in memory, up to the given number of tiles.
+   *
+   * @param maxTiles the largest number of tiles to keep across all templates
+   * @throws IllegalArgumentException if maxTiles is negative
+   */
+  public BoardRegistry(long maxTiles) {
+    this.directory = null;
+    this.maxTiles = checkMaxTiles(maxTiles);
+  }
+
+  /**
+   * Creates a registry that also stores boards in a directory, which is created when the first
+   * board is written.
+   *
+   * @param directory the directory holding the board files
+   * @throws IllegalArgumentException if directory is null
+   */
+  public BoardRegistry(Path directory) {
+    this(directory, Long.MAX_VALUE);
+  }
+
+  /**
+   * Creates a registry that stores boards in a directory and keeps up to the given number of tiles
+   * in memory.
+   *
+   * @param directory the directory holding the board files
+   * @param maxTiles  the largest number of tiles to keep in memory across all templates
+   * @throws IllegalArgumentException if directory is null or maxTiles is negative
+   */
+  public BoardRegistry(Path directory, long maxTiles) {
+    if (directory == null) {
+      throw new IllegalArgumentException("Directory can not be null");
+    }
+    this.directory = directory;
+    this.maxTiles = checkMaxTiles(maxTiles);
+  }
+
+  private static long checkMaxTiles(long maxTiles) {
+    if (maxTiles < 0) {
+      throw new IllegalArgumentException("Max tiles can not be negative");
+    }
+    return maxTiles;
+  }
+
+  /**
+   * Adds a board, if it is not already known, and returns its ID. The registry keeps the board's
+   * {@link SnakeLadderBoard#template() template}, so later changes to the board do not affect it.
+   *
+   * @param board the board to register
+   * @return the content hash of the board, see {@link SnakeLadderBoard#contentHash()}
+   * @throws IOException              if the board can not be written to the directory
+   * @throws IllegalArgumentException if board is null or empty, or has actions that can not be
+   *                                  stored
+   */
+  public String register(SnakeLadderBoard board) throws IOException {
+    return intern(board).contentHash();
+  }
+
+  /**
+   * Registers a board like {@link #register} and returns the template the registry holds for it.
+   * While it stays in memory, every board with the same content gets the same template.
+   *
+   * @param board the board to register
+   * @return the shared template of the board
+   * @throws IOException              if the board can not be written to the directory
+   * @throws IllegalArgumentException if board is null or empty, or has actions that can not be
+   *                                  stored
+   */
+  public BoardTemplate intern(SnakeLadderBoard board) throws IOException {
+    if (board == null) {
+      throw new IllegalArgumentException("Board can not be null");
+    }
+    BoardTemplate template = board.template();
+    String id = template.contentHash();
+    synchronized (this) {
+      BoardTemplate held = templates.get(id);
+      if (held != null) {
+        return held;
+      }
+    }
+    if (directory != null) {
+      Path file = directory.resolve(id + SUFFIX);
+      if (!Files.exists(file)) {
+        Files.createDirectories(directory);
+        Path temp = Files.createTempFile(directory, id, ".tmp");
+        try {
+          WRITER.writeBoard(temp, board);
+          Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING);
+        } finally {
+          Files.deleteIfExists(temp);
+        }
+      }
+    }
+    return keep(id, template);
+  }
+
+  /**
+   * Returns the template of a registered board, reading it from the directory if it is not in
+   * memory.
+   *
+   * @param id the content hash of the board
+   * @return the template, or null if the registry has no board with that ID
+   * @throws IOException              if the board file can not be read or does not match its ID
+   * @throws IllegalArgumentException if id is null, or the board read from the directory can not be
+   *                                  played
+   */
+  public BoardTemplate get(String id) throws IOException {
+    if (id == null) {
+      throw new IllegalArgumentException("Board id can not be null");
+    }
+    BoardTemplate template;
+    synchronized (this) {
+      template = templates.get(id);
+    }
+    if (template == null) {
+      template = load(id);
+      if (template != null) {
+        template = keep(id, template);
+      }
+    }
+    return template;
+  }
+
+  /**
+   * Returns whether a board with the given ID is held in memory, so {@link #get} will not touch
+   * the disk.
+   *
+   * @param id the content hash of the board
+   * @return true if the board is cached
+   */
+  public synchronized boolean isCached(String id) {
+    return id != null && templates.containsKey(id);
+  }
+
+  /**
+   * Returns the number of templates held in memory.
+   *
+   * @return the template count
+   */
+  public synchronized int size() {
+    return templates.size();
+  }
+
+  /**
+   * Returns the number of tiles across the templates held in memory.
+   *
+   * @return the tile count
+   */
+  public synchronized long tileCount() {
+    return tiles;
+  }
+
+  /**
+   * Drops every template held in memory. Boards in the directory stay there.
+   */
+  public synchronized void clear() {
+    templates.clear();
+    tiles = 0;
+  }
+
+  /**
+   * Holds a template in memory unless it is larger than the limit, making room for it, and
+   * returns the template held for its ID.
+   */
+  private synchronized BoardTemplate keep(String id, BoardTemplate template) {
+    BoardTemplate held = templates.get(id);
+    if (held != null) {
+      return held;
+    }
+    int size = template.size();
+    if (size > maxTiles) {
+      return template;
+    }
+    Iterator<BoardTemplate> eldest = templates.values().iterator();
+    while (tiles + size > maxTiles) {
+      tiles -= eldest.next().size();
+      eldest.remove();
+    }
+    templates.put(id, template);
+    tiles += size;
+    return template;
+  }
+
+  private BoardTemplate load(String id) throws IOException {
+    if (directory == null || id.length() != 64 || !id.chars().allMatch(HexFormat::isHexDigit)) {
+      return null;
+    }
+    Path file = directory.resolve(id + SUFFIX);
+    if (!Files.isRegularFile(file)) {
+      return null;
+    }
+    // The reader checks the file's checksum and that the board can be played
+    SnakeLadderBoard board = new BoardFileReaderBinary().readBoard(file);
+    if (!board.contentHash().equals(id.toLowerCase())) {
+      throw new IOException("Board file does not match its id " + id);
+    }
+    return board.template();
+  }
+
+  /**
+   * Package-private: computes the content hash of a board as lower-case hex.
+   */
+  static String hash(SnakeLadderBoard board) {
+    MessageDigest digest = sha256();
+    try (OutputStream out = new DigestOutputStream(OutputStream.nullOutputStream(), digest)) {
+      WRITER.writeBoard(out, board);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+    return HEX.formatHex(digest.digest());
+  }
+
+  /**
+   * Returns a new SHA-256 digest, the hash behind board IDs and the keys of the board cache.
+   *
+   * @return the digest
+   */
+  public static MessageDigest sha256() {
+    try {
+      return MessageDigest.getInstance("SHA-256");
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException("SHA-256 is not available", e);
+    }
+  }
+}
@@ -0,0 +1,119 @@
+package ntnu.idatt2003.model.snakeandladder;
+
+import java.util.List;
+
+/**
+ * The result of checking a {@link SnakeLadderBoard} for layouts a game can not be played on, see
+ * {@link SnakeLadderBoard#report()}.
+ *
+ * <p>Errors are problems that would break or hang a game: links to tiles that do not exist, next
+ * tile links that run in a circle, snakes and ladders that lead back to themselves, dead ends and
+ * a missing or unreachable finish. Warnings are kept for layouts that are playable but probably
+ * not what the author meant, such as tiles no player can ever reach. Only the first few messages
+ * of each kind are kept, but the counts cover them all.
+ * </p>
+ */
+public final class BoardReport {
+
+  private final List<String> errors;
+  private final int errorCount;
+  private final List<String> warnings;
+  private final int warningCount;
+  private final int reachableTiles;
+
+  BoardReport(List<String> errors, int errorCount, List<String> warnings, int warningCount,
+      int reachableTiles) {
+    this.errors = List.copyOf(errors);
+    this.errorCount = errorCount;
+    this.warnings = List.copyOf(warnings);
+    this.warningCount = warningCount;
+    this.reachableTiles = reachableTiles;
+  }
+
+  /**
+   * Returns whether the board can be played.
+   *
+   * @return true if there are no errors
+   */
+  public boolean isValid() {
+    return errorCount == 0;
+  }
+
+  /**
+   * Throws if the board can not be played.
+   *
+   * @throws IllegalArgumentException listing the errors, if there are any
+   */
+  public void requireValid() {
+    if (!isValid()) {
+      throw new IllegalArgumentException("Invalid board: " + describe(errors, errorCount));
+    }
+  }
+
+  /**
+   * Returns the first error messages.
+   *
+   * @return an unmodifiable list of errors
+   */
+  public List<String> getErrors() {
+    return errors;
+  }
+
+  /**
+   * Returns the number of errors found, which may be more than {@link #getErrors()} holds.
+   *
+   * @return the error count
+   */
+  public int getErrorCount() {
+    return errorCount;
+  }
+
+  /**
+   * Returns the first warning messages.
+   *
+   * @return an unmodifiable list of warnings
+   */
+  public List<String> getWarnings() {
+    return warnings;
+  }
+
+  /**
+   * Returns the number of warnings found, which may be more than {@link #getWarnings()} holds.
+   *
+   * @return the warning count
+   */
+  public int getWarningCount() {
+    return warningCount;
+  }
+
+  /**
+   * Returns how many tiles a player can reach from the start tile.
+   *
+   * @return the reachable tile count
+   */
+  public int getReachableTiles() {
+    return reachableTiles;
+  }
+
+  private static String describe(List<String> messages, int count) {
+    String joined = String.join("; ", messages);
+    return count > messages.size() ? joined + "; and " + (count - messages.size()) + " more"
+        : joined;
+  }
+
+  @Override
+  public String toString() {
+    if (errorCount == 0 && warningCount == 0) {
+      return "Valid board, " + reachableTiles + " reachable tiles";
+    }
+    StringBuilder text = new StringBuilder();
+    text.append(errorCount).append(" errors, ").append(warningCount).append(" warnings");
+    if (errorCount > 0) {
+      text.append("\nErrors: ").append(describe(errors, errorCount));
+    }
+    if (warningCount > 0) {
+      text.append("\nWarnings: ").append(describe(warnings, warningCount));
+    }
+    return text.toString();
+  }
+}
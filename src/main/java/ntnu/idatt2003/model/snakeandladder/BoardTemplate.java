@@ -0,0 +1,324 @@
+package ntnu.idatt2003.model.snakeandladder;
+
+import java.util.Arrays;
+import ntnu.idatt2003.actions.BonusTileAction;
+import ntnu.idatt2003.actions.LadderAction;
+import ntnu.idatt2003.actions.SnakeAction;
+import ntnu.idatt2003.actions.TileAction;
+
+/**
+ * An immutable snapshot of the layout of a {@link SnakeLadderBoard}: its tiles, next tile links,
+ * snakes, ladders and bonus tiles, without any players.
+ *
+ * <p>A {@link SnakeLadderBoard} keeps the players standing on its tiles, so every game needs a
+ * board of its own. A template holds only the layout, in flat arrays indexed by the position of a
+ * tile in ID order, and is never changed after it is built. Any number of games on any number of
+ * threads can therefore share one template, each keeping its positions in a
+ * {@link SnakeLadderState} of a few dozen bytes per game, and {@link #toBoard()} builds a board of
+ * its own for a game that needs one. {@link BoardRegistry} keeps one template per board content.
+ * </p>
+ *
+ * <p>For every tile and every roll from 1 to {@link #MAX_STEPS} the template holds both the tile a
+ * player lands on after walking along {@code nextTileId} and the tile the move ends on once the
+ * snake or ladder there is taken, so a move is a single array read. A missing or dangling next
+ * tile keeps the player where it is, and a snake or ladder leading off the board is not taken.
+ * </p>
+ */
+public final class BoardTemplate {
+
+  /** The longest roll held in the tables (two dice). Longer rolls are chained. */
+  static final int MAX_STEPS = 12;
+
+  static final byte NONE = 0;
+  static final byte JUMP = 1;
+  static final byte BONUS = 2;
+  // An action other than a snake, ladder or bonus, which only the tile itself can apply
+  static final byte OTHER = 3;
+
+  private final int[] ids;
+  private final int[] nextIds;
+  private final TileAction[] actions;
+  private final boolean dense;
+  private final byte[] kinds;
+  private final int[] jumps;
+  private final int[] landing;
+  private final int[] destination;
+  private final int finish;
+  private final int customAction;
+  private final String contentHash;
+
+  private BoardTemplate(SnakeLadderBoard board) {
+    int count = board.size();
+    int[] sorted = new int[count];
+    int i = 0;
+    for (Tile tile : board.getTiles()) {
+      sorted[i++] = tile.getTileId();
+    }
+    Arrays.sort(sorted);
+    this.ids = sorted;
+    this.dense = count == 0 || (long) sorted[count - 1] - sorted[0] == count - 1;
+    this.nextIds = new int[count];
+    this.actions = new TileAction[count];
+    this.kinds = new byte[count];
+    this.jumps = new int[count];
+    int[] next = new int[count];
+    int custom = -1;
+    for (i = 0; i < count; i++) {
+      Tile tile = board.getTile(ids[i]);
+      nextIds[i] = tile.getNextTileId();
+      int to = tile.getNextTileId() == 0 ? -1 : indexOf(tile.getNextTileId());
+      next[i] = to >= 0 ? to : i;
+      TileAction action = tile.getAction();
+      actions[i] = action;
+      jumps[i] = i;
+      if (action instanceof LadderAction ladder) {
+        setJump(i, ladder.getDestinationTileId());
+      } else if (action instanceof SnakeAction snake) {
+        setJump(i, snake.getDestinationTileId());
+      } else if (action instanceof BonusTileAction) {
+        kinds[i] = BONUS;
+      } else if (action != null) {
+        kinds[i] = OTHER;
+        custom = custom < 0 ? i : custom;
+      }
+    }
+    this.finish = indexOf(count);
+    this.customAction = custom;
+
+    this.landing = new int[count * MAX_STEPS];
+    this.destination = new int[count * MAX_STEPS];
+    for (i = 0; i < count; i++) {
+      int at = i;
+      for (int steps = 1; steps <= MAX_STEPS; steps++) {
+        at = next[at];
+        landing[i * MAX_STEPS + steps - 1] = at;
+        destination[i * MAX_STEPS + steps - 1] = jumps[at];
+      }
+    }
+    this.contentHash = custom < 0 ? board.contentHash() : null;
+  }
+
+  private void setJump(int index, int destinationTileId) {
+    kinds[index] = JUMP;
+    int to = indexOf(destinationTileId);
+    if (to >= 0) {
+      jumps[index] = to;
+    }
+  }
+
+  /**
+   * Builds a template from the current layout of a board. Prefer
+   * {@link SnakeLadderBoard#template()}, which builds it once per layout.
+   *
+   * @param board the board to copy the layout from
+   * @return the template
+   * @throws IllegalArgumentException if board is null or empty
+   */
+  public static BoardTemplate of(SnakeLadderBoard board) {
+    if (board == null || board.size() == 0) {
+      throw new IllegalArgumentException("Board must have at least one tile");
+    }
+    return new BoardTemplate(board);
+  }
+
+  /**
+   * Builds a new board with the tiles, next tile links and actions of this template and no players
+   * on it. The board shares this template, so it needs no compiling, and the tile actions, which
+   * hold no per-game state.
+   *
+   * @return a new board
+   */
+  public SnakeLadderBoard toBoard() {
+    SnakeLadderBoard board = new SnakeLadderBoard();
+    for (int i = 0; i < ids.length; i++) {
+      Tile tile = new Tile(ids[i]);
+      tile.setNextTileId(nextIds[i]);
+      tile.setAction(actions[i]);
+      board.addTile(tile);
+    }
+    board.adopt(this, contentHash);
+    return board;
+  }
+
+  /**
+   * Starts a game with every player on the first tile.
+   *
+   * @param players the number of players (2-64)
+   * @return the state of the new game
+   * @throws IllegalArgumentException if the player count is out of range
+   */
+  public SnakeLadderState newGame(int players) {
+    return new SnakeLadderState(this, players, 0);
+  }
+
+  /**
+   * Starts a game with every player on the given tile.
+   *
+   * @param players     the number of players (2-64)
+   * @param startTileId the tile the players start on
+   * @return the state of the new game
+   * @throws IllegalArgumentException if the player count is out of range or the tile does not exist
+   */
+  public SnakeLadderState newGame(int players, int startTileId) {
+    int start = indexOf(startTileId);
+    if (start < 0) {
+      throw new IllegalArgumentException("No tile with id " + startTileId);
+    }
+    return new SnakeLadderState(this, players, start);
+  }
+
+  /**
+   * Returns the number of tiles.
+   *
+   * @return the tile count
+   */
+  public int size() {
+    return ids.length;
+  }
+
+  /**
+   * Returns whether the board has a tile with the given ID.
+   *
+   * @param tileId the tile ID
+   * @return true if the tile exists
+   */
+  public boolean hasTile(int tileId) {
+    return indexOf(tileId) >= 0;
+  }
+
+  /**
+   * Returns the tile a player must reach to win, the one whose ID is the number of tiles, as
+   * {@link SnakeLadderBoard#report()} expects.
+   *
+   * @return the ID of the finish tile, or -1 if the board has no such tile
+   */
+  public int finishTileId() {
+    return finish < 0 ? -1 : ids[finish];
+  }
+
+  /**
+   * Returns the highest tile ID on the board.
+   *
+   * @return the ID of the last tile
+   */
+  public int lastTileId() {
+    return ids[ids.length - 1];
+  }
+
+  /**
+   * Returns the content hash of the board this template was built from.
+   *
+   * @return the hash, see {@link SnakeLadderBoard#contentHash()}
+   * @throws IllegalArgumentException if a tile has an action other than a ladder, snake or bonus
+   */
+  public String contentHash() {
+    if (contentHash == null) {
+      throw new IllegalArgumentException("The board has actions that can not be hashed");
+    }
+    return contentHash;
+  }
+
+  /**
+   * Returns the tile a player lands on when walking the given number of steps, before any snake
+   * or ladder is taken, like {@link SnakeLadderBoard#landingTileId}.
+   *
+   * @param fromTileId the tile to start from
+   * @param steps      the number of steps to walk
+   * @return the ID of the landing tile
+   * @throws IllegalArgumentException if the tile does not exist or steps is negative
+   */
+  public int landingTileId(int fromTileId, int steps) {
+    return ids[landingAt(checkedIndex(fromTileId, steps), steps)];
+  }
+
+  /**
+   * Returns the tile a player ends on after walking the given number of steps and taking the
+   * snake or ladder on the landing tile, like {@link SnakeLadderBoard#destinationTileId}.
+   *
+   * @param fromTileId the tile to start from
+   * @param steps      the number of steps to walk
+   * @return the ID of the tile the move ends on
+   * @throws IllegalArgumentException if the tile does not exist or steps is negative
+   */
+  public int destinationTileId(int fromTileId, int steps) {
+    return ids[destinationAt(checkedIndex(fromTileId, steps), steps)];
+  }
+
+  private int checkedIndex(int tileId, int steps) {
+    if (steps < 0) {
+      throw new IllegalArgumentException("Steps can not be negative");
+    }
+    int index = indexOf(tileId);
+    if (index < 0) {
+      throw new IllegalArgumentException("No tile with id " + tileId);
+    }
+    return index;
+  }
+
+  // The methods below work on tile indices and are used by SnakeLadderBoard and SnakeLadderState
+
+  int idAt(int index) {
+    return ids[index];
+  }
+
+  int finishIndex() {
+    return finish;
+  }
+
+  /**
+   * Returns the index of the first tile with an action other than a snake, ladder or bonus, or -1.
+   */
+  int customActionIndex() {
+    return customAction;
+  }
+
+  byte kindAt(int index) {
+    return kinds[index];
+  }
+
+  /**
+   * Returns where the snake or ladder on a tile leads, or the tile itself if it has none.
+   */
+  int jumpAt(int index) {
+    return jumps[index];
+  }
+
+  /**
+   * Returns the tile reached by walking the given number of steps.
+   */
+  int landingAt(int index, int steps) {
+    while (steps > MAX_STEPS) {
+      index = landing[index * MAX_STEPS + MAX_STEPS - 1];
+      steps -= MAX_STEPS;
+    }
+    return steps == 0 ? index : landing[index * MAX_STEPS + steps - 1];
+  }
+
+  /**
+   * Returns the tile a move of the given number of steps ends on, with the snake or ladder on the
+   * landing tile taken.
+   */
+  int destinationAt(int index, int steps) {
+    if (steps > 0 && steps <= MAX_STEPS) {
+      return destination[index * MAX_STEPS + steps - 1];
+    }
+    return jumps[landingAt(index, steps)];
+  }
+
+  /**
+   * Returns the index of the tile whose ID is one lower, or -1 if there is none or the tile is
+   * tile 1 or below.
+   */
+  int previous(int index) {
+    return index > 0 && ids[index] > 1 && ids[index - 1] == ids[index] - 1 ? index - 1 : -1;
+  }
+
+  int indexOf(int tileId) {
+    if (dense) {
+      long index = (long) tileId - ids[0];
+      return index >= 0 && index < ids.length ? (int) index : -1;
+    }
+    int index = Arrays.binarySearch(ids, tileId);
+    return index >= 0 ? index : -1;
+  }
+}
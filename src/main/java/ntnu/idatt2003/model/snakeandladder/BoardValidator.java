@@ -0,0 +1,228 @@
+package ntnu.idatt2003.model.snakeandladder;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import ntnu.idatt2003.actions.LadderAction;
+import ntnu.idatt2003.actions.SnakeAction;
+import ntnu.idatt2003.actions.TileAction;
+
+/**
+ * Checks the tile graph of a board for layouts a game can not be played on.
+ *
+ * <p>Tiles are numbered by their position in a flat index, and every next tile link and snake or
+ * ladder becomes an edge between indices. Each tile has at most one next tile and at most one
+ * snake or ladder, so both edge sets are functional graphs: a circle is found by following each
+ * unvisited tile until the walk meets a tile that is finished or one on the current walk, which
+ * touches every tile once. Reachability is a breadth-first search from the start tile over both
+ * edge sets. Together the checks are linear in the number of tiles, apart from sorting the IDs of
+ * a board whose IDs are too spread out for a flat lookup table.
+ * </p>
+ *
+ * <p>The rules follow {@link SnakeAndLadderGame}: players start on tile 1, win on the tile whose
+ * ID equals the number of tiles, and take at most one snake or ladder per move.
+ * </p>
+ */
+final class BoardValidator {
+
+  static final int START_TILE_ID = 1;
+
+  // The number of messages of each kind kept in a report
+  private static final int MAX_MESSAGES = 10;
+
+  private static final int NONE = -1;
+  private static final int MISSING = -2;
+
+  private final List<String> errors = new ArrayList<>();
+  private final List<String> warnings = new ArrayList<>();
+  private int errorCount;
+  private int warningCount;
+
+  private final int[] ids;
+  private final int minId;
+  // Maps ID - minId to an index when the IDs are dense, otherwise null and ids is sorted
+  private final int[] slots;
+
+  private BoardValidator(SnakeLadderBoard board) {
+    int count = board.size();
+    int[] order = new int[count];
+    int min = Integer.MAX_VALUE;
+    int max = Integer.MIN_VALUE;
+    int i = 0;
+    for (Tile tile : board.getTiles()) {
+      order[i++] = tile.getTileId();
+      min = Math.min(min, tile.getTileId());
+      max = Math.max(max, tile.getTileId());
+    }
+    this.minId = min;
+    long range = (long) max - min + 1;
+    if (range <= 4L * count + 64) {
+      slots = new int[(int) range];
+      Arrays.fill(slots, NONE);
+      for (i = 0; i < count; i++) {
+        slots[order[i] - min] = i;
+      }
+    } else {
+      slots = null;
+      Arrays.sort(order);
+    }
+    this.ids = order;
+  }
+
+  /**
+   * Checks a board.
+   *
+   * @param board the board to check
+   * @return the report
+   */
+  static BoardReport validate(SnakeLadderBoard board) {
+    if (board.size() == 0) {
+      return new BoardReport(List.of("The board has no tiles"), 1, List.of(), 0, 0);
+    }
+    return new BoardValidator(board).check(board);
+  }
+
+  private BoardReport check(SnakeLadderBoard board) {
+    int count = ids.length;
+    int[] next = new int[count];
+    int[] jump = new int[count];
+    for (int i = 0; i < count; i++) {
+      Tile tile = board.getTile(ids[i]);
+      next[i] = tile.getNextTileId() == 0 ? NONE : link(indexOf(tile.getNextTileId()));
+      if (next[i] == MISSING) {
+        error("Tile %d leads to tile %d, which does not exist", ids[i], tile.getNextTileId());
+      }
+      TileAction action = tile.getAction();
+      jump[i] = NONE;
+      if (action instanceof LadderAction || action instanceof SnakeAction) {
+        int destination = destinationOf(action);
+        jump[i] = link(indexOf(destination));
+        if (jump[i] == MISSING) {
+          error("The snake or ladder on tile %d leads to tile %d, which does not exist", ids[i],
+              destination);
+        }
+      }
+    }
+
+    for (int start : findCycles(next)) {
+      error("Next tile links run in a circle through tile %d", ids[start]);
+    }
+    for (int start : findCycles(jump)) {
+      error("Snakes and ladders lead back to tile %d in a circle", ids[start]);
+    }
+    for (int i = 0; i < count; i++) {
+      if (jump[i] >= 0 && jump[jump[i]] >= 0 && jump[jump[i]] != i) {
+        warn("The snake or ladder on tile %d ends on another one on tile %d, which is not taken"
+            + " in the same move", ids[i], ids[jump[i]]);
+      }
+    }
+
+    int start = indexOf(START_TILE_ID);
+    int finish = indexOf(count);
+    if (start < 0) {
+      error("There is no start tile %d", START_TILE_ID);
+    }
+    if (finish < 0) {
+      error("There is no finish tile %d, the ID a game is won on", count);
+    } else if (jump[finish] != NONE) {
+      error("The finish tile %d has a snake or ladder, so the game can not be won", count);
+    }
+    int reachable = 0;
+    if (start >= 0) {
+      boolean[] seen = reach(start, next, jump);
+      for (int i = 0; i < count; i++) {
+        if (!seen[i]) {
+          continue;
+        }
+        reachable++;
+        if (i != finish && next[i] == NONE && jump[i] == NONE) {
+          error("Tile %d has no next tile, so a player on it can not move", ids[i]);
+        }
+      }
+      if (finish >= 0 && !seen[finish]) {
+        error("The finish tile %d can not be reached from the start tile", count);
+      }
+      if (reachable < count) {
+        warn("%d tiles can not be reached from the start tile", count - reachable);
+      }
+    }
+    return new BoardReport(errors, errorCount, warnings, warningCount, reachable);
+  }
+
+  /**
+   * Returns one tile on every circle of a graph where each tile has at most one outgoing edge.
+   */
+  private static List<Integer> findCycles(int[] edges) {
+    List<Integer> cycles = new ArrayList<>();
+    // 0 not visited, otherwise the number of the walk that visited the tile
+    int[] walk = new int[edges.length];
+    int walks = 0;
+    for (int i = 0; i < edges.length; i++) {
+      if (walk[i] != 0) {
+        continue;
+      }
+      walks++;
+      int at = i;
+      while (at >= 0 && walk[at] == 0) {
+        walk[at] = walks;
+        at = edges[at];
+      }
+      if (at >= 0 && walk[at] == walks) {
+        cycles.add(at);
+      }
+    }
+    return cycles;
+  }
+
+  private static boolean[] reach(int start, int[] next, int[] jump) {
+    boolean[] seen = new boolean[next.length];
+    int[] queue = new int[next.length];
+    int head = 0;
+    int tail = 0;
+    seen[start] = true;
+    queue[tail++] = start;
+    while (head < tail) {
+      int at = queue[head++];
+      if (next[at] >= 0 && !seen[next[at]]) {
+        seen[next[at]] = true;
+        queue[tail++] = next[at];
+      }
+      if (jump[at] >= 0 && !seen[jump[at]]) {
+        seen[jump[at]] = true;
+        queue[tail++] = jump[at];
+      }
+    }
+    return seen;
+  }
+
+  private static int link(int index) {
+    return index == NONE ? MISSING : index;
+  }
+
+  private static int destinationOf(TileAction action) {
+    return action instanceof LadderAction ladder ? ladder.getDestinationTileId()
+        : ((SnakeAction) action).getDestinationTileId();
+  }
+
+  private int indexOf(int tileId) {
+    if (slots != null) {
+      long slot = (long) tileId - minId;
+      return slot >= 0 && slot < slots.length ? slots[(int) slot] : NONE;
+    }
+    int index = Arrays.binarySearch(ids, tileId);
+    return index >= 0 ? index : NONE;
+  }
+
+  // Messages are only formatted while the report has room for them
+  private void error(String format, Object... args) {
+    if (errorCount++ < MAX_MESSAGES) {
+      errors.add(String.format(format, args));
+    }
+  }
+
+  private void warn(String format, Object... args) {
+    if (warningCount++ < MAX_MESSAGES) {
+      warnings.add(String.format(format, args));
+    }
+  }
+}
@@ -0,0 +1,152 @@
+package ntnu.idatt2003.model.snakeandladder;
+
+import java.util.List;
+
+/**
+ * Tracks which players stand on which tiles of one {@link SnakeLadderBoard}.
+ *
+ * <p>Each player on the board is given a slot from 0 to 63 the first time it lands on one of the
+ * board's tiles, and every tile keeps a bitmask of the slots standing on it, so landing, leaving
+ * and finding the other players on a tile need no list operations or allocation. A player keeps
+ * its slot while it moves around the board, even while it is between two tiles, so slots are in
+ * the order the players joined the board. A slot is only given to another player when all 64 are
+ * taken and its player stands on no tile, or when its player lands on another board. Players that
+ * cannot get a slot (a null player, a player still standing on another board, or a new player
+ * while 64 players stand on this one) are left to the tile's own list, see
+ * {@link Tile#landPlayer}.
+ * </p>
+ */
+final class OccupancyIndex {
+
+  static final int MAX_PLAYERS = Long.SIZE;
+
+  private final SnakeLadderPlayer[] players = new SnakeLadderPlayer[MAX_PLAYERS];
+  private final int[] tileCounts = new int[MAX_PLAYERS];
+  private long usedSlots;
+
+  /**
+   * Marks a player as standing on a tile.
+   *
+   * @param tile   a tile of this board
+   * @param player the landing player
+   * @return {@code true} if the index recorded the player, {@code false} if the tile has to
+   *         track the player itself
+   */
+  boolean land(Tile tile, SnakeLadderPlayer player) {
+    if (player == null) {
+      return false;
+    }
+    int slot = slotOf(player);
+    if (slot < 0) {
+      slot = assign(player);
+      if (slot < 0) {
+        return false;
+      }
+    }
+    long bit = 1L << slot;
+    if ((tile.occupants & bit) == 0) {
+      tile.occupants |= bit;
+      tileCounts[slot]++;
+    }
+    return true;
+  }
+
+  /**
+   * Removes a player from a tile.
+   *
+   * @param tile   a tile of this board
+   * @param player the leaving player
+   * @return {@code true} if the index had the player on the tile
+   */
+  boolean leave(Tile tile, SnakeLadderPlayer player) {
+    int slot = slotOf(player);
+    if (slot < 0) {
+      return false;
+    }
+    long bit = 1L << slot;
+    if ((tile.occupants & bit) == 0) {
+      return false;
+    }
+    tile.occupants &= ~bit;
+    tileCounts[slot]--;
+    return true;
+  }
+
+  /**
+   * Gives a player a slot: a free one if there is one, otherwise the lowest slot whose player
+   * stands on no tile.
+   *
+   * @return the slot, or -1 if the player stands on another board or every slot is in use
+   */
+  private int assign(SnakeLadderPlayer player) {
+    OccupancyIndex previous = player.occupancy;
+    if (previous != null) {
+      if (previous.tileCounts[player.occupancySlot] != 0) {
+        return -1;
+      }
+      previous.release(player.occupancySlot);
+    }
+    int slot;
+    if (usedSlots != -1L) {
+      slot = Long.numberOfTrailingZeros(~usedSlots);
+    } else {
+      slot = -1;
+      for (int s = 0; s < MAX_PLAYERS && slot < 0; s++) {
+        if (tileCounts[s] == 0) {
+          slot = s;
+        }
+      }
+      if (slot < 0) {
+        return -1;
+      }
+      release(slot);
+    }
+    usedSlots |= 1L << slot;
+    players[slot] = player;
+    player.occupancy = this;
+    player.occupancySlot = slot;
+    return slot;
+  }
+
+  private void release(int slot) {
+    SnakeLadderPlayer player = players[slot];
+    usedSlots &= ~(1L << slot);
+    players[slot] = null;
+    player.occupancy = null;
+    player.occupancySlot = -1;
+  }
+
+  /**
+   * Returns the player on the tile with the lowest slot, which is the one that joined the board
+   * first, other than the given player.
+   *
+   * @param tile   a tile of this board
+   * @param player the player to skip
+   * @return another player on the tile, or {@code null} if there is none
+   */
+  SnakeLadderPlayer firstOther(Tile tile, SnakeLadderPlayer player) {
+    long others = tile.occupants & ~slotBit(player);
+    return others == 0 ? null : players[Long.numberOfTrailingZeros(others)];
+  }
+
+  /**
+   * Adds the players on a tile to a list, in slot order.
+   *
+   * @param tile a tile of this board
+   * @param out  the list to add to
+   */
+  void collect(Tile tile, List<SnakeLadderPlayer> out) {
+    for (long bits = tile.occupants; bits != 0; bits &= bits - 1) {
+      out.add(players[Long.numberOfTrailingZeros(bits)]);
+    }
+  }
+
+  private int slotOf(SnakeLadderPlayer player) {
+    return player != null && player.occupancy == this ? player.occupancySlot : -1;
+  }
+
+  private long slotBit(SnakeLadderPlayer player) {
+    int slot = slotOf(player);
+    return slot < 0 ? 0 : 1L << slot;
+  }
+}
@@ -1,12 +1,18 @@
 package ntnu.idatt2003.model.snakeandladder;
 
+import java.io.File;
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.function.Consumer;
 import javafx.application.Platform;
 import ntnu.idatt2003.core.Dice;
 import ntnu.idatt2003.file.HandleCSVPlayer;
 import ntnu.idatt2003.model.BoardGame;
+import ntnu.idatt2003.model.GameEventBus;
+import ntnu.idatt2003.model.ReplayLog;
 import ntnu.idatt2003.view.Observer;
 
 /**
@@ -15,15 +21,38 @@ import ntnu.idatt2003.view.Observer;
  * <p>Manages player turns, dice rolling, player movement, win detection, and notifies observers
  * about game events.
  * </p>
+ *
+ * <p>The positions, bonus turns, turn and winner are kept in a {@link SnakeLadderState} on the
+ * board's {@link SnakeLadderBoard#template() template}, which holds the rules: the game never
+ * moves its players on the board, and views read positions with {@link #tileOf}.
+ * </p>
+ *
+ * <p>Observer notifications are queued on a {@link GameEventBus} that delivers them in batches
+ * through a pluggable dispatcher, and the finished player list is handed to a pluggable result
+ * recorder. The default constructor uses the JavaFX application
+ * thread and the CSV file, while {@link #headless} runs without any UI or file I/O.
+ * </p>
+ *
+ * <p>Every roll is written to a {@link ReplayLog}, one input per die. {@link #replay} feeds such a
+ * log back to a fresh game to bring it to any earlier turn without notifying observers.
+ * </p>
+ *
+ * <p>{@link #saveToFile} stores the players, turn and replay log in a few hundred bytes and refers
+ * to the board by its {@link SnakeLadderBoard#contentHash() content hash}, which a
+ * {@link BoardRegistry} resolves again when the game is loaded.
+ * </p>
  */
 public class SnakeAndLadderGame implements BoardGame<SnakeLadderPlayer, SnakeLadderBoard> {
 
   private final SnakeLadderBoard board;
   private final List<SnakeLadderPlayer> players;
   private final Dice dice;
-  private final List<Observer<SnakeLadderPlayer>> observers = new ArrayList<>();
-  private int currentPlayerIndex = 0;
-  private SnakeLadderPlayer winner = null;
+  private final GameEventBus<SnakeLadderPlayer> events;
+  private final Consumer<List<SnakeLadderPlayer>> resultRecorder;
+  private ReplayLog replayLog = new ReplayLog();
+  private final int[] faces;
+  private final SnakeLadderState state;
+  private boolean replaying;
 
   /**
    * Constructs a new Snakes and Ladders game.
@@ -35,23 +64,135 @@ public class SnakeAndLadderGame implements BoardGame<SnakeLadderPlayer, SnakeLad
    */
   public SnakeAndLadderGame(SnakeLadderBoard board, List<SnakeLadderPlayer> players,
       int numberOfDice) {
+    this(board, players, numberOfDice, Platform::runLater,
+        finished -> HandleCSVPlayer.savePlayersToCSV(finished, "src/main/resources/players.csv"));
+  }
+
+  /**
+   * Constructs a new Snakes and Ladders game whose dice are seeded, so the same seed and the same
+   * players always play out the same game.
+   *
+   * @param board        the board to use for the game
+   * @param players      the list of players participating
+   * @param numberOfDice the number of dice to use
+   * @param seed         the seed for the dice
+   * @throws IllegalArgumentException if less than two players are provided
+   */
+  public SnakeAndLadderGame(SnakeLadderBoard board, List<SnakeLadderPlayer> players,
+      int numberOfDice, long seed) {
+    this(board, players, new Dice(numberOfDice, seed), Platform::runLater,
+        finished -> HandleCSVPlayer.savePlayersToCSV(finished, "src/main/resources/players.csv"));
+  }
+
+  /**
+   * Constructs a new Snakes and Ladders game with a custom event dispatcher and result recorder.
+   *
+   * @param board          the board to use for the game
+   * @param players        the list of players participating
+   * @param numberOfDice   the number of dice to use
+   * @param dispatcher     runs batches of observer notifications (e.g. on the JavaFX application
+   *                       thread)
+   * @param resultRecorder receives the players when the game has been won
+   * @throws IllegalArgumentException if less than two players are provided
+   */
+  public SnakeAndLadderGame(SnakeLadderBoard board, List<SnakeLadderPlayer> players,
+      int numberOfDice, Executor dispatcher, Consumer<List<SnakeLadderPlayer>> resultRecorder) {
+    this(board, players, new Dice(numberOfDice), dispatcher, resultRecorder);
+  }
+
+  /**
+   * Constructs a new Snakes and Ladders game rolling the given dice.
+   *
+   * @param board          the board to use for the game
+   * @param players        the list of players participating
+   * @param dice           the dice to roll (for example seeded for simulations)
+   * @param dispatcher     runs batches of observer notifications (e.g. on the JavaFX application
+   *                       thread)
+   * @param resultRecorder receives the players when the game has been won
+   * @throws IllegalArgumentException if less than two or more than
+   *                                  {@value SnakeLadderState#MAX_PLAYERS} players are provided,
+   *                                  or a tile has an action other than a snake, ladder or bonus
+   */
+  public SnakeAndLadderGame(SnakeLadderBoard board, List<SnakeLadderPlayer> players, Dice dice,
+      Executor dispatcher, Consumer<List<SnakeLadderPlayer>> resultRecorder) {
     if (players.size() < 2) {
       throw new IllegalArgumentException("At least two player is required");
     }
+    if (dice == null || dispatcher == null || resultRecorder == null) {
+      throw new IllegalArgumentException("Dice, dispatcher and result recorder can not be null");
+    }
     this.board = board;
     this.players = new ArrayList<>(players);
     Collections.sort(this.players);
-    this.dice = new Dice(numberOfDice);
+    this.dice = dice;
+    this.events = new GameEventBus<>(dispatcher);
+    this.resultRecorder = resultRecorder;
+    this.faces = new int[dice.numberOfDice()];
+    this.state = board.template().newGame(this.players.size());
+    for (int i = 0; i < this.players.size(); i++) {
+      state.place(i, this.players.get(i).getCurrentTile().getTileId());
+    }
+  }
+
+  /**
+   * Creates a game that needs neither the JavaFX toolkit nor the file system. Observers are
+   * notified directly on the calling thread and the result is not persisted.
+   *
+   * @param board        the board to use for the game
+   * @param players      the list of players participating
+   * @param numberOfDice the number of dice to use
+   * @return a headless game
+   */
+  public static SnakeAndLadderGame headless(SnakeLadderBoard board,
+      List<SnakeLadderPlayer> players, int numberOfDice) {
+    return headless(board, players, new Dice(numberOfDice));
+  }
+
+  /**
+   * Creates a headless game with seeded dice.
+   *
+   * @param board        the board to use for the game
+   * @param players      the list of players participating
+   * @param numberOfDice the number of dice to use
+   * @param seed         the seed for the dice
+   * @return a headless game
+   */
+  public static SnakeAndLadderGame headless(SnakeLadderBoard board,
+      List<SnakeLadderPlayer> players, int numberOfDice, long seed) {
+    return headless(board, players, new Dice(numberOfDice, seed));
+  }
+
+  /**
+   * Creates a headless game rolling the given dice.
+   *
+   * @param board   the board to use for the game
+   * @param players the list of players participating
+   * @param dice    the dice to roll
+   * @return a headless game
+   * @see #headless(SnakeLadderBoard, List, int)
+   */
+  public static SnakeAndLadderGame headless(SnakeLadderBoard board,
+      List<SnakeLadderPlayer> players, Dice dice) {
+    return new SnakeAndLadderGame(board, players, dice, Runnable::run, finished -> {
+    });
   }
 
   @Override
   public int rollDice() {
-    return dice.rollAll();
+    int total = dice.rollInto(faces);
+    for (int face : faces) {
+      replayLog.add(face);
+    }
+    return total;
   }
 
   @Override
   public List<Integer> rollIndividual() {
-    return dice.rollEach();
+    List<Integer> roll = dice.rollEach();
+    for (int face : roll) {
+      replayLog.add(face);
+    }
+    return roll;
   }
 
   /**
@@ -62,62 +203,218 @@ public class SnakeAndLadderGame implements BoardGame<SnakeLadderPlayer, SnakeLad
    */
   @Override
   public void moveCurrentPlayer(int steps) {
-    SnakeLadderPlayer p = getCurrentPlayer();
-    int from = p.getCurrentTile().getTileId();
-    board.movePlayer(p, steps);
-    if (p.hasPendingMove()) {
-      p.setPendingMoveTile(board);
-    }
-    int to = p.getCurrentTile().getTileId();
+    int mover = state.currentPlayer();
+    SnakeLadderPlayer p = players.get(mover);
+    int from = state.tileOf(mover);
+    int to = state.move(steps, null);
     notifyPlayerMoved(p, from, to);
 
-    if (to == board.size()) {
-      winner = p;
-      HandleCSVPlayer.savePlayersToCSV(players, "src/main/resources/players.csv");
+    if (state.isDone()) {
+      if (!replaying) {
+        resultRecorder.accept(List.copyOf(players));
+      }
       notifyGameOver(p);
     }
   }
 
   /**
-   * Determines whether the current player receives an extra turn based on the dice roll.
+   * Plays one full turn without any user interaction, following the same flow as the game
+   * controller: roll, move, and pass the turn on unless the player gets an extra turn.
+   *
+   * @return the dice values rolled this turn
+   * @throws IllegalStateException if the game is already finished
+   */
+  public List<Integer> playTurn() {
+    if (gameDone()) {
+      throw new IllegalStateException("The game is already finished");
+    }
+    List<Integer> roll = rollIndividual();
+    finishTurn(roll);
+    return roll;
+  }
+
+  /**
+   * Moves by a roll and passes the turn on, as {@link #playTurn()} does after rolling.
+   */
+  private void finishTurn(List<Integer> roll) {
+    int steps = 0;
+    for (int value : roll) {
+      steps += value;
+    }
+    moveCurrentPlayer(steps);
+    if (!gameDone() && !playerGetsExtraTurn(roll)) {
+      nextPlayer();
+    }
+  }
+
+  /**
+   * Plays the first turns of a log on this game, which should be fresh and have the same board,
+   * players and number of dice as the game that wrote the log. Observers are not notified and the
+   * result recorder is not called. The replayed rolls are added to this game's own log.
+   *
+   * @param log   the log to replay, see {@link #getReplayLog()}
+   * @param turns the number of turns to replay
+   * @return the number of turns replayed, fewer than asked if the log ends or the game is won
+   * @throws IllegalArgumentException if the log holds a face outside 1-6
+   */
+  public int replay(ReplayLog log, int turns) {
+    int perTurn = faces.length;
+    int played = 0;
+    replaying = true;
+    try {
+      List<Integer> roll = new ArrayList<>(perTurn);
+      while (played < turns && !gameDone() && (played + 1) * perTurn <= log.size()) {
+        roll.clear();
+        for (int i = 0; i < perTurn; i++) {
+          int face = log.get(played * perTurn + i);
+          if (face < 1 || face > 6) {
+            throw new IllegalArgumentException("Log holds an invalid face: " + face);
+          }
+          replayLog.add(face);
+          roll.add(face);
+        }
+        finishTurn(roll);
+        played++;
+      }
+    } finally {
+      replaying = false;
+    }
+    return played;
+  }
+
+  /**
+   * Returns a copy of the rolls made so far, one input per die, oldest first.
+   *
+   * @return the replay log
+   */
+  public ReplayLog getReplayLog() {
+    return replayLog.copy();
+  }
+
+  /**
+   * Saves this game to the given file in the binary format described in
+   * {@link SnakeLadderSaveFormat}. The board is registered with the registry, and the file only
+   * refers to it.
+   *
+   * @param file   the file to write to
+   * @param boards the registry that will hold the board
+   * @throws IOException              if writing the save or the board fails
+   * @throws IllegalArgumentException if the board has actions that can not be stored
+   */
+  public void saveToFile(File file, BoardRegistry boards) throws IOException {
+    boards.register(board);
+    SnakeLadderSaveFormat.write(this, file.toPath());
+  }
+
+  /**
+   * Encodes this game as the bytes {@link #saveToFile} would write, for callers that write the
+   * file themselves. The board must be registered separately.
+   *
+   * @return the encoded save
+   * @throws IllegalArgumentException if the board has actions that can not be stored
+   */
+  public byte[] toSaveData() {
+    return SnakeLadderSaveFormat.encode(this);
+  }
+
+  /**
+   * Loads a game saved with {@link #saveToFile}. The loaded game gets a new board built from the
+   * registry's template and new, unseeded dice.
+   *
+   * @param file   the file to read from
+   * @param boards the registry holding the board of the saved game
+   * @return the loaded game
+   * @throws IOException if reading fails, the file is not a valid save of a supported version, or
+   *                     the registry does not have the board
+   */
+  public static SnakeAndLadderGame loadFromFile(File file, BoardRegistry boards)
+      throws IOException {
+    return SnakeLadderSaveFormat.read(file.toPath(), boards);
+  }
+
+  /**
+   * Package-private: puts back the turn, winner and replay log of a saved game. Positions and bonus
+   * turns are put back through {@link #state()}.
+   */
+  void restore(int current, int winner, ReplayLog log) {
+    state.restore(current, winner);
+    this.replayLog = log;
+  }
+
+  /**
+   * Package-private: returns the state holding the positions, in the order of
+   * {@link #getPlayers()}.
+   */
+  SnakeLadderState state() {
+    return state;
+  }
+
+  /**
+   * Returns the tile a player of this game stands on.
+   *
+   * @param player the player
+   * @return the tile ID
+   * @throws IllegalArgumentException if the player is not in this game
+   */
+  public int tileOf(SnakeLadderPlayer player) {
+    int index = players.indexOf(player);
+    if (index < 0) {
+      throw new IllegalArgumentException("The player is not in this game");
+    }
+    return state.tileOf(index);
+  }
+
+  /**
+   * Plays turns until the game is won or the turn limit is reached.
+   *
+   * @param maxTurns the maximum number of turns to play
+   * @return the number of turns played
+   */
+  public int playToEnd(int maxTurns) {
+    int turns = 0;
+    while (!gameDone() && turns < maxTurns) {
+      playTurn();
+      turns++;
+    }
+    return turns;
+  }
+
+  /**
+   * Determines whether the current player receives an extra turn based on the dice roll, or a
+   * bonus turn from a bonus tile, which is then used up.
    *
    * @param lastRoll the results of the most recent dice roll
    * @return {@code true} if the player gets an extra turn; {@code false} otherwise
+   * @see SnakeLadderState#rollKeepsTurn
    */
   @Override
   public boolean playerGetsExtraTurn(List<Integer> lastRoll) {
-    if (dice.numberOfDice() == 1 && lastRoll.get(0) == 1) {
-      return true;
-    }
-    if (dice.numberOfDice() == 2 && lastRoll.get(0) == 6 && lastRoll.get(1) == 6) {
-      return true;
-    }
-    if (getCurrentPlayer().hasExtraTurn()) {
-      getCurrentPlayer().clearExtraTurn();
-      return true;
+    int[] roll = new int[lastRoll.size()];
+    for (int i = 0; i < roll.length; i++) {
+      roll[i] = lastRoll.get(i);
     }
-    return false;
+    return state.keepsTurn(roll);
   }
 
   @Override
   public void nextPlayer() {
-    currentPlayerIndex = (currentPlayerIndex + 1) % players.size();
+    state.passTurn();
     notifyNextPlayer(getCurrentPlayer());
   }
 
   @Override
   public boolean gameDone() {
-    return winner != null;
+    return state.isDone();
   }
 
   @Override
   public SnakeLadderPlayer getWinner() {
-    return winner;
+    return state.isDone() ? players.get(state.winner()) : null;
   }
 
   @Override
   public SnakeLadderPlayer getCurrentPlayer() {
-    return players.get(currentPlayerIndex);
+    return players.get(state.currentPlayer());
   }
 
   @Override
@@ -125,6 +422,15 @@ public class SnakeAndLadderGame implements BoardGame<SnakeLadderPlayer, SnakeLad
     return List.copyOf(players);
   }
 
+  /**
+   * Returns the number of dice rolled each turn.
+   *
+   * @return the dice count
+   */
+  public int getNumberOfDice() {
+    return faces.length;
+  }
+
   @Override
   public SnakeLadderBoard getBoard() {
     return board;
@@ -132,33 +438,25 @@ public class SnakeAndLadderGame implements BoardGame<SnakeLadderPlayer, SnakeLad
 
   @Override
   public void addObserver(Observer<SnakeLadderPlayer> observer) {
-    observers.add(observer);
+    events.addObserver(observer);
   }
 
   private void notifyPlayerMoved(SnakeLadderPlayer player, int from, int to) {
-    Platform.runLater(() -> {
-      for (var observer : observers) {
-        observer.onPlayerMoved(player, from, to);
-      }
-    });
-
+    if (!replaying) {
+      events.playerMoved(player, from, to);
+    }
   }
 
   private void notifyNextPlayer(SnakeLadderPlayer next) {
-    Platform.runLater(() -> {
-      for (var observer : observers) {
-        observer.onNextPlayer(next);
-      }
-    });
-
+    if (!replaying) {
+      events.nextPlayer(next);
+    }
   }
 
   private void notifyGameOver(SnakeLadderPlayer winner) {
-    Platform.runLater(() -> {
-      for (var observer : observers) {
-        observer.onGameOver(winner);
-      }
-    });
+    if (!replaying) {
+      events.gameOver(winner);
+    }
   }
 
   @Override
@@ -1,8 +1,5 @@
 package ntnu.idatt2003.model.snakeandladder;
 
-import java.util.HashMap;
-import java.util.Map;
-
 /**
  * Represents the board for the Snakes and Ladders game.
  *
@@ -12,8 +9,12 @@ import java.util.Map;
  */
 public class SnakeLadderBoard {
 
-  private final Map<Integer, Tile> tiles = new HashMap<>();
+  private final TileStore tiles = new TileStore();
+  private final OccupancyIndex occupancy = new OccupancyIndex();
   private int diceCount = 1;
+  private volatile String contentHash;
+  private volatile BoardTemplate template;
+  private volatile BoardReport report;
 
   /**
    * Adds a tile to the board.
@@ -21,7 +22,131 @@ public class SnakeLadderBoard {
    * @param tile the tile to add.
    */
   public void addTile(Tile tile) {
-    tiles.put(tile.getTileId(), tile);
+    tiles.put(tile);
+    tile.setBoard(this);
+    invalidate();
+  }
+
+  /**
+   * Builds the movement tables for the current tiles. This happens automatically on the first move
+   * after the board changes, but loaders can call it up front to keep the cost out of the game.
+   */
+  public void compile() {
+    if (size() > 0) {
+      template();
+    }
+  }
+
+  /**
+   * Package-private: discards the movement tables after the board or one of its tiles changed.
+   */
+  void invalidate() {
+    contentHash = null;
+    template = null;
+    report = null;
+  }
+
+  /**
+   * Returns the tile a player lands on when walking the given number of steps along the
+   * {@code nextTileId} links, before any snake or ladder is taken. The walk stops at the last tile.
+   *
+   * @param fromTileId the tile to start from
+   * @param steps      the number of steps to walk
+   * @return the ID of the landing tile
+   * @throws IllegalArgumentException if the tile does not exist or steps is negative
+   */
+  public int landingTileId(int fromTileId, int steps) {
+    if (!hasTile(fromTileId)) {
+      throw new IllegalArgumentException("No tile with id " + fromTileId);
+    }
+    return template().landingTileId(fromTileId, steps);
+  }
+
+  /**
+   * Returns the tile a player ends on after walking the given number of steps and taking the
+   * snake or ladder on the landing tile, if there is one. Like {@link #movePlayer}, only one snake
+   * or ladder is taken per move.
+   *
+   * @param fromTileId the tile to start from
+   * @param steps      the number of steps to walk
+   * @return the ID of the tile the move ends on
+   * @throws IllegalArgumentException if the tile does not exist or steps is negative
+   */
+  public int destinationTileId(int fromTileId, int steps) {
+    if (!hasTile(fromTileId)) {
+      throw new IllegalArgumentException("No tile with id " + fromTileId);
+    }
+    return template().destinationTileId(fromTileId, steps);
+  }
+
+  /**
+   * Returns the SHA-256 hash of this board's tiles, next tile links and actions as 64 hex digits.
+   * Boards with the same tiles have the same hash, so it identifies the board in saved games (see
+   * {@link BoardRegistry}). The hash is kept until the board changes.
+   *
+   * @return the content hash
+   * @throws IllegalArgumentException if a tile has an action other than a ladder, snake or bonus
+   */
+  public String contentHash() {
+    String hash = contentHash;
+    if (hash == null) {
+      hash = BoardRegistry.hash(this);
+      contentHash = hash;
+    }
+    return hash;
+  }
+
+  /**
+   * Checks this board for dangling links, circles, dead ends and an unreachable finish, in time
+   * linear in the number of tiles. The report is kept until the board changes, and copies of this
+   * board share it. Board loaders call this once and reject boards that are not
+   * {@link BoardReport#isValid() valid}.
+   *
+   * @return the report
+   */
+  public BoardReport report() {
+    BoardReport checked = report;
+    if (checked == null) {
+      checked = BoardValidator.validate(this);
+      report = checked;
+    }
+    return checked;
+  }
+
+  /**
+   * Returns an immutable template of this board's current layout, which any number of games on
+   * any number of threads can share (see {@link SnakeLadderState}). The template holds the
+   * movement tables of the board; it is built once and kept until the board changes, and copies
+   * of this board share it.
+   *
+   * @return the template
+   * @throws IllegalArgumentException if the board is empty
+   */
+  public BoardTemplate template() {
+    BoardTemplate shared = template;
+    if (shared == null) {
+      shared = BoardTemplate.of(this);
+      template = shared;
+    }
+    return shared;
+  }
+
+  /**
+   * Package-private: takes over the template and content hash of the layout this board was built
+   * from, see {@link BoardTemplate#toBoard()}.
+   */
+  void adopt(BoardTemplate layout, String hash) {
+    this.template = layout;
+    this.contentHash = hash;
+  }
+
+  /**
+   * Package-private: returns the index of which players stand on which tiles of this board.
+   *
+   * @return the occupancy index
+   */
+  OccupancyIndex occupancy() {
+    return occupancy;
   }
 
   /**
@@ -50,7 +175,7 @@ public class SnakeLadderBoard {
    * @return True if the tile exists, false otherwise.
    */
   public boolean hasTile(int tileId) {
-    return tiles.containsKey(tileId);
+    return tiles.get(tileId) != null;
   }
 
   /**
@@ -59,112 +184,136 @@ public class SnakeLadderBoard {
    * @return an iterable of tiles.
    */
   public Iterable<Tile> getTiles() {
-    return tiles.values();
+    return tiles.tiles();
+  }
+
+  /**
+   * Creates a copy of this board with fresh tiles and no players on them. Tile actions are shared
+   * with this board, since they hold no per-game state.
+   *
+   * @return a new board with the same tiles, links and actions
+   */
+  public SnakeLadderBoard copy() {
+    SnakeLadderBoard copy = new SnakeLadderBoard();
+    for (Tile tile : tiles.tiles()) {
+      Tile clone = new Tile(tile.getTileId());
+      clone.setNextTileId(tile.getNextTileId());
+      clone.setAction(tile.getAction());
+      copy.addTile(clone);
+    }
+    copy.diceCount = diceCount;
+    copy.contentHash = contentHash;
+    copy.template = template;
+    copy.report = report;
+    return copy;
   }
 
   /**
    * Moves a player forward by the specified number of steps, updates their current tile, and
-   * applies any tile actions. If the tile action (like a ladder or snake) sets a pending move, this
-   * method handles jumping the player to the target tile.
+   * applies any tile actions. The tile the move ends on, with a snake or ladder taken, is read
+   * from the board's {@link #template() movement tables}; only the action of a bonus tile, or of
+   * an action the tables do not know, is applied through the tile. A collision sends both players
+   * back as {@link SnakeLadderState} does; games keep their positions in such a state and do not
+   * move players on the board.
    *
    * @param player The player to move.
    * @param steps  The number of steps to move forward.
+   * @throws IllegalStateException if the player's tile has no next tile or links to a tile that is
+   *                               not on the board, in which case the player is not moved
    */
   public String movePlayer(SnakeLadderPlayer player, int steps) {
     Tile current = player.getCurrentTile();
-    current.leavePlayer(player);
-
-    Tile next = getTile(current.getNextTileId());
-    // Steps forward through the tiles
-    for (int i = 1; i < steps; i++) {
-      if (next.getNextTileId() != 0) {
-        next = getTile(next.getNextTileId());
-      } else {
-        break;
-      }
+    int nextTileId = current.getNextTileId();
+    if (nextTileId == 0) {
+      throw new IllegalStateException("Tile " + current.getTileId() + " has no next tile");
+    }
+    if (!hasTile(nextTileId)) {
+      throw new IllegalStateException("Tile " + current.getTileId() + " leads to tile "
+          + nextTileId + ", which is not on the board");
+    }
+    BoardTemplate layout = template();
+    int from = layout.indexOf(current.getTileId());
+    if (from < 0) {
+      throw new IllegalArgumentException("No tile with id " + current.getTileId());
     }
 
-    player.setCurrentTile(next);
-    next.landPlayer(player);
-    next.applyAction(player);
+    // A move always walks at least one tile
+    int walked = Math.max(1, steps);
+    int landed = layout.landingAt(from, walked);
+    Tile next = getTile(layout.idAt(landed));
 
     StringBuilder log = new StringBuilder();
     log.append(player.getName())
         .append(" is now on tile ")
-        .append(player.getCurrentTile().getTileId())
+        .append(next.getTileId())
         .append("\n");
 
-    if (player.hasPendingMove()) {
-      Tile destination = getTile(player.getPendingMoveTo());
-      if (destination != null) {
-        next.leavePlayer(player);
-        player.setCurrentTile(destination);
-        destination.landPlayer(player);
-      }
-      player.clearPendingMove();
-    }
+    settle(player, layout, landed, layout.destinationAt(from, walked));
 
     log.append(player.getName()).append(" is now on tile ")
         .append(player.getCurrentTile().getTileId()).append("\n");
 
-    // Check for collision: are there other players already on this tile?
-    for (SnakeLadderPlayer other : next.getPlayers()) {
-      if (!other.equals(player)) {
-        log.append("Collision! ").append(player.getName())
-            .append(" and ").append(other.getName())
-            .append(" collided!\n");
-
-        // Move both players 7 tiles back if possible
-        moveBack(player, 8);
-        moveBack(other, 8);
-
-        log.append(player.getName())
-            .append(" is now on tile ").append(player.getCurrentTile().getTileId())
-            .append("\n");
-        log.append(other.getName())
-            .append(" is now on tile ").append(other.getCurrentTile().getTileId())
-            .append("\n");
-        break; // Only handle one collision per move
-      }
+    // Check for collision: is another player already on this tile? Only one collision per move.
+    SnakeLadderPlayer other = next.otherPlayer(player);
+    if (other != null) {
+      log.append("Collision! ").append(player.getName())
+          .append(" and ").append(other.getName())
+          .append(" collided!\n");
+
+      // Move both players back by the rules of SnakeLadderState
+      moveBack(player, layout);
+      moveBack(other, layout);
+
+      log.append(player.getName())
+          .append(" is now on tile ").append(player.getCurrentTile().getTileId())
+          .append("\n");
+      log.append(other.getName())
+          .append(" is now on tile ").append(other.getCurrentTile().getTileId())
+          .append("\n");
     }
 
     return log.toString();
   }
 
   /**
-   * Moves a player backward by the specified number of steps, applies any tile actions,
-   * and handles pending moves if necessary.
+   * Moves a player back after a collision, as {@link SnakeLadderState#stepBack} does, and applies
+   * the action of the tile it ends on.
    *
-   * @param player    the player to move back
-   * @param stepsBack the number of steps to move backward
+   * @param player the player to move back
+   * @param layout the movement tables of this board
    */
-  private void moveBack(SnakeLadderPlayer player, int stepsBack) {
-    Tile current = player.getCurrentTile();
-    current.leavePlayer(player);
-
-    Tile target = current;
+  private void moveBack(SnakeLadderPlayer player, BoardTemplate layout) {
+    int from = layout.indexOf(player.getCurrentTile().getTileId());
+    int index = SnakeLadderState.stepBack(layout, from);
+    settle(player, layout, index, layout.jumpAt(index));
+  }
 
-    for (int i = 1; i < stepsBack; i++) {
-      int id = target.getTileId();
-      if (id > 1 && hasTile(id - 1)) {
-        target = getTile(id - 1);
-      } else {
-        break; // Can't go back further
-      }
+  /**
+   * Puts a player on the tile a move ends on. A snake or ladder is already resolved in
+   * {@code destination}; a bonus tile, or a tile with an action the tables do not know, applies its
+   * action to the player standing on it, and a pending move it sets is followed.
+   *
+   * @param player      the player to move
+   * @param layout      the movement tables of this board
+   * @param landed      the index of the tile the player landed on
+   * @param destination the index of the tile the move ends on if the tile has no such action
+   */
+  private void settle(SnakeLadderPlayer player, BoardTemplate layout, int landed,
+      int destination) {
+    byte kind = layout.kindAt(landed);
+    if (kind != BoardTemplate.BONUS && kind != BoardTemplate.OTHER) {
+      player.setCurrentTile(getTile(layout.idAt(destination)));
+      return;
     }
-
-    player.setCurrentTile(target);
-    target.landPlayer(player);
-
-    target.applyAction(player);
+    Tile tile = getTile(layout.idAt(landed));
+    player.setCurrentTile(tile);
+    tile.applyAction(player);
     if (player.hasPendingMove()) {
-      Tile destination = getTile(player.getPendingMoveTo());
-      if (destination != null) {
-        target.leavePlayer(player);
-        player.setCurrentTile(destination);
-        destination.landPlayer(player);
-      }
+      Tile pending = getTile(player.getPendingMoveTo());
       player.clearPendingMove();
+      if (pending != null) {
+        player.setCurrentTile(pending);
+      }
     }
   }
 
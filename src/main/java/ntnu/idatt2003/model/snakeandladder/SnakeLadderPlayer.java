@@ -15,6 +15,8 @@ public class SnakeLadderPlayer extends Player {
   private Tile currentTile;
   private int pendingMoveTo = -1; // -1 means no pending move
   private boolean extraTurn = false;
+  OccupancyIndex occupancy; // board index holding this player's slot, if any
+  int occupancySlot = -1;
 
   /**
    * Constructs a new SnakeLadderPlayer.
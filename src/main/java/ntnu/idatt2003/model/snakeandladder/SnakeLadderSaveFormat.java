@@ -0,0 +1,174 @@
+package ntnu.idatt2003.model.snakeandladder;
+
+import java.io.IOException;
+import java.nio.BufferOverflowException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+import ntnu.idatt2003.core.PlayerIcon;
+import ntnu.idatt2003.file.SaveContainer;
+import ntnu.idatt2003.model.ReplayLog;
+
+/**
+ * The binary save format of {@link SnakeAndLadderGame}.
+ *
+ * <p>A save is a {@link SaveContainer} with the magic "SNLD" around the payload, all big-endian:
+ * </p>
+ * <pre>
+ *   payload: 32 bytes board content hash             (see {@link BoardRegistry})
+ *            byte dice | byte player count | byte current player | byte winner (255 = none)
+ *            per player: byte icon (255 = none) | int age | short name length | UTF-8 name
+ *                        | int tile id | byte extra turn
+ *            int replay length | replay inputs      (see {@link ReplayLog})
+ * </pre>
+ *
+ * <p>The board is stored by reference, so a save takes the same few hundred bytes for a 90-tile
+ * board as for a generated one with a million tiles. Reading checks the header and checksum before
+ * anything is decoded, and fails with an {@link IOException} if the registry does not have the
+ * board.
+ * </p>
+ */
+final class SnakeLadderSaveFormat {
+
+  static final int MAGIC = 0x534E4C44; // "SNLD"
+  static final short VERSION = 2;
+
+  private static final SaveContainer CONTAINER =
+      new SaveContainer(MAGIC, VERSION, "Snakes and Ladders");
+
+  private static final int HASH_BYTES = 32;
+  private static final int MAX_NAME_BYTES = 1024;
+  private static final int NONE = 0xFF;
+  private static final HexFormat HEX = HexFormat.of();
+
+  private SnakeLadderSaveFormat() {
+  }
+
+  /**
+   * Writes a game to a file, replacing its contents.
+   */
+  static void write(SnakeAndLadderGame game, Path file) throws IOException {
+    CONTAINER.write(file, encodePayload(game));
+  }
+
+  /**
+   * Reads a game written by {@link #write}.
+   */
+  static SnakeAndLadderGame read(Path file, BoardRegistry boards) throws IOException {
+    return decodePayload(CONTAINER.read(file), boards);
+  }
+
+  /**
+   * Encodes a game as header and payload in one array.
+   */
+  static byte[] encode(SnakeAndLadderGame game) {
+    return CONTAINER.wrap(encodePayload(game)).array();
+  }
+
+  /**
+   * Decodes a game from a buffer holding a header and payload.
+   */
+  static SnakeAndLadderGame decode(ByteBuffer data, BoardRegistry boards) throws IOException {
+    return decodePayload(CONTAINER.unwrap(data), boards);
+  }
+
+  private static ByteBuffer encodePayload(SnakeAndLadderGame game) {
+    List<SnakeLadderPlayer> players = game.getPlayers();
+    List<byte[]> names = new ArrayList<>(players.size());
+    byte[] replay = game.getReplayLog().toByteArray();
+    int size = HASH_BYTES + 4 + Integer.BYTES + replay.length;
+    for (SnakeLadderPlayer player : players) {
+      byte[] name = player.getName().getBytes(StandardCharsets.UTF_8);
+      if (name.length > MAX_NAME_BYTES) {
+        throw new IllegalArgumentException("Player name is too long to save");
+      }
+      names.add(name);
+      size += 1 + Integer.BYTES + Short.BYTES + name.length + Integer.BYTES + 1;
+    }
+
+    SnakeLadderState state = game.state();
+    ByteBuffer payload = ByteBuffer.allocate(size);
+    payload.put(HEX.parseHex(game.getBoard().contentHash()))
+        .put((byte) game.getNumberOfDice())
+        .put((byte) players.size())
+        .put((byte) state.currentPlayer())
+        .put((byte) (state.isDone() ? state.winner() : NONE));
+    for (int i = 0; i < players.size(); i++) {
+      SnakeLadderPlayer player = players.get(i);
+      PlayerIcon icon = player.getIcon();
+      payload.put((byte) (icon == null ? NONE : icon.ordinal()))
+          .putInt(player.getAge())
+          .putShort((short) names.get(i).length)
+          .put(names.get(i))
+          .putInt(state.tileOf(i))
+          .put((byte) (state.hasExtraTurn(i) ? 1 : 0));
+    }
+    payload.putInt(replay.length).put(replay);
+    return payload.flip();
+  }
+
+  private static SnakeAndLadderGame decodePayload(ByteBuffer payload, BoardRegistry boards)
+      throws IOException {
+    try {
+      byte[] hash = new byte[HASH_BYTES];
+      payload.get(hash);
+      String boardId = HEX.formatHex(hash);
+      BoardTemplate template = boards.get(boardId);
+      if (template == null) {
+        throw new IOException("Board " + boardId + " of the saved game is not available");
+      }
+      SnakeLadderBoard board = template.toBoard();
+      int dice = payload.get();
+      int count = payload.get();
+      int current = payload.get();
+      int winner = payload.get() & 0xFF;
+      if (count < 2 || current < 0 || current >= count || (winner != NONE && winner >= count)) {
+        throw new IOException("Save file has invalid players");
+      }
+
+      PlayerIcon[] icons = PlayerIcon.values();
+      List<SnakeLadderPlayer> players = new ArrayList<>(count);
+      boolean[] extraTurns = new boolean[count];
+      for (int i = 0; i < count; i++) {
+        int icon = payload.get() & 0xFF;
+        int age = payload.getInt();
+        int nameLength = payload.getShort() & 0xFFFF;
+        if ((icon != NONE && icon >= icons.length) || nameLength > MAX_NAME_BYTES) {
+          throw new IOException("Save file has an invalid player");
+        }
+        byte[] name = new byte[nameLength];
+        payload.get(name);
+        Tile tile = board.getTile(payload.getInt());
+        extraTurns[i] = payload.get() != 0;
+        if (tile == null) {
+          throw new IOException("Save file places a player outside the board");
+        }
+        players.add(new SnakeLadderPlayer(new String(name, StandardCharsets.UTF_8), age,
+            icon == NONE ? null : icons[icon], tile));
+      }
+
+      int replayLength = payload.getInt();
+      if (replayLength < 0 || replayLength != payload.remaining()) {
+        throw new IOException("Save file has an invalid replay log");
+      }
+      byte[] replay = new byte[replayLength];
+      payload.get(replay);
+
+      // The players are saved in turn order, which the game keeps
+      SnakeAndLadderGame game = new SnakeAndLadderGame(board, players, dice);
+      for (int i = 0; i < count; i++) {
+        game.state().setExtraTurn(i, extraTurns[i]);
+      }
+      game.restore(current, winner == NONE ? -1 : winner, ReplayLog.of(replay));
+      return game;
+    } catch (BufferUnderflowException | BufferOverflowException e) {
+      throw new IOException("Save file is truncated", e);
+    } catch (IllegalArgumentException e) {
+      throw new IOException("Save file is inconsistent: " + e.getMessage(), e);
+    }
+  }
+}
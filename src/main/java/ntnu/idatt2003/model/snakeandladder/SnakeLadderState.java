@@ -0,0 +1,295 @@
+package ntnu.idatt2003.model.snakeandladder;
+
+import java.util.Arrays;
+
+/**
+ * The positions in one game of Snakes and Ladders played on a shared {@link BoardTemplate}.
+ *
+ * <p>A state holds the tile of every player, who has a bonus turn, whose turn it is and the
+ * winner; the layout lives in the template. The state is the one place the rules live, and
+ * {@link SnakeAndLadderGame} keeps its positions in one: {@link #playTurn} walks the current
+ * player the sum of the dice, takes a snake or ladder on the landing tile, sends both players back
+ * {@value #COLLISION_STEPS} tiles (never below tile 1) on a collision, wins on the tile whose ID is
+ * the number of tiles, and keeps the turn after rolling a 1 with one die, a double six with two,
+ * or landing on a bonus tile. {@link SnakeLadderBoard#movePlayer} steps back with
+ * {@link #stepBack} as well. A state is not thread-safe, but states on the same template are
+ * independent.
+ * </p>
+ */
+public final class SnakeLadderState {
+
+  /** The largest number of players in one game. */
+  public static final int MAX_PLAYERS = Long.SIZE;
+
+  /** The number of tiles both players move back when they collide. */
+  public static final int COLLISION_STEPS = 7;
+
+  /**
+   * Receives every snake or ladder a player lands on.
+   */
+  @FunctionalInterface
+  public interface JumpListener {
+
+    /**
+     * Called when a player lands on a snake or ladder.
+     *
+     * @param fromTileId the tile of the snake or ladder
+     * @param toTileId   its destination
+     */
+    void jumped(int fromTileId, int toTileId);
+  }
+
+  private final BoardTemplate template;
+  private final int[] tiles;
+  private long extraTurns;
+  private int current;
+  private int winner = -1;
+
+  SnakeLadderState(BoardTemplate template, int players, int start) {
+    if (players < 2 || players > MAX_PLAYERS) {
+      throw new IllegalArgumentException("Player count must be between 2 and " + MAX_PLAYERS);
+    }
+    int custom = template.customActionIndex();
+    if (custom >= 0) {
+      throw new IllegalArgumentException("Tile " + template.idAt(custom)
+          + " has an action the rules do not know");
+    }
+    this.template = template;
+    this.tiles = new int[players];
+    Arrays.fill(tiles, start);
+  }
+
+  /**
+   * Plays one turn for the current player with the given dice and passes the turn on unless the
+   * player keeps it.
+   *
+   * @param faces the faces rolled, one per die
+   * @throws IllegalStateException if the game is already won
+   */
+  public void playTurn(int... faces) {
+    playTurn(faces, null);
+  }
+
+  /**
+   * Plays one turn, reporting every snake and ladder landed on.
+   *
+   * @param faces    the faces rolled, one per die
+   * @param listener receives the snakes and ladders, or null
+   * @throws IllegalStateException if the game is already won
+   */
+  public void playTurn(int[] faces, JumpListener listener) {
+    if (isDone()) {
+      throw new IllegalStateException("The game is already finished");
+    }
+    int steps = 0;
+    for (int face : faces) {
+      steps += face;
+    }
+    move(steps, listener);
+    if (!isDone() && !keepsTurn(faces)) {
+      passTurn();
+    }
+  }
+
+  /**
+   * Returns whether a roll lets the player roll again: a 1 with one die or a double six with two.
+   *
+   * @param faces the faces rolled, one per die
+   * @return true if the player keeps the turn
+   */
+  public static boolean rollKeepsTurn(int... faces) {
+    return faces.length == 1 && faces[0] == 1
+        || faces.length == 2 && faces[0] == 6 && faces[1] == 6;
+  }
+
+  /**
+   * Returns whether the current player keeps the turn after the given roll, using up a bonus turn
+   * if the roll itself does not keep it.
+   */
+  boolean keepsTurn(int[] faces) {
+    if (rollKeepsTurn(faces)) {
+      return true;
+    }
+    long bit = 1L << current;
+    if ((extraTurns & bit) != 0) {
+      extraTurns &= ~bit;
+      return true;
+    }
+    return false;
+  }
+
+  /**
+   * Passes the turn on to the next player.
+   */
+  void passTurn() {
+    current = (current + 1) % tiles.length;
+  }
+
+  /**
+   * Moves the current player by the given number of steps without passing the turn on.
+   *
+   * @param steps    the number of steps
+   * @param listener receives the snakes and ladders landed on, or null
+   * @return the ID of the tile the player ends on
+   */
+  public int move(int steps, JumpListener listener) {
+    int mover = current;
+    int landed = template.landingAt(tiles[mover], Math.max(1, steps));
+    tiles[mover] = applyAction(mover, landed, listener);
+
+    int other = otherOn(landed, mover);
+    if (other >= 0) {
+      moveBack(mover, listener);
+      moveBack(other, listener);
+    }
+    if (tiles[mover] == template.finishIndex()) {
+      winner = mover;
+    }
+    return template.idAt(tiles[mover]);
+  }
+
+  private void moveBack(int player, JumpListener listener) {
+    tiles[player] = applyAction(player, stepBack(template, tiles[player]), listener);
+  }
+
+  /**
+   * Returns the tile a player on the given tile is sent back to on a collision, before any snake
+   * or ladder there is taken: {@value #COLLISION_STEPS} tiles back by ID, stopping at tile 1 or a
+   * gap in the IDs.
+   */
+  static int stepBack(BoardTemplate template, int index) {
+    int at = index;
+    for (int i = 0; i < COLLISION_STEPS; i++) {
+      int previous = template.previous(at);
+      if (previous < 0) {
+        break;
+      }
+      at = previous;
+    }
+    return at;
+  }
+
+  /**
+   * Applies the action of the tile a player landed on and returns where the player ends up.
+   */
+  private int applyAction(int player, int index, JumpListener listener) {
+    byte kind = template.kindAt(index);
+    if (kind == BoardTemplate.JUMP) {
+      int destination = template.jumpAt(index);
+      if (listener != null && destination != index) {
+        listener.jumped(template.idAt(index), template.idAt(destination));
+      }
+      return destination;
+    }
+    if (kind == BoardTemplate.BONUS) {
+      extraTurns |= 1L << player;
+    }
+    return index;
+  }
+
+  private int otherOn(int index, int player) {
+    for (int p = 0; p < tiles.length; p++) {
+      if (p != player && tiles[p] == index) {
+        return p;
+      }
+    }
+    return -1;
+  }
+
+  /**
+   * Puts a player on a tile, for example when a saved game is loaded.
+   *
+   * @throws IllegalArgumentException if the tile does not exist
+   */
+  void place(int player, int tileId) {
+    int index = template.indexOf(tileId);
+    if (index < 0) {
+      throw new IllegalArgumentException("No tile with id " + tileId);
+    }
+    tiles[player] = index;
+  }
+
+  /**
+   * Gives a player a bonus turn or takes it away.
+   */
+  void setExtraTurn(int player, boolean extraTurn) {
+    if (extraTurn) {
+      extraTurns |= 1L << player;
+    } else {
+      extraTurns &= ~(1L << player);
+    }
+  }
+
+  /**
+   * Puts back whose turn it is and the winner, or -1 if the game is running.
+   */
+  void restore(int current, int winner) {
+    this.current = current;
+    this.winner = winner;
+  }
+
+  /**
+   * Returns the template this game is played on.
+   *
+   * @return the template
+   */
+  public BoardTemplate getTemplate() {
+    return template;
+  }
+
+  /**
+   * Returns the number of players.
+   *
+   * @return the player count
+   */
+  public int playerCount() {
+    return tiles.length;
+  }
+
+  /**
+   * Returns the tile a player stands on.
+   *
+   * @param player the player index, in turn order
+   * @return the tile ID
+   */
+  public int tileOf(int player) {
+    return template.idAt(tiles[player]);
+  }
+
+  /**
+   * Returns whether a player has a bonus turn waiting.
+   *
+   * @param player the player index
+   * @return true if the player will keep the turn after its next move
+   */
+  public boolean hasExtraTurn(int player) {
+    return (extraTurns & 1L << player) != 0;
+  }
+
+  /**
+   * Returns whose turn it is.
+   *
+   * @return the index of the current player
+   */
+  public int currentPlayer() {
+    return current;
+  }
+
+  /**
+   * Returns the winner.
+   *
+   * @return the index of the winning player, or -1 while the game is running
+   */
+  public int winner() {
+    return winner;
+  }
+
+  /**
+   * Returns whether a player has reached the finish.
+   *
+   * @return true if the game is won
+   */
+  public boolean isDone() {
+    return winner >= 0;
+  }
+}
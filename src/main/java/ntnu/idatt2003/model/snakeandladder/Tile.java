@@ -16,7 +16,9 @@ public class Tile {
   private final int tileId;
   private int nextTileId;
   private TileAction action;
-  private final List<SnakeLadderPlayer> playersOnTile = new ArrayList<SnakeLadderPlayer>();
+  private List<SnakeLadderPlayer> playersOnTile;
+  private SnakeLadderBoard board;
+  long occupants; // slot bitmask kept by the board's OccupancyIndex
 
   /**
    * Constructs a tile with the specified ID.
@@ -53,6 +55,9 @@ public class Tile {
    */
   public void setNextTileId(int nextTileId) {
     this.nextTileId = nextTileId;
+    if (board != null) {
+      board.invalidate();
+    }
   }
 
   /**
@@ -71,6 +76,19 @@ public class Tile {
    */
   public void setAction(TileAction action) {
     this.action = action;
+    if (board != null) {
+      board.invalidate();
+    }
+  }
+
+  /**
+   * Package-private: records the board this tile was added to, so that changes to the tile can
+   * invalidate the board's precomputed tables.
+   *
+   * @param board the owning board
+   */
+  void setBoard(SnakeLadderBoard board) {
+    this.board = board;
   }
 
   /**
@@ -90,6 +108,12 @@ public class Tile {
    * @param player the player landing on the tile
    */
   public void landPlayer(SnakeLadderPlayer player) {
+    if (board != null && board.occupancy().land(this, player)) {
+      return;
+    }
+    if (playersOnTile == null) {
+      playersOnTile = new ArrayList<>();
+    }
     if (!playersOnTile.contains(player)) {
       playersOnTile.add(player);
     }
@@ -101,7 +125,12 @@ public class Tile {
    * @param player the player leaving the tile
    */
   public void leavePlayer(SnakeLadderPlayer player) {
-    playersOnTile.remove(player);
+    if (board != null && board.occupancy().leave(this, player)) {
+      return;
+    }
+    if (playersOnTile != null) {
+      playersOnTile.remove(player);
+    }
   }
 
   /**
@@ -111,7 +140,38 @@ public class Tile {
    * @return a list of players on this tile
    */
   public List<SnakeLadderPlayer> getPlayers() {
-    return new ArrayList<>(playersOnTile);
+    List<SnakeLadderPlayer> players = new ArrayList<>();
+    if (board != null) {
+      board.occupancy().collect(this, players);
+    }
+    if (playersOnTile != null) {
+      players.addAll(playersOnTile);
+    }
+    return players;
+  }
+
+  /**
+   * Package-private: returns a player on this tile other than the given one, without allocating.
+   * Players tracked by the board come first, in the order they joined the board.
+   *
+   * @param player the player to skip
+   * @return another player on this tile, or {@code null} if there is none
+   */
+  SnakeLadderPlayer otherPlayer(SnakeLadderPlayer player) {
+    if (board != null) {
+      SnakeLadderPlayer other = board.occupancy().firstOther(this, player);
+      if (other != null) {
+        return other;
+      }
+    }
+    if (playersOnTile != null) {
+      for (SnakeLadderPlayer other : playersOnTile) {
+        if (other != player) {
+          return other;
+        }
+      }
+    }
+    return null;
   }
 
 }
@@ -0,0 +1,150 @@
+package ntnu.idatt2003.model.snakeandladder;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Storage for the tiles of a {@link SnakeLadderBoard}, keyed by tile ID.
+ *
+ * <p>Tiles are kept in a plain array indexed by ID minus a base ID, so lookups need neither
+ * boxing nor hashing. When the IDs are too spread out for an array to pay off, the store falls
+ * back to a hash map, and it switches back once the IDs have filled in again.
+ * </p>
+ */
+final class TileStore {
+
+  private Tile[] dense = new Tile[16];
+  private int base;
+  private int minId;
+  private int maxId;
+  private Map<Integer, Tile> sparse;
+  private int count;
+
+  /**
+   * Adds a tile, replacing any tile with the same ID.
+   *
+   * @param tile the tile to add
+   */
+  void put(Tile tile) {
+    int id = tile.getTileId();
+    if (sparse != null) {
+      if (sparse.put(id, tile) == null) {
+        count++;
+        if (Integer.bitCount(count) == 1) {
+          tryToDensify();
+        }
+      }
+      return;
+    }
+    if (count == 0) {
+      base = id;
+      minId = id;
+      maxId = id;
+    }
+    long range = (long) Math.max(maxId, id) - Math.min(minId, id) + 1;
+    if (!isDenseEnough(range, count + 1)) {
+      toSparse();
+      put(tile);
+      return;
+    }
+    if (id < base) {
+      // Leave room below the new tile so that tiles added in descending order grow the array
+      // geometrically rather than one slot at a time.
+      long below = Math.max(dense.length, (long) base - id);
+      int newBase = (int) Math.max(Integer.MIN_VALUE, (long) base - below);
+      Tile[] grown = new Tile[base - newBase + dense.length];
+      System.arraycopy(dense, 0, grown, base - newBase, dense.length);
+      dense = grown;
+      base = newBase;
+    } else if ((long) id - base >= dense.length) {
+      dense = Arrays.copyOf(dense, (int) Math.max((long) id - base + 1, dense.length * 2L));
+    }
+    if (dense[id - base] == null) {
+      count++;
+    }
+    dense[id - base] = tile;
+    minId = Math.min(minId, id);
+    maxId = Math.max(maxId, id);
+  }
+
+  /**
+   * Returns the tile with the given ID.
+   *
+   * @param id the tile ID
+   * @return the tile, or {@code null} if there is none
+   */
+  Tile get(int id) {
+    if (sparse != null) {
+      return sparse.get(id);
+    }
+    long offset = (long) id - base;
+    return offset < 0 || offset >= dense.length ? null : dense[(int) offset];
+  }
+
+  /**
+   * Returns the number of tiles.
+   *
+   * @return the tile count
+   */
+  int size() {
+    return count;
+  }
+
+  /**
+   * Returns the tiles, in ascending ID order when stored densely.
+   *
+   * @return an iterable of tiles
+   */
+  Iterable<Tile> tiles() {
+    if (sparse != null) {
+      return sparse.values();
+    }
+    Tile[] snapshot = dense;
+    return () -> Arrays.stream(snapshot).filter(Objects::nonNull).iterator();
+  }
+
+  /**
+   * Returns whether the tiles are currently stored in the dense array.
+   *
+   * @return {@code true} for array storage, {@code false} for the hash map fallback
+   */
+  boolean isDense() {
+    return sparse == null;
+  }
+
+  private static boolean isDenseEnough(long range, int tiles) {
+    return range <= 4L * tiles + 64;
+  }
+
+  private void toSparse() {
+    sparse = new HashMap<>();
+    for (Tile tile : dense) {
+      if (tile != null) {
+        sparse.put(tile.getTileId(), tile);
+      }
+    }
+    dense = null;
+  }
+
+  private void tryToDensify() {
+    int min = Integer.MAX_VALUE;
+    int max = Integer.MIN_VALUE;
+    for (int id : sparse.keySet()) {
+      min = Math.min(min, id);
+      max = Math.max(max, id);
+    }
+    if (!isDenseEnough((long) max - min + 1, count)) {
+      return;
+    }
+    dense = new Tile[max - min + 1];
+    base = min;
+    minId = min;
+    maxId = max;
+    for (Tile tile : sparse.values()) {
+      dense[tile.getTileId() - min] = tile;
+    }
+    sparse = null;
+  }
+}
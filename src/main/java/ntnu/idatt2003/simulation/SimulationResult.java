@@ -0,0 +1,227 @@
+package ntnu.idatt2003.simulation;
+
+import java.util.Arrays;
+
+/**
+ * Aggregated statistics from a batch of simulated Snakes and Ladders games.
+ *
+ * <p>Game length is counted in turns, where an extra turn (a bonus tile or a lucky roll) is part
+ * of the same turn. Seats are numbered from 0 in turn order.
+ * </p>
+ */
+public final class SimulationResult {
+
+  private final long games;
+  private final long unfinishedGames;
+  private final long[] winsBySeat;
+  private final long[] lengthCounts;
+  private final long totalLength;
+  private final long snakeHits;
+  private final long ladderHits;
+  private final long[] actionHitsByTile;
+
+  SimulationResult(Accumulator acc) {
+    this.games = acc.games;
+    this.unfinishedGames = acc.unfinishedGames;
+    this.winsBySeat = acc.winsBySeat.clone();
+    this.lengthCounts = Arrays.copyOf(acc.lengthCounts, acc.maxLength + 1);
+    this.totalLength = acc.totalLength;
+    this.snakeHits = acc.snakeHits;
+    this.ladderHits = acc.ladderHits;
+    this.actionHitsByTile = acc.actionHitsByTile.clone();
+  }
+
+  /**
+   * Returns the number of simulated games.
+   *
+   * @return the number of games played
+   */
+  public long getGames() {
+    return games;
+  }
+
+  /**
+   * Returns the number of games that hit the turn limit without a winner.
+   *
+   * @return the number of unfinished games
+   */
+  public long getUnfinishedGames() {
+    return unfinishedGames;
+  }
+
+  /**
+   * Returns the number of finished games.
+   *
+   * @return the number of games with a winner
+   */
+  public long getFinishedGames() {
+    return games - unfinishedGames;
+  }
+
+  /**
+   * Returns how many games the given seat won.
+   *
+   * @param seat the seat index in turn order
+   * @return the number of wins for the seat
+   */
+  public long getWins(int seat) {
+    return winsBySeat[seat];
+  }
+
+  /**
+   * Returns the share of finished games won by the given seat.
+   *
+   * @param seat the seat index in turn order
+   * @return the win rate between 0 and 1
+   */
+  public double getWinRate(int seat) {
+    long finished = getFinishedGames();
+    return finished == 0 ? 0.0 : (double) winsBySeat[seat] / finished;
+  }
+
+  /**
+   * Returns the number of seats in the simulated games.
+   *
+   * @return the player count
+   */
+  public int getSeatCount() {
+    return winsBySeat.length;
+  }
+
+  /**
+   * Returns the mean length of the finished games.
+   *
+   * @return the mean number of turns
+   */
+  public double getMeanLength() {
+    long finished = getFinishedGames();
+    return finished == 0 ? 0.0 : (double) totalLength / finished;
+  }
+
+  /**
+   * Returns the game length at the given percentile (nearest rank) of the finished games.
+   *
+   * @param percentile the percentile between 0 and 100
+   * @return the number of turns, or 0 if no game finished
+   * @throws IllegalArgumentException if the percentile is outside 0 to 100
+   */
+  public int getLengthPercentile(double percentile) {
+    if (percentile < 0 || percentile > 100) {
+      throw new IllegalArgumentException("Percentile must be between 0 and 100");
+    }
+    long finished = getFinishedGames();
+    if (finished == 0) {
+      return 0;
+    }
+    long rank = Math.max(1, (long) Math.ceil(percentile / 100.0 * finished));
+    long seen = 0;
+    for (int length = 0; length < lengthCounts.length; length++) {
+      seen += lengthCounts[length];
+      if (seen >= rank) {
+        return length;
+      }
+    }
+    return lengthCounts.length - 1;
+  }
+
+  /**
+   * Returns the total number of times a snake was taken.
+   *
+   * @return the snake hit count
+   */
+  public long getSnakeHits() {
+    return snakeHits;
+  }
+
+  /**
+   * Returns the total number of times a ladder was taken.
+   *
+   * @return the ladder hit count
+   */
+  public long getLadderHits() {
+    return ladderHits;
+  }
+
+  /**
+   * Returns how many times the snake or ladder on the given tile was taken.
+   *
+   * @param tileId the tile holding the snake or ladder
+   * @return the hit count, or 0 for unknown tiles
+   */
+  public long getActionHits(int tileId) {
+    if (tileId < 0 || tileId >= actionHitsByTile.length) {
+      return 0;
+    }
+    return actionHitsByTile[tileId];
+  }
+
+  /**
+   * Mutable per-shard statistics, merged into a single result once all shards are done.
+   */
+  static final class Accumulator {
+
+    private long games;
+    private long unfinishedGames;
+    private final long[] winsBySeat;
+    private long[] lengthCounts = new long[64];
+    private int maxLength;
+    private long totalLength;
+    private long snakeHits;
+    private long ladderHits;
+    private final long[] actionHitsByTile;
+
+    Accumulator(int seats, int maxTileId) {
+      this.winsBySeat = new long[seats];
+      this.actionHitsByTile = new long[maxTileId + 1];
+    }
+
+    void recordWin(int seat, int length) {
+      games++;
+      winsBySeat[seat]++;
+      totalLength += length;
+      if (length >= lengthCounts.length) {
+        lengthCounts = Arrays.copyOf(lengthCounts, Math.max(length + 1, lengthCounts.length * 2));
+      }
+      lengthCounts[length]++;
+      maxLength = Math.max(maxLength, length);
+    }
+
+    void recordUnfinished() {
+      games++;
+      unfinishedGames++;
+    }
+
+    void recordJump(int fromTileId, int toTileId) {
+      if (toTileId < fromTileId) {
+        snakeHits++;
+      } else {
+        ladderHits++;
+      }
+      if (fromTileId >= 0 && fromTileId < actionHitsByTile.length) {
+        actionHitsByTile[fromTileId]++;
+      }
+    }
+
+    Accumulator merge(Accumulator other) {
+      games += other.games;
+      unfinishedGames += other.unfinishedGames;
+      for (int i = 0; i < winsBySeat.length; i++) {
+        winsBySeat[i] += other.winsBySeat[i];
+      }
+      if (other.maxLength >= lengthCounts.length) {
+        lengthCounts = Arrays.copyOf(lengthCounts, other.maxLength + 1);
+      }
+      for (int i = 0; i <= other.maxLength; i++) {
+        lengthCounts[i] += other.lengthCounts[i];
+      }
+      maxLength = Math.max(maxLength, other.maxLength);
+      totalLength += other.totalLength;
+      snakeHits += other.snakeHits;
+      ladderHits += other.ladderHits;
+      for (int i = 0; i < actionHitsByTile.length; i++) {
+        actionHitsByTile[i] += other.actionHitsByTile[i];
+      }
+      return this;
+    }
+  }
+}
@@ -0,0 +1,530 @@
+package ntnu.idatt2003.simulation;
+
+import java.util.Arrays;
+import ntnu.idatt2003.actions.BonusTileAction;
+import ntnu.idatt2003.model.snakeandladder.SnakeLadderBoard;
+import ntnu.idatt2003.model.snakeandladder.SnakeLadderState;
+import ntnu.idatt2003.model.snakeandladder.Tile;
+
+/**
+ * Exact analysis of a Snakes and Ladders board as an absorbing Markov chain.
+ *
+ * <p>A state is the tile a single player rests on after a roll. The chain follows the same rules
+ * as {@link SnakeLadderState}: walk the rolled number of steps along {@code nextTileId}, then take
+ * at most one snake or ladder. The game is won on the tile whose ID equals the board size.
+ * Collisions between players are not part of the chain, so the numbers describe a player racing
+ * alone.
+ * </p>
+ *
+ * <p>The transition matrix is stored sparsely (at most one entry per dice sum and tile), and the
+ * expected values are found with Gauss-Seidel sweeps ordered along the board, which converge in a
+ * handful of sweeps for boards that mostly move forward. This keeps the analysis linear in the
+ * board size, so very large custom boards can be analysed without a dense solve.
+ * </p>
+ */
+public final class SnakeLadderMarkovChain {
+
+  private static final int START_TILE_ID = 1;
+  private static final double TOLERANCE = 1e-10;
+  private static final int MAX_SWEEPS = 100_000;
+
+  private final int[] tileIds;
+  private final int minId;
+  private final int[] indexById;
+  private final int start;
+  private final int finish;
+  private final int sums;
+  private final double[] sumProbability;
+  private final int[] landing;
+  private final int[] jump;
+  private final boolean[] bonus;
+  private final boolean[] extraRollBySum;
+  private final int[] rowStart;
+  private final int[] column;
+  private final double[] probability;
+  private final int[] inStart;
+  private final int[] inFrom;
+  private final double[] inProbability;
+  private final double[] turnEndProbability;
+  private final double[] expectedRollsFrom;
+  private final double[] expectedVisits;
+  private final double[] expectedLandings;
+  private final boolean finishAlwaysReached;
+  private final double turnVariance;
+
+  private SnakeLadderMarkovChain(SnakeLadderBoard board, int numberOfDice) {
+    if (numberOfDice < 1) {
+      throw new IllegalArgumentException("At least one die is required.");
+    }
+    if (!board.hasTile(START_TILE_ID) || !board.hasTile(board.size())) {
+      throw new IllegalArgumentException("Board must contain the start tile and the finish tile");
+    }
+
+    int n = board.size();
+    this.tileIds = new int[n];
+    int k = 0;
+    for (Tile tile : board.getTiles()) {
+      tileIds[k++] = tile.getTileId();
+    }
+    Arrays.sort(tileIds);
+    this.minId = tileIds[0];
+    long range = (long) tileIds[n - 1] - minId + 1;
+    if (range <= 4L * n + 64) {
+      this.indexById = new int[(int) range];
+      Arrays.fill(indexById, -1);
+      for (int i = 0; i < n; i++) {
+        indexById[tileIds[i] - minId] = i;
+      }
+    } else {
+      // sparse IDs: fall back to binary search over the sorted IDs
+      this.indexById = null;
+    }
+    this.start = lookup(START_TILE_ID);
+    this.finish = lookup(board.size());
+
+    this.sums = 5 * numberOfDice + 1;
+    this.sumProbability = sumDistribution(numberOfDice);
+    this.extraRollBySum = new boolean[sums];
+    // Only the lowest and highest sums come from a single set of faces, all ones or all sixes
+    int[] faces = new int[numberOfDice];
+    Arrays.fill(faces, 1);
+    extraRollBySum[0] = SnakeLadderState.rollKeepsTurn(faces);
+    Arrays.fill(faces, 6);
+    extraRollBySum[sums - 1] = SnakeLadderState.rollKeepsTurn(faces);
+
+    this.jump = new int[n];
+    this.bonus = new boolean[n];
+    for (int i = 0; i < n; i++) {
+      jump[i] = lookup(board.destinationTileId(tileIds[i], 0));
+      bonus[i] = board.getTile(tileIds[i]).getAction() instanceof BonusTileAction;
+    }
+
+    // landing[i * sums + r] is the tile reached by walking (numberOfDice + r) steps from tile i
+    this.landing = new int[n * sums];
+    for (int i = 0; i < n; i++) {
+      for (int r = 0; r < sums; r++) {
+        landing[i * sums + r] = lookup(board.landingTileId(tileIds[i], numberOfDice + r));
+      }
+    }
+
+    // sparse rows, merging dice sums that end on the same tile
+    this.rowStart = new int[n + 1];
+    int[] columns = new int[n * sums];
+    double[] values = new double[n * sums];
+    this.turnEndProbability = new double[n];
+    int entries = 0;
+    for (int i = 0; i < n; i++) {
+      rowStart[i] = entries;
+      if (i == finish) {
+        continue;
+      }
+      for (int r = 0; r < sums; r++) {
+        int landed = landing[i * sums + r];
+        int to = jump[landed];
+        double p = sumProbability[r];
+        if (to == finish || !(extraRollBySum[r] || bonus[landed])) {
+          turnEndProbability[i] += p;
+        }
+        int e = rowStart[i];
+        while (e < entries && columns[e] != to) {
+          e++;
+        }
+        if (e == entries) {
+          columns[entries] = to;
+          values[entries] = p;
+          entries++;
+        } else {
+          values[e] += p;
+        }
+      }
+    }
+    rowStart[n] = entries;
+    this.column = Arrays.copyOf(columns, entries);
+    this.probability = Arrays.copyOf(values, entries);
+
+    // transposed copy of the matrix, for walking transitions backwards
+    this.inStart = new int[n + 1];
+    this.inFrom = new int[entries];
+    this.inProbability = new double[entries];
+    for (int e = 0; e < entries; e++) {
+      inStart[column[e] + 1]++;
+    }
+    for (int i = 0; i < n; i++) {
+      inStart[i + 1] += inStart[i];
+    }
+    int[] fill = Arrays.copyOf(inStart, n);
+    for (int i = 0; i < n; i++) {
+      for (int e = rowStart[i]; e < rowStart[i + 1]; e++) {
+        int slot = fill[column[e]]++;
+        inFrom[slot] = i;
+        inProbability[slot] = probability[e];
+      }
+    }
+
+    boolean[] reachable = reachableFromStart();
+    boolean[] canFinish = canReachFinish();
+    boolean trapped = false;
+    for (int i = 0; i < n; i++) {
+      if (reachable[i] && !canFinish[i]) {
+        trapped = true;
+        break;
+      }
+    }
+    this.finishAlwaysReached = !trapped;
+    this.expectedRollsFrom = new double[n];
+    this.expectedVisits = new double[n];
+    if (finishAlwaysReached) {
+      solveExpectedRolls(reachable);
+      solveExpectedVisits(reachable);
+      this.turnVariance = solveTurnVariance(reachable);
+    } else {
+      Arrays.fill(expectedRollsFrom, Double.POSITIVE_INFINITY);
+      Arrays.fill(expectedVisits, Double.POSITIVE_INFINITY);
+      this.turnVariance = Double.POSITIVE_INFINITY;
+    }
+    this.expectedLandings = new double[n];
+    for (int i = 0; i < n; i++) {
+      if (i == finish || expectedVisits[i] == 0.0) {
+        continue;
+      }
+      for (int r = 0; r < sums; r++) {
+        expectedLandings[landing[i * sums + r]] += expectedVisits[i] * sumProbability[r];
+      }
+    }
+  }
+
+  /**
+   * Builds and solves the chain for the given board.
+   *
+   * @param board        the board to analyse
+   * @param numberOfDice the number of dice rolled per turn
+   * @return the solved chain
+   * @throws IllegalArgumentException if the board lacks the start or finish tile
+   */
+  public static SnakeLadderMarkovChain of(SnakeLadderBoard board, int numberOfDice) {
+    return new SnakeLadderMarkovChain(board, numberOfDice);
+  }
+
+  /**
+   * Returns whether the finish is reached with certainty. If a player can get stuck (for example
+   * in a dead end or a snake loop with no way out), all expectations are infinite.
+   *
+   * @return {@code true} if every reachable tile can still reach the finish
+   */
+  public boolean isFinishAlwaysReached() {
+    return finishAlwaysReached;
+  }
+
+  /**
+   * Returns the expected number of rolls a lone player needs to finish from the start tile.
+   *
+   * @return the expected number of rolls
+   */
+  public double expectedRolls() {
+    return expectedRollsFrom[start];
+  }
+
+  /**
+   * Returns the expected number of rolls a lone player needs to finish from the given tile.
+   *
+   * @param tileId the tile to start from
+   * @return the expected number of rolls, 0 on the finish tile
+   * @throws IllegalArgumentException if the tile is not on the board
+   */
+  public double expectedRollsFrom(int tileId) {
+    return expectedRollsFrom[indexOf(tileId)];
+  }
+
+  /**
+   * Returns the expected number of turns a lone player needs to finish. A turn ends after a roll
+   * unless the roll itself (a 1 with one die, double six with two) or a bonus tile grants another.
+   *
+   * @return the expected number of turns
+   */
+  public double expectedTurns() {
+    if (!finishAlwaysReached) {
+      return Double.POSITIVE_INFINITY;
+    }
+    double turns = 0.0;
+    for (int i = 0; i < tileIds.length; i++) {
+      turns += expectedVisits[i] * turnEndProbability[i];
+    }
+    return turns;
+  }
+
+  /**
+   * Returns the variance of the number of turns a lone player needs to finish, which together with
+   * {@link #expectedTurns()} tells how much the length of a game varies from one game to the next.
+   *
+   * @return the variance in turns squared
+   */
+  public double turnVariance() {
+    return turnVariance;
+  }
+
+  /**
+   * Returns the expected number of rolls that end with the player resting on the given tile. The
+   * start tile counts the initial position. For tiles that can only be reached once (no snake leads
+   * back past them) this is the probability of resting there during a game.
+   *
+   * @param tileId the tile to look up
+   * @return the expected number of visits
+   * @throws IllegalArgumentException if the tile is not on the board
+   */
+  public double expectedVisits(int tileId) {
+    int i = indexOf(tileId);
+    if (i == finish) {
+      return finishAlwaysReached ? 1.0 : 0.0;
+    }
+    return expectedVisits[i];
+  }
+
+  /**
+   * Returns the expected number of rolls that land on the given tile before any snake or ladder
+   * is taken. For a snake or ladder tile this is the expected number of times it is used.
+   *
+   * @param tileId the tile to look up
+   * @return the expected number of landings
+   * @throws IllegalArgumentException if the tile is not on the board
+   */
+  public double expectedLandings(int tileId) {
+    return expectedLandings[indexOf(tileId)];
+  }
+
+  /**
+   * Returns the probability of finishing on exactly each roll, up to the given number of rolls.
+   * Element {@code t} of the result is the probability that roll {@code t} wins; element 0 is
+   * always 0. The remaining probability mass belongs to games longer than {@code maxRolls}.
+   *
+   * @param maxRolls the longest game length to include
+   * @return the game length distribution in rolls
+   * @throws IllegalArgumentException if maxRolls is negative
+   */
+  public double[] lengthDistribution(int maxRolls) {
+    if (maxRolls < 0) {
+      throw new IllegalArgumentException("Number of rolls can not be negative");
+    }
+    double[] result = new double[maxRolls + 1];
+    double[] current = new double[tileIds.length];
+    double[] next = new double[tileIds.length];
+    current[start] = 1.0;
+    double remaining = 1.0;
+    for (int t = 1; t <= maxRolls && remaining > TOLERANCE; t++) {
+      Arrays.fill(next, 0.0);
+      double finished = 0.0;
+      for (int i = 0; i < tileIds.length; i++) {
+        double mass = current[i];
+        if (mass == 0.0) {
+          continue;
+        }
+        for (int e = rowStart[i]; e < rowStart[i + 1]; e++) {
+          if (column[e] == finish) {
+            finished += mass * probability[e];
+          } else {
+            next[column[e]] += mass * probability[e];
+          }
+        }
+      }
+      result[t] = finished;
+      remaining -= finished;
+      double[] swap = current;
+      current = next;
+      next = swap;
+    }
+    return result;
+  }
+
+  /**
+   * Returns the number of states (tiles) in the chain.
+   *
+   * @return the state count
+   */
+  public int stateCount() {
+    return tileIds.length;
+  }
+
+  /**
+   * Returns the number of non-zero entries in the transition matrix.
+   *
+   * @return the transition count
+   */
+  public int transitionCount() {
+    return column.length;
+  }
+
+  private int indexOf(int tileId) {
+    int i = lookup(tileId);
+    if (i < 0) {
+      throw new IllegalArgumentException("No tile with id " + tileId);
+    }
+    return i;
+  }
+
+  private int lookup(int tileId) {
+    if (indexById == null) {
+      return Math.max(-1, Arrays.binarySearch(tileIds, tileId));
+    }
+    long offset = (long) tileId - minId;
+    return offset < 0 || offset >= indexById.length ? -1 : indexById[(int) offset];
+  }
+
+  private double[] sumDistribution(int numberOfDice) {
+    double[] dist = {1.0};
+    for (int d = 0; d < numberOfDice; d++) {
+      double[] next = new double[dist.length + 5];
+      for (int s = 0; s < dist.length; s++) {
+        for (int face = 0; face < 6; face++) {
+          next[s + face] += dist[s] / 6.0;
+        }
+      }
+      dist = next;
+    }
+    return dist;
+  }
+
+  private boolean[] reachableFromStart() {
+    boolean[] seen = new boolean[tileIds.length];
+    int[] stack = new int[tileIds.length];
+    int top = 0;
+    stack[top++] = start;
+    seen[start] = true;
+    while (top > 0) {
+      int i = stack[--top];
+      for (int e = rowStart[i]; e < rowStart[i + 1]; e++) {
+        if (!seen[column[e]]) {
+          seen[column[e]] = true;
+          stack[top++] = column[e];
+        }
+      }
+    }
+    return seen;
+  }
+
+  private boolean[] canReachFinish() {
+    boolean[] seen = new boolean[tileIds.length];
+    int[] stack = new int[tileIds.length];
+    int top = 0;
+    stack[top++] = finish;
+    seen[finish] = true;
+    while (top > 0) {
+      int j = stack[--top];
+      for (int e = inStart[j]; e < inStart[j + 1]; e++) {
+        if (!seen[inFrom[e]]) {
+          seen[inFrom[e]] = true;
+          stack[top++] = inFrom[e];
+        }
+      }
+    }
+    return seen;
+  }
+
+  /**
+   * Solves x = 1 + Q x for the expected number of rolls left, sweeping from the end of the board
+   * towards the start so that forward moves are resolved within a single sweep.
+   */
+  private void solveExpectedRolls(boolean[] active) {
+    for (int sweep = 0; sweep < MAX_SWEEPS; sweep++) {
+      double change = 0;
+      for (int i = tileIds.length - 1; i >= 0; i--) {
+        if (!active[i] || i == finish) {
+          continue;
+        }
+        double sum = 1.0;
+        double self = 0.0;
+        for (int e = rowStart[i]; e < rowStart[i + 1]; e++) {
+          int j = column[e];
+          if (j == i) {
+            self += probability[e];
+          } else if (j != finish) {
+            sum += probability[e] * expectedRollsFrom[j];
+          }
+        }
+        double value = sum / (1.0 - self);
+        change = Math.max(change, Math.abs(value - expectedRollsFrom[i]) / Math.max(1.0, value));
+        expectedRollsFrom[i] = value;
+      }
+      if (change < TOLERANCE) {
+        return;
+      }
+    }
+    throw new IllegalStateException("Expected game length did not converge");
+  }
+
+  /**
+   * Solves for the first two moments of the number of turns left, where a roll adds one turn
+   * unless it grants another roll, and returns the variance from the start tile. Works roll by
+   * roll rather than on the merged matrix, since whether a turn ends depends on the roll.
+   */
+  private double solveTurnVariance(boolean[] active) {
+    int n = tileIds.length;
+    double[] mean = new double[n];
+    double[] square = new double[n];
+    for (int moment = 1; moment <= 2; moment++) {
+      double[] values = moment == 1 ? mean : square;
+      boolean converged = false;
+      for (int sweep = 0; sweep < MAX_SWEEPS && !converged; sweep++) {
+        double change = 0;
+        for (int i = n - 1; i >= 0; i--) {
+          if (!active[i] || i == finish) {
+            continue;
+          }
+          double sum = 0.0;
+          double self = 0.0;
+          for (int r = 0; r < sums; r++) {
+            int landed = landing[i * sums + r];
+            int to = jump[landed];
+            double p = sumProbability[r];
+            double turn = to == finish || !(extraRollBySum[r] || bonus[landed]) ? 1.0 : 0.0;
+            // E[(c + T')^2] = c + 2c E[T'] + E[T'^2] for a turn count c of 0 or 1
+            sum += p * (moment == 1 ? turn : turn + 2 * turn * mean[to]);
+            if (to == i) {
+              self += p;
+            } else if (to != finish) {
+              sum += p * values[to];
+            }
+          }
+          double value = sum / (1.0 - self);
+          change = Math.max(change, Math.abs(value - values[i]) / Math.max(1.0, value));
+          values[i] = value;
+        }
+        converged = change < TOLERANCE;
+      }
+      if (!converged) {
+        throw new IllegalStateException("Turn variance did not converge");
+      }
+    }
+    return Math.max(0.0, square[start] - mean[start] * mean[start]);
+  }
+
+  /**
+   * Solves v = e_start + Q^T v for the expected number of times each tile is rested on, sweeping
+   * from the start of the board towards the end.
+   */
+  private void solveExpectedVisits(boolean[] active) {
+    for (int sweep = 0; sweep < MAX_SWEEPS; sweep++) {
+      double change = 0;
+      for (int j = 0; j < tileIds.length; j++) {
+        if (!active[j] || j == finish) {
+          continue;
+        }
+        double sum = j == start ? 1.0 : 0.0;
+        double self = 0.0;
+        for (int e = inStart[j]; e < inStart[j + 1]; e++) {
+          int i = inFrom[e];
+          if (i == j) {
+            self += inProbability[e];
+          } else if (active[i]) {
+            sum += inProbability[e] * expectedVisits[i];
+          }
+        }
+        double value = sum / (1.0 - self);
+        change = Math.max(change, Math.abs(value - expectedVisits[j]) / Math.max(1.0, value));
+        expectedVisits[j] = value;
+      }
+      if (change < TOLERANCE) {
+        return;
+      }
+    }
+    throw new IllegalStateException("Expected visits did not converge");
+  }
+}
@@ -0,0 +1,164 @@
+package ntnu.idatt2003.simulation;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.random.RandomGenerator.SplittableGenerator;
+import ntnu.idatt2003.core.Dice;
+import ntnu.idatt2003.core.DiceRandom;
+import ntnu.idatt2003.model.snakeandladder.BoardTemplate;
+import ntnu.idatt2003.model.snakeandladder.SnakeAndLadderGame;
+import ntnu.idatt2003.model.snakeandladder.SnakeLadderBoard;
+import ntnu.idatt2003.model.snakeandladder.SnakeLadderState;
+
+/**
+ * Monte Carlo simulator for Snakes and Ladders boards.
+ *
+ * <p>Plays a batch of games with the rules of {@link SnakeAndLadderGame} on a fork/join pool. The
+ * batch is split into fixed-size shards, each with its own random generator. All shards share one
+ * immutable {@link BoardTemplate} of the board and keep the positions of each game in a small
+ * {@link SnakeLadderState}, so no board is copied and shards never share mutable state.
+ * Generators are split from one seed in a fixed order, which makes a run reproducible regardless
+ * of the pool size or scheduling.
+ * </p>
+ */
+public class SnakeLadderSimulator {
+
+  /** Turn limit after which a game is counted as unfinished. */
+  public static final int DEFAULT_MAX_TURNS = 10_000;
+
+  private static final int START_TILE_ID = 1;
+  private static final int SHARD_SIZE = 256;
+
+  private final BoardTemplate template;
+  private final int playerCount;
+  private final int numberOfDice;
+  private final int maxTurns;
+  private final int maxTileId;
+
+  /**
+   * Constructs a simulator with the default turn limit.
+   *
+   * @param board        the board to simulate (its layout is read once, never modified)
+   * @param playerCount  the number of players per game (2-64)
+   * @param numberOfDice the number of dice rolled per turn
+   * @throws IllegalArgumentException if the arguments do not describe a playable game
+   */
+  public SnakeLadderSimulator(SnakeLadderBoard board, int playerCount, int numberOfDice) {
+    this(board, playerCount, numberOfDice, DEFAULT_MAX_TURNS);
+  }
+
+  /**
+   * Constructs a simulator.
+   *
+   * @param board        the board to simulate (its layout is read once, never modified)
+   * @param playerCount  the number of players per game (2-64)
+   * @param numberOfDice the number of dice rolled per turn
+   * @param maxTurns     the turn limit per game
+   * @throws IllegalArgumentException if the arguments do not describe a playable game
+   */
+  public SnakeLadderSimulator(SnakeLadderBoard board, int playerCount, int numberOfDice,
+      int maxTurns) {
+    if (board == null || !board.hasTile(START_TILE_ID)) {
+      throw new IllegalArgumentException("Board must contain the start tile " + START_TILE_ID);
+    }
+    if (playerCount < 2 || playerCount > SnakeLadderState.MAX_PLAYERS) {
+      throw new IllegalArgumentException(
+          "Player count must be between 2 and " + SnakeLadderState.MAX_PLAYERS);
+    }
+    if (numberOfDice < 1) {
+      throw new IllegalArgumentException("At least one die is required.");
+    }
+    if (maxTurns < 1) {
+      throw new IllegalArgumentException("Turn limit must be positive");
+    }
+    this.template = board.template();
+    this.playerCount = playerCount;
+    this.numberOfDice = numberOfDice;
+    this.maxTurns = maxTurns;
+    this.maxTileId = template.lastTileId();
+  }
+
+  /**
+   * Simulates the given number of games on the common fork/join pool.
+   *
+   * @param games the number of games to play
+   * @param seed  the seed all random generators are derived from
+   * @return the aggregated result
+   */
+  public SimulationResult run(int games, long seed) {
+    return run(games, seed, ForkJoinPool.commonPool());
+  }
+
+  /**
+   * Simulates the given number of games on the given pool.
+   *
+   * @param games the number of games to play
+   * @param seed  the seed all random generators are derived from
+   * @param pool  the pool running the shards
+   * @return the aggregated result
+   * @throws IllegalArgumentException if games is negative
+   */
+  public SimulationResult run(int games, long seed, ForkJoinPool pool) {
+    if (games < 0) {
+      throw new IllegalArgumentException("Number of games can not be negative");
+    }
+    SplittableGenerator random = DiceRandom.splittable(DiceRandom.DEFAULT_ALGORITHM, seed);
+    SimulationResult.Accumulator total = pool.invoke(new ShardTask(games, random));
+    return new SimulationResult(total);
+  }
+
+  /**
+   * Plays a run of games sequentially, each on a fresh state over the shared template.
+   */
+  private SimulationResult.Accumulator playShard(int games, SplittableGenerator random) {
+    SimulationResult.Accumulator stats =
+        new SimulationResult.Accumulator(playerCount, maxTileId);
+    Dice dice = new Dice(numberOfDice, random);
+    int[] faces = new int[numberOfDice];
+
+    for (int i = 0; i < games; i++) {
+      SnakeLadderState game = template.newGame(playerCount, START_TILE_ID);
+      int turns = 0;
+      while (!game.isDone() && turns < maxTurns) {
+        dice.rollInto(faces);
+        game.playTurn(faces, stats::recordJump);
+        turns++;
+      }
+      if (game.isDone()) {
+        stats.recordWin(game.winner(), turns);
+      } else {
+        stats.recordUnfinished();
+      }
+    }
+    return stats;
+  }
+
+  /**
+   * Splits a batch in halves until it is small enough to play on one thread.
+   */
+  private final class ShardTask extends RecursiveTask<SimulationResult.Accumulator> {
+    private static final long serialVersionUID = 1L;
+
+    private final int games;
+    // Tasks only live inside one run and are never serialized
+    private final transient SplittableGenerator random;
+
+    ShardTask(int games, SplittableGenerator random) {
+      this.games = games;
+      this.random = random;
+    }
+
+    @Override
+    protected SimulationResult.Accumulator compute() {
+      if (games <= SHARD_SIZE) {
+        return playShard(games, random);
+      }
+      int half = games / 2;
+      ShardTask left = new ShardTask(half, random.split());
+      ShardTask right = new ShardTask(games - half, random);
+      left.fork();
+      SimulationResult.Accumulator rightResult = right.compute();
+      return left.join().merge(rightResult);
+    }
+  }
+}
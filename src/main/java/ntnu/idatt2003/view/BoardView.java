@@ -3,6 +3,7 @@ package ntnu.idatt2003.view;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.function.ToIntFunction;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 import javafx.application.Platform;
@@ -62,6 +63,7 @@ public class BoardView extends BorderPane implements Observer<SnakeLadderPlayer>
 
   private final SnakeLadderBoard board;
   private final List<SnakeLadderPlayer> players;
+  private final ToIntFunction<SnakeLadderPlayer> positions;
   private final GridPane boardGrid = new GridPane();
   private final Pane overlay = new Pane();
   private final Pane tokenLayer = new Pane();
@@ -82,13 +84,16 @@ public class BoardView extends BorderPane implements Observer<SnakeLadderPlayer>
    * the main game interface for Snakes and Ladders, including board rendering, dice, player icons,
    * sidebar with game status, and connects the animator.
    *
-   * @param board    the SnakeLadderBoard model containing tile and action data
-   * @param players  list of players in the current game
-   * @param animator animator used to move player icons smoothly
+   * @param board     the SnakeLadderBoard model containing tile and action data
+   * @param players   list of players in the current game
+   * @param positions returns the tile a player stands on, e.g. {@code game::tileOf}
+   * @param animator  animator used to move player icons smoothly
    */
-  public BoardView(SnakeLadderBoard board, List<SnakeLadderPlayer> players, Animator animator) {
+  public BoardView(SnakeLadderBoard board, List<SnakeLadderPlayer> players,
+      ToIntFunction<SnakeLadderPlayer> positions, Animator animator) {
     this.board = board;
     this.players = players;
+    this.positions = positions;
     this.animator = animator;
     setupBoard();
 
@@ -506,7 +511,7 @@ public class BoardView extends BorderPane implements Observer<SnakeLadderPlayer>
       iv.setFitWidth(32);
       iv.setFitHeight(32);
 
-      Point2D c = tileCenter(player.getCurrentTile().getTileId());
+      Point2D c = tileCenter(positions.applyAsInt(player));
 
       iv.setTranslateX(c.getX() - iv.getFitWidth() / 2);
       iv.setTranslateY(c.getY() - iv.getFitHeight() / 2);
@@ -80,4 +80,24 @@ public class LevelSelectionPage extends BorderPane {
     return confirmBtn;
   }
 
+  /**
+   * Shows the expected number of turns for a level next to its radio button, for each number of
+   * dice a game can be played with.
+   *
+   * @param level   the level to annotate (EASY or ADVANCED)
+   * @param oneDie  the expected number of turns for a single player with one die
+   * @param twoDice the expected number of turns for a single player with two dice
+   */
+  public void setExpectedTurns(GameLevel level, double oneDie, double twoDice) {
+    String hint = String.format(" (about %.0f turns with 1 die, %.0f with 2 dice)", oneDie,
+        twoDice);
+    switch (level) {
+      case EASY -> easyRb.setText("Easy" + hint);
+      case ADVANCED -> advRb.setText("Advanced" + hint);
+      default -> {
+        // custom boards are unknown until the file is chosen
+      }
+    }
+  }
+
 }
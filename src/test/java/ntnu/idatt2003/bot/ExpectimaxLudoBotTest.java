@@ -0,0 +1,88 @@
+package ntnu.idatt2003.bot;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.List;
+import java.util.SplittableRandom;
+import ntnu.idatt2003.model.ludo.LudoRules;
+import ntnu.idatt2003.model.ludo.LudoState;
+import ntnu.idatt2003.model.ludo.TokenColor;
+import org.junit.jupiter.api.Test;
+
+class ExpectimaxLudoBotTest {
+
+  private static final List<TokenColor> TWO = List.of(TokenColor.YELLOW, TokenColor.RED);
+
+  @Test
+  void constructor_rejectsBadLimits() {
+    assertThrows(IllegalArgumentException.class, () -> new ExpectimaxLudoBot(0, 3));
+    assertThrows(IllegalArgumentException.class, () -> new ExpectimaxLudoBot(50, 0));
+  }
+
+  @Test
+  void chooseMove_noLegalMoveOrForcedMove() {
+    ExpectimaxLudoBot bot = new ExpectimaxLudoBot();
+    LudoState start = LudoState.start(TWO);
+    assertEquals(-1, bot.chooseMove(start, 3));
+    assertEquals(0, bot.chooseMove(start.withOffset(0, 0, 4), 3));
+    assertEquals(0, bot.getCompletedDepth());
+  }
+
+  @Test
+  void chooseMove_capturesTheLeader() {
+    // Red has one token left, on offset 43 (square 21); yellow offset 18 with a 3 lands on it
+    LudoState state = LudoState.start(TWO).withOffset(0, 0, 18).withOffset(0, 1, 5);
+    for (int t = 0; t < 4; t++) {
+      state = state.withOffset(1, t, t == 0 ? 43 : LudoState.FINISH);
+    }
+    assertEquals(0, new ExpectimaxLudoBot(1_000, 2).chooseMove(state, 3));
+  }
+
+  @Test
+  void chooseMove_prefersCapture() {
+    // Yellow offset 10 with a 3 lands on red offset 35 (both square 13)
+    LudoState state = LudoState.start(TWO).withOffset(0, 0, 10).withOffset(0, 1, 30)
+        .withOffset(1, 0, 35);
+    assertEquals(0, new ExpectimaxLudoBot(1_000, 1).chooseMove(state, 3));
+  }
+
+  @Test
+  void chooseMove_staysWithinBudget() {
+    ExpectimaxLudoBot bot = new ExpectimaxLudoBot(50, ExpectimaxLudoBot.DEFAULT_MAX_DEPTH);
+    LudoState state = LudoState.start(TWO).withOffset(0, 0, 3).withOffset(0, 1, 17)
+        .withOffset(0, 2, 25).withOffset(1, 0, 8).withOffset(1, 1, 30);
+    long start = System.nanoTime();
+    bot.chooseMove(state, 5);
+    assertTrue(System.nanoTime() - start < 1_000_000_000L);
+    assertTrue(bot.getCompletedDepth() >= 1);
+    assertTrue(bot.getNodeCount() > 0);
+  }
+
+  @Test
+  void beatsRandomPlayer() {
+    ExpectimaxLudoBot bot = new ExpectimaxLudoBot(10_000, 2);
+    SplittableRandom random = new SplittableRandom(3);
+    int[] moves = new int[4];
+    int wins = 0;
+    for (int game = 0; game < 10; game++) {
+      int botSeat = game % 2;
+      LudoState state = LudoState.start(TWO);
+      while (LudoRules.winner(state) < 0) {
+        int roll = random.nextInt(6) + 1;
+        int count = LudoRules.generateMoves(state, roll, moves);
+        if (count == 0) {
+          state = LudoRules.pass(state, roll);
+          continue;
+        }
+        int move = state.currentPlayer() == botSeat
+            ? bot.chooseMove(state, roll)
+            : LudoRules.moveToken(moves[random.nextInt(count)]);
+        state = LudoRules.apply(state, move, roll);
+      }
+      if (LudoRules.winner(state) == botSeat) {
+        wins++;
+      }
+    }
+    assertTrue(wins >= 7, "Bot won only " + wins + " of 10");
+  }
+}
@@ -0,0 +1,63 @@
+package ntnu.idatt2003.bot;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import ntnu.idatt2003.model.ludo.LudoState;
+import ntnu.idatt2003.model.ludo.TokenColor;
+import org.junit.jupiter.api.Test;
+
+class MonteCarloLudoBotTest {
+
+  private static final List<TokenColor> TWO = List.of(TokenColor.YELLOW, TokenColor.RED);
+
+  private static LudoState midGame() {
+    return LudoState.start(TWO).withOffset(0, 0, 3).withOffset(0, 1, 17).withOffset(0, 2, 25)
+        .withOffset(1, 0, 8).withOffset(1, 1, 30);
+  }
+
+  @Test
+  void constructor_rejectsBadArguments() {
+    assertThrows(IllegalArgumentException.class,
+        () -> new MonteCarloLudoBot(0, ForkJoinPool.commonPool(), 1));
+    assertThrows(IllegalArgumentException.class, () -> new MonteCarloLudoBot(10, null, 1));
+  }
+
+  @Test
+  void chooseMove_noLegalMoveOrForcedMove() {
+    MonteCarloLudoBot bot = new MonteCarloLudoBot(100, ForkJoinPool.commonPool(), 1);
+    LudoState start = LudoState.start(TWO);
+    assertEquals(-1, bot.chooseMove(start, 2));
+    assertEquals(0, bot.chooseMove(start.withOffset(0, 0, 4), 2));
+    assertEquals(0, bot.getLastPlayouts());
+  }
+
+  @Test
+  void chooseMove_capturesTheLeader() {
+    // Red has one token left, on offset 43 (square 21); yellow offset 18 with a 3 lands on it
+    LudoState state = LudoState.start(TWO).withOffset(0, 0, 18).withOffset(0, 1, 5);
+    for (int t = 0; t < 4; t++) {
+      state = state.withOffset(1, t, t == 0 ? 43 : LudoState.FINISH);
+    }
+    MonteCarloLudoBot bot = new MonteCarloLudoBot(2_000, new ForkJoinPool(1), 4);
+    assertEquals(0, bot.chooseMove(state, 3));
+  }
+
+  @Test
+  void chooseMove_singleWorkerIsReproducible() {
+    ForkJoinPool pool = new ForkJoinPool(1);
+    int first = new MonteCarloLudoBot(1_000, pool, 42).chooseMove(midGame(), 5);
+    int second = new MonteCarloLudoBot(1_000, pool, 42).chooseMove(midGame(), 5);
+    assertEquals(first, second);
+  }
+
+  @Test
+  void chooseMove_parallelWorkersReportRate() {
+    MonteCarloLudoBot bot = new MonteCarloLudoBot(2_000, new ForkJoinPool(4), 9);
+    int move = bot.chooseMove(midGame(), 5);
+    assertTrue(move >= 0 && move < 4);
+    assertEquals(2_000, bot.getLastPlayouts());
+    assertTrue(bot.getLastPlayoutsPerSecond() > 0);
+  }
+}
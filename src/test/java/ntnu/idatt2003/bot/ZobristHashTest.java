@@ -0,0 +1,39 @@
+package ntnu.idatt2003.bot;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.List;
+import java.util.SplittableRandom;
+import ntnu.idatt2003.model.ludo.LudoRules;
+import ntnu.idatt2003.model.ludo.LudoState;
+import ntnu.idatt2003.model.ludo.TokenColor;
+import org.junit.jupiter.api.Test;
+
+class ZobristHashTest {
+
+  @Test
+  void update_matchesFullHashAlongAGame() {
+    LudoState state = LudoState.start(
+        List.of(TokenColor.YELLOW, TokenColor.BLUE, TokenColor.RED, TokenColor.GREEN));
+    long hash = ZobristHash.hash(state);
+    SplittableRandom random = new SplittableRandom(11);
+    int[] moves = new int[4];
+    for (int ply = 0; ply < 500 && LudoRules.winner(state) < 0; ply++) {
+      int roll = random.nextInt(6) + 1;
+      int count = LudoRules.generateMoves(state, roll, moves);
+      LudoState next = count == 0
+          ? LudoRules.pass(state, roll)
+          : LudoRules.apply(state, LudoRules.moveToken(moves[random.nextInt(count)]), roll);
+      hash = ZobristHash.update(hash, state, next);
+      assertEquals(ZobristHash.hash(next), hash);
+      state = next;
+    }
+  }
+
+  @Test
+  void hash_ignoresLastRollButNotTurn() {
+    LudoState state = LudoState.start(List.of(TokenColor.YELLOW, TokenColor.BLUE));
+    assertEquals(ZobristHash.hash(state), ZobristHash.hash(state.withLastRoll(5)));
+    assertNotEquals(ZobristHash.hash(state), ZobristHash.hash(state.withCurrentPlayer(1)));
+  }
+}
@@ -0,0 +1,59 @@
+package ntnu.idatt2003.core;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.random.RandomGenerator;
+import org.junit.jupiter.api.Test;
+
+class DiceRandomTest {
+
+  @Test
+  void create_sameSeed_givesSameSequence() {
+    RandomGenerator a = DiceRandom.create(5L);
+    RandomGenerator b = DiceRandom.create(5L);
+    for (int i = 0; i < 50; i++) {
+      assertEquals(a.nextInt(6), b.nextInt(6));
+    }
+  }
+
+  @Test
+  void create_namedAlgorithms() {
+    for (String name : List.of("L64X128MixRandom", "Xoshiro256PlusPlus", "SplittableRandom")) {
+      int roll = new Die(DiceRandom.create(name, 1L)).roll();
+      assertTrue(roll >= 1 && roll <= 6, name);
+    }
+  }
+
+  @Test
+  void create_unknownOrEmptyAlgorithm_throws() {
+    assertThrows(IllegalArgumentException.class, () -> DiceRandom.create("NoSuchRandom", 1L));
+    assertThrows(IllegalArgumentException.class, () -> DiceRandom.create(" ", 1L));
+    assertThrows(IllegalArgumentException.class, () -> DiceRandom.create(null, 1L));
+  }
+
+  @Test
+  void splittable_nonSplittableAlgorithm_throws() {
+    assertThrows(IllegalArgumentException.class,
+        () -> DiceRandom.splittable("Xoshiro256PlusPlus", 1L));
+    assertNotNull(DiceRandom.splittable(DiceRandom.DEFAULT_ALGORITHM, 1L).split());
+  }
+
+  @Test
+  void streams_areReproducibleAndIndependent() {
+    for (String name : List.of(DiceRandom.DEFAULT_ALGORITHM, "Xoshiro256PlusPlus")) {
+      List<RandomGenerator> first = DiceRandom.streams(name, 3L, 4);
+      List<RandomGenerator> second = DiceRandom.streams(name, 3L, 4);
+      assertEquals(4, first.size());
+      long[] heads = new long[4];
+      for (int i = 0; i < 4; i++) {
+        heads[i] = first.get(i).nextLong();
+        assertEquals(heads[i], second.get(i).nextLong(), name + " stream " + i);
+      }
+      assertEquals(4, Arrays.stream(heads).distinct().count(), name);
+    }
+    assertThrows(IllegalArgumentException.class,
+        () -> DiceRandom.streams("SplittableRandom", 1L, -1));
+  }
+}
@@ -78,4 +78,37 @@ class DiceTest {
 
     assertNull(dice.getLastRolls(), "rollEach() should not modify lastRolls");
   }
+
+  @Test
+  void rollInto_fillsArray_andReturnsSum_withoutSettingLastRolls() {
+    Dice dice = new Dice(3, 11L);
+    int[] values = new int[5];
+
+    int sum = dice.rollInto(values);
+
+    assertEquals(values[0] + values[1] + values[2], sum);
+    for (int i = 0; i < 3; i++) {
+      assertTrue(values[i] >= MIN_FACE && values[i] <= MAX_FACE);
+    }
+    assertEquals(0, values[3], "entries past the number of dice are left alone");
+    assertNull(dice.getLastRolls(), "rollInto() should not modify lastRolls");
+  }
+
+  @Test
+  void rollInto_tooShortArray_throws() {
+    Dice dice = new Dice(3);
+    assertThrows(IllegalArgumentException.class, () -> dice.rollInto(new int[2]));
+    assertThrows(IllegalArgumentException.class, () -> dice.rollInto(null));
+  }
+
+  @Test
+  void seededDice_repeatTheSameRolls() {
+    Dice a = new Dice(2, 99L);
+    Dice b = new Dice(2, 99L);
+    for (int i = 0; i < 100; i++) {
+      assertEquals(a.rollSum(), b.rollSum());
+      assertEquals(a.rollAll(), b.rollAll());
+      assertEquals(a.getLastRolls(), b.getLastRolls());
+    }
+  }
 }
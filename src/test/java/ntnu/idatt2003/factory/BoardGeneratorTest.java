@@ -0,0 +1,96 @@
+package ntnu.idatt2003.factory;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import ntnu.idatt2003.actions.BonusTileAction;
+import ntnu.idatt2003.actions.LadderAction;
+import ntnu.idatt2003.actions.SnakeAction;
+import ntnu.idatt2003.model.GameLevel;
+import ntnu.idatt2003.model.snakeandladder.SnakeLadderBoard;
+import ntnu.idatt2003.model.snakeandladder.Tile;
+import ntnu.idatt2003.simulation.SnakeLadderMarkovChain;
+import org.junit.jupiter.api.Test;
+
+class BoardGeneratorTest {
+
+  private static final double GOAL = BoardGenerator.TOLERANCE * BoardGenerator.TOLERANCE;
+
+  private static long count(SnakeLadderBoard board, Class<?> action) {
+    long count = 0;
+    for (Tile tile : board.getTiles()) {
+      if (action.isInstance(tile.getAction())) {
+        count++;
+      }
+    }
+    return count;
+  }
+
+  @Test
+  void generate_hitsTheTargetOfTheLevel() {
+    for (GameLevel level : new GameLevel[] {GameLevel.EASY, GameLevel.ADVANCED}) {
+      BoardGenerator generator = BoardGenerator.forLevel(level);
+      SnakeLadderBoard board = generator.generate(5L);
+
+      assertEquals(BoardGenerator.TILES, board.size());
+      assertTrue(board.report().isValid(), board.report().toString());
+      assertEquals(0, board.report().getWarningCount(), board.report().toString());
+      assertTrue(generator.score(board) <= GOAL, level + " scored " + generator.score(board));
+    }
+  }
+
+  @Test
+  void generate_placesTheRequestedFeatures() {
+    BoardGenerator generator = new BoardGenerator(25, 12, 3, 6, 2);
+    SnakeLadderBoard board = generator.generate(11L);
+    SnakeLadderMarkovChain chain = SnakeLadderMarkovChain.of(board, 1);
+
+    assertEquals(3, count(board, LadderAction.class));
+    assertEquals(6, count(board, SnakeAction.class));
+    assertEquals(2, count(board, BonusTileAction.class));
+    assertEquals(25, chain.expectedTurns(), 25 * BoardGenerator.TOLERANCE);
+    assertEquals(12, Math.sqrt(chain.turnVariance()), 12 * BoardGenerator.TOLERANCE);
+  }
+
+  @Test
+  void generate_sameSeed_givesTheSameBoardsOnAnyPool() {
+    BoardGenerator generator = BoardGenerator.forLevel(GameLevel.EASY);
+    ForkJoinPool single = new ForkJoinPool(1);
+    ForkJoinPool quad = new ForkJoinPool(4);
+    try {
+      List<SnakeLadderBoard> a = generator.generate(12, 3L, single);
+      List<SnakeLadderBoard> b = generator.generate(12, 3L, quad);
+      assertEquals(12, a.size());
+      for (int i = 0; i < a.size(); i++) {
+        assertEquals(a.get(i).contentHash(), b.get(i).contentHash());
+      }
+      assertNotEquals(a.get(0).contentHash(), a.get(1).contentHash());
+    } finally {
+      single.shutdown();
+      quad.shutdown();
+    }
+  }
+
+  @Test
+  void factory_generatesBoardsForALevel() {
+    BoardGameFactory factory = new BoardGameFactory();
+    SnakeLadderBoard board = factory.createGeneratedBoard(GameLevel.ADVANCED, 9L);
+
+    assertEquals(board.contentHash(),
+        factory.createGeneratedBoard(GameLevel.ADVANCED, 9L).contentHash());
+    assertThrows(IllegalArgumentException.class,
+        () -> factory.createGeneratedBoard(GameLevel.CUSTOM, 9L));
+  }
+
+  @Test
+  void generate_rejectsTargetsThatCanNotBeReached() {
+    assertThrows(IllegalArgumentException.class, () -> new BoardGenerator(0, 5, 1, 1, 0));
+    assertThrows(IllegalArgumentException.class, () -> new BoardGenerator(20, 5, -1, 1, 0));
+    assertThrows(IllegalArgumentException.class, () -> new BoardGenerator(20, 5, 10, 10, 10));
+    assertThrows(IllegalArgumentException.class,
+        () -> new BoardGenerator(20, 5, 0, 0, 0).generate(-1, 1L));
+    assertThrows(IllegalStateException.class, () -> new BoardGenerator(200, 5, 0, 0, 0)
+        .generate(1L));
+  }
+}
@@ -0,0 +1,98 @@
+package ntnu.idatt2003.file;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class AutosaveWorkerTest {
+
+  @TempDir
+  Path dir;
+
+  private static void writeText(String text, OutputStream out) throws IOException {
+    out.write(text.getBytes(StandardCharsets.UTF_8));
+  }
+
+  @Test
+  void rapidSubmits_areCollapsedIntoOneSave() throws Exception {
+    Path target = dir.resolve("game.sav");
+    List<AutosaveWorker.SaveReport> reports = new CopyOnWriteArrayList<>();
+    try (AutosaveWorker<String> worker = new AutosaveWorker<>(target,
+        AutosaveWorkerTest::writeText, Duration.ofHours(1), reports::add)) {
+      worker.submit("one");
+      worker.submit("two");
+      worker.submit("three");
+      assertFalse(Files.exists(target), "nothing is written before the delay");
+
+      worker.flush();
+
+      assertEquals("three", Files.readString(target));
+      assertEquals(1, reports.size());
+      assertTrue(reports.getFirst().succeeded());
+      assertEquals(5, reports.getFirst().bytes());
+      assertFalse(reports.getFirst().latency().isNegative());
+      assertSame(reports.getFirst(), worker.getLastReport());
+      assertFalse(Files.exists(dir.resolve("game.sav.tmp")));
+
+      long start = System.nanoTime();
+      worker.close();
+      assertTrue(System.nanoTime() - start < Duration.ofSeconds(2).toNanos(),
+          "the cancelled debounced save is not waited for");
+    }
+  }
+
+  @Test
+  void failedSave_keepsThePreviousFile() throws Exception {
+    Path target = dir.resolve("game.sav");
+    Files.writeString(target, "old");
+    try (AutosaveWorker<String> worker = new AutosaveWorker<>(target, (text, out) -> {
+      out.write(1);
+      throw new IOException("disk full");
+    }, Duration.ZERO, report -> { })) {
+      worker.submit("new");
+      worker.flush();
+
+      assertFalse(worker.getLastReport().succeeded());
+      assertEquals("disk full", worker.getLastReport().error().getMessage());
+      assertEquals("old", Files.readString(target));
+      assertFalse(Files.exists(dir.resolve("game.sav.tmp")));
+    }
+  }
+
+  @Test
+  void close_writesThePendingSnapshot() throws Exception {
+    Path target = dir.resolve("nested").resolve("game.sav");
+    AutosaveWorker<String> worker = new AutosaveWorker<>(target, AutosaveWorkerTest::writeText,
+        Duration.ofHours(1), report -> { });
+    worker.submit("last");
+    long start = System.nanoTime();
+    worker.close();
+    Duration closing = Duration.ofNanos(System.nanoTime() - start);
+
+    assertTrue(closing.compareTo(Duration.ofSeconds(2)) < 0,
+        "close does not wait for the debounce delay, took " + closing.toMillis() + " ms");
+    assertEquals("last", Files.readString(target));
+    assertThrows(IllegalStateException.class, () -> worker.submit("late"));
+  }
+
+  @Test
+  void invalidArguments_throw() {
+    assertThrows(IllegalArgumentException.class,
+        () -> new AutosaveWorker<String>(null, AutosaveWorkerTest::writeText));
+    assertThrows(IllegalArgumentException.class, () -> new AutosaveWorker<String>(
+        dir.resolve("x"), AutosaveWorkerTest::writeText, Duration.ofMillis(-1), r -> { }));
+    try (AutosaveWorker<String> worker =
+        new AutosaveWorker<>(dir.resolve("x"), AutosaveWorkerTest::writeText)) {
+      assertThrows(IllegalArgumentException.class, () -> worker.submit(null));
+    }
+  }
+}
@@ -0,0 +1,117 @@
+package ntnu.idatt2003.file;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import ntnu.idatt2003.actions.SnakeAction;
+import ntnu.idatt2003.core.PlayerIcon;
+import ntnu.idatt2003.factory.BoardGameFactory;
+import ntnu.idatt2003.model.snakeandladder.BoardRegistry;
+import ntnu.idatt2003.model.snakeandladder.BoardTemplate;
+import ntnu.idatt2003.model.snakeandladder.SnakeLadderBoard;
+import ntnu.idatt2003.model.snakeandladder.SnakeLadderPlayer;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class BoardCacheTest {
+
+  @TempDir
+  Path dir;
+
+  @Test
+  void load_parsesEachContentOnceAndSharesTheTemplate() throws Exception {
+    BoardCache cache = new BoardCache();
+    Path resource = Path.of("snakes_and_ladders_90.json");
+    BoardTemplate first = cache.load(resource);
+    SnakeLadderBoard board = first.toBoard();
+    new SnakeLadderPlayer("Ann", 10, PlayerIcon.CAT, board.getTile(1));
+
+    Path copy = dir.resolve("renamed.json");
+    try (var in = getClass().getClassLoader().getResourceAsStream(resource.toString())) {
+      Files.copy(in, copy);
+    }
+    BoardTemplate second = cache.load(copy);
+
+    assertSame(first, second);
+    assertSame(second, board.template());
+    assertTrue(second.toBoard().getTile(1).getPlayers().isEmpty());
+    assertEquals(1, cache.missCount());
+    assertEquals(1, cache.hitCount());
+    assertEquals(1, cache.size());
+
+    Files.writeString(copy, Files.readString(copy).replace("\"destination\": 18",
+        "\"destination\": 19"));
+    assertNotEquals(first.contentHash(), cache.load(copy).contentHash());
+    assertEquals(2, cache.missCount());
+  }
+
+  @Test
+  void load_readsBinaryBoardsAndEvictsLeastRecentlyUsed() throws Exception {
+    BoardCache cache = new BoardCache(200);
+    Path easy = dir.resolve("easy.bin");
+    new BoardFileWriterBinary().writeBoard(easy, new BoardGameFactory().createEasyBoard());
+    Path advanced = Path.of("snakes_and_ladders_90.json");
+
+    cache.load(easy);
+    cache.load(advanced);
+    cache.load(easy);
+    assertEquals(180, cache.tileCount());
+
+    Path other = dir.resolve("other.json");
+    SnakeLadderBoard small = new BoardGameFactory().createEasyBoard();
+    small.getTile(50).setAction(new SnakeAction(10));
+    new BoardFileWriterJson().writeBoard(other, small);
+    cache.load(other);
+
+    // The advanced board was used least recently, so it made room
+    assertEquals(2, cache.size());
+    long misses = cache.missCount();
+    cache.load(easy);
+    assertEquals(misses, cache.missCount());
+    cache.load(advanced);
+    assertEquals(misses + 1, cache.missCount());
+  }
+
+  @Test
+  void load_sharesTemplatesWithItsRegistry() throws Exception {
+    BoardRegistry registry = new BoardRegistry();
+    BoardCache cache = new BoardCache(registry);
+    BoardTemplate template = cache.load(Path.of("snakes_and_ladders_90.json"));
+
+    assertSame(template, registry.get(template.contentHash()));
+    assertEquals(template.contentHash(), registry.register(template.toBoard()));
+    assertEquals(1, registry.size());
+
+    Path binary = dir.resolve("advanced.bin");
+    new BoardFileWriterBinary().writeBoard(binary, template.toBoard());
+    assertSame(template, cache.load(binary));
+    assertEquals(1, registry.size());
+  }
+
+  @Test
+  void factory_createsAdvancedBoardsThroughItsCache() throws Exception {
+    BoardCache cache = new BoardCache();
+    BoardGameFactory factory = new BoardGameFactory(cache);
+    SnakeLadderBoard first = factory.createAdvancedBoard(Path.of("snakes_and_ladders_90.json"));
+    SnakeLadderBoard second = factory.createAdvancedBoard(Path.of("snakes_and_ladders_90.json"));
+
+    assertNotSame(first, second);
+    assertEquals(90, second.size());
+    assertEquals(1, cache.hitCount());
+  }
+
+  @Test
+  void load_rejectsBoardsThatCanNotBePlayed() throws Exception {
+    BoardCache cache = new BoardCache();
+    Path broken = dir.resolve("broken.bin");
+    SnakeLadderBoard board = new BoardGameFactory().createEasyBoard();
+    board.getTile(40).setNextTileId(30);
+    new BoardFileWriterBinary().writeBoard(broken, board);
+
+    IllegalArgumentException e =
+        assertThrows(IllegalArgumentException.class, () -> cache.load(broken));
+    assertTrue(e.getMessage().contains("circle"), e.getMessage());
+    assertEquals(0, cache.size());
+  }
+}
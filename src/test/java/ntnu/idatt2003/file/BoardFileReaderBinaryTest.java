@@ -0,0 +1,90 @@
+package ntnu.idatt2003.file;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import ntnu.idatt2003.actions.BonusTileAction;
+import ntnu.idatt2003.actions.LadderAction;
+import ntnu.idatt2003.actions.SnakeAction;
+import ntnu.idatt2003.factory.BoardGameFactory;
+import ntnu.idatt2003.model.snakeandladder.SnakeLadderBoard;
+import ntnu.idatt2003.model.snakeandladder.Tile;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class BoardFileReaderBinaryTest {
+
+  @TempDir
+  Path dir;
+
+  @Test
+  void roundTrip_keepsEveryTile() throws Exception {
+    SnakeLadderBoard board = new BoardGameFactory().createEasyBoard();
+    board.getTile(7).setAction(new BonusTileAction());
+    Path file = dir.resolve("board.bin");
+    new BoardFileWriterBinary().writeBoard(file, board);
+
+    assertEquals(board.contentHash(), new BoardFileReaderBinary().readBoard(file).contentHash());
+    // 90 tiles of two bytes, six jumps of one or two bytes, header and checksum
+    assertTrue(Files.size(file) < 200, "size " + Files.size(file));
+  }
+
+  @Test
+  void roundTrip_keepsSparseAndNegativeIds() throws Exception {
+    // A playable path from the start tile 1 to the finish tile 6 through far apart IDs. A next
+    // tile of 0 means none, so tile 0 is only reached by a snake.
+    SnakeLadderBoard board = new SnakeLadderBoard();
+    int[] path = {1, Integer.MAX_VALUE, -5, Integer.MIN_VALUE, 6};
+    for (int i = 0; i < path.length; i++) {
+      Tile tile = new Tile(path[i]);
+      tile.setNextTileId(i + 1 < path.length ? path[i + 1] : 0);
+      board.addTile(tile);
+    }
+    Tile zero = new Tile(0);
+    zero.setNextTileId(6);
+    board.addTile(zero);
+    board.getTile(-5).setAction(new LadderAction(6));
+    board.getTile(Integer.MIN_VALUE).setAction(new SnakeAction(0));
+    Path file = dir.resolve("sparse.bin");
+    new BoardFileWriterBinary().writeBoard(file, board);
+
+    assertEquals(board.contentHash(), new BoardFileReaderBinary().readBoard(file).contentHash());
+  }
+
+  @Test
+  void readBoard_rejectsBoardsThatCanNotBePlayed() throws Exception {
+    SnakeLadderBoard board = new BoardGameFactory().createEasyBoard();
+    board.getTile(45).setNextTileId(0);
+    Path file = dir.resolve("dead-end.bin");
+    new BoardFileWriterBinary().writeBoard(file, board);
+
+    IllegalArgumentException e = assertThrows(IllegalArgumentException.class,
+        () -> new BoardFileReaderBinary().readBoard(file));
+    assertTrue(e.getMessage().contains("Tile 45 has no next tile"), e.getMessage());
+  }
+
+  @Test
+  void readBoard_rejectsDamagedFiles() throws Exception {
+    Path file = dir.resolve("board.bin");
+    new BoardFileWriterBinary().writeBoard(file, new BoardGameFactory().createEasyBoard());
+    byte[] good = Files.readAllBytes(file);
+    BoardFileReaderBinary reader = new BoardFileReaderBinary();
+
+    byte[] flipped = good.clone();
+    flipped[20] ^= 4;
+    Files.write(file, flipped);
+    assertThrows(IOException.class, () -> reader.readBoard(file));
+
+    Files.write(file, Arrays.copyOf(good, good.length - 3));
+    assertThrows(IOException.class, () -> reader.readBoard(file));
+
+    Files.write(file, Arrays.copyOf(good, good.length + 1));
+    assertThrows(IOException.class, () -> reader.readBoard(file));
+
+    Files.writeString(file, "{\"tiles\": []}");
+    assertThrows(IOException.class, () -> reader.readBoard(file));
+  }
+}
@@ -0,0 +1,84 @@
+package ntnu.idatt2003.file;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import ntnu.idatt2003.actions.BonusTileAction;
+import ntnu.idatt2003.actions.LadderAction;
+import ntnu.idatt2003.actions.SnakeAction;
+import ntnu.idatt2003.model.snakeandladder.SnakeLadderBoard;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class BoardFileReaderStreamingTest {
+
+  @TempDir
+  Path dir;
+
+  @Test
+  void readBoard_matchesTreeReader() throws Exception {
+    Path json = Paths.get(getClass().getResource("/snakes_and_ladders_90.json").toURI());
+    SnakeLadderBoard streamed = new BoardFileReaderStreaming().readBoard(json);
+    SnakeLadderBoard tree = new BoardFileReaderGson().readBoard(json);
+
+    assertEquals(90, streamed.size());
+    assertEquals(tree.contentHash(), streamed.contentHash());
+  }
+
+  @Test
+  void readBoard_acceptsAnyFieldOrderAndSkipsUnknownFields() throws Exception {
+    Path file = dir.resolve("board.json");
+    Files.writeString(file, """
+        {"tiles": [
+          {"action": {"destination": 3, "type": "ladder"}, "nextTile": 2, "id": 1},
+          {"colour": [1, 2], "id": 2, "nextTile": 3, "action": {"type": "BONUS"}},
+          {"nextTile": 4, "id": 3, "action": {"type": "SNAKE", "destination": 2}},
+          {"id": 4, "note": {"x": null}}
+         ],
+         "name": "Små stiger"}
+        """, StandardCharsets.UTF_8);
+    SnakeLadderBoard board = new BoardFileReaderStreaming().readBoard(file);
+
+    assertEquals(4, board.size());
+    assertEquals(3, ((LadderAction) board.getTile(1).getAction()).getDestinationTileId());
+    assertInstanceOf(BonusTileAction.class, board.getTile(2).getAction());
+    assertEquals(2, ((SnakeAction) board.getTile(3).getAction()).getDestinationTileId());
+    assertEquals(0, board.getTile(4).getNextTileId());
+  }
+
+  @Test
+  void readBoard_rejectsBoardsThatCanNotBePlayed() throws Exception {
+    Path file = dir.resolve("circle.json");
+    Files.writeString(file, """
+        {"tiles": [
+          {"id": 1, "nextTile": 2},
+          {"id": 2, "nextTile": 1},
+          {"id": 3}
+        ]}
+        """);
+    IllegalArgumentException e = assertThrows(IllegalArgumentException.class,
+        () -> new BoardFileReaderStreaming().readBoard(file));
+    assertTrue(e.getMessage().contains("run in a circle"), e.getMessage());
+  }
+
+  @Test
+  void readBoard_rejectsBrokenFiles() throws Exception {
+    BoardFileReaderStreaming reader = new BoardFileReaderStreaming();
+    Path noId = dir.resolve("no-id.json");
+    Files.writeString(noId, "{\"tiles\": [{\"nextTile\": 2}]}");
+    assertThrows(IllegalArgumentException.class, () -> reader.readBoard(noId));
+
+    Path badAction = dir.resolve("bad-action.json");
+    Files.writeString(badAction, "{\"tiles\": [{\"id\": 1, \"action\": {\"type\": \"WORM\"}}]}");
+    assertThrows(IllegalArgumentException.class, () -> reader.readBoard(badAction));
+
+    Path noTiles = dir.resolve("no-tiles.json");
+    Files.writeString(noTiles, "{\"name\": \"empty\"}");
+    assertThrows(IllegalArgumentException.class, () -> reader.readBoard(noTiles));
+
+    assertThrows(Exception.class, () -> reader.readBoard(Paths.get("nonexistent_file.json")));
+  }
+}
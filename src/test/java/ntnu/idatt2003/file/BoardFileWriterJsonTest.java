@@ -0,0 +1,36 @@
+package ntnu.idatt2003.file;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import ntnu.idatt2003.factory.BoardGameFactory;
+import ntnu.idatt2003.model.snakeandladder.SnakeLadderBoard;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class BoardFileWriterJsonTest {
+
+  @TempDir
+  Path dir;
+
+  @Test
+  void writeBoard_roundTripsThroughBothJsonReaders() throws Exception {
+    SnakeLadderBoard board = new BoardFileReaderStreaming().readBoard(
+        Paths.get(getClass().getResource("/snakes_and_ladders_90.json").toURI()));
+    Path file = dir.resolve("board.json");
+    new BoardFileWriterJson().writeBoard(file, board);
+
+    assertEquals(board.contentHash(), new BoardFileReaderStreaming().readBoard(file).contentHash());
+    assertEquals(board.contentHash(), new BoardFileReaderGson().readBoard(file).contentHash());
+  }
+
+  @Test
+  void writeBoard_rejectsUnknownActions() {
+    SnakeLadderBoard board = new BoardGameFactory().createEasyBoard();
+    board.getTile(5).setAction(player -> {
+    });
+    assertThrows(IllegalArgumentException.class,
+        () -> new BoardFileWriterJson().writeBoard(dir.resolve("board.json"), board));
+  }
+}
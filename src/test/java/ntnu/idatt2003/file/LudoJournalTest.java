@@ -0,0 +1,104 @@
+package ntnu.idatt2003.file;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.SplittableRandom;
+import ntnu.idatt2003.model.ludo.LudoRules;
+import ntnu.idatt2003.model.ludo.LudoState;
+import ntnu.idatt2003.model.ludo.TokenColor;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class LudoJournalTest {
+
+  @TempDir
+  Path dir;
+
+  /**
+   * Plays random legal turns, journaling each one, and returns the final position.
+   */
+  private static LudoState play(LudoJournal journal, LudoState state, int turns, long seed)
+      throws IOException {
+    SplittableRandom random = new SplittableRandom(seed);
+    int[] moves = new int[4];
+    for (int i = 0; i < turns && LudoRules.winner(state) < 0; i++) {
+      int roll = random.nextInt(6) + 1;
+      int seat = state.currentPlayer();
+      int count = LudoRules.generateMoves(state, roll, moves);
+      if (count == 0) {
+        state = LudoRules.pass(state, roll);
+        journal.recordPass(seat, roll);
+      } else {
+        int token = LudoRules.moveToken(moves[random.nextInt(count)]);
+        state = LudoRules.apply(state, token, roll);
+        journal.recordMove(seat, token, roll, state);
+      }
+    }
+    return state;
+  }
+
+  @Test
+  void load_replaysFromTheLastSnapshot() throws IOException {
+    Path file = dir.resolve("game.journal");
+    LudoState start = LudoState.start(List.of(TokenColor.YELLOW, TokenColor.RED,
+        TokenColor.GREEN));
+    LudoState end;
+    try (LudoJournal journal = LudoJournal.create(file, start, 5)) {
+      end = play(journal, start, 300, 1L);
+    }
+    assertEquals(end, LudoJournal.load(file));
+  }
+
+  @Test
+  void open_continuesAJournal_andDropsACutOffRecord() throws IOException {
+    Path file = dir.resolve("game.journal");
+    LudoState start = LudoState.start(List.of(TokenColor.BLUE, TokenColor.GREEN));
+    LudoState middle;
+    try (LudoJournal journal = LudoJournal.create(file, start, 7)) {
+      middle = play(journal, start, 100, 2L);
+    }
+    // a crash half way through the next record
+    Files.write(file, new byte[] {'M', 1}, StandardOpenOption.APPEND);
+    assertEquals(middle, LudoJournal.load(file));
+
+    LudoState end;
+    try (LudoJournal journal = LudoJournal.open(file, 7)) {
+      end = play(journal, LudoJournal.load(file), 100, 3L);
+    }
+    assertEquals(end, LudoJournal.load(file));
+  }
+
+  @Test
+  void movesCostThreeBytes() throws IOException {
+    Path file = dir.resolve("game.journal");
+    LudoState start = LudoState.start(List.of(TokenColor.YELLOW, TokenColor.BLUE));
+    try (LudoJournal journal = LudoJournal.create(file, start, 1000)) {
+      long before = Files.size(file);
+      LudoState after = LudoRules.apply(start, 0, 6);
+      journal.recordMove(0, 0, 6, after);
+      journal.recordPass(0, 2);
+      assertEquals(before + 5, Files.size(file));
+    }
+  }
+
+  @Test
+  void invalidFiles_throw() throws IOException {
+    Path file = dir.resolve("bad.journal");
+    Files.write(file, new byte[] {1, 2, 3, 4, 5, 6});
+    assertThrows(IOException.class, () -> LudoJournal.load(file));
+
+    LudoState start = LudoState.start(List.of(TokenColor.YELLOW, TokenColor.BLUE));
+    try (LudoJournal journal = LudoJournal.create(file, start, 10)) {
+      // a move out of home with a 3 is not legal
+      journal.recordMove(0, 0, 3, start.withOffset(0, 0, 2));
+    }
+    assertThrows(IOException.class, () -> LudoJournal.load(file));
+
+    assertThrows(IllegalArgumentException.class, () -> LudoJournal.create(file, start, 0));
+  }
+}
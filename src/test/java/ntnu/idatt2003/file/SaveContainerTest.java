@@ -0,0 +1,57 @@
+package ntnu.idatt2003.file;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class SaveContainerTest {
+
+  private static final SaveContainer CONTAINER = new SaveContainer(0x54455354, (short) 3, "Test");
+
+  @TempDir
+  Path dir;
+
+  @Test
+  void wrapAndUnwrap_returnTheSamePayload() throws IOException {
+    ByteBuffer wrapped = CONTAINER.wrap(ByteBuffer.wrap(new byte[] {1, 2, 3}));
+    assertEquals(SaveContainer.HEADER_BYTES + 3, wrapped.array().length);
+
+    ByteBuffer payload = CONTAINER.unwrap(wrapped);
+    assertEquals(3, payload.remaining());
+    assertEquals(3, payload.get(2));
+  }
+
+  @Test
+  void unwrap_rejectsOtherFormatsAndDamage() {
+    byte[] good = CONTAINER.wrap(ByteBuffer.wrap(new byte[] {1, 2, 3})).array();
+
+    IOException e = assertThrows(IOException.class, () -> new SaveContainer(0x4F544852,
+        (short) 3, "Chess").unwrap(ByteBuffer.wrap(good)));
+    assertEquals("Not a Chess save file", e.getMessage());
+    assertThrows(IOException.class, () -> new SaveContainer(0x54455354, (short) 4, "Test")
+        .unwrap(ByteBuffer.wrap(good)));
+
+    byte[] flipped = good.clone();
+    flipped[SaveContainer.HEADER_BYTES + 1] ^= 1;
+    assertThrows(IOException.class, () -> CONTAINER.unwrap(ByteBuffer.wrap(flipped)));
+    assertThrows(IOException.class,
+        () -> CONTAINER.unwrap(ByteBuffer.wrap(good, 0, good.length - 1)));
+  }
+
+  @Test
+  void writeAndRead_checkTheWholeFile() throws IOException {
+    Path file = dir.resolve("test.sav");
+    CONTAINER.write(file, ByteBuffer.wrap(new byte[] {7, 8}));
+    assertEquals(SaveContainer.HEADER_BYTES + 2, Files.size(file));
+    assertEquals(8, CONTAINER.read(file).get(1));
+
+    Files.write(file, new byte[] {0}, StandardOpenOption.APPEND);
+    assertThrows(IOException.class, () -> CONTAINER.read(file));
+  }
+}
@@ -0,0 +1,78 @@
+package ntnu.idatt2003.file;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import ntnu.idatt2003.factory.BoardGameFactory;
+import ntnu.idatt2003.model.snakeandladder.SnakeAndLadderGame;
+import ntnu.idatt2003.model.snakeandladder.SnakeLadderBoard;
+import ntnu.idatt2003.model.snakeandladder.SnakeLadderPlayer;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class SnakeLadderAutosaveTest {
+
+  @TempDir
+  Path dir;
+
+  private SnakeLadderAutosave autosave;
+  private SnakeAndLadderGame game;
+
+  @BeforeEach
+  void setUp() {
+    autosave = new SnakeLadderAutosave(dir);
+    SnakeLadderBoard board = new BoardGameFactory().createEasyBoard();
+    game = SnakeAndLadderGame.headless(board, List.of(
+        new SnakeLadderPlayer("Ann", 10, null, board.getTile(1)),
+        new SnakeLadderPlayer("Ben", 12, null, board.getTile(1))), 1, 3L);
+  }
+
+  @Test
+  void resume_returnsTheLastSavedTurn() throws Exception {
+    try (AutosaveWorker<byte[]> worker = autosave.start(game)) {
+      assertFalse(Files.exists(dir.resolve(SnakeLadderAutosave.BOARD_DIRECTORY)),
+          "The board is registered by the worker, not by start");
+      for (int i = 0; i < 5; i++) {
+        game.playTurn();
+        worker.submit(game.toSaveData());
+      }
+      worker.flush();
+      assertTrue(worker.getLastReport().succeeded());
+    }
+    assertTrue(Files.exists(dir.resolve(SnakeLadderAutosave.BOARD_DIRECTORY)
+        .resolve(game.getBoard().contentHash() + ".board")));
+
+    SnakeAndLadderGame resumed = new SnakeLadderAutosave(dir).resume();
+    assertNotNull(resumed);
+    assertEquals(game.getBoard().contentHash(), resumed.getBoard().contentHash());
+    assertEquals(game.getCurrentPlayer().getName(), resumed.getCurrentPlayer().getName());
+    for (int i = 0; i < 2; i++) {
+      assertEquals(game.tileOf(game.getPlayers().get(i)),
+          resumed.tileOf(resumed.getPlayers().get(i)));
+    }
+  }
+
+  @Test
+  void resume_withoutAnUnfinishedGame_returnsNull() throws Exception {
+    assertNull(autosave.resume());
+
+    game.playToEnd(10_000);
+    try (AutosaveWorker<byte[]> worker = autosave.start(game)) {
+      worker.submit(game.toSaveData());
+    }
+    assertTrue(Files.exists(dir.resolve(SnakeLadderAutosave.SAVE_FILE)));
+    assertNull(autosave.resume(), "A won game is not resumed");
+  }
+
+  @Test
+  void resume_rejectsADamagedSave() throws IOException {
+    Files.write(dir.resolve(SnakeLadderAutosave.SAVE_FILE), new byte[] {1, 2, 3});
+    assertThrows(IOException.class, () -> autosave.resume());
+    assertThrows(IllegalArgumentException.class, () -> new SnakeLadderAutosave(null));
+    assertThrows(IllegalArgumentException.class, () -> autosave.start(null));
+  }
+}
@@ -93,12 +93,13 @@ class BoardTest {
   }
 
   @Test
-  void movePlayer_missingNextTile_throwsNullPointer() {
+  void movePlayer_missingNextTile_throwsIllegalState() {
     Tile detachedTile = new Tile(42);
     board.addTile(detachedTile);
     mash.setCurrentTile(detachedTile);
-    assertThrows(NullPointerException.class,
+    assertThrows(IllegalStateException.class,
         () -> board.movePlayer(mash, 1));
+    assertSame(detachedTile, mash.getCurrentTile());
   }
 
 }
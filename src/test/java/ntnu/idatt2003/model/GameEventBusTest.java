@@ -0,0 +1,223 @@
+package ntnu.idatt2003.model;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import ntnu.idatt2003.view.Observer;
+import org.junit.jupiter.api.Test;
+
+class GameEventBusTest {
+
+  private static class Recorder implements Observer<String> {
+    private final List<String> events = Collections.synchronizedList(new ArrayList<>());
+
+    @Override public void onPlayerMoved(String p, int from, int to) {
+      events.add(p + " " + from + "-" + to);
+    }
+    @Override public void onDiceRolled(List<Integer> values) {
+      events.add("dice " + values);
+    }
+    @Override public void onNextPlayer(String next) {
+      events.add("next " + next);
+    }
+    @Override public void onGameOver(String winner) {
+      events.add("over " + winner);
+    }
+    @Override public void placeAllPlayers() {}
+  }
+
+  @Test
+  void moves_areOnlyMergedForTheSamePiece() {
+    List<Runnable> pulses = new ArrayList<>();
+    GameEventBus<String> bus = new GameEventBus<>(pulses::add);
+    Recorder recorder = new Recorder();
+    bus.addObserver(recorder);
+    Object first = new Object();
+    Object second = new Object();
+
+    bus.playerMoved("A", first, 3, 9);
+    bus.playerMoved("A", second, 9, 12);
+    bus.playerMoved("A", first, 9, 11);
+    pulses.removeFirst().run();
+
+    assertEquals(List.of("A 9-12", "A 3-11"), recorder.events, "merged at the later move");
+  }
+
+  @Test
+  void directDispatcher_deliversEachEventBeforePostReturns() {
+    GameEventBus<String> bus = new GameEventBus<>(Runnable::run);
+    Recorder recorder = new Recorder();
+    bus.addObserver(recorder);
+
+    bus.diceRolled(List.of(2));
+    assertEquals(List.of("dice [2]"), recorder.events);
+    bus.diceRolled(List.of(6));
+    assertEquals(List.of("dice [2]", "dice [6]"), recorder.events);
+  }
+
+  @Test
+  void batch_isDeliveredOnce_andCoalesced() {
+    List<Runnable> pulses = new ArrayList<>();
+    GameEventBus<String> bus = new GameEventBus<>(pulses::add);
+    Recorder recorder = new Recorder();
+    bus.addObserver(recorder);
+
+    bus.diceRolled(List.of(3));
+    bus.playerMoved("A", 1, 4);
+    bus.nextPlayer("B");
+    bus.diceRolled(List.of(4));
+    bus.playerMoved("B", 1, 5);
+    bus.nextPlayer("A");
+    bus.diceRolled(List.of(5));
+    bus.playerMoved("A", 4, 9);
+    bus.playerMoved("A", 9, 20);
+    bus.gameOver("A");
+
+    assertEquals(1, pulses.size(), "one drain per pulse");
+    pulses.removeFirst().run();
+    assertEquals(List.of("B 1-5", "next A", "dice [5]", "A 1-20", "over A"), recorder.events);
+
+    bus.nextPlayer("B");
+    assertEquals(1, pulses.size(), "a new batch schedules a new drain");
+  }
+
+  @Test
+  void movesThatDoNotContinueEachOther_areKept() {
+    GameEventBus<String> bus = new GameEventBus<>(Runnable::run);
+    Recorder recorder = new Recorder();
+    bus.addObserver(recorder);
+    bus.playerMoved("A", 1, 4);
+    bus.playerMoved("A", 7, 9);
+    assertEquals(List.of("A 1-4", "A 7-9"), recorder.events);
+  }
+
+  @Test
+  void fullRing_spillsInOrder() {
+    List<Runnable> pulses = new ArrayList<>();
+    GameEventBus<String> bus = new GameEventBus<>(pulses::add, 2);
+    Recorder recorder = new Recorder();
+    bus.addObserver(recorder);
+    List<String> expected = new ArrayList<>();
+    for (int i = 0; i < 10; i++) {
+      bus.playerMoved("P", i * 10, i * 10 + 1);
+      expected.add("P " + (i * 10) + "-" + (i * 10 + 1));
+    }
+    pulses.removeFirst().run();
+    assertEquals(expected, recorder.events);
+    assertTrue(pulses.isEmpty());
+  }
+
+  @Test
+  void withoutObservers_nothingIsDispatched() {
+    GameEventBus<String> bus = new GameEventBus<>(r -> fail("nothing to deliver"));
+    bus.playerMoved("A", 1, 2);
+    bus.gameOver("A");
+    assertFalse(bus.hasObservers());
+  }
+
+  @Test
+  void invalidArguments_throw() {
+    assertThrows(IllegalArgumentException.class, () -> new GameEventBus<String>(null));
+    assertThrows(IllegalArgumentException.class, () -> new GameEventBus<String>(Runnable::run, 0));
+  }
+
+  @Test
+  void concurrentPosters_loseNothingAndKeepTheirOrder() throws InterruptedException {
+    int threads = 4;
+    int perThread = 5_000;
+    GameEventBus<String> bus = new GameEventBus<>(Runnable::run, 64);
+    Map<String, List<Integer>> seen = new ConcurrentHashMap<>();
+    bus.addObserver(new Recorder() {
+      @Override public void onPlayerMoved(String p, int from, int to) {
+        seen.computeIfAbsent(p, k -> new ArrayList<>()).add(from);
+      }
+    });
+    CountDownLatch start = new CountDownLatch(1);
+    List<Thread> workers = new ArrayList<>();
+    for (int t = 0; t < threads; t++) {
+      String name = "T" + t;
+      Thread worker = new Thread(() -> {
+        try {
+          start.await();
+        } catch (InterruptedException e) {
+          return;
+        }
+        for (int i = 0; i < perThread; i++) {
+          bus.playerMoved(name, 2 * i, 2 * i + 1);
+        }
+      });
+      workers.add(worker);
+      worker.start();
+    }
+    start.countDown();
+    for (Thread worker : workers) {
+      worker.join();
+    }
+    for (int t = 0; t < threads; t++) {
+      List<Integer> froms = seen.get("T" + t);
+      assertEquals(perThread, froms.size());
+      for (int i = 0; i < perThread; i++) {
+        assertEquals(2 * i, froms.get(i));
+      }
+    }
+  }
+
+  @Test
+  void manyPosters_onAQueuedDispatcher_loseNothingAndDoNotSpin() throws InterruptedException {
+    int threads = 8;
+    int perThread = 20_000;
+    ExecutorService fxThread = Executors.newSingleThreadExecutor();
+    AtomicInteger drains = new AtomicInteger();
+    GameEventBus<String> bus = new GameEventBus<>(task -> {
+      drains.incrementAndGet();
+      fxThread.execute(task);
+    }, 16);
+    Map<String, List<Integer>> seen = new ConcurrentHashMap<>();
+    bus.addObserver(new Recorder() {
+      @Override public void onPlayerMoved(String p, int from, int to) {
+        seen.computeIfAbsent(p, k -> new ArrayList<>()).add(from);
+      }
+    });
+    CountDownLatch start = new CountDownLatch(1);
+    List<Thread> workers = new ArrayList<>();
+    for (int t = 0; t < threads; t++) {
+      String name = "T" + t;
+      Thread worker = new Thread(() -> {
+        try {
+          start.await();
+        } catch (InterruptedException e) {
+          return;
+        }
+        for (int i = 0; i < perThread; i++) {
+          bus.playerMoved(name, 2 * i, 2 * i + 1);
+        }
+      });
+      workers.add(worker);
+      worker.start();
+    }
+    start.countDown();
+    for (Thread worker : workers) {
+      worker.join();
+    }
+    fxThread.shutdown();
+    assertTrue(fxThread.awaitTermination(10, TimeUnit.SECONDS));
+
+    for (int t = 0; t < threads; t++) {
+      List<Integer> froms = seen.get("T" + t);
+      assertEquals(perThread, froms.size());
+      for (int i = 0; i < perThread; i++) {
+        assertEquals(2 * i, froms.get(i));
+      }
+    }
+    assertTrue(drains.get() <= threads * perThread, "at most one drain per published event");
+  }
+}
@@ -0,0 +1,44 @@
+package ntnu.idatt2003.model;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+
+class ReplayLogTest {
+
+  @Test
+  void add_growsAndKeepsUnsignedValues() {
+    ReplayLog log = new ReplayLog();
+    for (int i = 0; i < 300; i++) {
+      log.add(i & 0xFF);
+    }
+    assertEquals(300, log.size());
+    assertEquals(255, log.get(255));
+    assertEquals(44, log.get(300 - 256));
+
+    log.set(0, 200);
+    assertEquals(200, log.get(0));
+  }
+
+  @Test
+  void outOfRange_throws() {
+    ReplayLog log = new ReplayLog();
+    assertThrows(IllegalArgumentException.class, () -> log.add(256));
+    assertThrows(IllegalArgumentException.class, () -> log.add(-1));
+    assertThrows(IllegalArgumentException.class, () -> log.get(0));
+    assertThrows(IllegalArgumentException.class, () -> log.set(0, 1));
+    assertThrows(IllegalArgumentException.class, () -> ReplayLog.of(null));
+  }
+
+  @Test
+  void copiesAreIndependent() {
+    ReplayLog log = ReplayLog.of(new byte[] {1, 2, (byte) 0xF3});
+    ReplayLog copy = log.copy();
+    copy.add(4);
+    copy.set(0, 9);
+
+    assertArrayEquals(new byte[] {1, 2, (byte) 0xF3}, log.toByteArray());
+    assertEquals(0xF3, log.get(2));
+    assertEquals(4, copy.size());
+  }
+}
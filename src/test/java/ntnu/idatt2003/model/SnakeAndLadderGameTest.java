@@ -2,9 +2,11 @@ package ntnu.idatt2003.model;
 
 import static org.junit.jupiter.api.Assertions.*;
 
-import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 
+import ntnu.idatt2003.actions.BonusTileAction;
 import ntnu.idatt2003.core.PlayerIcon;
 import ntnu.idatt2003.model.snakeandladder.SnakeAndLadderGame;
 import ntnu.idatt2003.model.snakeandladder.SnakeLadderBoard;
@@ -68,11 +70,12 @@ class SnakeAndLadderGameTest {
   }
 
   @Test
-  void playerGetsExtraTurn_clearsExtraTurnFlag() {
+  void playerGetsExtraTurn_usesUpTheBonusTurn() {
+    board.getTile(2).setAction(new BonusTileAction());
     var g = new SnakeAndLadderGame(board, players, 1);
-    g.getCurrentPlayer().setExtraTurn(true);
+    g.moveCurrentPlayer(1);
     assertTrue(g.playerGetsExtraTurn(List.of(2)));
-    assertFalse(g.getCurrentPlayer().hasExtraTurn());
+    assertFalse(g.playerGetsExtraTurn(List.of(2)));
   }
 
 
@@ -94,10 +97,13 @@ class SnakeAndLadderGameTest {
 
 
   @Test
-  void addObserver_registersObserver() throws Exception {
-    var game = new SnakeAndLadderGame(board, players, 1);
+  void addObserver_registersObserver() {
+    var game = SnakeAndLadderGame.headless(board, players, 1);
+    List<Integer> moves = new ArrayList<>();
     Observer<SnakeLadderPlayer> obs = new Observer<>() {
-      @Override public void onPlayerMoved(SnakeLadderPlayer p, int f, int t) {}
+      @Override public void onPlayerMoved(SnakeLadderPlayer p, int f, int t) {
+        moves.add(t);
+      }
 
       @Override
       public void onDiceRolled(List<Integer> values) {
@@ -113,10 +119,112 @@ class SnakeAndLadderGameTest {
       }
     };
     game.addObserver(obs);
-    Field fld = SnakeAndLadderGame.class.getDeclaredField("observers");
-    fld.setAccessible(true);
-    @SuppressWarnings("unchecked")
-    var list = (List<Observer<SnakeLadderPlayer>>) fld.get(game);
-    assertTrue(list.contains(obs));
+    game.moveCurrentPlayer(1);
+    assertEquals(List.of(2), moves);
+  }
+
+  @Test
+  void headless_playToEnd_finishesWithoutToolkit() {
+    var game = SnakeAndLadderGame.headless(board, players, 1);
+    int turns = game.playToEnd(1_000);
+    assertTrue(game.gameDone());
+    assertTrue(turns >= 1 && turns < 1_000);
+    assertEquals(3, game.tileOf(game.getWinner()));
+  }
+
+  @Test
+  void customDispatcher_receivesNotificationsAndResult() {
+    List<Runnable> dispatched = new ArrayList<>();
+    List<List<SnakeLadderPlayer>> recorded = new ArrayList<>();
+    List<String> delivered = new ArrayList<>();
+    var game = new SnakeAndLadderGame(board, players, 1, dispatched::add, recorded::add);
+    game.addObserver(new Observer<>() {
+      @Override public void onPlayerMoved(SnakeLadderPlayer p, int f, int t) {
+        delivered.add("move " + f + "-" + t);
+      }
+      @Override public void onDiceRolled(List<Integer> values) {}
+      @Override public void onNextPlayer(SnakeLadderPlayer np) {}
+      @Override public void onGameOver(SnakeLadderPlayer w) {
+        delivered.add("over");
+      }
+      @Override public void placeAllPlayers() {}
+    });
+
+    game.moveCurrentPlayer(2);
+
+    assertTrue(game.gameDone());
+    assertEquals(1, dispatched.size(), "The move and game over are delivered in one batch");
+    assertTrue(delivered.isEmpty());
+    dispatched.getFirst().run();
+    assertEquals(List.of("move 1-3", "over"), delivered);
+    assertEquals(1, recorded.size());
+    assertEquals(2, recorded.getFirst().size());
+  }
+
+  @Test
+  void playTurn_afterGameOver_throws() {
+    var game = SnakeAndLadderGame.headless(board, players, 1);
+    game.moveCurrentPlayer(2);
+    assertThrows(IllegalStateException.class, game::playTurn);
+  }
+
+  @Test
+  void replay_reachesTheSamePositionWithoutNotifying() {
+    SnakeLadderBoard firstBoard = chainBoard(200);
+    var original = SnakeAndLadderGame.headless(firstBoard, playersOn(firstBoard), 2, 17L);
+    for (int i = 0; i < 12; i++) {
+      original.playTurn();
+    }
+    ReplayLog log = original.getReplayLog();
+    assertEquals(24, log.size(), "one input per die per turn");
+
+    SnakeLadderBoard secondBoard = chainBoard(200);
+    List<Runnable> dispatched = new ArrayList<>();
+    var copy = new SnakeAndLadderGame(secondBoard, playersOn(secondBoard), 2, dispatched::add,
+        finished -> fail("result recorder must not run during replay"));
+    copy.addObserver(new Observer<>() {
+      @Override public void onPlayerMoved(SnakeLadderPlayer p, int f, int t) {}
+      @Override public void onDiceRolled(List<Integer> values) {}
+      @Override public void onNextPlayer(SnakeLadderPlayer np) {}
+      @Override public void onGameOver(SnakeLadderPlayer w) {}
+      @Override public void placeAllPlayers() {}
+    });
+
+    assertEquals(5, copy.replay(log, 5));
+    ReplayLog rest = ReplayLog.of(Arrays.copyOfRange(log.toByteArray(), 10, 24));
+    assertEquals(7, copy.replay(rest, 100));
+    assertEquals(original.getCurrentPlayer().getName(), copy.getCurrentPlayer().getName());
+    for (int i = 0; i < 2; i++) {
+      assertEquals(original.tileOf(original.getPlayers().get(i)),
+          copy.tileOf(copy.getPlayers().get(i)));
+    }
+    assertArrayEquals(log.toByteArray(), copy.getReplayLog().toByteArray());
+    assertTrue(dispatched.isEmpty());
+  }
+
+  @Test
+  void seededGames_playTheSameRolls() {
+    var a = SnakeAndLadderGame.headless(board, players, 2, 3L);
+    var b = SnakeAndLadderGame.headless(board, players, 2, 3L);
+    for (int i = 0; i < 20; i++) {
+      assertEquals(a.rollIndividual(), b.rollIndividual());
+      assertEquals(a.rollDice(), b.rollDice());
+    }
+  }
+
+  private static SnakeLadderBoard chainBoard(int size) {
+    SnakeLadderBoard chain = new SnakeLadderBoard();
+    for (int id = 1; id <= size; id++) {
+      Tile tile = new Tile(id);
+      tile.setNextTileId(id < size ? id + 1 : 0);
+      chain.addTile(tile);
+    }
+    return chain;
+  }
+
+  private static List<SnakeLadderPlayer> playersOn(SnakeLadderBoard board) {
+    return List.of(
+        new SnakeLadderPlayer("Young", 20, PlayerIcon.CAT, board.getTile(1)),
+        new SnakeLadderPlayer("Old", 40, PlayerIcon.DOG, board.getTile(1)));
   }
 }
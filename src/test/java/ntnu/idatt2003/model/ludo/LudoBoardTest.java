@@ -74,4 +74,36 @@ class LudoBoardTest {
     }
   }
 
+  @Test
+  void fullPath_isCachedAndImmutable() {
+    List<LudoTile> path = board.getFullPath(TokenColor.RED);
+    assertSame(path, board.getFullPath(TokenColor.RED));
+    assertThrows(UnsupportedOperationException.class, () -> path.set(0, path.get(1)));
+  }
+
+  @Test
+  void pathOffset_matchesFullPathPosition() {
+    for (TokenColor color : TokenColor.values()) {
+      List<LudoTile> path = board.getFullPath(color);
+      for (int i = 0; i < path.size(); i++) {
+        assertEquals(i, LudoBoard.pathOffset(color, path.get(i)));
+      }
+      assertEquals(-1, LudoBoard.pathOffset(color, board.getHome(color).getFirst()));
+    }
+  }
+
+  @Test
+  void getNextTile_usesTokenOffsetAndClampsAtFinish() {
+    LudoPlayer player = new LudoPlayer("P", 30, PlayerIcon.CAR, TokenColor.BLUE,
+        board.getHome(TokenColor.BLUE));
+    Token token = player.getToken();
+    List<LudoTile> path = board.getFullPath(TokenColor.BLUE);
+
+    assertSame(token.getPosition(), board.getNextTile(token, 5));
+    assertSame(path.get(0), board.getNextTile(token, 6));
+
+    token.moveTo(path.get(40));
+    assertSame(path.get(43), board.getNextTile(token, 3));
+    assertSame(path.get(48), board.getNextTile(token, 12));
+  }
 }
@@ -7,10 +7,13 @@ import org.junit.jupiter.api.*;
 
 
 
+import java.util.ArrayList;
 import java.util.List;
 
 
 import ntnu.idatt2003.core.PlayerIcon;
+import ntnu.idatt2003.model.ReplayLog;
+import ntnu.idatt2003.view.Observer;
 
 
 class LudoGameTest {
@@ -102,4 +105,193 @@ class LudoGameTest {
     assertEquals(done, g2.getWinner());
   }
 
+  @Test
+  @DisplayName("generateMoves lists movable tokens with destinations and capture flags")
+  void testGenerateMoves() {
+    int[] moves = new int[4];
+    assertEquals(0, game.generateMoves(3, moves));
+    assertEquals(4, game.generateMoves(6, moves));
+    assertEquals(0, LudoRules.moveDestination(moves[0]));
+
+    // Yellow offset 10 + 3 lands on square 13, where blue (start 11) stands at offset 2
+    p1.getTokens().get(1).moveTo(board.getFullPath(TokenColor.YELLOW).get(10));
+    p2.getTokens().get(0).moveTo(board.getFullPath(TokenColor.BLUE).get(2));
+    assertEquals(1, game.generateMoves(3, moves));
+    assertEquals(1, LudoRules.moveToken(moves[0]));
+    assertEquals(13, LudoRules.moveDestination(moves[0]));
+    assertTrue(LudoRules.isCapture(moves[0]));
+
+    game.selectToken(p1.getTokens().get(1));
+    game.moveCurrentPlayer(3);
+    assertTrue(p2.getTokens().get(0).isAtHome());
+  }
+
+  @Test
+  @DisplayName("generateMoves leaves out moves onto a safe star held by an opponent")
+  void testGenerateMovesSafeStarBlocked() {
+    int[] moves = new int[4];
+    // Square 18 is safe; blue offset 7 stands there, yellow offset 15 would land there with a 3
+    p1.getTokens().get(0).moveTo(board.getFullPath(TokenColor.YELLOW).get(15));
+    p2.getTokens().get(0).moveTo(board.getFullPath(TokenColor.BLUE).get(7));
+    assertEquals(0, game.generateMoves(3, moves));
+    assertEquals(1, game.generateMoves(4, moves));
+    assertFalse(LudoRules.isCapture(moves[0]));
+  }
+
+  @Test
+  @DisplayName("A seeded game with its own dispatcher runs headless and repeats its rolls")
+  void testSeededGameWithDispatcher() {
+    List<Integer> rolls = new ArrayList<>();
+    LudoGame headless = new LudoGame(List.of(p1, p2), board, 9L, Runnable::run);
+    headless.addObserver(new Observer<>() {
+      @Override public void onPlayerMoved(LudoPlayer p, int f, int t) {}
+      @Override public void onDiceRolled(List<Integer> values) { rolls.addAll(values); }
+      @Override public void onNextPlayer(LudoPlayer np) {}
+      @Override public void onGameOver(LudoPlayer w) {}
+      @Override public void placeAllPlayers() {}
+    });
+    LudoGame same = new LudoGame(List.of(p1, p2), board, 9L, Runnable::run);
+    for (int i = 0; i < 20; i++) {
+      assertEquals(same.rollDice(), headless.rollDice());
+    }
+    assertEquals(20, rolls.size(), "Notifications are delivered on the calling thread");
+    assertThrows(IllegalArgumentException.class,
+        () -> new LudoGame(List.of(p1, p2), board, 9L, null));
+  }
+
+  @Test
+  @DisplayName("Observers are notified on the calling thread by default")
+  void testDefaultNotificationsAreSynchronous() {
+    List<String> events = new ArrayList<>();
+    game.addObserver(recorder(events));
+    game.rollDice();
+    assertEquals(List.of("roll"), events);
+    game.nextPlayer();
+    assertEquals(List.of("roll", "next"), events);
+  }
+
+  @Test
+  @DisplayName("Batched moves of two tokens through the same tile stay two moves")
+  void testBatchedMovesAreKeptPerToken() {
+    List<Runnable> pulses = new ArrayList<>();
+    LudoGame batched = new LudoGame(List.of(p1, p2), board, pulses::add);
+    List<String> events = new ArrayList<>();
+    batched.addObserver(new Observer<>() {
+      @Override public void onPlayerMoved(LudoPlayer p, int f, int t) { events.add(f + "-" + t); }
+      @Override public void onDiceRolled(List<Integer> values) {}
+      @Override public void onNextPlayer(LudoPlayer np) {}
+      @Override public void onGameOver(LudoPlayer w) {}
+      @Override public void placeAllPlayers() {}
+    });
+    List<LudoTile> path = board.getFullPath(TokenColor.YELLOW);
+    p1.getTokens().get(0).moveTo(path.get(10));
+    p1.getTokens().get(1).moveTo(path.get(13));
+
+    batched.selectToken(p1.getTokens().get(0));
+    batched.moveCurrentPlayer(3);
+    batched.selectToken(p1.getTokens().get(1));
+    batched.moveCurrentPlayer(2);
+    pulses.forEach(Runnable::run);
+
+    int a = path.get(10).getIndex();
+    int b = path.get(13).getIndex();
+    int c = path.get(15).getIndex();
+    assertEquals(List.of(a + "-" + b, b + "-" + c), events);
+  }
+
+  private static Observer<LudoPlayer> recorder(List<String> events) {
+    return new Observer<>() {
+      @Override public void onPlayerMoved(LudoPlayer p, int f, int t) { events.add("move"); }
+      @Override public void onDiceRolled(List<Integer> values) { events.add("roll"); }
+      @Override public void onNextPlayer(LudoPlayer np) { events.add("next"); }
+      @Override public void onGameOver(LudoPlayer w) { events.add("over"); }
+      @Override public void placeAllPlayers() {}
+    };
+  }
+
+  @Test
+  @DisplayName("generateMoves gives the same moves as LudoRules on the packed state")
+  void testGenerateMovesMatchesRules() {
+    List<LudoPlayer> four = new ArrayList<>();
+    TokenColor[] colors = TokenColor.values();
+    for (int i = 0; i < 4; i++) {
+      four.add(new LudoPlayer("P" + i, 20, PlayerIcon.values()[i], colors[i],
+          board.getHome(colors[i])));
+    }
+    LudoGame g = new LudoGame(four, board, 3L, Runnable::run);
+    int[] moves = new int[4];
+    int[] expected = new int[4];
+    for (int turn = 0; turn < 2000 && !g.gameDone(); turn++) {
+      int roll = g.rollDice();
+      int count = g.generateMoves(roll, moves);
+      assertEquals(LudoRules.generateMoves(g.getState(), roll, expected), count);
+      for (int i = 0; i < count; i++) {
+        assertEquals(expected[i], moves[i], "Move " + i + " on turn " + turn);
+      }
+      if (count == 0) {
+        g.nextPlayer();
+        continue;
+      }
+      int move = moves[turn % count];
+      g.selectToken(g.getCurrentPlayer().getTokens().get(LudoRules.moveToken(move)));
+      g.moveCurrentPlayer(roll);
+      if (!g.gameDone() && roll != 6) {
+        g.nextPlayer();
+      }
+    }
+  }
+
+  @Test
+  @DisplayName("replay brings a fresh game to the same position without notifying observers")
+  void testReplay() {
+    LudoGame original = new LudoGame(List.of(p1, p2), board, 21L, Runnable::run);
+    int[] moves = new int[4];
+    for (int turn = 0; turn < 200 && !original.gameDone(); turn++) {
+      int roll = original.rollDice();
+      int count = original.generateMoves(roll, moves);
+      if (count == 0) {
+        original.nextPlayer();
+        continue;
+      }
+      // alternate between the first and last legal move, like a player clicking around
+      int move = moves[turn % 2 == 0 ? 0 : count - 1];
+      original.selectToken(original.getCurrentPlayer().getTokens().get(LudoRules.moveToken(move)));
+      original.moveCurrentPlayer(roll);
+      if (!original.gameDone() && roll != 6) {
+        original.nextPlayer();
+      }
+    }
+    ReplayLog log = original.getReplayLog();
+
+    LudoBoard otherBoard = new LudoBoard();
+    LudoGame copy = new LudoGame(List.of(
+        new LudoPlayer("Alice", 25, PlayerIcon.values()[0], TokenColor.YELLOW,
+            otherBoard.getHome(TokenColor.YELLOW)),
+        new LudoPlayer("Bob", 30, PlayerIcon.values()[1], TokenColor.BLUE,
+            otherBoard.getHome(TokenColor.BLUE))), otherBoard);
+    List<String> events = new ArrayList<>();
+    copy.addObserver(new Observer<>() {
+      @Override public void onPlayerMoved(LudoPlayer p, int f, int t) { events.add("move"); }
+      @Override public void onDiceRolled(List<Integer> values) { events.add("roll"); }
+      @Override public void onNextPlayer(LudoPlayer np) { events.add("next"); }
+      @Override public void onGameOver(LudoPlayer w) { events.add("over"); }
+      @Override public void placeAllPlayers() {}
+    });
+
+    assertEquals(log.size(), copy.replay(log, Integer.MAX_VALUE));
+    assertEquals(original.getState(), copy.getState());
+    assertArrayEquals(log.toByteArray(), copy.getReplayLog().toByteArray());
+    assertTrue(events.isEmpty());
+  }
+
+  @Test
+  @DisplayName("games with the same seed roll the same faces")
+  void testSeededRolls() {
+    LudoGame a = new LudoGame(List.of(p1, p2), board, 5L);
+    LudoGame b = new LudoGame(List.of(p1, p2), board, 5L);
+    for (int i = 0; i < 50; i++) {
+      assertEquals(a.rollDice(), b.rollDice());
+    }
+    assertEquals(50, a.getReplayLog().size());
+  }
 }
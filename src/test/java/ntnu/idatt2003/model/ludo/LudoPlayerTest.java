@@ -2,7 +2,6 @@ package ntnu.idatt2003.model.ludo;
 
 import static org.junit.jupiter.api.Assertions.*;
 
-import java.lang.reflect.Field;
 import java.util.List;
 
 import javafx.scene.paint.Color;
@@ -102,7 +101,7 @@ class LudoPlayerTest {
   }
 
   @Test
-  void hasFinishedAll_trueWhenAllTokensOnFinish() throws Exception {
+  void hasFinishedAll_trueWhenAllTokensOnFinish() {
     TokenColor color = TokenColor.RED;
     LudoPlayer p =
         new LudoPlayer("Ivan", 31, PlayerIcon.CAT, color, board.getHome(color));
@@ -111,13 +110,36 @@ class LudoPlayerTest {
     List<LudoTile> finishLane = board.getFinishLanes(color);
     LudoTile finishTile = finishLane.getLast();
     for (Token t : p.getTokens()) {
-      // use reflection to set the private 'position' field
-      Field posField = Token.class.getDeclaredField("position");
-      posField.setAccessible(true);
-      posField.set(t, finishTile);
+      // move through the public API so the player's finished counter is kept up to date
+      t.moveTo(finishTile);
       assertTrue(t.isFinished(), "Token should report finished once on FINISH tile");
     }
 
     assertTrue(p.hasFinishedAll(), "Player should have finished all once every token is on FINISH");
   }
+
+  @Test
+  void tokenCounters_followMovesAndCaptures() {
+    LudoPlayer p =
+        new LudoPlayer("Jo", 40, PlayerIcon.CAR, TokenColor.RED, board.getHome(TokenColor.RED));
+    LudoPlayer other =
+        new LudoPlayer("Kai", 41, PlayerIcon.CAT, TokenColor.BLUE, board.getHome(TokenColor.BLUE));
+    assertEquals(4, p.getHomeCount());
+    assertEquals(0, p.getOnTrackCount());
+    assertEquals(0, p.getFinishedCount());
+
+    List<LudoTile> path = board.getFullPath(TokenColor.RED);
+    p.getTokens().get(0).moveTo(path.get(3));
+    p.getTokens().get(1).moveTo(path.getLast());
+    assertEquals(2, p.getHomeCount());
+    assertEquals(1, p.getOnTrackCount());
+    assertEquals(1, p.getFinishedCount());
+
+    // a blue token landing on the same normal square captures the red one
+    other.getTokens().get(0).moveTo(path.get(3));
+    assertEquals(3, p.getHomeCount());
+    assertEquals(0, p.getOnTrackCount());
+    assertEquals(1, other.getOnTrackCount());
+    assertFalse(p.hasFinishedAll());
+  }
 }
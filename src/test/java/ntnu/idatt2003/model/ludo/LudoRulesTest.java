@@ -0,0 +1,87 @@
+package ntnu.idatt2003.model.ludo;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.List;
+import java.util.SplittableRandom;
+import ntnu.idatt2003.core.PlayerIcon;
+import org.junit.jupiter.api.Test;
+
+class LudoRulesTest {
+
+  private static final List<TokenColor> TWO = List.of(TokenColor.YELLOW, TokenColor.BLUE);
+
+  @Test
+  void destination_agreesWithBoardOnRandomPositions() {
+    LudoBoard board = new LudoBoard();
+    LudoPlayer yellow = new LudoPlayer("Y", 20, PlayerIcon.CAR, TokenColor.YELLOW,
+        board.getHome(TokenColor.YELLOW));
+    LudoPlayer blue = new LudoPlayer("B", 21, PlayerIcon.CAT, TokenColor.BLUE,
+        board.getHome(TokenColor.BLUE));
+    LudoGame game = new LudoGame(List.of(yellow, blue), board);
+    SplittableRandom random = new SplittableRandom(7);
+    int[] moves = new int[4];
+    LudoState state = LudoState.start(TWO);
+
+    for (int ply = 0; ply < 300 && LudoRules.winner(state) < 0; ply++) {
+      game.setState(state);
+      for (int seat = 0; seat < 2; seat++) {
+        List<LudoTile> path = board.getFullPath(state.color(seat));
+        for (int t = 0; t < 4; t++) {
+          Token token = game.getPlayers().get(seat).getTokens().get(t);
+          for (int roll = 1; roll <= 6; roll++) {
+            LudoTile expected = board.getNextTile(token, roll);
+            int dest = LudoRules.destination(state, seat, t, roll);
+            assertSame(expected, dest < 0 ? token.getPosition() : path.get(dest));
+          }
+        }
+      }
+      int roll = random.nextInt(6) + 1;
+      int count = LudoRules.generateMoves(state, roll, moves);
+      state = count == 0
+          ? LudoRules.pass(state, roll)
+          : LudoRules.apply(state, LudoRules.moveToken(moves[random.nextInt(count)]), roll);
+    }
+  }
+
+  @Test
+  void generateMoves_needsSixToLeaveHome() {
+    int[] moves = new int[4];
+    LudoState state = LudoState.start(TWO).withOffset(0, 2, 5);
+    assertEquals(1, LudoRules.generateMoves(state, 3, moves));
+    assertEquals(2, LudoRules.moveToken(moves[0]));
+    assertEquals(8, LudoRules.moveDestination(moves[0]));
+    assertEquals(4, LudoRules.generateMoves(state, 6, moves));
+  }
+
+  @Test
+  void apply_capturesOnNormalSquareAndPassesTurn() {
+    // Yellow offset 13 and blue offset 2 are both main-path square 13
+    LudoState state = LudoState.start(TWO).withOffset(0, 0, 10).withOffset(1, 1, 2);
+    LudoState after = LudoRules.apply(state, 0, 3);
+    assertEquals(13, after.offset(0, 0));
+    assertEquals(LudoState.HOME, after.offset(1, 1));
+    assertEquals(1, after.currentPlayer());
+    assertEquals(3, after.lastRoll());
+  }
+
+  @Test
+  void apply_sixKeepsTurnAndSafeSquareBlocks() {
+    // Main-path square 18 is safe; blue offset 7 sits there
+    LudoState state = LudoState.start(TWO).withOffset(0, 0, 12).withOffset(1, 0, 7);
+    assertEquals(12, LudoRules.destination(state, 0, 0, 6));
+    LudoState after = LudoRules.apply(state.withOffset(0, 1, 0), 1, 6);
+    assertEquals(0, after.currentPlayer());
+  }
+
+  @Test
+  void winner_andPass() {
+    LudoState state = LudoState.start(TWO);
+    assertEquals(-1, LudoRules.winner(state));
+    for (int t = 0; t < 4; t++) {
+      state = state.withOffset(1, t, LudoState.FINISH);
+    }
+    assertEquals(1, LudoRules.winner(state));
+    assertEquals(1, LudoRules.pass(LudoState.start(TWO), 4).currentPlayer());
+  }
+}
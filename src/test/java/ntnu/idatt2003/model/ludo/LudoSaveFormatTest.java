@@ -0,0 +1,104 @@
+package ntnu.idatt2003.model.ludo;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import ntnu.idatt2003.core.PlayerIcon;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class LudoSaveFormatTest {
+
+  @TempDir
+  Path dir;
+
+  private LudoGame game;
+
+  @BeforeEach
+  void setUp() {
+    LudoBoard board = new LudoBoard();
+    game = new LudoGame(List.of(
+        new LudoPlayer("Åse", 31, PlayerIcon.BOAT, TokenColor.GREEN,
+            board.getHome(TokenColor.GREEN)),
+        new LudoPlayer("Bo", 9, null, TokenColor.RED, board.getHome(TokenColor.RED)),
+        new LudoPlayer("Cy", 50, PlayerIcon.CAT, TokenColor.YELLOW,
+            board.getHome(TokenColor.YELLOW))), board, 13L);
+    int[] moves = new int[4];
+    for (int turn = 0; turn < 150 && !game.gameDone(); turn++) {
+      int roll = game.rollDice();
+      int count = game.generateMoves(roll, moves);
+      if (count == 0) {
+        game.nextPlayer();
+        continue;
+      }
+      game.selectToken(game.getCurrentPlayer().getTokens()
+          .get(LudoRules.moveToken(moves[count - 1])));
+      game.moveCurrentPlayer(roll);
+      if (!game.gameDone() && roll != 6) {
+        game.nextPlayer();
+      }
+    }
+  }
+
+  @Test
+  void saveAndLoad_restoresPlayersPositionAndHistory() throws IOException {
+    File file = dir.resolve("game.ludosav").toFile();
+    game.saveToFile(file);
+    LudoGame loaded = LudoGame.loadFromFile(file);
+
+    assertEquals(game.getState(), loaded.getState());
+    assertArrayEquals(game.getReplayLog().toByteArray(), loaded.getReplayLog().toByteArray());
+    for (int i = 0; i < 3; i++) {
+      LudoPlayer expected = game.getPlayers().get(i);
+      LudoPlayer actual = loaded.getPlayers().get(i);
+      assertEquals(expected.getName(), actual.getName());
+      assertEquals(expected.getAge(), actual.getAge());
+      assertEquals(expected.getIcon(), actual.getIcon());
+      assertEquals(expected.getTokenColor(), actual.getTokenColor());
+      assertEquals(expected.getFinishedCount(), actual.getFinishedCount());
+    }
+    assertEquals(game.getCurrentPlayer().getName(), loaded.getCurrentPlayer().getName());
+    assertEquals(LudoSaveFormat.HEADER_BYTES + 53 + game.getReplayLog().size(),
+        Files.size(file.toPath()));
+  }
+
+  @Test
+  void damagedFiles_areRejected() throws IOException {
+    byte[] good = toArray(LudoSaveFormat.encode(game));
+    assertEquals(game.getState(), LudoSaveFormat.decode(ByteBuffer.wrap(good)).getState());
+
+    byte[] flipped = good.clone();
+    flipped[LudoSaveFormat.HEADER_BYTES + 5] ^= 1;
+    assertThrows(IOException.class, () -> LudoSaveFormat.decode(ByteBuffer.wrap(flipped)));
+
+    byte[] magic = good.clone();
+    magic[0] = 'X';
+    assertThrows(IOException.class, () -> LudoSaveFormat.decode(ByteBuffer.wrap(magic)));
+
+    byte[] version = good.clone();
+    version[5] = 9;
+    assertThrows(IOException.class, () -> LudoSaveFormat.decode(ByteBuffer.wrap(version)));
+
+    byte[] truncated = Arrays.copyOf(good, good.length - 1);
+    assertThrows(IOException.class, () -> LudoSaveFormat.decode(ByteBuffer.wrap(truncated)));
+
+    Path file = dir.resolve("short.ludosav");
+    Files.write(file, truncated);
+    assertThrows(IOException.class, () -> LudoGame.loadFromFile(file.toFile()));
+    Files.write(file, new byte[3]);
+    assertThrows(IOException.class, () -> LudoGame.loadFromFile(file.toFile()));
+  }
+
+  private static byte[] toArray(ByteBuffer buffer) {
+    byte[] bytes = new byte[buffer.remaining()];
+    buffer.get(bytes);
+    return bytes;
+  }
+}
@@ -0,0 +1,109 @@
+package ntnu.idatt2003.model.ludo;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.List;
+import ntnu.idatt2003.core.PlayerIcon;
+import org.junit.jupiter.api.Test;
+
+class LudoStateTest {
+
+  private static final List<TokenColor> FOUR =
+      List.of(TokenColor.GREEN, TokenColor.YELLOW, TokenColor.RED, TokenColor.BLUE);
+
+  @Test
+  void start_allTokensHomeAndColorsKept() {
+    LudoState state = LudoState.start(FOUR);
+    assertEquals(4, state.playerCount());
+    assertEquals(0, state.currentPlayer());
+    assertEquals(0, state.lastRoll());
+    for (int seat = 0; seat < 4; seat++) {
+      assertEquals(FOUR.get(seat), state.color(seat));
+      for (int t = 0; t < 4; t++) {
+        assertEquals(LudoState.HOME, state.offset(seat, t));
+      }
+    }
+  }
+
+  @Test
+  void start_rejectsBadSeatLists() {
+    assertThrows(IllegalArgumentException.class, () -> LudoState.start(List.of(TokenColor.RED)));
+    assertThrows(IllegalArgumentException.class,
+        () -> LudoState.start(List.of(TokenColor.RED, TokenColor.RED)));
+  }
+
+  @Test
+  void withMethods_roundTripEveryToken() {
+    LudoState state = LudoState.start(FOUR);
+    for (int i = 0; i < 16; i++) {
+      state = state.withOffset(i / 4, i % 4, (i * 7) % (LudoState.FINISH + 2) - 1);
+    }
+    state = state.withCurrentPlayer(3).withLastRoll(6);
+
+    for (int i = 0; i < 16; i++) {
+      assertEquals((i * 7) % (LudoState.FINISH + 2) - 1, state.offset(i / 4, i % 4));
+    }
+    assertEquals(3, state.currentPlayer());
+    assertEquals(6, state.lastRoll());
+    assertEquals(FOUR.get(2), state.color(2));
+    assertEquals(state, LudoState.fromBits(state.low(), state.high()));
+    assertEquals(state.hashCode(), LudoState.fromBits(state.low(), state.high()).hashCode());
+  }
+
+  @Test
+  void withMethods_validateArguments() {
+    LudoState state = LudoState.start(List.of(TokenColor.YELLOW, TokenColor.BLUE));
+    assertThrows(IllegalArgumentException.class, () -> state.withOffset(2, 0, 0));
+    assertThrows(IllegalArgumentException.class, () -> state.withOffset(0, 4, 0));
+    assertThrows(IllegalArgumentException.class, () -> state.withOffset(0, 0, LudoState.FINISH + 1));
+    assertThrows(IllegalArgumentException.class, () -> state.withCurrentPlayer(2));
+    assertThrows(IllegalArgumentException.class, () -> state.withLastRoll(7));
+    assertThrows(IllegalArgumentException.class, () -> LudoState.fromBits(-1L, -1L));
+  }
+
+  @Test
+  void finishedCount_countsTokensAtFinish() {
+    LudoState state = LudoState.start(List.of(TokenColor.YELLOW, TokenColor.BLUE))
+        .withOffset(1, 0, LudoState.FINISH)
+        .withOffset(1, 3, LudoState.FINISH)
+        .withOffset(1, 2, 10);
+    assertEquals(2, state.finishedCount(1));
+    assertEquals(0, state.finishedCount(0));
+  }
+
+  @Test
+  void game_getAndSetStateRoundTrip() {
+    LudoBoard board = new LudoBoard();
+    LudoPlayer p1 = new LudoPlayer("A", 20, PlayerIcon.CAR, TokenColor.YELLOW,
+        board.getHome(TokenColor.YELLOW));
+    LudoPlayer p2 = new LudoPlayer("B", 21, PlayerIcon.CAT, TokenColor.RED,
+        board.getHome(TokenColor.RED));
+    LudoGame game = new LudoGame(List.of(p1, p2), board);
+    LudoState start = game.getState();
+
+    LudoState moved = start.withOffset(0, 1, 12).withOffset(1, 0, LudoState.FINISH)
+        .withCurrentPlayer(1).withLastRoll(4);
+    game.setState(moved);
+
+    assertSame(board.getFullPath(TokenColor.YELLOW).get(12), p1.getTokens().get(1).getPosition());
+    assertTrue(p2.getTokens().get(0).isFinished());
+    assertTrue(p1.getTokens().get(0).isAtHome());
+    assertSame(p2, game.getCurrentPlayer());
+    assertEquals(moved, game.getState());
+
+    game.setState(start);
+    assertEquals(start, game.getState());
+    assertTrue(p1.getTokens().get(1).isAtHome());
+  }
+
+  @Test
+  void game_setStateRejectsOtherSeats() {
+    LudoBoard board = new LudoBoard();
+    LudoGame game = new LudoGame(List.of(
+        new LudoPlayer("A", 20, PlayerIcon.CAR, TokenColor.YELLOW, board.getHome(TokenColor.YELLOW)),
+        new LudoPlayer("B", 21, PlayerIcon.CAT, TokenColor.RED, board.getHome(TokenColor.RED))),
+        board);
+    assertThrows(IllegalArgumentException.class,
+        () -> game.setState(LudoState.start(List.of(TokenColor.YELLOW, TokenColor.BLUE))));
+  }
+}
@@ -64,6 +64,18 @@ class LudoTileTest {
     assertSame(t2, occupants.getFirst());
   }
 
+  @Test
+  void moveTo_nonSafe_capturesTokenStandingThere() {
+    LudoTile tile = new LudoTile(5, LudoTileType.NORMAL);
+    Token red = redPlayer.getTokens().get(0);
+    Token green = greenPlayer.getTokens().get(0);
+    red.moveTo(tile);
+    green.moveTo(tile);
+    assertTrue(red.isAtHome());
+    assertSame(redHome.getFirst(), red.getPosition());
+    assertEquals(List.of(green), tile.getTokens());
+  }
+
   @Test
   void enter_safeStar_allowsBothTokens() {
     LudoTile tile = new LudoTile(6, LudoTileType.SAFE);
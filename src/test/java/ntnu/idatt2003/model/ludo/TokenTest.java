@@ -58,6 +58,17 @@ class TokenTest {
     assertFalse(dest.getTokens().contains(token));
   }
 
+  @Test
+  void pathOffset_followsMovesAndSendHome() {
+    assertEquals(-1, token.getPathOffset());
+    token.moveTo(board.getMainPath().get(5));
+    assertEquals(5, token.getPathOffset());
+    token.moveTo(board.getFinishLanes(TokenColor.YELLOW).get(2));
+    assertEquals(LudoBoard.MAIN_PATH_SIZE + 2, token.getPathOffset());
+    token.sendHome();
+    assertEquals(-1, token.getPathOffset());
+  }
+
   @Test
   void isFinished_onFinishTile() {
     LudoTile finish = board.getFinishLanes(TokenColor.YELLOW).get(4);
@@ -0,0 +1,90 @@
+package ntnu.idatt2003.model.snakeandladder;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import ntnu.idatt2003.actions.BonusTileAction;
+import ntnu.idatt2003.factory.BoardGameFactory;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class BoardRegistryTest {
+
+  @TempDir
+  Path dir;
+
+  @Test
+  void contentHash_dependsOnlyOnTiles() {
+    SnakeLadderBoard first = new BoardGameFactory().createEasyBoard();
+    SnakeLadderBoard second = new BoardGameFactory().createEasyBoard();
+    String hash = first.contentHash();
+
+    assertEquals(64, hash.length());
+    assertEquals(hash, second.contentHash());
+    assertEquals(hash, first.copy().contentHash());
+
+    second.getTile(10).setAction(new BonusTileAction());
+    assertNotEquals(hash, second.contentHash());
+    second.getTile(10).setAction(null);
+    assertEquals(hash, second.contentHash());
+  }
+
+  @Test
+  void get_returnsTheTemplateOfRegisteredBoards() throws IOException {
+    BoardRegistry registry = new BoardRegistry();
+    SnakeLadderBoard board = new BoardGameFactory().createEasyBoard();
+    String id = registry.register(board);
+    board.getTile(5).setAction(new BonusTileAction());
+
+    BoardTemplate template = registry.get(id);
+    assertTrue(registry.isCached(id));
+    assertSame(template, registry.get(id));
+    SnakeLadderBoard copy = template.toBoard();
+    assertNotSame(copy, template.toBoard());
+    assertEquals(id, copy.contentHash());
+    assertNull(copy.getTile(5).getAction());
+    assertNull(registry.get("00".repeat(32)));
+  }
+
+  @Test
+  void limitedRegistry_dropsTheLeastRecentlyUsedTemplates() throws IOException {
+    BoardRegistry registry = new BoardRegistry(dir, 200);
+    String easy = registry.register(new BoardGameFactory().createEasyBoard());
+    SnakeLadderBoard other = new BoardGameFactory().createEasyBoard();
+    other.getTile(50).setAction(new BonusTileAction());
+    String second = registry.register(other);
+    assertEquals(180, registry.tileCount());
+
+    registry.get(easy);
+    SnakeLadderBoard third = new BoardGameFactory().createEasyBoard();
+    third.getTile(60).setAction(new BonusTileAction());
+    registry.register(third);
+
+    assertEquals(2, registry.size());
+    assertTrue(registry.isCached(easy));
+    assertFalse(registry.isCached(second));
+    assertEquals(second, registry.get(second).contentHash(), "read back from the directory");
+  }
+
+  @Test
+  void boardsInDirectory_surviveANewRegistryAndAreVerified() throws IOException {
+    SnakeLadderBoard board = new BoardGameFactory().createEasyBoard();
+    String id = new BoardRegistry(dir).register(board);
+    Path file = dir.resolve(id + ".board");
+    assertTrue(Files.exists(file));
+
+    BoardRegistry restarted = new BoardRegistry(dir);
+    assertFalse(restarted.isCached(id));
+    BoardTemplate loaded = restarted.get(id);
+    assertEquals(id, loaded.contentHash());
+    assertEquals(40, loaded.destinationTileId(17, 1));
+    assertTrue(restarted.isCached(id));
+
+    byte[] content = Files.readAllBytes(file);
+    content[content.length - 1] ^= 1;
+    Files.write(file, content);
+    assertThrows(IOException.class, () -> new BoardRegistry(dir).get(id));
+  }
+}
@@ -0,0 +1,114 @@
+package ntnu.idatt2003.model.snakeandladder;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import ntnu.idatt2003.actions.BonusTileAction;
+import ntnu.idatt2003.actions.LadderAction;
+import ntnu.idatt2003.actions.SnakeAction;
+import ntnu.idatt2003.factory.BoardGameFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class BoardValidatorTest {
+
+  private SnakeLadderBoard board;
+
+  @BeforeEach
+  void setUp() {
+    board = new BoardGameFactory().createEasyBoard();
+  }
+
+  private static boolean mentions(BoardReport report, String text) {
+    return report.getErrors().stream().anyMatch(error -> error.contains(text));
+  }
+
+  @Test
+  void report_acceptsThePlayableBoards() {
+    board.getTile(7).setAction(new BonusTileAction());
+    BoardReport report = board.report();
+
+    assertTrue(report.isValid(), report.toString());
+    assertEquals(90, report.getReachableTiles());
+    assertEquals(0, report.getWarningCount());
+    assertDoesNotThrow(report::requireValid);
+  }
+
+  @Test
+  void report_findsLinksToMissingTiles() {
+    board.getTile(10).setNextTileId(200);
+    board.getTile(34).setAction(new LadderAction(95));
+    BoardReport report = board.report();
+
+    assertFalse(report.isValid());
+    assertEquals(3, report.getErrorCount(), report.toString());
+    assertTrue(mentions(report, "Tile 10 leads to tile 200"));
+    assertTrue(mentions(report, "tile 34 leads to tile 95"));
+    assertTrue(mentions(report, "The finish tile 90 can not be reached"));
+  }
+
+  @Test
+  void report_findsCirclesOfNextTilesAndOfSnakesAndLadders() {
+    board.getTile(60).setNextTileId(50);
+    board.getTile(5).setAction(new LadderAction(9));
+    board.getTile(9).setAction(new SnakeAction(5));
+    board.getTile(11).setAction(new LadderAction(11));
+    BoardReport report = board.report();
+
+    assertTrue(mentions(report, "Next tile links run in a circle"), report.toString());
+    assertTrue(mentions(report, "lead back to tile 5"), report.toString());
+    assertTrue(mentions(report, "lead back to tile 11"), report.toString());
+  }
+
+  @Test
+  void report_findsDeadEndsAndUnwinnableFinishes() {
+    board.getTile(45).setNextTileId(0);
+    BoardReport deadEnd = board.report();
+    assertTrue(mentions(deadEnd, "Tile 45 has no next tile"), deadEnd.toString());
+
+    board.getTile(45).setNextTileId(46);
+    board.getTile(90).setAction(new SnakeAction(3));
+    assertTrue(mentions(board.report(), "can not be won"));
+  }
+
+  @Test
+  void report_warnsAboutUnreachableTilesAndChainedJumps() {
+    board.getTile(40).setAction(new LadderAction(85));
+    board.getTile(85).setAction(new SnakeAction(60));
+    board.getTile(1).setNextTileId(3);
+    BoardReport report = board.report();
+
+    assertTrue(report.isValid(), report.toString());
+    assertEquals(89, report.getReachableTiles());
+    assertEquals(4, report.getWarningCount(), report.toString());
+  }
+
+  @Test
+  void report_checksSparseBoardsAndCapsTheMessages() {
+    SnakeLadderBoard sparse = new SnakeLadderBoard();
+    for (int i = 0; i < 20; i++) {
+      Tile tile = new Tile(i * 1_000_000 + 1);
+      tile.setNextTileId(i * 1_000_000 + 2);
+      sparse.addTile(tile);
+    }
+    BoardReport report = sparse.report();
+
+    assertFalse(report.isValid());
+    assertEquals(21, report.getErrorCount(), report.toString());
+    assertEquals(10, report.getErrors().size());
+    IllegalArgumentException e =
+        assertThrows(IllegalArgumentException.class, report::requireValid);
+    assertTrue(e.getMessage().endsWith("and 11 more"), e.getMessage());
+  }
+
+  @Test
+  void report_isKeptUntilTheBoardChanges() {
+    BoardReport report = board.report();
+    assertSame(report, board.report());
+    assertSame(report, board.copy().report());
+
+    board.getTile(20).setNextTileId(0);
+    assertNotSame(report, board.report());
+    assertFalse(board.report().isValid());
+    assertFalse(new SnakeLadderBoard().report().isValid());
+  }
+}
@@ -2,11 +2,15 @@ package ntnu.idatt2003.model.snakeandladder;
 
 import static org.junit.jupiter.api.Assertions.*;
 
+import ntnu.idatt2003.actions.BonusTileAction;
+import ntnu.idatt2003.actions.LadderAction;
+import ntnu.idatt2003.actions.SnakeAction;
 import ntnu.idatt2003.actions.TileAction;
 import ntnu.idatt2003.core.PlayerIcon;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import java.util.List;
 import java.util.stream.IntStream;
 
 class SnakeLadderBoardTest {
@@ -59,16 +63,33 @@ class SnakeLadderBoardTest {
     assertEquals("Alice is now on tile 4", lines[1]);
   }
 
+  @Test
+  void movePlayer_withMissingNextTile_throwsAndLeavesPlayerInPlace() {
+    SnakeLadderPlayer p = new SnakeLadderPlayer("Alice", 30, PlayerIcon.DOG, tiles[5]);
+    tiles[5].landPlayer(p);
+    tiles[5].setNextTileId(42);
+
+    IllegalStateException e =
+        assertThrows(IllegalStateException.class, () -> board.movePlayer(p, 2));
+    assertTrue(e.getMessage().contains("tile 42"), e.getMessage());
+    assertSame(tiles[5], p.getCurrentTile());
+    assertTrue(tiles[5].getPlayers().contains(p));
+
+    SnakeLadderPlayer last = new SnakeLadderPlayer("Bob", 30, PlayerIcon.DOG, tiles[15]);
+    assertThrows(IllegalStateException.class, () -> board.movePlayer(last, 1));
+    assertSame(tiles[15], last.getCurrentTile());
+  }
+
   @Test
   void movePlayer_withPendingMove_followsAction_thenLogs() {
 
-    class LadderAction implements TileAction {
+    class CustomLadder implements TileAction {
       @Override
       public void perform(SnakeLadderPlayer p) {
         p.setPendingMoveTo(10);
       }
     }
-    tiles[2].setAction(new LadderAction());
+    tiles[2].setAction(new CustomLadder());
 
     SnakeLadderPlayer p = new SnakeLadderPlayer("Bob", 25, PlayerIcon.CAT, tiles[1]);
 
@@ -111,4 +132,139 @@ class SnakeLadderBoardTest {
   void getDiceCount_defaultsToOne() {
     assertEquals(1, board.getDiceCount());
   }
+
+  @Test
+  void landingTileId_walksAndStopsAtLastTile() {
+    assertEquals(4, board.landingTileId(1, 3));
+    assertEquals(1, board.landingTileId(1, 0));
+    assertEquals(15, board.landingTileId(12, 6), "Overshooting stops on the last tile");
+    assertEquals(15, board.landingTileId(1, 40), "Rolls longer than the table are chained");
+    assertThrows(IllegalArgumentException.class, () -> board.landingTileId(99, 1));
+    assertThrows(IllegalArgumentException.class, () -> board.landingTileId(1, -1));
+  }
+
+  @Test
+  void destinationTileId_takesOneSnakeOrLadder() {
+    tiles[3].setAction(new LadderAction(9));
+    tiles[9].setAction(new SnakeAction(2));
+    assertEquals(9, board.destinationTileId(1, 2), "Ladder is taken");
+    assertEquals(2, board.destinationTileId(5, 4), "Snake is taken");
+    assertEquals(9, board.destinationTileId(3, 0),
+        "Only one jump per move, the snake at the ladder top is ignored");
+  }
+
+  @Test
+  void tables_followTileChanges() {
+    assertEquals(6, board.destinationTileId(1, 5));
+    tiles[6].setAction(new LadderAction(14));
+    assertEquals(14, board.destinationTileId(1, 5));
+    tiles[2].setNextTileId(10);
+    assertEquals(10, board.landingTileId(1, 2));
+  }
+
+  @Test
+  void sparseTileIds_fallBackToWalking() {
+    SnakeLadderBoard sparse = new SnakeLadderBoard();
+    int[] ids = {1, 1_000, 2_000_000, 5_000_000};
+    for (int i = 0; i < ids.length; i++) {
+      Tile tile = new Tile(ids[i]);
+      tile.setNextTileId(i + 1 < ids.length ? ids[i + 1] : 0);
+      sparse.addTile(tile);
+    }
+    sparse.getTile(1_000).setAction(new SnakeAction(1));
+    assertEquals(2_000_000, sparse.landingTileId(1, 2));
+    assertEquals(1, sparse.destinationTileId(1, 1));
+  }
+
+  @Test
+  void movePlayer_usesLadderFromRealAction() {
+    tiles[4].setAction(new LadderAction(12));
+    SnakeLadderPlayer p = new SnakeLadderPlayer("Erin", 25, PlayerIcon.CAT, tiles[1]);
+    board.movePlayer(p, 3);
+    assertEquals(12, p.getCurrentTile().getTileId());
+    assertTrue(tiles[12].getPlayers().contains(p));
+    assertFalse(tiles[4].getPlayers().contains(p));
+  }
+
+  @Test
+  void movePlayer_readsJumpsFromTheTables_andAppliesOnlyOtherActions() {
+    tiles[4].setAction(new LadderAction(12) {
+      @Override
+      public void perform(SnakeLadderPlayer player) {
+        fail("ladders are taken from the compiled tables");
+      }
+    });
+    tiles[13].setAction(new BonusTileAction());
+    SnakeLadderPlayer p = new SnakeLadderPlayer("Finn", 25, PlayerIcon.CAT, tiles[1]);
+
+    board.movePlayer(p, 3);
+    assertEquals(12, p.getCurrentTile().getTileId());
+    board.movePlayer(p, 1);
+    assertEquals(13, p.getCurrentTile().getTileId());
+    assertTrue(p.hasExtraTurn(), "The bonus tile applies its action");
+  }
+
+  @Test
+  void occupancy_tracksPlayersAcrossMovesAndManyPlayers() {
+    SnakeLadderPlayer[] players = new SnakeLadderPlayer[70];
+    for (int i = 0; i < players.length; i++) {
+      players[i] = new SnakeLadderPlayer("P" + i, i, PlayerIcon.CAT, tiles[1]);
+    }
+    assertEquals(70, tiles[1].getPlayers().size());
+
+    players[0].setCurrentTile(tiles[5]);
+    players[69].setCurrentTile(tiles[5]);
+    assertEquals(68, tiles[1].getPlayers().size());
+    assertEquals(2, tiles[5].getPlayers().size());
+    assertSame(players[69], tiles[5].otherPlayer(players[0]));
+    assertSame(players[0], tiles[5].otherPlayer(players[69]));
+
+    players[0].setCurrentTile(tiles[6]);
+    assertNull(tiles[5].otherPlayer(players[69]));
+    assertNull(tiles[6].otherPlayer(players[0]));
+  }
+
+  @Test
+  void movePlayer_collisionWithThreePlayers_movesThePlayerThatJoinedFirstBack() {
+    SnakeLadderPlayer first = new SnakeLadderPlayer("First", 30, PlayerIcon.CAT, tiles[10]);
+    SnakeLadderPlayer second = new SnakeLadderPlayer("Second", 31, PlayerIcon.DOG, tiles[10]);
+    SnakeLadderPlayer mover = new SnakeLadderPlayer("Mover", 32, PlayerIcon.CAR, tiles[8]);
+
+    board.movePlayer(mover, 2);
+
+    assertEquals(3, first.getCurrentTile().getTileId());
+    assertEquals(10, second.getCurrentTile().getTileId());
+    assertEquals(3, mover.getCurrentTile().getTileId());
+    assertEquals(2, tiles[3].getPlayers().size());
+  }
+
+  @Test
+  void occupancySlots_stayWithTheirPlayersWhileOthersLeaveAndMove() {
+    SnakeLadderPlayer gone = new SnakeLadderPlayer("Gone", 29, PlayerIcon.BOAT, tiles[2]);
+    SnakeLadderPlayer first = new SnakeLadderPlayer("First", 30, PlayerIcon.CAT, tiles[10]);
+    SnakeLadderPlayer second = new SnakeLadderPlayer("Second", 31, PlayerIcon.DOG, tiles[9]);
+    SnakeLadderPlayer mover = new SnakeLadderPlayer("Mover", 32, PlayerIcon.CAR, tiles[8]);
+    tiles[2].leavePlayer(gone);
+    second.setCurrentTile(tiles[10]);
+
+    board.movePlayer(mover, 2);
+
+    assertEquals(3, first.getCurrentTile().getTileId(), "First joined the board before Second");
+    assertEquals(10, second.getCurrentTile().getTileId());
+  }
+
+  @Test
+  void occupancySlots_ofPlayersOffTheBoard_areReusedWhenAllAreTaken() {
+    SnakeLadderPlayer[] players = new SnakeLadderPlayer[64];
+    for (int i = 0; i < players.length; i++) {
+      players[i] = new SnakeLadderPlayer("P" + i, i, PlayerIcon.CAT, tiles[1]);
+    }
+    tiles[1].leavePlayer(players[5]);
+    SnakeLadderPlayer late = new SnakeLadderPlayer("Late", 70, PlayerIcon.DOG, tiles[2]);
+    assertNull(tiles[2].otherPlayer(late));
+
+    players[5].setCurrentTile(tiles[2]);
+    assertEquals(List.of(late, players[5]), tiles[2].getPlayers(),
+        "The late player took the idle slot, so the returning player is tracked by the tile");
+  }
 }
@@ -0,0 +1,90 @@
+package ntnu.idatt2003.model.snakeandladder;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import ntnu.idatt2003.core.PlayerIcon;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class SnakeLadderSaveFormatTest {
+
+  @TempDir
+  Path dir;
+
+  private SnakeLadderBoard board;
+  private SnakeAndLadderGame game;
+
+  @BeforeEach
+  void setUp() {
+    board = new SnakeLadderBoard();
+    for (int id = 1; id <= 100_000; id++) {
+      Tile tile = new Tile(id);
+      tile.setNextTileId(id < 100_000 ? id + 1 : 0);
+      board.addTile(tile);
+    }
+    game = SnakeAndLadderGame.headless(board, List.of(
+        new SnakeLadderPlayer("Åse", 12, PlayerIcon.CAT, board.getTile(1)),
+        new SnakeLadderPlayer("Bo", 9, null, board.getTile(1)),
+        new SnakeLadderPlayer("Cy", 30, PlayerIcon.DOG, board.getTile(1))), 2, 5L);
+    for (int i = 0; i < 25; i++) {
+      game.playTurn();
+    }
+    game.state().setExtraTurn(2, true);
+  }
+
+  @Test
+  void saveAndLoad_restoresPlayersTurnAndHistory() throws IOException {
+    BoardRegistry registry = new BoardRegistry();
+    File file = dir.resolve("game.snlsave").toFile();
+    game.saveToFile(file, registry);
+    SnakeAndLadderGame loaded = SnakeAndLadderGame.loadFromFile(file, registry);
+
+    assertTrue(Files.size(file.toPath()) < 200);
+    assertNotSame(board, loaded.getBoard());
+    assertEquals(board.contentHash(), loaded.getBoard().contentHash());
+    assertEquals(2, loaded.getNumberOfDice());
+    assertEquals(game.getCurrentPlayer().getName(), loaded.getCurrentPlayer().getName());
+    assertArrayEquals(game.getReplayLog().toByteArray(), loaded.getReplayLog().toByteArray());
+    for (int i = 0; i < 3; i++) {
+      SnakeLadderPlayer expected = game.getPlayers().get(i);
+      SnakeLadderPlayer actual = loaded.getPlayers().get(i);
+      assertEquals(expected.getName(), actual.getName());
+      assertEquals(expected.getIcon(), actual.getIcon());
+      assertEquals(game.tileOf(expected), loaded.tileOf(actual));
+      assertEquals(game.state().hasExtraTurn(i), loaded.state().hasExtraTurn(i));
+      assertTrue(actual.getCurrentTile().getPlayers().contains(actual));
+    }
+    assertTrue(loaded.state().hasExtraTurn(2));
+    assertFalse(loaded.gameDone());
+    loaded.playTurn();
+  }
+
+  @Test
+  void loading_failsWithoutTheBoardOrOnDamage() throws IOException {
+    byte[] good = game.toSaveData();
+    BoardRegistry registry = new BoardRegistry();
+    assertThrows(IOException.class,
+        () -> SnakeLadderSaveFormat.decode(ByteBuffer.wrap(good), registry));
+    registry.register(board);
+    assertEquals(game.getCurrentPlayer().getName(),
+        SnakeLadderSaveFormat.decode(ByteBuffer.wrap(good), registry).getCurrentPlayer().getName());
+
+    byte[] flipped = good.clone();
+    flipped[flipped.length - 1] ^= 1;
+    assertThrows(IOException.class,
+        () -> SnakeLadderSaveFormat.decode(ByteBuffer.wrap(flipped), registry));
+
+    byte[] truncated = Arrays.copyOf(good, good.length - 1);
+    Path file = dir.resolve("short.snlsave");
+    Files.write(file, truncated);
+    assertThrows(IOException.class, () -> SnakeAndLadderGame.loadFromFile(file.toFile(), registry));
+  }
+}
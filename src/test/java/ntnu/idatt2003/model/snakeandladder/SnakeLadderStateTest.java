@@ -0,0 +1,171 @@
+package ntnu.idatt2003.model.snakeandladder;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import ntnu.idatt2003.actions.BonusTileAction;
+import ntnu.idatt2003.actions.LadderAction;
+import ntnu.idatt2003.factory.BoardGameFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class SnakeLadderStateTest {
+
+  private SnakeLadderBoard board;
+
+  @BeforeEach
+  void setUp() {
+    board = new BoardGameFactory().createEasyBoard();
+    board.getTile(20).setAction(new BonusTileAction());
+    board.getTile(21).setAction(new BonusTileAction());
+  }
+
+  @Test
+  void playTurn_followsTheSameRulesAsTheGame() {
+    for (int dice = 1; dice <= 2; dice++) {
+      for (long seed = 0; seed < 20; seed++) {
+        List<SnakeLadderPlayer> players = new ArrayList<>();
+        for (int age = 0; age < 3; age++) {
+          players.add(new SnakeLadderPlayer("P" + age, age, null, board.getTile(1)));
+        }
+        SnakeAndLadderGame game = SnakeAndLadderGame.headless(board, players, dice, seed);
+        SnakeLadderState state = board.template().newGame(3, 1);
+
+        while (!game.gameDone()) {
+          int[] faces = game.playTurn().stream().mapToInt(Integer::intValue).toArray();
+          state.playTurn(faces);
+          for (int p = 0; p < 3; p++) {
+            assertEquals(game.tileOf(players.get(p)), state.tileOf(p),
+                "Player " + p + " with seed " + seed + " and " + dice + " dice");
+          }
+          assertEquals(game.gameDone(), state.isDone());
+          if (!game.gameDone()) {
+            assertEquals(players.indexOf(game.getCurrentPlayer()), state.currentPlayer());
+          }
+        }
+        assertEquals(players.indexOf(game.getWinner()), state.winner());
+        players.forEach(player -> player.getCurrentTile().leavePlayer(player));
+      }
+    }
+  }
+
+  @Test
+  void playTurn_reportsJumpsAndBonusTurns() {
+    SnakeLadderState state = board.template().newGame(2);
+    List<int[]> jumps = new ArrayList<>();
+
+    state.playTurn(new int[] {17}, (from, to) -> jumps.add(new int[] {from, to}));
+    assertEquals(1, jumps.size());
+    assertArrayEquals(new int[] {18, 40}, jumps.get(0));
+    assertEquals(40, state.tileOf(0));
+    assertEquals(1, state.currentPlayer());
+
+    state.playTurn(19);
+    assertEquals(20, state.tileOf(1));
+    assertFalse(state.hasExtraTurn(1), "The bonus is used up by keeping the turn");
+    assertEquals(1, state.currentPlayer(), "A bonus tile keeps the turn");
+  }
+
+  @Test
+  void playTurn_afterTheGameIsWon_throws() {
+    SnakeLadderState state = board.template().newGame(2, 88);
+    state.playTurn(2);
+    assertTrue(state.isDone());
+    assertEquals(0, state.winner());
+    assertThrows(IllegalStateException.class, () -> state.playTurn(1));
+  }
+
+  @Test
+  void move_winsOnTheTileWhoseIdIsTheBoardSize() {
+    SnakeLadderState state = chain(1, 2, 3, 4, 6, 7).template().newGame(2);
+    assertEquals(6, state.getTemplate().finishTileId());
+    assertEquals(7, state.getTemplate().lastTileId());
+
+    assertEquals(6, state.move(4, null));
+    assertTrue(state.isDone());
+    assertEquals(0, state.winner());
+  }
+
+  @Test
+  void move_collisionStepsBackNoLowerThanTileOne() {
+    SnakeLadderState state = chain(0, 1, 2, 3, 4, 5, 6, 7, 8, 9, 10).template().newGame(2, 1);
+    state.playTurn(2);
+    state.playTurn(2);
+    assertEquals(1, state.tileOf(0));
+    assertEquals(1, state.tileOf(1));
+  }
+
+  /**
+   * Builds a board of tiles with the given IDs, each leading to the next.
+   */
+  private static SnakeLadderBoard chain(int... ids) {
+    SnakeLadderBoard chain = new SnakeLadderBoard();
+    for (int i = 0; i < ids.length; i++) {
+      Tile tile = new Tile(ids[i]);
+      tile.setNextTileId(i + 1 < ids.length ? ids[i + 1] : 0);
+      chain.addTile(tile);
+    }
+    return chain;
+  }
+
+  @Test
+  void template_isSharedBetweenGamesOnManyThreads() throws Exception {
+    BoardTemplate template = board.template();
+    assertSame(template, board.template());
+    assertSame(template, board.copy().template());
+
+    int expected = playScripted(template);
+    ExecutorService pool = Executors.newFixedThreadPool(4);
+    try {
+      List<Future<Integer>> results = new ArrayList<>();
+      for (int i = 0; i < 8; i++) {
+        results.add(pool.submit(() -> playScripted(template)));
+      }
+      for (Future<Integer> result : results) {
+        assertEquals(expected, result.get());
+      }
+    } finally {
+      pool.shutdown();
+    }
+    board.getTiles().forEach(tile -> assertTrue(tile.getPlayers().isEmpty()));
+  }
+
+  /**
+   * Plays a game with a fixed cycle of rolls and returns the number of turns it took.
+   */
+  private static int playScripted(BoardTemplate template) {
+    SnakeLadderState state = template.newGame(2);
+    int turns = 0;
+    while (!state.isDone()) {
+      state.playTurn(turns % 5 + 2);
+      turns++;
+    }
+    return turns;
+  }
+
+  @Test
+  void template_isRebuiltAfterTheBoardChanges() {
+    BoardTemplate before = board.template();
+    board.getTile(5).setAction(new LadderAction(60));
+    BoardTemplate after = board.template();
+
+    assertNotSame(before, after);
+    assertEquals(5, before.destinationTileId(1, 4));
+    assertEquals(60, after.destinationTileId(1, 4));
+    assertNotEquals(before.contentHash(), after.contentHash());
+  }
+
+  @Test
+  void newGame_rejectsInvalidSetup() {
+    BoardTemplate template = board.template();
+    assertThrows(IllegalArgumentException.class, () -> template.newGame(1));
+    assertThrows(IllegalArgumentException.class,
+        () -> template.newGame(SnakeLadderState.MAX_PLAYERS + 1));
+    assertThrows(IllegalArgumentException.class, () -> template.newGame(2, 0));
+    assertThrows(IllegalArgumentException.class, () -> BoardTemplate.of(new SnakeLadderBoard()));
+  }
+}
@@ -0,0 +1,74 @@
+package ntnu.idatt2003.model.snakeandladder;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class TileStoreTest {
+
+  private static List<Integer> ids(TileStore store) {
+    List<Integer> ids = new ArrayList<>();
+    store.tiles().forEach(tile -> ids.add(tile.getTileId()));
+    return ids;
+  }
+
+  @Test
+  void denseIds_storedInArrayInIdOrder() {
+    TileStore store = new TileStore();
+    for (int id = 50; id >= 1; id--) {
+      store.put(new Tile(id));
+    }
+
+    assertTrue(store.isDense());
+    assertEquals(50, store.size());
+    assertEquals(1, ids(store).get(0));
+    assertEquals(50, ids(store).get(49));
+    assertNull(store.get(0));
+    assertNull(store.get(51));
+    assertNull(store.get(Integer.MIN_VALUE));
+  }
+
+  @Test
+  void replacingTile_keepsCount() {
+    TileStore store = new TileStore();
+    store.put(new Tile(3));
+    Tile replacement = new Tile(3);
+    store.put(replacement);
+
+    assertEquals(1, store.size());
+    assertSame(replacement, store.get(3));
+  }
+
+  @Test
+  void sparseIds_fallBackToMapAndStillResolve() {
+    TileStore store = new TileStore();
+    store.put(new Tile(1));
+    store.put(new Tile(1_000_000));
+    store.put(new Tile(Integer.MAX_VALUE));
+
+    assertFalse(store.isDense());
+    assertEquals(3, store.size());
+    assertNotNull(store.get(1_000_000));
+    assertNotNull(store.get(Integer.MAX_VALUE));
+    assertNull(store.get(2));
+  }
+
+  @Test
+  void sparseStore_becomesDenseOnceIdsFillIn() {
+    TileStore store = new TileStore();
+    store.put(new Tile(1));
+    store.put(new Tile(200));
+    assertFalse(store.isDense());
+
+    for (int id = 2; id < 200; id++) {
+      store.put(new Tile(id));
+    }
+
+    assertTrue(store.isDense());
+    assertEquals(200, store.size());
+    assertEquals(200, ids(store).size());
+    assertNotNull(store.get(150));
+  }
+}
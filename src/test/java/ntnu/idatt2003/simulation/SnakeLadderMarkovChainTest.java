@@ -0,0 +1,144 @@
+package ntnu.idatt2003.simulation;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import ntnu.idatt2003.actions.BonusTileAction;
+import ntnu.idatt2003.actions.LadderAction;
+import ntnu.idatt2003.actions.SnakeAction;
+import ntnu.idatt2003.factory.BoardGameFactory;
+import ntnu.idatt2003.model.snakeandladder.SnakeLadderBoard;
+import ntnu.idatt2003.model.snakeandladder.Tile;
+import org.junit.jupiter.api.Test;
+
+class SnakeLadderMarkovChainTest {
+
+  private static final double EPS = 1e-9;
+
+  private SnakeLadderBoard linearBoard(int size) {
+    SnakeLadderBoard board = new SnakeLadderBoard();
+    for (int i = 1; i <= size; i++) {
+      Tile tile = new Tile(i);
+      if (i < size) {
+        tile.setNextTileId(i + 1);
+      }
+      board.addTile(tile);
+    }
+    return board;
+  }
+
+  @Test
+  void threeTiles_singleDie_exactValues() {
+    SnakeLadderMarkovChain chain = SnakeLadderMarkovChain.of(linearBoard(3), 1);
+
+    assertTrue(chain.isFinishAlwaysReached());
+    assertEquals(7.0 / 6.0, chain.expectedRolls(), EPS);
+    assertEquals(1.0, chain.expectedRollsFrom(2), EPS);
+    assertEquals(1.0 / 6.0, chain.expectedVisits(2), EPS);
+    assertEquals(1.0, chain.expectedTurns(), EPS, "Rolling a 1 keeps the turn");
+  }
+
+  @Test
+  void snakeBackToStart_formsSelfLoop() {
+    SnakeLadderBoard board = linearBoard(3);
+    board.getTile(2).setAction(new SnakeAction(1));
+    SnakeLadderMarkovChain chain = SnakeLadderMarkovChain.of(board, 1);
+
+    assertEquals(1.2, chain.expectedRolls(), EPS);
+    assertEquals(1.2, chain.expectedVisits(1), EPS);
+    assertEquals(0.2, chain.expectedLandings(2), EPS, "The snake is used once per failed roll");
+  }
+
+  @Test
+  void bonusTile_addsNoRolls_butSavesTurns() {
+    SnakeLadderBoard board = linearBoard(20);
+    SnakeLadderMarkovChain plain = SnakeLadderMarkovChain.of(board, 2);
+    board.getTile(8).setAction(new BonusTileAction());
+    SnakeLadderMarkovChain bonus = SnakeLadderMarkovChain.of(board, 2);
+
+    assertEquals(plain.expectedRolls(), bonus.expectedRolls(), EPS);
+    assertTrue(bonus.expectedTurns() < plain.expectedTurns());
+  }
+
+  @Test
+  void easyBoard_isConsistent() {
+    SnakeLadderBoard board = new BoardGameFactory().createEasyBoard();
+    SnakeLadderMarkovChain chain = SnakeLadderMarkovChain.of(board, 1);
+
+    double visits = 0;
+    for (int id = 1; id < board.size(); id++) {
+      visits += chain.expectedVisits(id);
+    }
+    assertEquals(chain.expectedRolls(), visits, 1e-6, "Every roll starts from a rested tile");
+
+    double[] dist = chain.lengthDistribution(5_000);
+    double total = 0;
+    double mean = 0;
+    for (int t = 0; t < dist.length; t++) {
+      total += dist[t];
+      mean += t * dist[t];
+    }
+    assertEquals(1.0, total, 1e-9);
+    assertEquals(chain.expectedRolls(), mean, 1e-6);
+    assertTrue(chain.expectedLandings(34) > 0, "The ladder on 34 is used");
+    assertTrue(chain.transitionCount() <= 6 * chain.stateCount());
+  }
+
+  @Test
+  void turnVariance_matchesTheLengthDistribution() {
+    assertEquals(0.0, SnakeLadderMarkovChain.of(linearBoard(3), 1).turnVariance(), EPS,
+        "Every game on three tiles takes one turn");
+
+    // With three dice no roll grants another, so turns and rolls are the same
+    SnakeLadderMarkovChain chain =
+        SnakeLadderMarkovChain.of(new BoardGameFactory().createEasyBoard(), 3);
+    double[] dist = chain.lengthDistribution(5_000);
+    double mean = 0;
+    double square = 0;
+    for (int t = 0; t < dist.length; t++) {
+      mean += t * dist[t];
+      square += (double) t * t * dist[t];
+    }
+    assertEquals(chain.expectedTurns(), mean, 1e-6);
+    assertEquals(square - mean * mean, chain.turnVariance(), 1e-6);
+  }
+
+  @Test
+  void ladderShortensTheGame() {
+    SnakeLadderBoard board = linearBoard(50);
+    double before = SnakeLadderMarkovChain.of(board, 1).expectedRolls();
+    board.getTile(5).setAction(new LadderAction(45));
+    assertTrue(SnakeLadderMarkovChain.of(board, 1).expectedRolls() < before);
+  }
+
+  @Test
+  void deadEnd_makesExpectationInfinite() {
+    SnakeLadderBoard board = linearBoard(3);
+    board.getTile(2).setNextTileId(0);
+    SnakeLadderMarkovChain chain = SnakeLadderMarkovChain.of(board, 1);
+
+    assertFalse(chain.isFinishAlwaysReached());
+    assertEquals(Double.POSITIVE_INFINITY, chain.expectedRolls());
+    assertEquals(Double.POSITIVE_INFINITY, chain.expectedTurns());
+  }
+
+  @Test
+  void largeBoard_solvesSparsely() {
+    SnakeLadderBoard board = linearBoard(100_000);
+    for (int id = 1_000; id < 100_000; id += 1_000) {
+      board.getTile(id).setAction(new SnakeAction(id - 500));
+      board.getTile(id - 250).setAction(new LadderAction(id + 100));
+    }
+    SnakeLadderMarkovChain chain = SnakeLadderMarkovChain.of(board, 2);
+
+    assertTrue(chain.isFinishAlwaysReached());
+    assertTrue(chain.expectedRolls() > 100_000 / 12.0);
+  }
+
+  @Test
+  void missingFinishTile_throws() {
+    SnakeLadderBoard board = new SnakeLadderBoard();
+    board.addTile(new Tile(1));
+    board.addTile(new Tile(5));
+    assertThrows(IllegalArgumentException.class, () -> SnakeLadderMarkovChain.of(board, 1));
+  }
+}
@@ -0,0 +1,75 @@
+package ntnu.idatt2003.simulation;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.concurrent.ForkJoinPool;
+import ntnu.idatt2003.factory.BoardGameFactory;
+import ntnu.idatt2003.model.snakeandladder.SnakeLadderBoard;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class SnakeLadderSimulatorTest {
+
+  private SnakeLadderBoard board;
+
+  @BeforeEach
+  void setUp() {
+    board = new BoardGameFactory().createEasyBoard();
+  }
+
+  @Test
+  void run_playsAllGames_andAggregates() {
+    SimulationResult result = new SnakeLadderSimulator(board, 3, 1).run(2_000, 42L);
+
+    assertEquals(2_000, result.getGames());
+    assertEquals(0, result.getUnfinishedGames());
+    long wins = 0;
+    for (int seat = 0; seat < result.getSeatCount(); seat++) {
+      wins += result.getWins(seat);
+    }
+    assertEquals(result.getFinishedGames(), wins, "Every finished game has exactly one winner");
+    assertTrue(result.getMeanLength() > 1);
+    assertTrue(result.getLengthPercentile(50) <= result.getLengthPercentile(90));
+    assertTrue(result.getSnakeHits() > 0);
+    assertTrue(result.getLadderHits() > 0);
+    assertEquals(0, result.getActionHits(1), "Tile 1 has no snake or ladder");
+    assertTrue(result.getActionHits(34) > 0, "The ladder on tile 34 is reachable");
+  }
+
+  @Test
+  void run_sameSeed_isReproducibleAcrossPools() {
+    SnakeLadderSimulator simulator = new SnakeLadderSimulator(board, 2, 2);
+    ForkJoinPool single = new ForkJoinPool(1);
+    ForkJoinPool quad = new ForkJoinPool(4);
+    try {
+      SimulationResult a = simulator.run(1_000, 7L, single);
+      SimulationResult b = simulator.run(1_000, 7L, quad);
+      assertEquals(a.getWins(0), b.getWins(0));
+      assertEquals(a.getMeanLength(), b.getMeanLength());
+      assertEquals(a.getSnakeHits(), b.getSnakeHits());
+    } finally {
+      single.shutdown();
+      quad.shutdown();
+    }
+  }
+
+  @Test
+  void run_doesNotTouchTheOriginalBoard() {
+    new SnakeLadderSimulator(board, 2, 1).run(200, 1L);
+    board.getTiles().forEach(tile -> assertTrue(tile.getPlayers().isEmpty()));
+  }
+
+  @Test
+  void constructor_rejectsInvalidSetup() {
+    assertThrows(IllegalArgumentException.class, () -> new SnakeLadderSimulator(board, 1, 1));
+    assertThrows(IllegalArgumentException.class, () -> new SnakeLadderSimulator(board, 2, 0));
+    assertThrows(IllegalArgumentException.class,
+        () -> new SnakeLadderSimulator(new SnakeLadderBoard(), 2, 1));
+  }
+
+  @Test
+  void lengthPercentile_outOfRange_throws() {
+    SimulationResult result = new SnakeLadderSimulator(board, 2, 1).run(10, 3L);
+    assertThrows(IllegalArgumentException.class, () -> result.getLengthPercentile(101));
+  }
+}